@@ -21,10 +21,12 @@ public class MoveCountPerStepMeasurement {
 
     private final long acceptedMoveCount;
     private final long selectedMoveCount;
+    private final long notDoableMoveCount;
 
-    public MoveCountPerStepMeasurement(long acceptedMoveCount, long selectedMoveCount) {
+    public MoveCountPerStepMeasurement(long acceptedMoveCount, long selectedMoveCount, long notDoableMoveCount) {
         this.acceptedMoveCount = acceptedMoveCount;
         this.selectedMoveCount = selectedMoveCount;
+        this.notDoableMoveCount = notDoableMoveCount;
     }
 
     public long getAcceptedMoveCount() {
@@ -35,4 +37,8 @@ public class MoveCountPerStepMeasurement {
         return selectedMoveCount;
     }
 
+    public long getNotDoableMoveCount() {
+        return notDoableMoveCount;
+    }
+
 }
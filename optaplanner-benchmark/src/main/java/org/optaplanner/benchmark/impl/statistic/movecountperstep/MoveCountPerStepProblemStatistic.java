@@ -75,7 +75,7 @@ public class MoveCountPerStepProblemStatistic extends ProblemStatistic {
         Locale locale = benchmarkReport.getLocale();
         NumberAxis xAxis = new NumberAxis("Time spent");
         xAxis.setNumberFormatOverride(new MillisecondsSpentNumberFormat(locale));
-        NumberAxis yAxis = new NumberAxis("Accepted/selected moves per step");
+        NumberAxis yAxis = new NumberAxis("Accepted/selected/not doable moves per step");
         yAxis.setNumberFormatOverride(NumberFormat.getInstance(locale));
         XYPlot plot = new XYPlot(null, xAxis, yAxis, null);
         DrawingSupplier drawingSupplier = new DefaultDrawingSupplier();
@@ -87,6 +87,8 @@ public class MoveCountPerStepProblemStatistic extends ProblemStatistic {
                     singleBenchmarkResult.getSolverBenchmarkResult().getNameWithFavoriteSuffix() + " accepted");
             XYSeries selectedSeries = new XYSeries(
                     singleBenchmarkResult.getSolverBenchmarkResult().getNameWithFavoriteSuffix() + " selected");
+            XYSeries notDoableSeries = new XYSeries(
+                    singleBenchmarkResult.getSolverBenchmarkResult().getNameWithFavoriteSuffix() + " not doable");
             XYItemRenderer renderer = new XYLineAndShapeRenderer(true, false);
             if (singleBenchmarkResult.hasAllSuccess()) {
                 MoveCountPerStepSubSingleStatistic subSingleStatistic = (MoveCountPerStepSubSingleStatistic)
@@ -96,13 +98,16 @@ public class MoveCountPerStepProblemStatistic extends ProblemStatistic {
                     long timeMillisSpent = point.getTimeMillisSpent();
                     long acceptedMoveCount = point.getMoveCountPerStepMeasurement().getAcceptedMoveCount();
                     long selectedMoveCount = point.getMoveCountPerStepMeasurement().getSelectedMoveCount();
+                    long notDoableMoveCount = point.getMoveCountPerStepMeasurement().getNotDoableMoveCount();
                     acceptedSeries.add(timeMillisSpent, acceptedMoveCount);
                     selectedSeries.add(timeMillisSpent, selectedMoveCount);
+                    notDoableSeries.add(timeMillisSpent, notDoableMoveCount);
                 }
             }
             XYSeriesCollection seriesCollection = new XYSeriesCollection();
             seriesCollection.addSeries(acceptedSeries);
             seriesCollection.addSeries(selectedSeries);
+            seriesCollection.addSeries(notDoableSeries);
             plot.setDataset(seriesIndex, seriesCollection);
 
             if (singleBenchmarkResult.getSolverBenchmarkResult().isFavorite()) {
@@ -111,15 +116,22 @@ public class MoveCountPerStepProblemStatistic extends ProblemStatistic {
                 // Dashed line for selected move count
                 renderer.setSeriesStroke(1, new BasicStroke(
                         2.0f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND, 1.0f, new float[] {2.0f, 6.0f}, 0.0f));
+                // Dotted line for not doable move count
+                renderer.setSeriesStroke(2, new BasicStroke(
+                        2.0f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND, 1.0f, new float[] {0.5f, 3.0f}, 0.0f));
             } else {
                 // Dashed line for selected move count
                 renderer.setSeriesStroke(1, new BasicStroke(
                         1.0f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND, 1.0f, new float[] {2.0f, 6.0f}, 0.0f));
+                // Dotted line for not doable move count
+                renderer.setSeriesStroke(2, new BasicStroke(
+                        1.0f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND, 1.0f, new float[] {0.5f, 3.0f}, 0.0f));
             }
-            // Render both lines in the same color
+            // Render all lines in the same color
             Paint linePaint = drawingSupplier.getNextPaint();
             renderer.setSeriesPaint(0, linePaint);
             renderer.setSeriesPaint(1, linePaint);
+            renderer.setSeriesPaint(2, linePaint);
             plot.setRenderer(seriesIndex, renderer);
             seriesIndex++;
         }
@@ -40,7 +40,8 @@ public class MoveCountPerStepStatisticPoint extends StatisticPoint {
     @Override
     public String toCsvLine() {
         return buildCsvLineWithLongs(timeMillisSpent, moveCountPerStepMeasurement.getAcceptedMoveCount(),
-                moveCountPerStepMeasurement.getSelectedMoveCount());
+                moveCountPerStepMeasurement.getSelectedMoveCount(),
+                moveCountPerStepMeasurement.getNotDoableMoveCount());
     }
 
 }
@@ -64,7 +64,8 @@ public class MoveCountPerStepSubSingleStatistic<Solution_>
         private void localSearchStepEnded(LocalSearchStepScope<Solution_> stepScope) {
             long timeMillisSpent = stepScope.getPhaseScope().calculateSolverTimeMillisSpentUpToNow();
             pointList.add(new MoveCountPerStepStatisticPoint(timeMillisSpent,
-                    new MoveCountPerStepMeasurement(stepScope.getAcceptedMoveCount(), stepScope.getSelectedMoveCount())
+                    new MoveCountPerStepMeasurement(stepScope.getAcceptedMoveCount(), stepScope.getSelectedMoveCount(),
+                            stepScope.getNotDoableMoveCount())
             ));
         }
 
@@ -76,14 +77,18 @@ public class MoveCountPerStepSubSingleStatistic<Solution_>
 
     @Override
     protected String getCsvHeader() {
-        return MoveCountPerStepStatisticPoint.buildCsvLine("timeMillisSpent", "acceptedMoveCount", "selectedMoveCount");
+        return MoveCountPerStepStatisticPoint.buildCsvLine("timeMillisSpent", "acceptedMoveCount", "selectedMoveCount",
+                "notDoableMoveCount");
     }
 
     @Override
     protected MoveCountPerStepStatisticPoint createPointFromCsvLine(ScoreDefinition scoreDefinition,
             List<String> csvLine) {
+        // The notDoableMoveCount column is missing in the CSV files of older benchmarks
+        long notDoableMoveCount = csvLine.size() > 3 ? Long.parseLong(csvLine.get(3)) : 0L;
         return new MoveCountPerStepStatisticPoint(Long.parseLong(csvLine.get(0)),
-                new MoveCountPerStepMeasurement(Long.parseLong(csvLine.get(1)), Long.parseLong(csvLine.get(2))));
+                new MoveCountPerStepMeasurement(Long.parseLong(csvLine.get(1)), Long.parseLong(csvLine.get(2)),
+                        notDoableMoveCount));
     }
 
 }
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.benchmark.impl.statistic.subsingle.constraintcalculationspeed;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.thoughtworks.xstream.annotations.XStreamAlias;
+import com.thoughtworks.xstream.annotations.XStreamOmitField;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.optaplanner.benchmark.config.statistic.SingleStatisticType;
+import org.optaplanner.benchmark.impl.report.BenchmarkReport;
+import org.optaplanner.benchmark.impl.result.SubSingleBenchmarkResult;
+import org.optaplanner.benchmark.impl.statistic.PureSubSingleStatistic;
+import org.optaplanner.benchmark.impl.statistic.common.MillisecondsSpentNumberFormat;
+import org.optaplanner.core.api.score.constraint.ConstraintCalculationTotal;
+import org.optaplanner.core.api.solver.Solver;
+import org.optaplanner.core.impl.phase.event.PhaseLifecycleListenerAdapter;
+import org.optaplanner.core.impl.phase.scope.AbstractStepScope;
+import org.optaplanner.core.impl.score.definition.ScoreDefinition;
+import org.optaplanner.core.impl.score.director.AbstractScoreDirectorFactory;
+import org.optaplanner.core.impl.score.director.ConstraintCalculationProfiler;
+import org.optaplanner.core.impl.score.director.InnerScoreDirectorFactory;
+import org.optaplanner.core.impl.score.director.drools.DroolsScoreDirectorFactory;
+import org.optaplanner.core.impl.score.director.incremental.IncrementalScoreDirectorFactory;
+import org.optaplanner.core.impl.solver.DefaultSolver;
+
+@XStreamAlias("constraintCalculationSpeedSubSingleStatistic")
+public class ConstraintCalculationSpeedSubSingleStatistic<Solution_>
+        extends PureSubSingleStatistic<Solution_, ConstraintCalculationSpeedStatisticPoint> {
+
+    @XStreamOmitField
+    private final long timeMillisThresholdInterval;
+
+    @XStreamOmitField
+    private ConstraintCalculationSpeedSubSingleStatisticListener listener;
+    @XStreamOmitField
+    private ConstraintCalculationProfiler constraintCalculationProfiler = null;
+
+    @XStreamOmitField
+    protected File graphFile = null;
+
+    public ConstraintCalculationSpeedSubSingleStatistic(SubSingleBenchmarkResult subSingleBenchmarkResult) {
+        this(subSingleBenchmarkResult, 1000L);
+    }
+
+    public ConstraintCalculationSpeedSubSingleStatistic(SubSingleBenchmarkResult subSingleBenchmarkResult,
+            long timeMillisThresholdInterval) {
+        super(subSingleBenchmarkResult, SingleStatisticType.CONSTRAINT_CALCULATION_SPEED);
+        if (timeMillisThresholdInterval <= 0L) {
+            throw new IllegalArgumentException("The timeMillisThresholdInterval (" + timeMillisThresholdInterval
+                    + ") must be bigger than 0.");
+        }
+        this.timeMillisThresholdInterval = timeMillisThresholdInterval;
+        listener = new ConstraintCalculationSpeedSubSingleStatisticListener();
+    }
+
+    /**
+     * @return never null
+     */
+    @Override
+    public List<File> getGraphFileList() {
+        return Collections.singletonList(graphFile);
+    }
+
+    // ************************************************************************
+    // Lifecycle methods
+    // ************************************************************************
+
+    @Override
+    public void open(Solver<Solution_> solver) {
+        DefaultSolver<Solution_> defaultSolver = (DefaultSolver<Solution_>) solver;
+        InnerScoreDirectorFactory<Solution_> scoreDirectorFactory = defaultSolver.getScoreDirectorFactory();
+        if (!(scoreDirectorFactory instanceof DroolsScoreDirectorFactory)
+                && !(scoreDirectorFactory instanceof IncrementalScoreDirectorFactory)) {
+            logger.warn("The subSingleStatistic ({}) cannot function properly"
+                    + " because the scoreDirectorFactory ({}) doesn't profile its constraint calculations.",
+                    singleStatisticType, scoreDirectorFactory.getClass().getSimpleName());
+        } else {
+            constraintCalculationProfiler = scoreDirectorFactory.getConstraintCalculationProfiler();
+            if (constraintCalculationProfiler == null) {
+                constraintCalculationProfiler = new ConstraintCalculationProfiler();
+                ((AbstractScoreDirectorFactory<Solution_>) scoreDirectorFactory)
+                        .setConstraintCalculationProfiler(constraintCalculationProfiler);
+            }
+        }
+        defaultSolver.addPhaseLifecycleListener(listener);
+    }
+
+    @Override
+    public void close(Solver<Solution_> solver) {
+        ((DefaultSolver<Solution_>) solver).removePhaseLifecycleListener(listener);
+    }
+
+    private class ConstraintCalculationSpeedSubSingleStatisticListener
+            extends PhaseLifecycleListenerAdapter<Solution_> {
+
+        private long nextTimeMillisThreshold = timeMillisThresholdInterval;
+
+        @Override
+        public void stepEnded(AbstractStepScope<Solution_> stepScope) {
+            long timeMillisSpent = stepScope.getPhaseScope().calculateSolverTimeMillisSpentUpToNow();
+            if (constraintCalculationProfiler != null && timeMillisSpent >= nextTimeMillisThreshold) {
+                for (ConstraintCalculationTotal constraintCalculationTotal
+                        : constraintCalculationProfiler.getConstraintCalculationTotals()) {
+                    pointList.add(new ConstraintCalculationSpeedStatisticPoint(
+                            timeMillisSpent,
+                            constraintCalculationTotal.getConstraintPackage(),
+                            constraintCalculationTotal.getConstraintName(),
+                            constraintCalculationTotal.getCalculationCount(),
+                            constraintCalculationTotal.getTimeNanosSpent()));
+                }
+                nextTimeMillisThreshold += timeMillisThresholdInterval;
+                if (nextTimeMillisThreshold < timeMillisSpent) {
+                    nextTimeMillisThreshold = timeMillisSpent;
+                }
+            }
+        }
+
+    }
+
+    // ************************************************************************
+    // CSV methods
+    // ************************************************************************
+
+    @Override
+    protected String getCsvHeader() {
+        return ConstraintCalculationSpeedStatisticPoint.buildCsvLine(
+                "timeMillisSpent", "constraintPackage", "constraintName",
+                "calculationCount", "calculationTimeNanosSpent");
+    }
+
+    @Override
+    protected ConstraintCalculationSpeedStatisticPoint createPointFromCsvLine(ScoreDefinition scoreDefinition,
+            List<String> csvLine) {
+        return new ConstraintCalculationSpeedStatisticPoint(Long.parseLong(csvLine.get(0)),
+                csvLine.get(1), csvLine.get(2),
+                Long.parseLong(csvLine.get(3)), Long.parseLong(csvLine.get(4)));
+    }
+
+    // ************************************************************************
+    // Write methods
+    // ************************************************************************
+
+    @Override
+    public void writeGraphFiles(BenchmarkReport benchmarkReport) {
+        Map<String, XYSeries> constraintIdToSeriesMap = new LinkedHashMap<>();
+        for (ConstraintCalculationSpeedStatisticPoint point : getPointList()) {
+            XYSeries series = constraintIdToSeriesMap.computeIfAbsent(point.getConstraintId(),
+                    k -> new XYSeries(point.getConstraintName()));
+            // The time spent calculating that constraint, in milliseconds
+            series.add(point.getTimeMillisSpent(), point.getCalculationTimeNanosSpent() / 1_000_000L);
+        }
+        Locale locale = benchmarkReport.getLocale();
+        NumberAxis xAxis = new NumberAxis("Time spent");
+        xAxis.setNumberFormatOverride(new MillisecondsSpentNumberFormat(locale));
+        NumberAxis yAxis = new NumberAxis("Constraint calculation time spent");
+        yAxis.setNumberFormatOverride(new MillisecondsSpentNumberFormat(locale));
+        XYPlot plot = new XYPlot(null, xAxis, yAxis, null);
+        plot.setOrientation(PlotOrientation.VERTICAL);
+        plot.setRenderer(new XYLineAndShapeRenderer());
+        XYSeriesCollection seriesCollection = new XYSeriesCollection();
+        for (XYSeries series : constraintIdToSeriesMap.values()) {
+            seriesCollection.addSeries(series);
+        }
+        plot.setDataset(seriesCollection);
+        JFreeChart chart = new JFreeChart(subSingleBenchmarkResult.getName()
+                + " constraint calculation speed statistic", JFreeChart.DEFAULT_TITLE_FONT, plot, true);
+        graphFile = writeChartToImageFile(chart, "ConstraintCalculationSpeedStatistic");
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.benchmark.impl.statistic.subsingle.constraintcalculationspeed;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.optaplanner.benchmark.impl.result.SubSingleBenchmarkResult;
+import org.optaplanner.core.config.SolverConfigContext;
+import org.optaplanner.core.config.score.director.ScoreDirectorFactoryConfig;
+import org.optaplanner.core.config.solver.EnvironmentMode;
+import org.optaplanner.core.impl.phase.event.PhaseLifecycleListener;
+import org.optaplanner.core.impl.phase.scope.AbstractPhaseScope;
+import org.optaplanner.core.impl.phase.scope.AbstractStepScope;
+import org.optaplanner.core.impl.score.director.ConstraintCalculationProfiler;
+import org.optaplanner.core.impl.score.director.InnerScoreDirectorFactory;
+import org.optaplanner.core.impl.solver.DefaultSolver;
+import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class ConstraintCalculationSpeedSubSingleStatisticTest {
+
+    @Test
+    public void installProfilerAndRecordPointPerConstraintPerInterval() {
+        ScoreDirectorFactoryConfig scoreDirectorFactoryConfig = new ScoreDirectorFactoryConfig();
+        scoreDirectorFactoryConfig.setScoreDrlList(Collections.singletonList(
+                "org/optaplanner/core/api/solver/testdataScoreRules.drl"));
+        InnerScoreDirectorFactory<TestdataSolution> scoreDirectorFactory
+                = scoreDirectorFactoryConfig.buildScoreDirectorFactory(new SolverConfigContext(),
+                EnvironmentMode.REPRODUCIBLE, TestdataSolution.buildSolutionDescriptor());
+        assertNull(scoreDirectorFactory.getConstraintCalculationProfiler());
+        DefaultSolver<TestdataSolution> solver = mock(DefaultSolver.class);
+        when(solver.getScoreDirectorFactory()).thenReturn(scoreDirectorFactory);
+
+        ConstraintCalculationSpeedSubSingleStatistic<TestdataSolution> statistic
+                = new ConstraintCalculationSpeedSubSingleStatistic<>(new SubSingleBenchmarkResult(null, 0), 1000L);
+        statistic.open(solver);
+        ConstraintCalculationProfiler constraintCalculationProfiler
+                = scoreDirectorFactory.getConstraintCalculationProfiler();
+        assertNotNull(constraintCalculationProfiler);
+        ArgumentCaptor<PhaseLifecycleListener> listenerCaptor = ArgumentCaptor.forClass(PhaseLifecycleListener.class);
+        verify(solver).addPhaseLifecycleListener(listenerCaptor.capture());
+        PhaseLifecycleListener<TestdataSolution> listener = listenerCaptor.getValue();
+
+        constraintCalculationProfiler.getCounter("org.example", "constraintA").addCalculation(10L);
+        constraintCalculationProfiler.getCounter("org.example", "constraintB").addCalculation(20L);
+        int constraintCount = constraintCalculationProfiler.getConstraintCalculationTotals().size();
+        assertEquals(2, constraintCount);
+
+        listener.stepEnded(mockStepScope(500L));
+        assertEquals(0, statistic.getPointList().size());
+        listener.stepEnded(mockStepScope(1000L));
+        assertEquals(constraintCount, statistic.getPointList().size());
+        // Still in the same interval
+        listener.stepEnded(mockStepScope(1500L));
+        assertEquals(constraintCount, statistic.getPointList().size());
+        constraintCalculationProfiler.getCounter("org.example", "constraintA").addCalculation(30L);
+        listener.stepEnded(mockStepScope(2100L));
+        List<ConstraintCalculationSpeedStatisticPoint> pointList = statistic.getPointList();
+        assertEquals(constraintCount * 2, pointList.size());
+        ConstraintCalculationSpeedStatisticPoint lastPointA = pointList.get(constraintCount);
+        assertEquals(2100L, lastPointA.getTimeMillisSpent());
+        assertEquals("constraintA", lastPointA.getConstraintName());
+        assertEquals(40L, lastPointA.getCalculationTimeNanosSpent());
+
+        statistic.close(solver);
+        verify(solver).removePhaseLifecycleListener(listener);
+    }
+
+    private AbstractStepScope<TestdataSolution> mockStepScope(long timeMillisSpent) {
+        AbstractPhaseScope<TestdataSolution> phaseScope = mock(AbstractPhaseScope.class);
+        when(phaseScope.calculateSolverTimeMillisSpentUpToNow()).thenReturn(timeMillisSpent);
+        AbstractStepScope<TestdataSolution> stepScope = mock(AbstractStepScope.class);
+        when(stepScope.getPhaseScope()).thenReturn(phaseScope);
+        return stepScope;
+    }
+
+}
@@ -131,4 +131,23 @@ public class BendableLongScoreHolder extends AbstractScoreHolder {
                 Arrays.copyOf(softScores, softScores.length));
     }
 
+    @Override
+    public int compareExtractedScoreTo(int initScore, Score otherScore) {
+        BendableLongScore other = (BendableLongScore) otherScore;
+        if (initScore != other.getInitScore()) {
+            return initScore < other.getInitScore() ? -1 : 1;
+        }
+        for (int i = 0; i < hardScores.length; i++) {
+            if (hardScores[i] != other.getHardScore(i)) {
+                return hardScores[i] < other.getHardScore(i) ? -1 : 1;
+            }
+        }
+        for (int i = 0; i < softScores.length; i++) {
+            if (softScores[i] != other.getSoftScore(i)) {
+                return softScores[i] < other.getSoftScore(i) ? -1 : 1;
+            }
+        }
+        return 0;
+    }
+
 }
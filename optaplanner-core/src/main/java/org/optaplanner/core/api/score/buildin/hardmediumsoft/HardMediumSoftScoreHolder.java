@@ -55,9 +55,7 @@ public class HardMediumSoftScoreHolder extends AbstractScoreHolder {
      */
     public void addHardConstraintMatch(RuleContext kcontext, int hardWeight) {
         hardScore += hardWeight;
-        registerConstraintMatch(kcontext,
-                () -> hardScore -= hardWeight,
-                () -> HardMediumSoftScore.valueOf(hardWeight, 0, 0));
+        registerConstraintMatch(kcontext, hardWeight, 0, 0);
     }
 
     /**
@@ -66,9 +64,7 @@ public class HardMediumSoftScoreHolder extends AbstractScoreHolder {
      */
     public void addMediumConstraintMatch(RuleContext kcontext, int mediumWeight) {
         mediumScore += mediumWeight;
-        registerConstraintMatch(kcontext,
-                () -> mediumScore -= mediumWeight,
-                () -> HardMediumSoftScore.valueOf(0, mediumWeight, 0));
+        registerConstraintMatch(kcontext, 0, mediumWeight, 0);
     }
 
     /**
@@ -77,9 +73,7 @@ public class HardMediumSoftScoreHolder extends AbstractScoreHolder {
      */
     public void addSoftConstraintMatch(RuleContext kcontext, int softWeight) {
         softScore += softWeight;
-        registerConstraintMatch(kcontext,
-                () -> softScore -= softWeight,
-                () -> HardMediumSoftScore.valueOf(0, 0, softWeight));
+        registerConstraintMatch(kcontext, 0, 0, softWeight);
     }
 
     /**
@@ -92,13 +86,19 @@ public class HardMediumSoftScoreHolder extends AbstractScoreHolder {
         hardScore += hardWeight;
         mediumScore += mediumWeight;
         softScore += softWeight;
-        registerConstraintMatch(kcontext,
-                () -> {
-                    hardScore -= hardWeight;
-                    mediumScore -= mediumWeight;
-                    softScore -= softWeight;
-                },
-                () -> HardMediumSoftScore.valueOf(hardWeight, mediumWeight, softWeight));
+        registerConstraintMatch(kcontext, hardWeight, mediumWeight, softWeight);
+    }
+
+    private void registerConstraintMatch(RuleContext kcontext, int hardWeight, int mediumWeight, int softWeight) {
+        HardMediumSoftUnMatchListener unMatchListener
+                = (HardMediumSoftUnMatchListener) findReusableUnMatchListener(kcontext);
+        if (unMatchListener == null) {
+            unMatchListener = new HardMediumSoftUnMatchListener();
+        }
+        unMatchListener.hardWeight = hardWeight;
+        unMatchListener.mediumWeight = mediumWeight;
+        unMatchListener.softWeight = softWeight;
+        registerConstraintMatch(kcontext, unMatchListener);
     }
 
     @Override
@@ -106,4 +106,38 @@ public class HardMediumSoftScoreHolder extends AbstractScoreHolder {
         return HardMediumSoftScore.valueOfUninitialized(initScore, hardScore, mediumScore, softScore);
     }
 
+    @Override
+    public int compareExtractedScoreTo(int initScore, Score otherScore) {
+        HardMediumSoftScore other = (HardMediumSoftScore) otherScore;
+        if (initScore != other.getInitScore()) {
+            return initScore < other.getInitScore() ? -1 : 1;
+        } else if (hardScore != other.getHardScore()) {
+            return hardScore < other.getHardScore() ? -1 : 1;
+        } else if (mediumScore != other.getMediumScore()) {
+            return mediumScore < other.getMediumScore() ? -1 : 1;
+        } else {
+            return Integer.compare(softScore, other.getSoftScore());
+        }
+    }
+
+    private class HardMediumSoftUnMatchListener extends ReusableConstraintActivationUnMatchListener {
+
+        private int hardWeight;
+        private int mediumWeight;
+        private int softWeight;
+
+        @Override
+        protected void undoWeights() {
+            hardScore -= hardWeight;
+            mediumScore -= mediumWeight;
+            softScore -= softWeight;
+        }
+
+        @Override
+        protected Score extractWeightScore() {
+            return HardMediumSoftScore.valueOf(hardWeight, mediumWeight, softWeight);
+        }
+
+    }
+
 }
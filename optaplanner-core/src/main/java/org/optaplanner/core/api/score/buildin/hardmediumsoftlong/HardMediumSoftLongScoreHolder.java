@@ -56,9 +56,7 @@ public class HardMediumSoftLongScoreHolder extends AbstractScoreHolder {
      */
     public void addHardConstraintMatch(RuleContext kcontext, long hardWeight) {
         hardScore += hardWeight;
-        registerConstraintMatch(kcontext,
-                () -> hardScore -= hardWeight,
-                () -> HardMediumSoftLongScore.valueOf(hardWeight, 0L, 0L));
+        registerConstraintMatch(kcontext, hardWeight, 0L, 0L);
     }
 
     /**
@@ -67,9 +65,7 @@ public class HardMediumSoftLongScoreHolder extends AbstractScoreHolder {
      */
     public void addMediumConstraintMatch(RuleContext kcontext, long mediumWeight) {
         mediumScore += mediumWeight;
-        registerConstraintMatch(kcontext,
-                () -> mediumScore -= mediumWeight,
-                () -> HardMediumSoftLongScore.valueOf(0L, mediumWeight, 0L));
+        registerConstraintMatch(kcontext, 0L, mediumWeight, 0L);
     }
 
     /**
@@ -78,9 +74,7 @@ public class HardMediumSoftLongScoreHolder extends AbstractScoreHolder {
      */
     public void addSoftConstraintMatch(RuleContext kcontext, long softWeight) {
         softScore += softWeight;
-        registerConstraintMatch(kcontext,
-                () -> softScore -= softWeight,
-                () -> HardMediumSoftLongScore.valueOf(0L, 0L, softWeight));
+        registerConstraintMatch(kcontext, 0L, 0L, softWeight);
     }
 
     /**
@@ -93,13 +87,19 @@ public class HardMediumSoftLongScoreHolder extends AbstractScoreHolder {
         hardScore += hardWeight;
         mediumScore += mediumWeight;
         softScore += softWeight;
-        registerConstraintMatch(kcontext,
-                () -> {
-                    hardScore -= hardWeight;
-                    mediumScore -= mediumWeight;
-                    softScore -= softWeight;
-                },
-                () -> HardMediumSoftLongScore.valueOf(hardWeight, mediumWeight, softWeight));
+        registerConstraintMatch(kcontext, hardWeight, mediumWeight, softWeight);
+    }
+
+    private void registerConstraintMatch(RuleContext kcontext, long hardWeight, long mediumWeight, long softWeight) {
+        HardMediumSoftLongUnMatchListener unMatchListener
+                = (HardMediumSoftLongUnMatchListener) findReusableUnMatchListener(kcontext);
+        if (unMatchListener == null) {
+            unMatchListener = new HardMediumSoftLongUnMatchListener();
+        }
+        unMatchListener.hardWeight = hardWeight;
+        unMatchListener.mediumWeight = mediumWeight;
+        unMatchListener.softWeight = softWeight;
+        registerConstraintMatch(kcontext, unMatchListener);
     }
 
     @Override
@@ -107,4 +107,38 @@ public class HardMediumSoftLongScoreHolder extends AbstractScoreHolder {
         return HardMediumSoftLongScore.valueOfUninitialized(initScore, hardScore, mediumScore, softScore);
     }
 
+    @Override
+    public int compareExtractedScoreTo(int initScore, Score otherScore) {
+        HardMediumSoftLongScore other = (HardMediumSoftLongScore) otherScore;
+        if (initScore != other.getInitScore()) {
+            return initScore < other.getInitScore() ? -1 : 1;
+        } else if (hardScore != other.getHardScore()) {
+            return hardScore < other.getHardScore() ? -1 : 1;
+        } else if (mediumScore != other.getMediumScore()) {
+            return mediumScore < other.getMediumScore() ? -1 : 1;
+        } else {
+            return Long.compare(softScore, other.getSoftScore());
+        }
+    }
+
+    private class HardMediumSoftLongUnMatchListener extends ReusableConstraintActivationUnMatchListener {
+
+        private long hardWeight;
+        private long mediumWeight;
+        private long softWeight;
+
+        @Override
+        protected void undoWeights() {
+            hardScore -= hardWeight;
+            mediumScore -= mediumWeight;
+            softScore -= softWeight;
+        }
+
+        @Override
+        protected Score extractWeightScore() {
+            return HardMediumSoftLongScore.valueOf(hardWeight, mediumWeight, softWeight);
+        }
+
+    }
+
 }
@@ -50,9 +50,7 @@ public class HardSoftScoreHolder extends AbstractScoreHolder {
      */
     public void addHardConstraintMatch(RuleContext kcontext, int hardWeight) {
         hardScore += hardWeight;
-        registerConstraintMatch(kcontext,
-                () -> hardScore -= hardWeight,
-                () -> HardSoftScore.valueOf(hardWeight, 0));
+        registerConstraintMatch(kcontext, hardWeight, 0);
     }
 
     /**
@@ -61,9 +59,7 @@ public class HardSoftScoreHolder extends AbstractScoreHolder {
      */
     public void addSoftConstraintMatch(RuleContext kcontext, int softWeight) {
         softScore += softWeight;
-        registerConstraintMatch(kcontext,
-                () -> softScore -= softWeight,
-                () -> HardSoftScore.valueOf(0, softWeight));
+        registerConstraintMatch(kcontext, 0, softWeight);
     }
 
     /**
@@ -74,12 +70,17 @@ public class HardSoftScoreHolder extends AbstractScoreHolder {
     public void addMultiConstraintMatch(RuleContext kcontext, int hardWeight, int softWeight) {
         hardScore += hardWeight;
         softScore += softWeight;
-        registerConstraintMatch(kcontext,
-                () -> {
-                    hardScore -= hardWeight;
-                    softScore -= softWeight;
-                },
-                () -> HardSoftScore.valueOf(hardWeight, softWeight));
+        registerConstraintMatch(kcontext, hardWeight, softWeight);
+    }
+
+    private void registerConstraintMatch(RuleContext kcontext, int hardWeight, int softWeight) {
+        HardSoftUnMatchListener unMatchListener = (HardSoftUnMatchListener) findReusableUnMatchListener(kcontext);
+        if (unMatchListener == null) {
+            unMatchListener = new HardSoftUnMatchListener();
+        }
+        unMatchListener.hardWeight = hardWeight;
+        unMatchListener.softWeight = softWeight;
+        registerConstraintMatch(kcontext, unMatchListener);
     }
 
     @Override
@@ -87,4 +88,34 @@ public class HardSoftScoreHolder extends AbstractScoreHolder {
         return HardSoftScore.valueOfUninitialized(initScore, hardScore, softScore);
     }
 
+    @Override
+    public int compareExtractedScoreTo(int initScore, Score otherScore) {
+        HardSoftScore other = (HardSoftScore) otherScore;
+        if (initScore != other.getInitScore()) {
+            return initScore < other.getInitScore() ? -1 : 1;
+        } else if (hardScore != other.getHardScore()) {
+            return hardScore < other.getHardScore() ? -1 : 1;
+        } else {
+            return Integer.compare(softScore, other.getSoftScore());
+        }
+    }
+
+    private class HardSoftUnMatchListener extends ReusableConstraintActivationUnMatchListener {
+
+        private int hardWeight;
+        private int softWeight;
+
+        @Override
+        protected void undoWeights() {
+            hardScore -= hardWeight;
+            softScore -= softWeight;
+        }
+
+        @Override
+        protected Score extractWeightScore() {
+            return HardSoftScore.valueOf(hardWeight, softWeight);
+        }
+
+    }
+
 }
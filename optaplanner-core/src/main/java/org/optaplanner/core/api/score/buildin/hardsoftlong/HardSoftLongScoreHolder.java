@@ -50,9 +50,7 @@ public class HardSoftLongScoreHolder extends AbstractScoreHolder {
      */
     public void addHardConstraintMatch(RuleContext kcontext, long hardWeight) {
         hardScore += hardWeight;
-        registerConstraintMatch(kcontext,
-                () -> hardScore -= hardWeight,
-                () -> HardSoftLongScore.valueOf(hardWeight, 0L));
+        registerConstraintMatch(kcontext, hardWeight, 0L);
     }
 
     /**
@@ -61,9 +59,7 @@ public class HardSoftLongScoreHolder extends AbstractScoreHolder {
      */
     public void addSoftConstraintMatch(RuleContext kcontext, long softWeight) {
         softScore += softWeight;
-        registerConstraintMatch(kcontext,
-                () -> softScore -= softWeight,
-                () -> HardSoftLongScore.valueOf(0L, softWeight));
+        registerConstraintMatch(kcontext, 0L, softWeight);
     }
 
     /**
@@ -73,12 +69,18 @@ public class HardSoftLongScoreHolder extends AbstractScoreHolder {
     public void addMultiConstraintMatch(RuleContext kcontext, long hardWeight, long softWeight) {
         hardScore += hardWeight;
         softScore += softWeight;
-        registerConstraintMatch(kcontext,
-                () -> {
-                    hardScore -= hardWeight;
-                    softScore -= softWeight;
-                },
-                () -> HardSoftLongScore.valueOf(hardWeight, softWeight));
+        registerConstraintMatch(kcontext, hardWeight, softWeight);
+    }
+
+    private void registerConstraintMatch(RuleContext kcontext, long hardWeight, long softWeight) {
+        HardSoftLongUnMatchListener unMatchListener
+                = (HardSoftLongUnMatchListener) findReusableUnMatchListener(kcontext);
+        if (unMatchListener == null) {
+            unMatchListener = new HardSoftLongUnMatchListener();
+        }
+        unMatchListener.hardWeight = hardWeight;
+        unMatchListener.softWeight = softWeight;
+        registerConstraintMatch(kcontext, unMatchListener);
     }
 
     @Override
@@ -86,4 +88,34 @@ public class HardSoftLongScoreHolder extends AbstractScoreHolder {
         return HardSoftLongScore.valueOfUninitialized(initScore, hardScore, softScore);
     }
 
+    @Override
+    public int compareExtractedScoreTo(int initScore, Score otherScore) {
+        HardSoftLongScore other = (HardSoftLongScore) otherScore;
+        if (initScore != other.getInitScore()) {
+            return initScore < other.getInitScore() ? -1 : 1;
+        } else if (hardScore != other.getHardScore()) {
+            return hardScore < other.getHardScore() ? -1 : 1;
+        } else {
+            return Long.compare(softScore, other.getSoftScore());
+        }
+    }
+
+    private class HardSoftLongUnMatchListener extends ReusableConstraintActivationUnMatchListener {
+
+        private long hardWeight;
+        private long softWeight;
+
+        @Override
+        protected void undoWeights() {
+            hardScore -= hardWeight;
+            softScore -= softWeight;
+        }
+
+        @Override
+        protected Score extractWeightScore() {
+            return HardSoftLongScore.valueOf(hardWeight, softWeight);
+        }
+
+    }
+
 }
@@ -45,9 +45,16 @@ public class SimpleScoreHolder extends AbstractScoreHolder {
      */
     public void addConstraintMatch(RuleContext kcontext, int weight) {
         score += weight;
-        registerConstraintMatch(kcontext,
-                () -> score -= weight,
-                () -> SimpleScore.valueOf(weight));
+        registerConstraintMatch(kcontext, weight);
+    }
+
+    private void registerConstraintMatch(RuleContext kcontext, int weight) {
+        SimpleUnMatchListener unMatchListener = (SimpleUnMatchListener) findReusableUnMatchListener(kcontext);
+        if (unMatchListener == null) {
+            unMatchListener = new SimpleUnMatchListener();
+        }
+        unMatchListener.weight = weight;
+        registerConstraintMatch(kcontext, unMatchListener);
     }
 
     @Override
@@ -55,4 +62,30 @@ public class SimpleScoreHolder extends AbstractScoreHolder {
         return SimpleScore.valueOfUninitialized(initScore, score);
     }
 
+    @Override
+    public int compareExtractedScoreTo(int initScore, Score otherScore) {
+        SimpleScore other = (SimpleScore) otherScore;
+        if (initScore != other.getInitScore()) {
+            return initScore < other.getInitScore() ? -1 : 1;
+        } else {
+            return Integer.compare(score, other.getScore());
+        }
+    }
+
+    private class SimpleUnMatchListener extends ReusableConstraintActivationUnMatchListener {
+
+        private int weight;
+
+        @Override
+        protected void undoWeights() {
+            score -= weight;
+        }
+
+        @Override
+        protected Score extractWeightScore() {
+            return SimpleScore.valueOf(weight);
+        }
+
+    }
+
 }
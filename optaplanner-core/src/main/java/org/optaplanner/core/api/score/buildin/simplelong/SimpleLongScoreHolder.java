@@ -45,9 +45,16 @@ public class SimpleLongScoreHolder extends AbstractScoreHolder {
      */
     public void addConstraintMatch(RuleContext kcontext, long weight) {
         score += weight;
-        registerConstraintMatch(kcontext,
-                () -> score -= weight,
-                () -> SimpleLongScore.valueOf(weight));
+        registerConstraintMatch(kcontext, weight);
+    }
+
+    private void registerConstraintMatch(RuleContext kcontext, long weight) {
+        SimpleLongUnMatchListener unMatchListener = (SimpleLongUnMatchListener) findReusableUnMatchListener(kcontext);
+        if (unMatchListener == null) {
+            unMatchListener = new SimpleLongUnMatchListener();
+        }
+        unMatchListener.weight = weight;
+        registerConstraintMatch(kcontext, unMatchListener);
     }
 
     @Override
@@ -55,4 +62,30 @@ public class SimpleLongScoreHolder extends AbstractScoreHolder {
         return SimpleLongScore.valueOfUninitialized(initScore, score);
     }
 
+    @Override
+    public int compareExtractedScoreTo(int initScore, Score otherScore) {
+        SimpleLongScore other = (SimpleLongScore) otherScore;
+        if (initScore != other.getInitScore()) {
+            return initScore < other.getInitScore() ? -1 : 1;
+        } else {
+            return Long.compare(score, other.getScore());
+        }
+    }
+
+    private class SimpleLongUnMatchListener extends ReusableConstraintActivationUnMatchListener {
+
+        private long weight;
+
+        @Override
+        protected void undoWeights() {
+            score -= weight;
+        }
+
+        @Override
+        protected Score extractWeightScore() {
+            return SimpleLongScore.valueOf(weight);
+        }
+
+    }
+
 }
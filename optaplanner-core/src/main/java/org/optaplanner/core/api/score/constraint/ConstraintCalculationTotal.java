@@ -0,0 +1,125 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.api.score.constraint;
+
+import java.io.Serializable;
+
+import org.optaplanner.core.api.solver.Solver;
+import org.optaplanner.core.config.score.director.ScoreDirectorFactoryConfig;
+
+/**
+ * How often a constraint (a score rule or an incremental score calculation code path) was calculated
+ * and how long that took, summed over all score directors of a {@link Solver}.
+ * <p>
+ * Retrievable from {@link Solver#getConstraintCalculationTotals()}
+ * if {@link ScoreDirectorFactoryConfig#setConstraintCalculationProfilingEnabled(Boolean)} is enabled.
+ */
+public final class ConstraintCalculationTotal implements Serializable, Comparable<ConstraintCalculationTotal> {
+
+    protected final String constraintPackage;
+    protected final String constraintName;
+
+    protected final long calculationCount;
+    protected final long timeNanosSpent;
+
+    /**
+     * @param constraintPackage never null
+     * @param constraintName never null
+     * @param calculationCount {@code >= 0}
+     * @param timeNanosSpent {@code >= 0}
+     */
+    public ConstraintCalculationTotal(String constraintPackage, String constraintName,
+            long calculationCount, long timeNanosSpent) {
+        this.constraintPackage = constraintPackage;
+        this.constraintName = constraintName;
+        this.calculationCount = calculationCount;
+        this.timeNanosSpent = timeNanosSpent;
+    }
+
+    /**
+     * @return never null
+     */
+    public String getConstraintPackage() {
+        return constraintPackage;
+    }
+
+    /**
+     * @return never null
+     */
+    public String getConstraintName() {
+        return constraintName;
+    }
+
+    /**
+     * @return {@code >= 0}, for a score rule, the number of times it fired
+     */
+    public long getCalculationCount() {
+        return calculationCount;
+    }
+
+    /**
+     * @return {@code >= 0}
+     */
+    public long getTimeNanosSpent() {
+        return timeNanosSpent;
+    }
+
+    // ************************************************************************
+    // Infrastructure methods
+    // ************************************************************************
+
+    public String getConstraintId() {
+        return constraintPackage + "/" + constraintName;
+    }
+
+    @Override
+    public int compareTo(ConstraintCalculationTotal other) {
+        if (!constraintPackage.equals(other.constraintPackage)) {
+            return constraintPackage.compareTo(other.constraintPackage);
+        } else if (!constraintName.equals(other.constraintName)) {
+            return constraintName.compareTo(other.constraintName);
+        } else {
+            return 0;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        } else if (o instanceof ConstraintCalculationTotal) {
+            ConstraintCalculationTotal other = (ConstraintCalculationTotal) o;
+            return constraintPackage.equals(other.constraintPackage)
+                    && constraintName.equals(other.constraintName);
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return ((17 * 37)
+                + constraintPackage.hashCode()) * 37
+                + constraintName.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return getConstraintId() + "=" + calculationCount + " calculations in " + timeNanosSpent + "ns";
+    }
+
+}
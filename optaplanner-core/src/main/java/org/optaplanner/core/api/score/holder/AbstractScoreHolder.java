@@ -85,24 +85,47 @@ public abstract class AbstractScoreHolder implements ScoreHolder, Serializable {
                 = new ConstraintActivationUnMatchListener(constraintUndoListener);
         agendaItem.setCallback(constraintActivationUnMatchListener);
         if (constraintMatchEnabled) {
-            List<Object> justificationList = extractJustificationList(kcontext);
-            // Not needed in fast code: Add ConstraintMatch
-            constraintActivationUnMatchListener.constraintMatchTotal = findConstraintMatchTotal(kcontext);
-            ConstraintMatch constraintMatch = constraintActivationUnMatchListener.constraintMatchTotal
-                    .addConstraintMatch(justificationList, scoreSupplier.get());
-            List<Indictment> indictmentList = justificationList.stream()
-                    .distinct() // One match might have the same justification twice
-                    .map(justification -> {
-                        Indictment indictment = indictmentMap.computeIfAbsent(justification,
-                                k -> new Indictment(justification, zeroScore));
-                        indictment.addConstraintMatch(constraintMatch);
-                        return indictment;
-                    }).collect(Collectors.toList());
-            constraintActivationUnMatchListener.constraintMatch = constraintMatch;
-            constraintActivationUnMatchListener.indictmentList = indictmentList;
+            constraintActivationUnMatchListener.addConstraintMatch(kcontext, scoreSupplier.get());
+        }
+    }
+
+    /**
+     * Like {@link #registerConstraintMatch(RuleContext, Runnable, Supplier)},
+     * but without a lambda for the undo listener or the score supplier:
+     * the listener holds the weights of the match in primitive fields.
+     * @param kcontext never null, the magic variable in DRL
+     * @param unMatchListener never null, preferably the result of {@link #findReusableUnMatchListener(RuleContext)}
+     * if that isn't null, with its weights overwritten
+     */
+    protected void registerConstraintMatch(RuleContext kcontext,
+            ReusableConstraintActivationUnMatchListener unMatchListener) {
+        AgendaItem<?> agendaItem = (AgendaItem) kcontext.getMatch();
+        agendaItem.setCallback(unMatchListener);
+        unMatchListener.registered = true;
+        if (constraintMatchEnabled) {
+            unMatchListener.addConstraintMatch(kcontext, unMatchListener.extractWeightScore());
         }
     }
 
+    /**
+     * When a match fires again (after its undo listener has run because the match was updated),
+     * its previous undo listener can be reused instead of allocating a new one.
+     * @param kcontext never null, the magic variable in DRL
+     * @return null if the match didn't fire before for this score holder
+     */
+    protected ReusableConstraintActivationUnMatchListener findReusableUnMatchListener(RuleContext kcontext) {
+        AgendaItem<?> agendaItem = (AgendaItem) kcontext.getMatch();
+        Runnable callback = agendaItem.getCallback();
+        if (callback instanceof ReusableConstraintActivationUnMatchListener) {
+            ReusableConstraintActivationUnMatchListener unMatchListener
+                    = (ReusableConstraintActivationUnMatchListener) callback;
+            if (unMatchListener.getScoreHolder() == this) {
+                return unMatchListener;
+            }
+        }
+        return null;
+    }
+
     private ConstraintMatchTotal findConstraintMatchTotal(RuleContext kcontext) {
         Rule rule = kcontext.getRule();
         String constraintPackage = rule.getPackageName();
@@ -117,21 +140,35 @@ public abstract class AbstractScoreHolder implements ScoreHolder, Serializable {
         return ((org.drools.core.spi.Activation) kcontext.getMatch()).getObjectsDeep();
     }
 
-    public class ConstraintActivationUnMatchListener implements Runnable {
-
-        private final Runnable constraintUndoListener;
+    public abstract class AbstractConstraintActivationUnMatchListener implements Runnable {
 
         private ConstraintMatchTotal constraintMatchTotal;
         private List<Indictment> indictmentList;
         private ConstraintMatch constraintMatch;
 
-        public ConstraintActivationUnMatchListener(Runnable constraintUndoListener) {
-            this.constraintUndoListener = constraintUndoListener;
+        protected void addConstraintMatch(RuleContext kcontext, Score weightScore) {
+            List<Object> justificationList = extractJustificationList(kcontext);
+            // Not needed in fast code: Add ConstraintMatch
+            constraintMatchTotal = findConstraintMatchTotal(kcontext);
+            constraintMatch = constraintMatchTotal.addConstraintMatch(justificationList, weightScore);
+            indictmentList = justificationList.stream()
+                    .distinct() // One match might have the same justification twice
+                    .map(justification -> {
+                        Indictment indictment = indictmentMap.computeIfAbsent(justification,
+                                k -> new Indictment(justification, zeroScore));
+                        indictment.addConstraintMatch(constraintMatch);
+                        return indictment;
+                    }).collect(Collectors.toList());
         }
 
+        /**
+         * Subtracts the weights of the match from the score holder.
+         */
+        protected abstract void undoWeights();
+
         @Override
         public final void run() {
-            constraintUndoListener.run();
+            undoWeights();
             if (constraintMatchEnabled) {
                 // Not needed in fast code: Remove ConstraintMatch
                 constraintMatchTotal.removeConstraintMatch(constraintMatch);
@@ -141,6 +178,57 @@ public abstract class AbstractScoreHolder implements ScoreHolder, Serializable {
                         indictmentMap.remove(indictment.getJustification());
                     }
                 }
+                constraintMatchTotal = null;
+                indictmentList = null;
+                constraintMatch = null;
+            }
+        }
+
+        protected AbstractScoreHolder getScoreHolder() {
+            return AbstractScoreHolder.this;
+        }
+
+    }
+
+    public class ConstraintActivationUnMatchListener extends AbstractConstraintActivationUnMatchListener {
+
+        private final Runnable constraintUndoListener;
+
+        public ConstraintActivationUnMatchListener(Runnable constraintUndoListener) {
+            this.constraintUndoListener = constraintUndoListener;
+        }
+
+        @Override
+        protected void undoWeights() {
+            constraintUndoListener.run();
+        }
+
+    }
+
+    /**
+     * An undo listener that holds the weights of its match in primitive fields
+     * and is reused each time that match fires again, so firing a rule consequence doesn't allocate.
+     * Each score holder implementation has at most 1 subclass.
+     */
+    public abstract class ReusableConstraintActivationUnMatchListener
+            extends AbstractConstraintActivationUnMatchListener {
+
+        private boolean registered = false;
+
+        /**
+         * Only called if {@link #isConstraintMatchEnabled()} is true.
+         * @return never null, the weights of the match as a {@link Score}
+         */
+        protected abstract Score extractWeightScore();
+
+        /**
+         * Like {@link #run()}, but does nothing if it already ran since it was last registered.
+         * Unlike a {@link ConstraintActivationUnMatchListener}, it is not removed from its match afterwards.
+         */
+        public void unregister() {
+            if (registered) {
+                registered = false;
+                run();
             }
         }
 
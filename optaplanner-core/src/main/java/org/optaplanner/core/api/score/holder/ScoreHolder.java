@@ -25,6 +25,7 @@ import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.constraint.ConstraintMatch;
 import org.optaplanner.core.api.score.constraint.ConstraintMatchTotal;
 import org.optaplanner.core.api.score.constraint.Indictment;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
 import org.optaplanner.core.impl.score.director.ScoreDirector;
 import org.optaplanner.core.impl.score.director.drools.DroolsScoreDirector;
 
@@ -47,6 +48,21 @@ public interface ScoreHolder {
      */
     Score extractScore(int initScore);
 
+    /**
+     * Compares the {@link Score} that {@link #extractScore(int)} would return with another {@link Score},
+     * without creating that {@link Score} instance.
+     * The built-in implementations compare their primitive levels directly,
+     * so a move that is rejected by the acceptor doesn't create any garbage.
+     * <p>
+     * Should not be called directly, use {@link InnerScoreDirector#compareCalculatedScoreTo(Score)} instead.
+     * @param initScore {@code <= 0}, see {@link #extractScore(int)}
+     * @param otherScore never null, of the same {@link Score} type as {@link #extractScore(int)}
+     * @return like {@link Score#compareTo(Object)}
+     */
+    default int compareExtractedScoreTo(int initScore, Score otherScore) {
+        return extractScore(initScore).compareTo(otherScore);
+    }
+
     /**
      * Must be in sync with {@link ScoreDirector#isConstraintMatchEnabled()}
      * for the {@link ScoreDirector} which contains this {@link ScoreHolder}.
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.api.score.stream;
+
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.constraint.ConstraintMatchTotal;
+
+/**
+ * A constraint penalizes or rewards every match of its {@link ConstraintStream} with a constraint weight.
+ * @see ConstraintProvider
+ */
+public interface Constraint {
+
+    /**
+     * @return never null
+     */
+    ConstraintFactory getConstraintFactory();
+
+    /**
+     * @return never null
+     * @see ConstraintMatchTotal#getConstraintPackage()
+     */
+    String getConstraintPackage();
+
+    /**
+     * @return never null
+     * @see ConstraintMatchTotal#getConstraintName()
+     */
+    String getConstraintName();
+
+    /**
+     * @return never null, the {@link Score} impact of a match with match weight 1
+     * (so already negated for a penalty)
+     */
+    Score getConstraintWeight();
+
+    /**
+     * @return never null
+     * @see ConstraintMatchTotal#getConstraintId()
+     */
+    default String getConstraintId() {
+        return getConstraintPackage() + "/" + getConstraintName();
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.api.score.stream;
+
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import org.optaplanner.core.api.score.stream.uni.UniConstraintCollector;
+import org.optaplanner.core.impl.score.stream.uni.DefaultUniConstraintCollector;
+
+/**
+ * Creates a {@link UniConstraintCollector} for
+ * {@link org.optaplanner.core.api.score.stream.uni.UniConstraintStream#groupBy(Function, UniConstraintCollector)}.
+ */
+public final class ConstraintCollectors {
+
+    /**
+     * Counts the number of matches in a group.
+     * @param <A> the type of the matched object
+     * @return never null
+     */
+    public static <A> UniConstraintCollector<A, ?, Integer> count() {
+        return new DefaultUniConstraintCollector<A, int[], Integer>(
+                () -> new int[1],
+                (resultContainer, a) -> {
+                    resultContainer[0]++;
+                    return () -> resultContainer[0]--;
+                },
+                resultContainer -> resultContainer[0]);
+    }
+
+    /**
+     * Sums a property of every match in a group.
+     * @param groupValueMapping never null
+     * @param <A> the type of the matched object
+     * @return never null
+     */
+    public static <A> UniConstraintCollector<A, ?, Integer> sum(ToIntFunction<? super A> groupValueMapping) {
+        return new DefaultUniConstraintCollector<A, int[], Integer>(
+                () -> new int[1],
+                (resultContainer, a) -> {
+                    int value = groupValueMapping.applyAsInt(a);
+                    resultContainer[0] += value;
+                    return () -> resultContainer[0] -= value;
+                },
+                resultContainer -> resultContainer[0]);
+    }
+
+    private ConstraintCollectors() {
+    }
+
+}
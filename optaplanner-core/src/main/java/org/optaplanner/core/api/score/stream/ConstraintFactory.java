@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.api.score.stream;
+
+import org.optaplanner.core.api.domain.entity.PlanningEntity;
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.domain.variable.PlanningVariable;
+import org.optaplanner.core.api.score.stream.uni.UniConstraintStream;
+
+/**
+ * The start of every constraint stream.
+ * @see ConstraintProvider
+ */
+public interface ConstraintFactory {
+
+    /**
+     * @return never null, the package of every {@link Constraint} created by this factory,
+     * by default the package of the {@link PlanningSolution} class
+     */
+    String getDefaultConstraintPackage();
+
+    /**
+     * Start a {@link UniConstraintStream} of all instances of the fromClass
+     * that are known as a problem fact or a {@link PlanningEntity planning entity}.
+     * <p>
+     * If the fromClass is a {@link PlanningEntity}, the entities with an uninitialized (null)
+     * {@link PlanningVariable genuine planning variable} are filtered out,
+     * unless that variable is {@link PlanningVariable#nullable() nullable}.
+     * Use {@link #fromUnfiltered(Class)} to include them.
+     * @param fromClass never null
+     * @param <A> the type of the matched problem fact or {@link PlanningEntity planning entity}
+     * @return never null
+     */
+    <A> UniConstraintStream<A> from(Class<A> fromClass);
+
+    /**
+     * Like {@link #from(Class)}, but without filtering out the uninitialized {@link PlanningEntity planning entities}.
+     * @param fromClass never null
+     * @param <A> the type of the matched problem fact or {@link PlanningEntity planning entity}
+     * @return never null
+     */
+    <A> UniConstraintStream<A> fromUnfiltered(Class<A> fromClass);
+
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.api.score.stream;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+
+/**
+ * Used for constraint stream {@link Score} calculation,
+ * which is incremental (so fast) without writing the incremental logic by hand.
+ * <p>
+ * An implementation must be stateless.
+ * It is called only once per {@link PlanningSolution} class, to build the node network.
+ */
+public interface ConstraintProvider {
+
+    /**
+     * This method is called once to create the constraints.
+     * To create a {@link Constraint}, start with {@link ConstraintFactory#from(Class)}.
+     * @param constraintFactory never null
+     * @return never null, an array of all {@link Constraint constraints} used to calculate the {@link Score}.
+     * Each {@link Constraint} must have a unique {@link Constraint#getConstraintId() constraint id}.
+     */
+    Constraint[] defineConstraints(ConstraintFactory constraintFactory);
+
+}
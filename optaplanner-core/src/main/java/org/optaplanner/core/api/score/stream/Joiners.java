@@ -0,0 +1,131 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.api.score.stream;
+
+import java.util.function.Function;
+
+import org.optaplanner.core.api.score.stream.bi.BiJoiner;
+import org.optaplanner.core.impl.score.stream.bi.SingleBiJoiner;
+import org.optaplanner.core.impl.score.stream.common.JoinerType;
+
+/**
+ * Creates a {@link BiJoiner} to restrict which pairs are matched by
+ * {@link org.optaplanner.core.api.score.stream.uni.UniConstraintStream#join(Class, BiJoiner[])}.
+ * <p>
+ * The {@link #equal(Function, Function) equal} joiners are indexed (so they are fast),
+ * the other joiners are checked for every pair with the same {@link #equal(Function, Function) equal} key.
+ */
+public final class Joiners {
+
+    /**
+     * As defined by {@link #equal(Function, Function)} with {@code leftMapping == rightMapping}.
+     * @param mapping never null, called on both sides
+     * @param <A> the type of both objects
+     * @param <Property_> the type of the mapped property
+     * @return never null
+     */
+    public static <A, Property_> BiJoiner<A, A> equal(Function<A, Property_> mapping) {
+        return equal(mapping, mapping);
+    }
+
+    /**
+     * Matches if the left and right mapped properties are {@link Object#equals(Object) equal}.
+     * @param leftMapping never null, called on the left object (A)
+     * @param rightMapping never null, called on the right object (B)
+     * @param <A> the type of the left object
+     * @param <B> the type of the right object
+     * @param <Property_> the type of the mapped property
+     * @return never null
+     */
+    public static <A, B, Property_> BiJoiner<A, B> equal(
+            Function<A, Property_> leftMapping, Function<B, Property_> rightMapping) {
+        return new SingleBiJoiner<>(leftMapping, JoinerType.EQUAL, rightMapping);
+    }
+
+    /**
+     * As defined by {@link #lessThan(Function, Function)} with {@code leftMapping == rightMapping}.
+     * @param mapping never null, called on both sides
+     * @param <A> the type of both objects
+     * @param <Property_> the type of the mapped property
+     * @return never null
+     */
+    public static <A, Property_ extends Comparable<Property_>> BiJoiner<A, A> lessThan(
+            Function<A, Property_> mapping) {
+        return lessThan(mapping, mapping);
+    }
+
+    /**
+     * Matches if the left mapped property is less than the right mapped property.
+     * For example {@code lessThan(Queen::getId)} matches every pair of queens only once.
+     * @param leftMapping never null, called on the left object (A)
+     * @param rightMapping never null, called on the right object (B)
+     * @param <A> the type of the left object
+     * @param <B> the type of the right object
+     * @param <Property_> the type of the mapped property
+     * @return never null
+     */
+    public static <A, B, Property_ extends Comparable<Property_>> BiJoiner<A, B> lessThan(
+            Function<A, Property_> leftMapping, Function<B, Property_> rightMapping) {
+        return new SingleBiJoiner<>(leftMapping, JoinerType.LESS_THAN, rightMapping);
+    }
+
+    /**
+     * Matches if the left mapped property is less than or equal to the right mapped property.
+     * @param leftMapping never null, called on the left object (A)
+     * @param rightMapping never null, called on the right object (B)
+     * @param <A> the type of the left object
+     * @param <B> the type of the right object
+     * @param <Property_> the type of the mapped property
+     * @return never null
+     */
+    public static <A, B, Property_ extends Comparable<Property_>> BiJoiner<A, B> lessThanOrEqual(
+            Function<A, Property_> leftMapping, Function<B, Property_> rightMapping) {
+        return new SingleBiJoiner<>(leftMapping, JoinerType.LESS_THAN_OR_EQUAL, rightMapping);
+    }
+
+    /**
+     * Matches if the left mapped property is greater than the right mapped property.
+     * @param leftMapping never null, called on the left object (A)
+     * @param rightMapping never null, called on the right object (B)
+     * @param <A> the type of the left object
+     * @param <B> the type of the right object
+     * @param <Property_> the type of the mapped property
+     * @return never null
+     */
+    public static <A, B, Property_ extends Comparable<Property_>> BiJoiner<A, B> greaterThan(
+            Function<A, Property_> leftMapping, Function<B, Property_> rightMapping) {
+        return new SingleBiJoiner<>(leftMapping, JoinerType.GREATER_THAN, rightMapping);
+    }
+
+    /**
+     * Matches if the left mapped property is greater than or equal to the right mapped property.
+     * @param leftMapping never null, called on the left object (A)
+     * @param rightMapping never null, called on the right object (B)
+     * @param <A> the type of the left object
+     * @param <B> the type of the right object
+     * @param <Property_> the type of the mapped property
+     * @return never null
+     */
+    public static <A, B, Property_ extends Comparable<Property_>> BiJoiner<A, B> greaterThanOrEqual(
+            Function<A, Property_> leftMapping, Function<B, Property_> rightMapping) {
+        return new SingleBiJoiner<>(leftMapping, JoinerType.GREATER_THAN_OR_EQUAL, rightMapping);
+    }
+
+    private Joiners() {
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.api.score.stream.bi;
+
+import java.util.function.BiPredicate;
+import java.util.function.ToIntBiFunction;
+
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.stream.Constraint;
+import org.optaplanner.core.api.score.stream.ConstraintStream;
+
+/**
+ * A {@link ConstraintStream} that matches two facts.
+ * @param <A> the type of the first fact in the tuple
+ * @param <B> the type of the second fact in the tuple
+ */
+public interface BiConstraintStream<A, B> extends ConstraintStream {
+
+    // ************************************************************************
+    // Filter
+    // ************************************************************************
+
+    /**
+     * Exhaustively test each tuple of facts against the {@link BiPredicate}
+     * and match if {@link BiPredicate#test(Object, Object)} returns true.
+     * <p>
+     * Important: This is slower and less scalable than
+     * {@link org.optaplanner.core.api.score.stream.uni.UniConstraintStream#join(Class, BiJoiner[])}
+     * with a proper {@link BiJoiner} predicate (such as
+     * {@link org.optaplanner.core.api.score.stream.Joiners#equal(java.util.function.Function)}),
+     * because the latter applies hashing and/or indexing, so it doesn't create every combination just to filter it out.
+     * @param predicate never null
+     * @return never null
+     */
+    BiConstraintStream<A, B> filter(BiPredicate<A, B> predicate);
+
+    // ************************************************************************
+    // Penalize/reward
+    // ************************************************************************
+
+    /**
+     * Negatively impact the {@link Score}: subtract the constraintWeight for each match.
+     * @param constraintName never null, unique per constraint package
+     * @param constraintWeight never null
+     * @return never null
+     */
+    Constraint penalize(String constraintName, Score<?> constraintWeight);
+
+    /**
+     * Negatively impact the {@link Score}: subtract the constraintWeight multiplied by the match weight.
+     * @param constraintName never null, unique per constraint package
+     * @param constraintWeight never null
+     * @param matchWeigher never null, the result of this function (matchWeight) is multiplied by the constraintWeight
+     * @return never null
+     */
+    Constraint penalize(String constraintName, Score<?> constraintWeight, ToIntBiFunction<A, B> matchWeigher);
+
+    /**
+     * Positively impact the {@link Score}: add the constraintWeight for each match.
+     * @param constraintName never null, unique per constraint package
+     * @param constraintWeight never null
+     * @return never null
+     */
+    Constraint reward(String constraintName, Score<?> constraintWeight);
+
+    /**
+     * Positively impact the {@link Score}: add the constraintWeight multiplied by the match weight.
+     * @param constraintName never null, unique per constraint package
+     * @param constraintWeight never null
+     * @param matchWeigher never null, the result of this function (matchWeight) is multiplied by the constraintWeight
+     * @return never null
+     */
+    Constraint reward(String constraintName, Score<?> constraintWeight, ToIntBiFunction<A, B> matchWeigher);
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.api.score.stream.uni;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.stream.Constraint;
+import org.optaplanner.core.api.score.stream.ConstraintStream;
+import org.optaplanner.core.api.score.stream.bi.BiConstraintStream;
+import org.optaplanner.core.api.score.stream.bi.BiJoiner;
+
+/**
+ * A {@link ConstraintStream} that matches one fact.
+ * @param <A> the type of the first and only fact in the tuple
+ */
+public interface UniConstraintStream<A> extends ConstraintStream {
+
+    // ************************************************************************
+    // Filter
+    // ************************************************************************
+
+    /**
+     * Exhaustively test each fact against the {@link Predicate}
+     * and match if {@link Predicate#test(Object)} returns true.
+     * @param predicate never null
+     * @return never null
+     */
+    UniConstraintStream<A> filter(Predicate<A> predicate);
+
+    // ************************************************************************
+    // Join
+    // ************************************************************************
+
+    /**
+     * Create a new {@link BiConstraintStream} for every combination of A and B that satisfy all the joiners.
+     * <p>
+     * Important: a join of a class with itself also matches every A with itself
+     * and every pair twice (as (A1, A2) and as (A2, A1)),
+     * unless a joiner such as {@link org.optaplanner.core.api.score.stream.Joiners#lessThan(Function)}
+     * prevents that.
+     * @param otherClass never null
+     * @param joiners never null, the {@link org.optaplanner.core.api.score.stream.Joiners#equal(Function) equal}
+     * joiners are indexed
+     * @param <B> the type of the second matched fact
+     * @return never null
+     */
+    <B> BiConstraintStream<A, B> join(Class<B> otherClass, BiJoiner<A, B>... joiners);
+
+    /**
+     * Like {@link #join(Class, BiJoiner[])}, but the right side is another constraint stream,
+     * for example a filtered one.
+     * @param otherStream never null, created by the same
+     * {@link org.optaplanner.core.api.score.stream.ConstraintFactory}
+     * @param joiners never null
+     * @param <B> the type of the second matched fact
+     * @return never null
+     */
+    <B> BiConstraintStream<A, B> join(UniConstraintStream<B> otherStream, BiJoiner<A, B>... joiners);
+
+    // ************************************************************************
+    // Group by
+    // ************************************************************************
+
+    /**
+     * Convert the {@link UniConstraintStream} to a {@link BiConstraintStream}
+     * that contains one tuple per group key, with the result of the collector over all the facts of that group.
+     * <p>
+     * A group is only updated (and only its tuple is rematched downstream)
+     * when one of its facts is added, removed or changed.
+     * @param groupKeyMapping never null, function to convert the fact to a group key
+     * @param collector never null, the collector to perform the grouping operation with
+     * @param <GroupKey_> the type of a group key
+     * @param <Result_> the type of the collected result
+     * @return never null
+     */
+    <GroupKey_, Result_> BiConstraintStream<GroupKey_, Result_> groupBy(Function<A, GroupKey_> groupKeyMapping,
+            UniConstraintCollector<A, ?, Result_> collector);
+
+    // ************************************************************************
+    // Penalize/reward
+    // ************************************************************************
+
+    /**
+     * Negatively impact the {@link Score}: subtract the constraintWeight for each match.
+     * @param constraintName never null, unique per constraint package
+     * @param constraintWeight never null
+     * @return never null
+     */
+    Constraint penalize(String constraintName, Score<?> constraintWeight);
+
+    /**
+     * Negatively impact the {@link Score}: subtract the constraintWeight multiplied by the match weight.
+     * @param constraintName never null, unique per constraint package
+     * @param constraintWeight never null
+     * @param matchWeigher never null, the result of this function (matchWeight) is multiplied by the constraintWeight
+     * @return never null
+     */
+    Constraint penalize(String constraintName, Score<?> constraintWeight, ToIntFunction<A> matchWeigher);
+
+    /**
+     * Positively impact the {@link Score}: add the constraintWeight for each match.
+     * @param constraintName never null, unique per constraint package
+     * @param constraintWeight never null
+     * @return never null
+     */
+    Constraint reward(String constraintName, Score<?> constraintWeight);
+
+    /**
+     * Positively impact the {@link Score}: add the constraintWeight multiplied by the match weight.
+     * @param constraintName never null, unique per constraint package
+     * @param constraintWeight never null
+     * @param matchWeigher never null, the result of this function (matchWeight) is multiplied by the constraintWeight
+     * @return never null
+     */
+    Constraint reward(String constraintName, Score<?> constraintWeight, ToIntFunction<A> matchWeigher);
+
+}
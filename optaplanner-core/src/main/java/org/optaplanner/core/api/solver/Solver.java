@@ -17,14 +17,18 @@
 package org.optaplanner.core.api.solver;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Future;
 
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.constraint.ConstraintCalculationTotal;
 import org.optaplanner.core.api.solver.event.BestSolutionChangedEvent;
 import org.optaplanner.core.api.solver.event.SolverEventListener;
+import org.optaplanner.core.config.score.director.ScoreDirectorFactoryConfig;
+import org.optaplanner.core.config.solver.SolverConfig;
 import org.optaplanner.core.impl.score.director.ScoreDirectorFactory;
 import org.optaplanner.core.impl.solver.ProblemFactChange;
 import org.optaplanner.core.impl.solver.termination.Termination;
@@ -52,6 +56,12 @@ public interface Solver<Solution_> {
      * {@link SolverEventListener#bestSolutionChanged(BestSolutionChangedEvent)} is often more appropriate).
      * <p>
      * This method is thread-safe.
+     * <p>
+     * With {@link SolverConfig#setLazyBestSolutionCloning(Boolean) lazy best solution cloning},
+     * a new best solution is only planning cloned when it's retrieved on the solver thread
+     * (for example through {@link BestSolutionChangedEvent#getNewBestSolution()}) or when the {@link #solve} ends,
+     * so during solving this method can return an older best solution than the one found most recently.
+     * {@link #getBestScore()} always returns the {@link Score} of the solution returned by this method.
      * @return never null, but it can return the original, uninitialized {@link PlanningSolution} with a {@link Score} null.
      */
     Solution_ getBestSolution();
@@ -61,6 +71,10 @@ public interface Solver<Solution_> {
      * <p>
      * This is useful for generic code, which doesn't know the type of the {@link PlanningSolution}
      * to retrieve the {@link Score} from the {@link #getBestSolution()} easily.
+     * <p>
+     * With {@link SolverConfig#setLazyBestSolutionCloning(Boolean) lazy best solution cloning},
+     * this is the {@link Score} of the best solution that has been planning cloned,
+     * which can be older than {@link BestSolutionChangedEvent#getNewBestScore()} during solving.
      * @return null if the {@link PlanningSolution} is still uninitialized
      */
     Score getBestScore();
@@ -163,4 +177,16 @@ public interface Solver<Solution_> {
      */
     ScoreDirectorFactory<Solution_> getScoreDirectorFactory();
 
+    /**
+     * Useful to find out which constraint makes the {@link Score} calculation slow.
+     * <p>
+     * This method is thread-safe.
+     * @return never null, sorted by {@link ConstraintCalculationTotal#getConstraintId()},
+     * empty unless {@link ScoreDirectorFactoryConfig#setConstraintCalculationProfilingEnabled(Boolean)} is true
+     * (or if this {@link Solver} implementation doesn't support it)
+     */
+    default List<ConstraintCalculationTotal> getConstraintCalculationTotals() {
+        return Collections.emptyList();
+    }
+
 }
@@ -26,6 +26,7 @@ import org.kie.api.runtime.KieContainer;
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.config.SolverConfigContext;
 import org.optaplanner.core.config.solver.SolverConfig;
+import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyDistanceMatrixCache;
 import org.optaplanner.core.impl.solver.EmptySolverFactory;
 import org.optaplanner.core.impl.solver.XStreamXmlSolverFactory;
 
@@ -226,6 +227,26 @@ public abstract class SolverFactory<Solution_> {
      */
     public abstract SolverFactory<Solution_> cloneSolverFactory();
 
+    /**
+     * Avoids recalculating the nearby distance matrices when solving the same problem repeatedly.
+     * <p>
+     * The cache is shared by every {@link Solver} built by this {@link SolverFactory}
+     * and by its clones from {@link #cloneSolverFactory()}.
+     * @param nearbyDistanceMatrixCache sometimes null, null to disable caching
+     */
+    public abstract void setNearbyDistanceMatrixCache(NearbyDistanceMatrixCache<Solution_> nearbyDistanceMatrixCache);
+
+    /**
+     * Disposes the idle {@link org.kie.api.runtime.KieSession}s that are pooled
+     * (see {@link org.optaplanner.core.config.score.director.ScoreDirectorFactoryConfig#getKieSessionPoolSize()})
+     * to reuse them across {@link Solver#solve(Object)} calls, to free their memory,
+     * for example when this {@link SolverFactory} is no longer used.
+     * <p>
+     * Also affects the clones from {@link #cloneSolverFactory()}.
+     * This method is thread-safe.
+     */
+    public abstract void disposeKieSessionPools();
+
     /**
      * Creates a new {@link Solver} instance.
      * @return never null
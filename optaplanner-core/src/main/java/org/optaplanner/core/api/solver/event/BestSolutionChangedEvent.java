@@ -17,6 +17,7 @@
 package org.optaplanner.core.api.solver.event;
 
 import java.util.EventObject;
+import java.util.function.Supplier;
 
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.score.FeasibilityScore;
@@ -33,7 +34,8 @@ public class BestSolutionChangedEvent<Solution_> extends EventObject {
 
     private final Solver<Solution_> solver;
     private final long timeMillisSpent;
-    private final Solution_ newBestSolution;
+    private final Supplier<Solution_> newBestSolutionSupplier;
+    private Solution_ newBestSolution;
     private final Score newBestScore;
 
     /**
@@ -46,10 +48,27 @@ public class BestSolutionChangedEvent<Solution_> extends EventObject {
         super(solver);
         this.solver = solver;
         this.timeMillisSpent = timeMillisSpent;
+        this.newBestSolutionSupplier = null;
         this.newBestSolution = newBestSolution;
         this.newBestScore = newBestScore;
     }
 
+    /**
+     * Used when the new best solution is only planning cloned if {@link #getNewBestSolution()} is called.
+     * @param solver never null
+     * @param timeMillisSpent {@code >= 0L}
+     * @param newBestSolutionSupplier never null, called at most once
+     */
+    public BestSolutionChangedEvent(Solver<Solution_> solver, long timeMillisSpent,
+            Supplier<Solution_> newBestSolutionSupplier, Score newBestScore) {
+        super(solver);
+        this.solver = solver;
+        this.timeMillisSpent = timeMillisSpent;
+        this.newBestSolutionSupplier = newBestSolutionSupplier;
+        this.newBestSolution = null;
+        this.newBestScore = newBestScore;
+    }
+
     /**
      * @return {@code >= 0}, the amount of millis spent since the {@link Solver} started
      * until {@link #getNewBestSolution()} was found
@@ -65,10 +84,16 @@ public class BestSolutionChangedEvent<Solution_> extends EventObject {
      *     check {@link #isEveryProblemFactChangeProcessed()}.</li>
      *     <li>this {@link PlanningSolution} might be uninitialized: check {@link Score#isSolutionInitialized()}.</li>
      *     <li>this {@link PlanningSolution} might be infeasible: check {@link FeasibilityScore#isFeasible()}.</li>
+     *     <li>with lazy best solution cloning, this {@link PlanningSolution} is only planning cloned
+     *     when this method is called, so it must be called during the event handling,
+     *     in the solver thread.</li>
      * </ul>
      * @return never null
      */
     public Solution_ getNewBestSolution() {
+        if (newBestSolution == null) {
+            newBestSolution = newBestSolutionSupplier.get();
+        }
         return newBestSolution;
     }
 
@@ -16,8 +16,13 @@
 
 package org.optaplanner.core.config;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import org.kie.api.runtime.KieContainer;
 import org.optaplanner.core.config.solver.SolverConfig;
+import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyDistanceMatrixCache;
+import org.optaplanner.core.impl.score.director.drools.KieSessionPool;
 
 /**
  * Provided to a {@link SolverConfig#buildSolver(SolverConfigContext)}
@@ -28,6 +33,9 @@ public class SolverConfigContext {
     private final ClassLoader classLoader;
     private final KieContainer kieContainer;
 
+    private NearbyDistanceMatrixCache<?> nearbyDistanceMatrixCache = null;
+    private final ConcurrentMap<Object, KieSessionPool> kieSessionPoolMap = new ConcurrentHashMap<>();
+
     /**
      * Vanilla context.
      */
@@ -73,10 +81,49 @@ public class SolverConfigContext {
         return kieContainer;
     }
 
+    /**
+     * @return sometimes null, shared by every {@link org.optaplanner.core.api.solver.Solver}
+     *      built with this context
+     */
+    public NearbyDistanceMatrixCache<?> getNearbyDistanceMatrixCache() {
+        return nearbyDistanceMatrixCache;
+    }
+
+    /**
+     * Use {@link org.optaplanner.core.api.solver.SolverFactory#setNearbyDistanceMatrixCache(NearbyDistanceMatrixCache)}
+     * instead, which checks the solution type.
+     * @param nearbyDistanceMatrixCache sometimes null
+     */
+    public void setNearbyDistanceMatrixCache(NearbyDistanceMatrixCache<?> nearbyDistanceMatrixCache) {
+        this.nearbyDistanceMatrixCache = nearbyDistanceMatrixCache;
+    }
+
     // ************************************************************************
     // Complex methods
     // ************************************************************************
 
+    /**
+     * Thread-safe.
+     * @param poolKey never null, equal for every score director factory with interchangeable
+     *      {@link org.kie.api.runtime.KieSession}s, such as the ones built from the same ksession or score DRLs
+     * @param size {@code > 0}, ignored if the pool already exists
+     * @param maximumFactCount {@code >= 0}, ignored if the pool already exists
+     * @return never null, shared by every {@link org.optaplanner.core.api.solver.Solver}
+     *      built with this context for an equal poolKey
+     */
+    public KieSessionPool getKieSessionPool(Object poolKey, int size, long maximumFactCount) {
+        return kieSessionPoolMap.computeIfAbsent(poolKey, key -> new KieSessionPool(size, maximumFactCount));
+    }
+
+    /**
+     * Thread-safe.
+     * Disposes the idle {@link org.kie.api.runtime.KieSession}s of every {@link KieSessionPool} of this context.
+     * The pools remain usable.
+     */
+    public void disposeKieSessionPools() {
+        kieSessionPoolMap.values().forEach(KieSessionPool::clear);
+    }
+
     public ClassLoader determineActualClassLoader() {
         if (classLoader != null) {
             return classLoader;
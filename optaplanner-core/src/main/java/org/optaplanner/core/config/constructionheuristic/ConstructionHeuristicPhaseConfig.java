@@ -34,10 +34,12 @@ import org.optaplanner.core.config.heuristic.selector.move.composite.UnionMoveSe
 import org.optaplanner.core.config.heuristic.selector.value.ValueSorterManner;
 import org.optaplanner.core.config.phase.PhaseConfig;
 import org.optaplanner.core.config.solver.EnvironmentMode;
+import org.optaplanner.core.config.solver.SolverConfig;
 import org.optaplanner.core.config.util.ConfigUtils;
 import org.optaplanner.core.impl.constructionheuristic.ConstructionHeuristicPhase;
 import org.optaplanner.core.impl.constructionheuristic.DefaultConstructionHeuristicPhase;
 import org.optaplanner.core.impl.constructionheuristic.decider.ConstructionHeuristicDecider;
+import org.optaplanner.core.impl.constructionheuristic.decider.MultiThreadedConstructionHeuristicDecider;
 import org.optaplanner.core.impl.constructionheuristic.decider.forager.ConstructionHeuristicForager;
 import org.optaplanner.core.impl.constructionheuristic.placer.EntityPlacer;
 import org.optaplanner.core.impl.solver.recaller.BestSolutionRecaller;
@@ -177,8 +179,19 @@ public class ConstructionHeuristicPhaseConfig extends PhaseConfig<ConstructionHe
         ConstructionHeuristicForagerConfig foragerConfig_ = foragerConfig == null
                 ? new ConstructionHeuristicForagerConfig() : foragerConfig;
         ConstructionHeuristicForager forager = foragerConfig_.buildForager(configPolicy);
-        ConstructionHeuristicDecider decider = new ConstructionHeuristicDecider(
-                configPolicy.getLogIndentation(), termination, forager);
+        Integer moveThreadCount = configPolicy.getMoveThreadCount();
+        ConstructionHeuristicDecider decider;
+        if (moveThreadCount == null) {
+            decider = new ConstructionHeuristicDecider(configPolicy.getLogIndentation(), termination, forager);
+        } else {
+            Integer moveThreadBufferSize = configPolicy.getMoveThreadBufferSize();
+            if (moveThreadBufferSize == null) {
+                moveThreadBufferSize = SolverConfig.DEFAULT_MOVE_THREAD_BUFFER_SIZE;
+            }
+            decider = new MultiThreadedConstructionHeuristicDecider(configPolicy.getLogIndentation(),
+                    termination, forager,
+                    configPolicy.getThreadFactory(), moveThreadCount, moveThreadCount * moveThreadBufferSize);
+        }
         EnvironmentMode environmentMode = configPolicy.getEnvironmentMode();
         if (environmentMode.isNonIntrusiveFullAsserted()) {
             decider.setAssertMoveScoreFromScratch(true);
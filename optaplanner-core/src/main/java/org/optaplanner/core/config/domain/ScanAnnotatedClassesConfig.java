@@ -28,6 +28,7 @@ import org.optaplanner.core.api.domain.entity.PlanningEntity;
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.config.AbstractConfig;
 import org.optaplanner.core.config.SolverConfigContext;
+import org.optaplanner.core.config.solver.DomainAccessType;
 import org.optaplanner.core.config.util.ConfigUtils;
 import org.optaplanner.core.impl.domain.solution.AbstractSolution;
 import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
@@ -55,6 +56,11 @@ public class ScanAnnotatedClassesConfig extends AbstractConfig<ScanAnnotatedClas
     // ************************************************************************
 
     public SolutionDescriptor buildSolutionDescriptor(SolverConfigContext configContext, ScoreDefinition deprecatedScoreDefinition) {
+        return buildSolutionDescriptor(configContext, deprecatedScoreDefinition, DomainAccessType.REFLECTION);
+    }
+
+    public SolutionDescriptor buildSolutionDescriptor(SolverConfigContext configContext,
+            ScoreDefinition deprecatedScoreDefinition, DomainAccessType domainAccessType) {
         ClassLoader[] classLoaders;
         if (configContext.getClassLoader() != null) {
             classLoaders = new ClassLoader[] {configContext.getClassLoader()};
@@ -84,7 +90,8 @@ public class ScanAnnotatedClassesConfig extends AbstractConfig<ScanAnnotatedClas
         Reflections reflections = new Reflections(builder);
         Class<?> solutionClass = loadSolutionClass(reflections);
         List<Class<?>> entityClassList = loadEntityClassList(reflections);
-        return SolutionDescriptor.buildSolutionDescriptor(solutionClass, entityClassList, deprecatedScoreDefinition);
+        return SolutionDescriptor.buildSolutionDescriptor(solutionClass, entityClassList, deprecatedScoreDefinition,
+                domainAccessType);
     }
 
     protected Class<?> loadSolutionClass(Reflections reflections) {
@@ -18,13 +18,16 @@ package org.optaplanner.core.config.heuristic.policy;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ThreadFactory;
 
 import org.optaplanner.core.config.heuristic.selector.entity.EntitySorterManner;
 import org.optaplanner.core.config.heuristic.selector.value.ValueSorterManner;
 import org.optaplanner.core.config.solver.EnvironmentMode;
 import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyDistanceMatrixCache;
 import org.optaplanner.core.impl.heuristic.selector.entity.EntitySelector;
 import org.optaplanner.core.impl.heuristic.selector.entity.mimic.EntityMimicRecorder;
+import org.optaplanner.core.impl.heuristic.selector.move.MoveSelector;
 import org.optaplanner.core.impl.heuristic.selector.value.ValueSelector;
 import org.optaplanner.core.impl.heuristic.selector.value.mimic.ValueMimicRecorder;
 import org.optaplanner.core.impl.score.definition.ScoreDefinition;
@@ -35,12 +38,17 @@ public class HeuristicConfigPolicy {
 
     private final EnvironmentMode environmentMode;
     private final String logIndentation;
+    private final Integer moveThreadCount;
+    private final Integer moveThreadBufferSize;
+    private final ThreadFactory threadFactory;
     private final InnerScoreDirectorFactory scoreDirectorFactory;
 
     private EntitySorterManner entitySorterManner = EntitySorterManner.NONE;
     private ValueSorterManner valueSorterManner = ValueSorterManner.NONE;
     private boolean reinitializeVariableFilterEnabled = false;
     private boolean initializedChainedValueFilterEnabled = false;
+    private boolean doableMoveFilterEnabled = false;
+    private NearbyDistanceMatrixCache<?> nearbyDistanceMatrixCache = null;
 
     private Map<String, EntityMimicRecorder> entityMimicRecorderMap
             = new HashMap<>();
@@ -48,12 +56,23 @@ public class HeuristicConfigPolicy {
             = new HashMap<>();
 
     public HeuristicConfigPolicy(EnvironmentMode environmentMode, InnerScoreDirectorFactory scoreDirectorFactory) {
-        this(environmentMode, "", scoreDirectorFactory);
+        this(environmentMode, null, null, null, scoreDirectorFactory);
     }
 
-    public HeuristicConfigPolicy(EnvironmentMode environmentMode, String logIndentation, InnerScoreDirectorFactory scoreDirectorFactory) {
+    public HeuristicConfigPolicy(EnvironmentMode environmentMode,
+            Integer moveThreadCount, Integer moveThreadBufferSize, ThreadFactory threadFactory,
+            InnerScoreDirectorFactory scoreDirectorFactory) {
+        this(environmentMode, "", moveThreadCount, moveThreadBufferSize, threadFactory, scoreDirectorFactory);
+    }
+
+    public HeuristicConfigPolicy(EnvironmentMode environmentMode, String logIndentation,
+            Integer moveThreadCount, Integer moveThreadBufferSize, ThreadFactory threadFactory,
+            InnerScoreDirectorFactory scoreDirectorFactory) {
         this.environmentMode = environmentMode;
         this.logIndentation = logIndentation;
+        this.moveThreadCount = moveThreadCount;
+        this.moveThreadBufferSize = moveThreadBufferSize;
+        this.threadFactory = threadFactory;
         this.scoreDirectorFactory = scoreDirectorFactory;
     }
 
@@ -65,6 +84,21 @@ public class HeuristicConfigPolicy {
         return logIndentation;
     }
 
+    /**
+     * @return null if the moves are evaluated on the solver thread
+     */
+    public Integer getMoveThreadCount() {
+        return moveThreadCount;
+    }
+
+    public Integer getMoveThreadBufferSize() {
+        return moveThreadBufferSize;
+    }
+
+    public ThreadFactory getThreadFactory() {
+        return threadFactory;
+    }
+
     public SolutionDescriptor getSolutionDescriptor() {
         return scoreDirectorFactory.getSolutionDescriptor();
     }
@@ -125,16 +159,44 @@ public class HeuristicConfigPolicy {
         this.initializedChainedValueFilterEnabled = initializedChainedValueFilterEnabled;
     }
 
+    /**
+     * @return true if the next root {@link MoveSelector} filters out the moves that aren't doable
+     */
+    public boolean isDoableMoveFilterEnabled() {
+        return doableMoveFilterEnabled;
+    }
+
+    public void setDoableMoveFilterEnabled(boolean doableMoveFilterEnabled) {
+        this.doableMoveFilterEnabled = doableMoveFilterEnabled;
+    }
+
+    /**
+     * @return null if the nearby distance matrices are not cached
+     */
+    public NearbyDistanceMatrixCache<?> getNearbyDistanceMatrixCache() {
+        return nearbyDistanceMatrixCache;
+    }
+
+    public void setNearbyDistanceMatrixCache(NearbyDistanceMatrixCache<?> nearbyDistanceMatrixCache) {
+        this.nearbyDistanceMatrixCache = nearbyDistanceMatrixCache;
+    }
+
     // ************************************************************************
     // Builder methods
     // ************************************************************************
 
     public HeuristicConfigPolicy createPhaseConfigPolicy() {
-        return new HeuristicConfigPolicy(environmentMode, logIndentation, scoreDirectorFactory);
+        HeuristicConfigPolicy phaseConfigPolicy = new HeuristicConfigPolicy(environmentMode, logIndentation,
+                moveThreadCount, moveThreadBufferSize, threadFactory, scoreDirectorFactory);
+        phaseConfigPolicy.setNearbyDistanceMatrixCache(nearbyDistanceMatrixCache);
+        return phaseConfigPolicy;
     }
 
     public HeuristicConfigPolicy createChildThreadConfigPolicy(ChildThreadType childThreadType) {
-        return new HeuristicConfigPolicy(environmentMode, logIndentation + "        ", scoreDirectorFactory);
+        // A child thread does not spawn move threads of its own
+        // nor uses the nearbyDistanceMatrixCache, because its partition has a different problem fingerprint
+        return new HeuristicConfigPolicy(environmentMode, logIndentation + "        ",
+                null, null, null, scoreDirectorFactory);
     }
 
     // ************************************************************************
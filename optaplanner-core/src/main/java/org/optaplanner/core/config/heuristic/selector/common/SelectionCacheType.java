@@ -16,6 +16,8 @@
 
 package org.optaplanner.core.config.heuristic.selector.common;
 
+import org.optaplanner.core.impl.heuristic.move.Move;
+
 /**
  * There is no INHERIT by design because 2 sequential caches provides no benefit, only memory overhead.
  */
@@ -28,6 +30,24 @@ public enum SelectionCacheType {
      * When the step is started.
      */
     STEP,
+    /**
+     * When the phase is started, and then updated when the step is started,
+     * but only for the selections related to the planning entities that changed since the previous step.
+     * A selection is related to a planning entity if it is that entity
+     * or if it's a {@link Move} that has that entity in its {@link Move#getPlanningEntities()}
+     * or {@link Move#getPlanningValues()}.
+     * <p>
+     * Like {@link #PHASE}, the selections themselves are only created again
+     * when planning entities are added or removed.
+     * Like {@link #STEP}, a sorted or probabilistic selector keeps their order or probability up to date,
+     * as long as the sorter weight or probability weight of a selection only depends on its related planning entities.
+     * Only supported by sorting, probabilistic, shuffling and caching entity and move selectors.
+     * <p>
+     * Not supported with a {@code filterClass} on that selector or any of its descendant selectors,
+     * because a filter only runs when the cache is constructed, so its result wouldn't follow the steps.
+     * Use {@link #STEP} instead for a filter that depends on the working solution.
+     */
+    STEP_INCREMENTAL,
     /**
      * When the phase is started.
      */
@@ -53,6 +73,7 @@ public enum SelectionCacheType {
             case JUST_IN_TIME:
                 return false;
             case STEP:
+            case STEP_INCREMENTAL:
             case PHASE:
             case SOLVER:
                 return true;
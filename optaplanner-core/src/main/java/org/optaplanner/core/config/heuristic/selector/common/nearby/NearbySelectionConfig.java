@@ -26,6 +26,7 @@ import org.optaplanner.core.config.util.ConfigUtils;
 import org.optaplanner.core.impl.heuristic.selector.common.nearby.BetaDistributionNearbyRandom;
 import org.optaplanner.core.impl.heuristic.selector.common.nearby.BlockDistributionNearbyRandom;
 import org.optaplanner.core.impl.heuristic.selector.common.nearby.LinearDistributionNearbyRandom;
+import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyDistanceMatrixCache;
 import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyDistanceMeter;
 import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyRandom;
 import org.optaplanner.core.impl.heuristic.selector.common.nearby.ParabolicDistributionNearbyRandom;
@@ -57,6 +58,9 @@ public class NearbySelectionConfig extends SelectorConfig<NearbySelectionConfig>
     protected Double betaDistributionAlpha = null;
     protected Double betaDistributionBeta = null;
 
+    protected Integer destinationSizeMaximum = null;
+    protected Boolean parallelDistanceMatrixCalculation = null;
+
     public EntitySelectorConfig getOriginEntitySelectorConfig() {
         return originEntitySelectorConfig;
     }
@@ -145,6 +149,30 @@ public class NearbySelectionConfig extends SelectorConfig<NearbySelectionConfig>
         this.betaDistributionBeta = betaDistributionBeta;
     }
 
+    public Integer getDestinationSizeMaximum() {
+        return destinationSizeMaximum;
+    }
+
+    /**
+     * @param destinationSizeMaximum sometimes null, the maximum number of nearest destinations
+     * that are remembered (and therefore selectable) per origin, to reduce the RAM memory usage
+     */
+    public void setDestinationSizeMaximum(Integer destinationSizeMaximum) {
+        this.destinationSizeMaximum = destinationSizeMaximum;
+    }
+
+    public Boolean getParallelDistanceMatrixCalculation() {
+        return parallelDistanceMatrixCalculation;
+    }
+
+    /**
+     * @param parallelDistanceMatrixCalculation sometimes null, if true the distance matrix rows are calculated
+     * in parallel, which requires a thread-safe {@link NearbyDistanceMeter}
+     */
+    public void setParallelDistanceMatrixCalculation(Boolean parallelDistanceMatrixCalculation) {
+        this.parallelDistanceMatrixCalculation = parallelDistanceMatrixCalculation;
+    }
+
     public void validateNearby(SelectionCacheType resolvedCacheType, SelectionOrder resolvedSelectionOrder) {
         if (originEntitySelectorConfig == null) {
             throw new IllegalArgumentException("The nearbySelectorConfig (" + this
@@ -176,6 +204,11 @@ public class NearbySelectionConfig extends SelectorConfig<NearbySelectionConfig>
                     + ") has a resolvedCacheType (" + resolvedCacheType
                     + ") that is cached.");
         }
+        if (destinationSizeMaximum != null && destinationSizeMaximum < 1) {
+            throw new IllegalArgumentException("The nearbySelectorConfig (" + this
+                    + ") has a destinationSizeMaximum (" + destinationSizeMaximum
+                    + ") which is lower than 1.");
+        }
     }
 
     public EntitySelector applyNearbyEntitySelector(HeuristicConfigPolicy configPolicy,
@@ -190,7 +223,12 @@ public class NearbySelectionConfig extends SelectorConfig<NearbySelectionConfig>
         // TODO Check nearbyDistanceMeterClass.getGenericInterfaces() to confirm generic type S is an entityClass
         NearbyRandom nearbyRandom = buildNearbyRandom(randomSelection);
         return new NearEntityNearbyEntitySelector(entitySelector, originEntitySelector,
-                nearbyDistanceMeter, nearbyRandom, randomSelection);
+                nearbyDistanceMeter, nearbyRandom, randomSelection,
+                defaultIfNull(destinationSizeMaximum, Integer.MAX_VALUE),
+                defaultIfNull(parallelDistanceMatrixCalculation, false),
+                configPolicy.getNearbyDistanceMatrixCache(),
+                buildNearbyDistanceMatrixCacheKey(originEntitySelector,
+                        entitySelector.getEntityDescriptor().getEntityClass().getName()));
     }
 
     public ValueSelector applyNearbyValueSelector(HeuristicConfigPolicy configPolicy,
@@ -204,7 +242,29 @@ public class NearbySelectionConfig extends SelectorConfig<NearbySelectionConfig>
         // TODO Check nearbyDistanceMeterClass.getGenericInterfaces() to confirm generic type S is an entityClass
         NearbyRandom nearbyRandom = buildNearbyRandom(randomSelection);
         return new NearEntityNearbyValueSelector(valueSelector, originEntitySelector,
-                nearbyDistanceMeter, nearbyRandom, randomSelection);
+                nearbyDistanceMeter, nearbyRandom, randomSelection,
+                defaultIfNull(destinationSizeMaximum, Integer.MAX_VALUE),
+                defaultIfNull(parallelDistanceMatrixCalculation, false),
+                configPolicy.getNearbyDistanceMatrixCache(),
+                buildNearbyDistanceMatrixCacheKey(originEntitySelector,
+                        valueSelector.getVariableDescriptor().getEntityDescriptor().getEntityClass().getName()
+                        + "." + valueSelector.getVariableDescriptor().getVariableName()));
+    }
+
+    /**
+     * Unlike the toString() of the built selectors, the key is the same
+     * for every {@link org.optaplanner.core.api.solver.Solver} built from this config, also after a restart.
+     * Selectors with the same key but other origins or destinations (for example due to a filter)
+     * never reuse each other's matrix, because the {@link NearbyDistanceMatrixCache} also compares those.
+     * @param originEntitySelector never null
+     * @param destinationName never null, the destination entity class or planning variable
+     * @return never null
+     */
+    protected String buildNearbyDistanceMatrixCacheKey(EntitySelector originEntitySelector, String destinationName) {
+        return destinationName
+                + " nearby " + originEntitySelector.getEntityDescriptor().getEntityClass().getName()
+                + " (" + originEntitySelectorConfig.getMimicSelectorRef() + ")"
+                + " by " + nearbyDistanceMeterClass.getName();
     }
 
     protected NearbyRandom buildNearbyRandom(boolean randomSelection) {
@@ -298,6 +358,10 @@ public class NearbySelectionConfig extends SelectorConfig<NearbySelectionConfig>
                 inheritedConfig.getBetaDistributionAlpha());
         betaDistributionBeta = ConfigUtils.inheritOverwritableProperty(betaDistributionBeta,
                 inheritedConfig.getBetaDistributionBeta());
+        destinationSizeMaximum = ConfigUtils.inheritOverwritableProperty(destinationSizeMaximum,
+                inheritedConfig.getDestinationSizeMaximum());
+        parallelDistanceMatrixCalculation = ConfigUtils.inheritOverwritableProperty(
+                parallelDistanceMatrixCalculation, inheritedConfig.getParallelDistanceMatrixCalculation());
     }
 
 }
@@ -261,6 +261,7 @@ public class EntitySelectorConfig extends SelectorConfig<EntitySelectorConfig> {
         validateSorting(resolvedSelectionOrder);
         validateProbability(resolvedSelectionOrder);
         validateSelectedLimit(minimumCacheType);
+        validateFiltering(minimumCacheType, resolvedCacheType);
 
         // baseEntitySelector and lower should be SelectionOrder.ORIGINAL if they are going to get cached completely
         EntitySelector entitySelector = buildBaseEntitySelector(configPolicy, entityDescriptor,
@@ -507,6 +508,19 @@ public class EntitySelectorConfig extends SelectorConfig<EntitySelectorConfig> {
         return entitySelector;
     }
 
+    private void validateFiltering(SelectionCacheType minimumCacheType, SelectionCacheType resolvedCacheType) {
+        // A STEP_INCREMENTAL cache only filters when it's constructed, not when it's updated for the touched entities
+        if (!ConfigUtils.isEmptyCollection(filterClassList)
+                && SelectionCacheType.max(minimumCacheType, resolvedCacheType) == SelectionCacheType.STEP_INCREMENTAL) {
+            throw new IllegalArgumentException("The entitySelectorConfig (" + this
+                    + ") with filterClassList (" + filterClassList
+                    + ") has a minimumCacheType (" + minimumCacheType
+                    + ") or a resolvedCacheType (" + resolvedCacheType
+                    + ") that is " + SelectionCacheType.STEP_INCREMENTAL + ".\n"
+                    + "Maybe use the cacheType " + SelectionCacheType.STEP + " instead.");
+        }
+    }
+
     private void validateSelectedLimit(SelectionCacheType minimumCacheType) {
         if (selectedCountLimit != null
                 && minimumCacheType.compareTo(SelectionCacheType.JUST_IN_TIME) > 0) {
@@ -48,6 +48,7 @@ import org.optaplanner.core.impl.heuristic.selector.common.decorator.SelectionSo
 import org.optaplanner.core.impl.heuristic.selector.common.decorator.WeightFactorySelectionSorter;
 import org.optaplanner.core.impl.heuristic.selector.move.MoveSelector;
 import org.optaplanner.core.impl.heuristic.selector.move.decorator.CachingMoveSelector;
+import org.optaplanner.core.impl.heuristic.selector.move.decorator.DoableFilteringMoveSelector;
 import org.optaplanner.core.impl.heuristic.selector.move.decorator.FilteringMoveSelector;
 import org.optaplanner.core.impl.heuristic.selector.move.decorator.ProbabilityMoveSelector;
 import org.optaplanner.core.impl.heuristic.selector.move.decorator.SelectedCountLimitMoveSelector;
@@ -190,16 +191,23 @@ public abstract class MoveSelectorConfig<C extends MoveSelectorConfig> extends S
         validateSorting(resolvedSelectionOrder);
         validateProbability(resolvedSelectionOrder);
         validateSelectedLimit(minimumCacheType);
+        validateFiltering(minimumCacheType, resolvedCacheType);
 
+        boolean doableMoveFilterEnabled = configPolicy.isDoableMoveFilterEnabled();
+        // Only the root filters: a child move (of a cartesian product for example) might only be doable
+        // after the moves before it are done
+        configPolicy.setDoableMoveFilterEnabled(false);
         MoveSelector moveSelector = buildBaseMoveSelector(configPolicy,
                 SelectionCacheType.max(minimumCacheType, resolvedCacheType),
                 determineBaseRandomSelection(resolvedCacheType, resolvedSelectionOrder));
+        configPolicy.setDoableMoveFilterEnabled(doableMoveFilterEnabled);
 
         moveSelector = applyFiltering(resolvedCacheType, resolvedSelectionOrder, moveSelector);
         moveSelector = applySorting(resolvedCacheType, resolvedSelectionOrder, moveSelector);
         moveSelector = applyProbability(resolvedCacheType, resolvedSelectionOrder, moveSelector);
         moveSelector = applyShuffling(resolvedCacheType, resolvedSelectionOrder, moveSelector);
         moveSelector = applyCaching(resolvedCacheType, resolvedSelectionOrder, moveSelector);
+        moveSelector = applyDoableMoveFiltering(configPolicy, moveSelector);
         moveSelector = applySelectedLimit(resolvedCacheType, resolvedSelectionOrder, moveSelector);
         return moveSelector;
     }
@@ -371,6 +379,28 @@ public abstract class MoveSelectorConfig<C extends MoveSelectorConfig> extends S
         return moveSelector;
     }
 
+    private MoveSelector applyDoableMoveFiltering(HeuristicConfigPolicy configPolicy, MoveSelector moveSelector) {
+        // Above the caching, because doability changes every step, but below the selectedCountLimit,
+        // so it only counts doable moves
+        if (configPolicy.isDoableMoveFilterEnabled()) {
+            moveSelector = new DoableFilteringMoveSelector(moveSelector);
+        }
+        return moveSelector;
+    }
+
+    private void validateFiltering(SelectionCacheType minimumCacheType, SelectionCacheType resolvedCacheType) {
+        // A STEP_INCREMENTAL cache only filters when it's constructed, not when it's updated for the touched entities
+        if (!ConfigUtils.isEmptyCollection(filterClassList)
+                && SelectionCacheType.max(minimumCacheType, resolvedCacheType) == SelectionCacheType.STEP_INCREMENTAL) {
+            throw new IllegalArgumentException("The moveSelectorConfig (" + this
+                    + ") with filterClassList (" + filterClassList
+                    + ") has a minimumCacheType (" + minimumCacheType
+                    + ") or a resolvedCacheType (" + resolvedCacheType
+                    + ") that is " + SelectionCacheType.STEP_INCREMENTAL + ".\n"
+                    + "Maybe use the cacheType " + SelectionCacheType.STEP + " instead.");
+        }
+    }
+
     private void validateSelectedLimit(SelectionCacheType minimumCacheType) {
         if (selectedCountLimit != null
                 && minimumCacheType.compareTo(SelectionCacheType.JUST_IN_TIME) > 0) {
@@ -282,6 +282,7 @@ public class ValueSelectorConfig extends SelectorConfig<ValueSelectorConfig> {
         validateSorting(resolvedSelectionOrder);
         validateProbability(resolvedSelectionOrder);
         validateSelectedLimit(minimumCacheType);
+        validateFiltering(minimumCacheType, resolvedCacheType);
 
         // baseValueSelector and lower should be SelectionOrder.ORIGINAL if they are going to get cached completely
         ValueSelector valueSelector = buildBaseValueSelector(configPolicy, variableDescriptor,
@@ -606,6 +607,19 @@ public class ValueSelectorConfig extends SelectorConfig<ValueSelectorConfig> {
         return valueSelector;
     }
 
+    private void validateFiltering(SelectionCacheType minimumCacheType, SelectionCacheType resolvedCacheType) {
+        // A STEP_INCREMENTAL cache only filters when it's constructed, not when it's updated for the touched entities
+        if (!ConfigUtils.isEmptyCollection(filterClassList)
+                && SelectionCacheType.max(minimumCacheType, resolvedCacheType) == SelectionCacheType.STEP_INCREMENTAL) {
+            throw new IllegalArgumentException("The valueSelectorConfig (" + this
+                    + ") with filterClassList (" + filterClassList
+                    + ") has a minimumCacheType (" + minimumCacheType
+                    + ") or a resolvedCacheType (" + resolvedCacheType
+                    + ") that is " + SelectionCacheType.STEP_INCREMENTAL + ".\n"
+                    + "Maybe use the cacheType " + SelectionCacheType.STEP + " instead.");
+        }
+    }
+
     private void validateSelectedLimit(SelectionCacheType minimumCacheType) {
         if (selectedCountLimit != null
                 && minimumCacheType.compareTo(SelectionCacheType.JUST_IN_TIME) > 0) {
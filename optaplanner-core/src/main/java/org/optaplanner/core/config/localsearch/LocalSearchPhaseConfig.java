@@ -36,11 +36,13 @@ import org.optaplanner.core.config.localsearch.decider.forager.LocalSearchForage
 import org.optaplanner.core.config.localsearch.decider.forager.LocalSearchPickEarlyType;
 import org.optaplanner.core.config.phase.PhaseConfig;
 import org.optaplanner.core.config.solver.EnvironmentMode;
+import org.optaplanner.core.config.solver.SolverConfig;
 import org.optaplanner.core.config.util.ConfigUtils;
 import org.optaplanner.core.impl.heuristic.selector.move.MoveSelector;
 import org.optaplanner.core.impl.localsearch.DefaultLocalSearchPhase;
 import org.optaplanner.core.impl.localsearch.LocalSearchPhase;
 import org.optaplanner.core.impl.localsearch.decider.LocalSearchDecider;
+import org.optaplanner.core.impl.localsearch.decider.MultiThreadedLocalSearchDecider;
 import org.optaplanner.core.impl.localsearch.decider.acceptor.Acceptor;
 import org.optaplanner.core.impl.localsearch.decider.forager.Forager;
 import org.optaplanner.core.impl.solver.recaller.BestSolutionRecaller;
@@ -64,6 +66,8 @@ public class LocalSearchPhaseConfig extends PhaseConfig<LocalSearchPhaseConfig>
     @XStreamAlias("forager")
     private LocalSearchForagerConfig foragerConfig = null;
 
+    private Boolean speculativeMoveEvaluationEnabled = null;
+
     // ************************************************************************
     // Constructors and simple getters/setters
     // ************************************************************************
@@ -100,6 +104,14 @@ public class LocalSearchPhaseConfig extends PhaseConfig<LocalSearchPhaseConfig>
         this.foragerConfig = foragerConfig;
     }
 
+    public Boolean getSpeculativeMoveEvaluationEnabled() {
+        return speculativeMoveEvaluationEnabled;
+    }
+
+    public void setSpeculativeMoveEvaluationEnabled(Boolean speculativeMoveEvaluationEnabled) {
+        this.speculativeMoveEvaluationEnabled = speculativeMoveEvaluationEnabled;
+    }
+
     // ************************************************************************
     // Builder methods
     // ************************************************************************
@@ -125,11 +137,27 @@ public class LocalSearchPhaseConfig extends PhaseConfig<LocalSearchPhaseConfig>
     }
 
     private LocalSearchDecider buildDecider(HeuristicConfigPolicy configPolicy, Termination termination) {
+        Integer moveThreadCount = configPolicy.getMoveThreadCount();
+        // With move threads, the move threads check doability in parallel instead
+        boolean doableMoveFilterEnabled = moveThreadCount == null;
+        configPolicy.setDoableMoveFilterEnabled(doableMoveFilterEnabled);
         MoveSelector moveSelector = buildMoveSelector(configPolicy);
+        configPolicy.setDoableMoveFilterEnabled(false);
         Acceptor acceptor = buildAcceptor(configPolicy);
         Forager forager = buildForager(configPolicy);
-        LocalSearchDecider decider = new LocalSearchDecider(configPolicy.getLogIndentation(),
-                termination, moveSelector, acceptor, forager);
+        LocalSearchDecider decider;
+        if (moveThreadCount == null) {
+            decider = new LocalSearchDecider(configPolicy.getLogIndentation(),
+                    termination, moveSelector, acceptor, forager);
+        } else {
+            Integer moveThreadBufferSize = configPolicy.getMoveThreadBufferSize();
+            if (moveThreadBufferSize == null) {
+                moveThreadBufferSize = SolverConfig.DEFAULT_MOVE_THREAD_BUFFER_SIZE;
+            }
+            decider = new MultiThreadedLocalSearchDecider(configPolicy.getLogIndentation(),
+                    termination, moveSelector, acceptor, forager,
+                    configPolicy.getThreadFactory(), moveThreadCount, moveThreadCount * moveThreadBufferSize);
+        }
         if (moveSelector.isNeverEnding() && !forager.supportsNeverEndingMoveSelector()) {
             throw new IllegalStateException("The moveSelector (" + moveSelector
                     + ") has neverEnding (" + moveSelector.isNeverEnding()
@@ -137,6 +165,15 @@ public class LocalSearchPhaseConfig extends PhaseConfig<LocalSearchPhaseConfig>
                     + ") does not support it.\n"
                     + "Maybe configure the <forager> with an <acceptedCountLimit>.");
         }
+        if (speculativeMoveEvaluationEnabled != null && speculativeMoveEvaluationEnabled) {
+            if (moveThreadCount != null) {
+                throw new IllegalArgumentException("The speculativeMoveEvaluationEnabled ("
+                        + speculativeMoveEvaluationEnabled + ") is not supported with a moveThreadCount ("
+                        + moveThreadCount + ").");
+            }
+            decider.setSpeculativeMoveEvaluationEnabled(true);
+        }
+        decider.setDoableMoveFilterEnabled(doableMoveFilterEnabled);
         EnvironmentMode environmentMode = configPolicy.getEnvironmentMode();
         if (environmentMode.isNonIntrusiveFullAsserted()) {
             decider.setAssertMoveScoreFromScratch(true);
@@ -255,6 +292,8 @@ public class LocalSearchPhaseConfig extends PhaseConfig<LocalSearchPhaseConfig>
                 getMoveSelectorConfig(), inheritedConfig.getMoveSelectorConfig()));
         acceptorConfig = ConfigUtils.inheritConfig(acceptorConfig, inheritedConfig.getAcceptorConfig());
         foragerConfig = ConfigUtils.inheritConfig(foragerConfig, inheritedConfig.getForagerConfig());
+        speculativeMoveEvaluationEnabled = ConfigUtils.inheritOverwritableProperty(speculativeMoveEvaluationEnabled,
+                inheritedConfig.getSpeculativeMoveEvaluationEnabled());
     }
 
 }
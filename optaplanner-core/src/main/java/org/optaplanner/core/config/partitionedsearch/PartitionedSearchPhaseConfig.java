@@ -16,6 +16,7 @@
 
 package org.optaplanner.core.config.partitionedsearch;
 
+import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -60,6 +61,9 @@ public class PartitionedSearchPhaseConfig extends PhaseConfig<PartitionedSearchP
 
     protected Class<? extends ThreadFactory> threadFactoryClass = null;
     protected String runnablePartThreadLimit = null;
+    protected Integer runnablePartThreadStepSlice = null;
+    protected Integer repartitionCountLimit = null;
+    protected Long repartitionIntervalMilliseconds = null;
 
     @XStreamImplicit()
     protected List<PhaseConfig> phaseConfigList = null;
@@ -120,6 +124,68 @@ public class PartitionedSearchPhaseConfig extends PhaseConfig<PartitionedSearchP
         this.runnablePartThreadLimit = runnablePartThreadLimit;
     }
 
+    /**
+     * The number of steps a runnable part thread does before it hands over its CPU
+     * to another part thread that is waiting because of the {@link #getRunnablePartThreadLimit()}.
+     * If set, a part thread only hands over its CPU between steps, never in the middle of a step.
+     * <p/>
+     * A higher number reduces the number of context switches when there are more partitions than runnable threads,
+     * at the expense of the waiting partitions being starved for longer.
+     * Regardless of this number, a part thread never yields if no other part thread is waiting.
+     * <p/>
+     * Defaults to null, which hands over the CPU after every evaluated move.
+     * @return null or at least 1
+     */
+    public Integer getRunnablePartThreadStepSlice() {
+        return runnablePartThreadStepSlice;
+    }
+
+    public void setRunnablePartThreadStepSlice(Integer runnablePartThreadStepSlice) {
+        this.runnablePartThreadStepSlice = runnablePartThreadStepSlice;
+    }
+
+    /**
+     * The maximum number of times the working solution is split up again,
+     * after all partitions have finished solving (because of the terminations of their phases)
+     * and their results have been merged into the working solution.
+     * Each repartition calls {@link SolutionPartitioner#splitWorkingSolution(ScoreDirector, Integer, int)}
+     * with an incremented repartitionIndex.
+     * If it's higher than 0, the {@link #getSolutionPartitionerClass()} must override that method,
+     * because splitting up the same way again achieves nothing.
+     * <p/>
+     * Repartitioning stops earlier if the termination of this phase triggers.
+     * <p/>
+     * Unless {@link #getRepartitionIntervalMilliseconds()} is set,
+     * every {@link LocalSearchPhaseConfig} in {@link #getPhaseConfigList()} needs a termination of its own,
+     * otherwise the partitions only finish when this phase terminates, so they would never be repartitioned.
+     * <p/>
+     * Defaults to 0, which never repartitions.
+     * @return null or at least 0
+     */
+    public Integer getRepartitionCountLimit() {
+        return repartitionCountLimit;
+    }
+
+    public void setRepartitionCountLimit(Integer repartitionCountLimit) {
+        this.repartitionCountLimit = repartitionCountLimit;
+    }
+
+    /**
+     * The time after which all partitions are terminated, so they're merged and split up again
+     * (if the {@link #getRepartitionCountLimit()} isn't reached yet).
+     * The partitions of the last repartition run until the termination of this phase.
+     * <p/>
+     * Defaults to null, which waits until all partitions finished because of the terminations of their phases.
+     * @return null or at least 1
+     */
+    public Long getRepartitionIntervalMilliseconds() {
+        return repartitionIntervalMilliseconds;
+    }
+
+    public void setRepartitionIntervalMilliseconds(Long repartitionIntervalMilliseconds) {
+        this.repartitionIntervalMilliseconds = repartitionIntervalMilliseconds;
+    }
+
     public List<PhaseConfig> getPhaseConfigList() {
         return phaseConfigList;
     }
@@ -139,15 +205,60 @@ public class PartitionedSearchPhaseConfig extends PhaseConfig<PartitionedSearchP
         DefaultPartitionedSearchPhase phase = new DefaultPartitionedSearchPhase(
                 phaseIndex, solverConfigPolicy.getLogIndentation(), bestSolutionRecaller,
                 buildPhaseTermination(phaseConfigPolicy, solverTermination));
-        phase.setSolutionPartitioner(buildSolutionPartitioner());
+        SolutionPartitioner solutionPartitioner = buildSolutionPartitioner();
+        phase.setSolutionPartitioner(solutionPartitioner);
         phase.setThreadFactory(buildThreadFactory());
         phase.setRunnablePartThreadLimit(resolvedActiveThreadCount());
+        if (runnablePartThreadStepSlice != null) {
+            if (runnablePartThreadStepSlice < 1) {
+                throw new IllegalArgumentException("The runnablePartThreadStepSlice (" + runnablePartThreadStepSlice
+                        + ") cannot be lower than 1.");
+            }
+            phase.setRunnablePartThreadStepSlice(runnablePartThreadStepSlice);
+        }
+        if (repartitionCountLimit != null) {
+            if (repartitionCountLimit < 0) {
+                throw new IllegalArgumentException("The repartitionCountLimit (" + repartitionCountLimit
+                        + ") cannot be negative.");
+            }
+            if (repartitionCountLimit > 0 && !isRepartitioningSupported(solutionPartitioner.getClass())) {
+                throw new IllegalArgumentException("The repartitionCountLimit (" + repartitionCountLimit
+                        + ") requires that the solutionPartitionerClass (" + solutionPartitionerClass
+                        + ") overrides the method splitWorkingSolution(ScoreDirector, Integer, int)"
+                        + " to split up differently on every repartition.\n"
+                        + "Maybe remove the repartitionCountLimit or implement that method.");
+            }
+            phase.setRepartitionCountLimit(repartitionCountLimit);
+        }
         List<PhaseConfig> phaseConfigList_ = phaseConfigList;
         if (ConfigUtils.isEmptyCollection(phaseConfigList_)) {
             phaseConfigList_ = Arrays.asList(
                     new ConstructionHeuristicPhaseConfig(),
                     new LocalSearchPhaseConfig());
         }
+        if (repartitionIntervalMilliseconds != null) {
+            if (repartitionIntervalMilliseconds < 1L) {
+                throw new IllegalArgumentException("The repartitionIntervalMilliseconds ("
+                        + repartitionIntervalMilliseconds + ") cannot be lower than 1.");
+            }
+            if (repartitionCountLimit == null || repartitionCountLimit == 0) {
+                throw new IllegalArgumentException("The repartitionIntervalMilliseconds ("
+                        + repartitionIntervalMilliseconds + ") requires a repartitionCountLimit ("
+                        + repartitionCountLimit + ") higher than 0.\n"
+                        + "Maybe remove the repartitionIntervalMilliseconds or configure a repartitionCountLimit.");
+            }
+            phase.setRepartitionIntervalMilliseconds(repartitionIntervalMilliseconds);
+        } else if (repartitionCountLimit != null && repartitionCountLimit > 0) {
+            for (PhaseConfig phaseConfig : phaseConfigList_) {
+                if (phaseConfig instanceof LocalSearchPhaseConfig && phaseConfig.getTerminationConfig() == null) {
+                    throw new IllegalArgumentException("The repartitionCountLimit (" + repartitionCountLimit
+                            + ") requires that every partition finishes on its own, but the phaseConfig ("
+                            + phaseConfig + ") has no terminationConfig, so it only ends when this phase terminates.\n"
+                            + "Maybe add a terminationConfig (such as an unimprovedSecondsSpentLimit) to that phase"
+                            + " or configure a repartitionIntervalMilliseconds.");
+                }
+            }
+        }
         phase.setPhaseConfigList(phaseConfigList_);
         phase.setConfigPolicy(phaseConfigPolicy.createChildThreadConfigPolicy(ChildThreadType.PART_THREAD));
         EnvironmentMode environmentMode = phaseConfigPolicy.getEnvironmentMode();
@@ -179,6 +290,18 @@ public class PartitionedSearchPhaseConfig extends PhaseConfig<PartitionedSearchP
         }
     }
 
+    private static boolean isRepartitioningSupported(Class<?> solutionPartitionerClass) {
+        Method method;
+        try {
+            method = solutionPartitionerClass.getMethod("splitWorkingSolution",
+                    ScoreDirector.class, Integer.class, int.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Impossible state because the solutionPartitionerClass ("
+                    + solutionPartitionerClass + ") implements " + SolutionPartitioner.class.getSimpleName() + ".", e);
+        }
+        return method.getDeclaringClass() != SolutionPartitioner.class;
+    }
+
     private ThreadFactory buildThreadFactory() {
         if (threadFactoryClass != null) {
             return ConfigUtils.newInstance(this, "threadFactoryClass", threadFactoryClass);
@@ -223,6 +346,12 @@ public class PartitionedSearchPhaseConfig extends PhaseConfig<PartitionedSearchP
                 inheritedConfig.getThreadFactoryClass());
         runnablePartThreadLimit = ConfigUtils.inheritOverwritableProperty(runnablePartThreadLimit,
                 inheritedConfig.getRunnablePartThreadLimit());
+        runnablePartThreadStepSlice = ConfigUtils.inheritOverwritableProperty(runnablePartThreadStepSlice,
+                inheritedConfig.getRunnablePartThreadStepSlice());
+        repartitionCountLimit = ConfigUtils.inheritOverwritableProperty(repartitionCountLimit,
+                inheritedConfig.getRepartitionCountLimit());
+        repartitionIntervalMilliseconds = ConfigUtils.inheritOverwritableProperty(repartitionIntervalMilliseconds,
+                inheritedConfig.getRepartitionIntervalMilliseconds());
         phaseConfigList = ConfigUtils.inheritMergeableListConfig(
                 phaseConfigList, inheritedConfig.getPhaseConfigList());
     }
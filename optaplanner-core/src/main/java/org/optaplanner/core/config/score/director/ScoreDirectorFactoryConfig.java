@@ -17,9 +17,15 @@
 package org.optaplanner.core.config.score.director;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ThreadFactory;
 
 import com.thoughtworks.xstream.annotations.XStreamAlias;
 import com.thoughtworks.xstream.annotations.XStreamConverter;
@@ -36,14 +42,18 @@ import org.kie.api.builder.Results;
 import org.kie.api.builder.model.KieModuleModel;
 import org.kie.api.io.KieResources;
 import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.KieSession;
 import org.kie.internal.builder.conf.PropertySpecificOption;
 import org.optaplanner.core.api.domain.solution.PlanningScore;
+import org.optaplanner.core.api.score.stream.ConstraintProvider;
+import org.optaplanner.core.api.solver.Solver;
 import org.optaplanner.core.api.solver.SolverFactory;
 import org.optaplanner.core.config.AbstractConfig;
 import org.optaplanner.core.config.SolverConfigContext;
 import org.optaplanner.core.config.score.definition.ScoreDefinitionType;
 import org.optaplanner.core.config.score.trend.InitializingScoreTrendLevel;
 import org.optaplanner.core.config.solver.EnvironmentMode;
+import org.optaplanner.core.config.solver.SolverConfig;
 import org.optaplanner.core.config.util.ConfigUtils;
 import org.optaplanner.core.config.util.KeyAsElementMapConverter;
 import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
@@ -62,22 +72,32 @@ import org.optaplanner.core.impl.score.buildin.simpledouble.SimpleDoubleScoreDef
 import org.optaplanner.core.impl.score.buildin.simplelong.SimpleLongScoreDefinition;
 import org.optaplanner.core.impl.score.definition.ScoreDefinition;
 import org.optaplanner.core.impl.score.director.AbstractScoreDirectorFactory;
+import org.optaplanner.core.impl.score.director.ConstraintCalculationProfiler;
 import org.optaplanner.core.impl.score.director.InnerScoreDirectorFactory;
 import org.optaplanner.core.impl.score.director.drools.DroolsScoreDirectorFactory;
 import org.optaplanner.core.impl.score.director.drools.LegacyDroolsScoreDirectorFactory;
+import org.optaplanner.core.impl.score.director.drools.PrecompiledKieBaseUtils;
 import org.optaplanner.core.impl.score.director.drools.testgen.TestGenDroolsScoreDirectorFactory;
 import org.optaplanner.core.impl.score.director.drools.testgen.TestGenLegacyDroolsScoreDirectorFactory;
 import org.optaplanner.core.impl.score.director.easy.EasyScoreCalculator;
 import org.optaplanner.core.impl.score.director.easy.EasyScoreDirectorFactory;
+import org.optaplanner.core.impl.score.director.easy.PartitionedEasyScoreCalculator;
 import org.optaplanner.core.impl.score.director.incremental.IncrementalScoreCalculator;
 import org.optaplanner.core.impl.score.director.incremental.IncrementalScoreDirectorFactory;
+import org.optaplanner.core.impl.score.director.stream.ConstraintStreamScoreDirectorFactory;
 import org.optaplanner.core.impl.score.trend.InitializingScoreTrend;
+import org.optaplanner.core.impl.solver.thread.DefaultSolverThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
+
 @XStreamAlias("scoreDirectorFactory")
 public class ScoreDirectorFactoryConfig extends AbstractConfig<ScoreDirectorFactoryConfig> {
 
+    public static final String EASY_SCORE_THREAD_COUNT_NONE = "NONE";
+    public static final String EASY_SCORE_THREAD_COUNT_AUTO = "AUTO";
+
     private static final Logger logger = LoggerFactory.getLogger(ScoreDirectorFactoryConfig.class);
 
     @Deprecated protected Class<? extends ScoreDefinition> scoreDefinitionClass = null;
@@ -86,9 +106,12 @@ public class ScoreDirectorFactoryConfig extends AbstractConfig<ScoreDirectorFact
     @Deprecated protected Integer bendableSoftLevelsSize = null;
 
     protected Class<? extends EasyScoreCalculator> easyScoreCalculatorClass = null;
+    protected String easyScoreThreadCount = null;
 
     protected Class<? extends IncrementalScoreCalculator> incrementalScoreCalculatorClass = null;
 
+    protected Class<? extends ConstraintProvider> constraintProviderClass = null;
+
     protected String ksessionName = null;
     @XStreamOmitField
     @Deprecated protected KieBase kieBase = null;
@@ -98,6 +121,13 @@ public class ScoreDirectorFactoryConfig extends AbstractConfig<ScoreDirectorFact
     protected List<File> scoreDrlFileList = null;
     @XStreamConverter(KeyAsElementMapConverter.class)
     protected Map<String, String> kieBaseConfigurationProperties = null;
+    protected String precompiledKieBaseResource = null;
+    protected File precompiledKieBaseFile = null;
+    protected Boolean lazyConstraintMatchEnabled = null;
+    protected Integer kieSessionPoolSize = null;
+    protected Long kieSessionPoolMaximumFactCount = null;
+
+    protected Boolean constraintCalculationProfilingEnabled = null;
 
     protected String initializingScoreTrend = null;
 
@@ -178,6 +208,24 @@ public class ScoreDirectorFactoryConfig extends AbstractConfig<ScoreDirectorFact
         this.easyScoreCalculatorClass = easyScoreCalculatorClass;
     }
 
+    /**
+     * The number of {@link Thread}s that calculate the parts of a {@link PartitionedEasyScoreCalculator} in parallel.
+     * <p>
+     * Defaults to {@value #EASY_SCORE_THREAD_COUNT_NONE}, which calculates all parts on the solver {@link Thread}.
+     * Use {@value #EASY_SCORE_THREAD_COUNT_AUTO} to use the majority of the CPU cores on multi-core machines.
+     * The threads are created with the {@link SolverConfig#getThreadFactoryClass()}
+     * when solving starts and stopped when solving ends.
+     * @return null, a number, {@value #EASY_SCORE_THREAD_COUNT_NONE}, {@value #EASY_SCORE_THREAD_COUNT_AUTO}
+     * or a JavaScript calculation using {@value org.optaplanner.core.config.util.ConfigUtils#AVAILABLE_PROCESSOR_COUNT}.
+     */
+    public String getEasyScoreThreadCount() {
+        return easyScoreThreadCount;
+    }
+
+    public void setEasyScoreThreadCount(String easyScoreThreadCount) {
+        this.easyScoreThreadCount = easyScoreThreadCount;
+    }
+
     public Class<? extends IncrementalScoreCalculator> getIncrementalScoreCalculatorClass() {
         return incrementalScoreCalculatorClass;
     }
@@ -186,6 +234,14 @@ public class ScoreDirectorFactoryConfig extends AbstractConfig<ScoreDirectorFact
         this.incrementalScoreCalculatorClass = incrementalScoreCalculatorClass;
     }
 
+    public Class<? extends ConstraintProvider> getConstraintProviderClass() {
+        return constraintProviderClass;
+    }
+
+    public void setConstraintProviderClass(Class<? extends ConstraintProvider> constraintProviderClass) {
+        this.constraintProviderClass = constraintProviderClass;
+    }
+
     public String getKsessionName() {
         return ksessionName;
     }
@@ -234,6 +290,66 @@ public class ScoreDirectorFactoryConfig extends AbstractConfig<ScoreDirectorFact
         this.kieBaseConfigurationProperties = kieBaseConfigurationProperties;
     }
 
+    public String getPrecompiledKieBaseResource() {
+        return precompiledKieBaseResource;
+    }
+
+    /**
+     * @param precompiledKieBaseResource sometimes null, a classpath resource written by
+     * {@link PrecompiledKieBaseUtils}, to avoid compiling the score DRL at runtime
+     */
+    public void setPrecompiledKieBaseResource(String precompiledKieBaseResource) {
+        this.precompiledKieBaseResource = precompiledKieBaseResource;
+    }
+
+    public File getPrecompiledKieBaseFile() {
+        return precompiledKieBaseFile;
+    }
+
+    /**
+     * @param precompiledKieBaseFile sometimes null, a file written by {@link PrecompiledKieBaseUtils},
+     * to avoid compiling the score DRL at runtime
+     */
+    public void setPrecompiledKieBaseFile(File precompiledKieBaseFile) {
+        this.precompiledKieBaseFile = precompiledKieBaseFile;
+    }
+
+    public Boolean isLazyConstraintMatchEnabled() {
+        return lazyConstraintMatchEnabled;
+    }
+
+    public void setLazyConstraintMatchEnabled(Boolean lazyConstraintMatchEnabled) {
+        this.lazyConstraintMatchEnabled = lazyConstraintMatchEnabled;
+    }
+
+    public Integer getKieSessionPoolSize() {
+        return kieSessionPoolSize;
+    }
+
+    public void setKieSessionPoolSize(Integer kieSessionPoolSize) {
+        this.kieSessionPoolSize = kieSessionPoolSize;
+    }
+
+    public Long getKieSessionPoolMaximumFactCount() {
+        return kieSessionPoolMaximumFactCount;
+    }
+
+    public void setKieSessionPoolMaximumFactCount(Long kieSessionPoolMaximumFactCount) {
+        this.kieSessionPoolMaximumFactCount = kieSessionPoolMaximumFactCount;
+    }
+
+    public Boolean isConstraintCalculationProfilingEnabled() {
+        return constraintCalculationProfilingEnabled;
+    }
+
+    /**
+     * @param constraintCalculationProfilingEnabled sometimes null, true to record how often each constraint
+     * is calculated and how long that takes, see {@link Solver#getConstraintCalculationTotals()}
+     */
+    public void setConstraintCalculationProfilingEnabled(Boolean constraintCalculationProfilingEnabled) {
+        this.constraintCalculationProfilingEnabled = constraintCalculationProfilingEnabled;
+    }
+
     public String getInitializingScoreTrend() {
         return initializingScoreTrend;
     }
@@ -326,8 +442,20 @@ public class ScoreDirectorFactoryConfig extends AbstractConfig<ScoreDirectorFact
     public <Solution_> InnerScoreDirectorFactory<Solution_> buildScoreDirectorFactory(
             SolverConfigContext configContext, EnvironmentMode environmentMode,
             SolutionDescriptor<Solution_> solutionDescriptor) {
-        AbstractScoreDirectorFactory<Solution_> easyScoreDirectorFactory = buildEasyScoreDirectorFactory();
+        return buildScoreDirectorFactory(configContext, environmentMode, solutionDescriptor, null);
+    }
+
+    /**
+     * @param threadFactoryClass sometimes null, the {@link SolverConfig#getThreadFactoryClass()}
+     */
+    public <Solution_> InnerScoreDirectorFactory<Solution_> buildScoreDirectorFactory(
+            SolverConfigContext configContext, EnvironmentMode environmentMode,
+            SolutionDescriptor<Solution_> solutionDescriptor, Class<? extends ThreadFactory> threadFactoryClass) {
+        AbstractScoreDirectorFactory<Solution_> easyScoreDirectorFactory
+                = buildEasyScoreDirectorFactory(threadFactoryClass);
         AbstractScoreDirectorFactory<Solution_> incrementalScoreDirectorFactory = buildIncrementalScoreDirectorFactory();
+        AbstractScoreDirectorFactory<Solution_> constraintStreamScoreDirectorFactory
+                = buildConstraintStreamScoreDirectorFactory();
         AbstractScoreDirectorFactory<Solution_> droolsScoreDirectorFactory = buildDroolsScoreDirectorFactory(configContext);
         AbstractScoreDirectorFactory<Solution_> scoreDirectorFactory;
         if (easyScoreDirectorFactory != null) {
@@ -335,6 +463,10 @@ public class ScoreDirectorFactoryConfig extends AbstractConfig<ScoreDirectorFact
                 throw new IllegalArgumentException("The scoreDirectorFactory cannot have "
                         + "both an easyScoreDirectorFactory and an incrementalScoreDirectorFactory.");
             }
+            if (constraintStreamScoreDirectorFactory != null) {
+                throw new IllegalArgumentException("The scoreDirectorFactory cannot have "
+                        + "both an easyScoreDirectorFactory and a constraintStreamScoreDirectorFactory.");
+            }
             if (droolsScoreDirectorFactory != null) {
                 throw new IllegalArgumentException("The scoreDirectorFactory cannot have "
                         + "both an easyScoreDirectorFactory and an droolsScoreDirectorFactory.");
@@ -345,6 +477,10 @@ public class ScoreDirectorFactoryConfig extends AbstractConfig<ScoreDirectorFact
             }
             scoreDirectorFactory = easyScoreDirectorFactory;
         } else if (incrementalScoreDirectorFactory != null) {
+            if (constraintStreamScoreDirectorFactory != null) {
+                throw new IllegalArgumentException("The scoreDirectorFactory cannot have "
+                        + "both an incrementalScoreDirectorFactory and a constraintStreamScoreDirectorFactory.");
+            }
             if (droolsScoreDirectorFactory != null) {
                 throw new IllegalArgumentException("The scoreDirectorFactory cannot have "
                         + "both an incrementalScoreDirectorFactory and an droolsScoreDirectorFactory.");
@@ -354,11 +490,56 @@ public class ScoreDirectorFactoryConfig extends AbstractConfig<ScoreDirectorFact
                         + "when used together with droolsScoreDirectorFactory, not with incrementalScoreDirectorFactory.");
             }
             scoreDirectorFactory = incrementalScoreDirectorFactory;
+        } else if (constraintStreamScoreDirectorFactory != null) {
+            if (droolsScoreDirectorFactory != null) {
+                throw new IllegalArgumentException("The scoreDirectorFactory cannot have "
+                        + "both a constraintStreamScoreDirectorFactory and an droolsScoreDirectorFactory.");
+            }
+            if (BooleanUtils.isTrue(generateDroolsTestOnError)) {
+                throw new IllegalArgumentException("The <generateDroolsTestOnError> option can only be set to true "
+                        + "when used together with droolsScoreDirectorFactory,"
+                        + " not with constraintStreamScoreDirectorFactory.");
+            }
+            scoreDirectorFactory = constraintStreamScoreDirectorFactory;
         } else if (droolsScoreDirectorFactory != null) {
+            DroolsScoreDirectorFactory<Solution_> castDroolsScoreDirectorFactory
+                    = (DroolsScoreDirectorFactory<Solution_>) droolsScoreDirectorFactory;
+            if (BooleanUtils.isTrue(lazyConstraintMatchEnabled)) {
+                castDroolsScoreDirectorFactory.setLazyConstraintMatchEnabled(true);
+            }
+            if (kieSessionPoolSize != null && kieSessionPoolSize != 0) {
+                castDroolsScoreDirectorFactory.setKieSessionPool(configContext.getKieSessionPool(
+                        buildKieSessionPoolKey(), kieSessionPoolSize,
+                        defaultIfNull(kieSessionPoolMaximumFactCount, Long.MAX_VALUE)));
+            } else if (kieSessionPoolMaximumFactCount != null) {
+                throw new IllegalArgumentException("The kieSessionPoolMaximumFactCount ("
+                        + kieSessionPoolMaximumFactCount + ") can only be set if the kieSessionPoolSize ("
+                        + kieSessionPoolSize + ") is positive.");
+            }
             scoreDirectorFactory = droolsScoreDirectorFactory;
         } else {
             throw new IllegalArgumentException("The scoreDirectorFactory lacks a configuration for an "
-                    + "easyScoreDirectorFactory, an incrementalScoreDirectorFactory or a droolsScoreDirectorFactory.");
+                    + "easyScoreDirectorFactory, an incrementalScoreDirectorFactory,"
+                    + " a constraintStreamScoreDirectorFactory or a droolsScoreDirectorFactory.");
+        }
+        if (droolsScoreDirectorFactory == null) {
+            if (BooleanUtils.isTrue(lazyConstraintMatchEnabled)) {
+                throw new IllegalArgumentException("The <lazyConstraintMatchEnabled> option can only be set to true "
+                        + "when used together with droolsScoreDirectorFactory.");
+            }
+            if (kieSessionPoolSize != null || kieSessionPoolMaximumFactCount != null) {
+                throw new IllegalArgumentException("The kieSessionPoolSize (" + kieSessionPoolSize
+                        + ") and the kieSessionPoolMaximumFactCount (" + kieSessionPoolMaximumFactCount
+                        + ") can only be set when used together with droolsScoreDirectorFactory.");
+            }
+        }
+        if (BooleanUtils.isTrue(constraintCalculationProfilingEnabled)) {
+            if (droolsScoreDirectorFactory == null && incrementalScoreDirectorFactory == null) {
+                throw new IllegalArgumentException("The <constraintCalculationProfilingEnabled> option"
+                        + " can only be set to true when used together with droolsScoreDirectorFactory"
+                        + " or incrementalScoreDirectorFactory.");
+            }
+            scoreDirectorFactory.setConstraintCalculationProfiler(new ConstraintCalculationProfiler());
         }
         scoreDirectorFactory.setSolutionDescriptor(solutionDescriptor);
         if (assertionScoreDirectorFactory != null) {
@@ -380,7 +561,7 @@ public class ScoreDirectorFactoryConfig extends AbstractConfig<ScoreDirectorFact
             }
             scoreDirectorFactory.setAssertionScoreDirectorFactory(
                     assertionScoreDirectorFactory.buildScoreDirectorFactory(configContext,
-                            EnvironmentMode.NON_REPRODUCIBLE, solutionDescriptor));
+                            EnvironmentMode.NON_REPRODUCIBLE, solutionDescriptor, threadFactoryClass));
         }
         scoreDirectorFactory.setInitializingScoreTrend(InitializingScoreTrend.parseTrend(
                 initializingScoreTrend == null ? InitializingScoreTrendLevel.ANY.name() : initializingScoreTrend,
@@ -391,16 +572,68 @@ public class ScoreDirectorFactoryConfig extends AbstractConfig<ScoreDirectorFact
         return scoreDirectorFactory;
     }
 
-    protected <Solution_> AbstractScoreDirectorFactory<Solution_> buildEasyScoreDirectorFactory() {
+    protected <Solution_> AbstractScoreDirectorFactory<Solution_> buildEasyScoreDirectorFactory(
+            Class<? extends ThreadFactory> threadFactoryClass) {
         if (easyScoreCalculatorClass != null) {
             EasyScoreCalculator<Solution_> easyScoreCalculator = ConfigUtils.newInstance(this,
                     "easyScoreCalculatorClass", easyScoreCalculatorClass);
-            return new EasyScoreDirectorFactory<>(easyScoreCalculator);
+            Integer easyScoreThreadCount_ = resolveEasyScoreThreadCount();
+            if (easyScoreThreadCount_ == null) {
+                return new EasyScoreDirectorFactory<>(easyScoreCalculator);
+            }
+            if (!(easyScoreCalculator instanceof PartitionedEasyScoreCalculator)) {
+                throw new IllegalArgumentException("The easyScoreThreadCount (" + easyScoreThreadCount
+                        + ") requires an easyScoreCalculatorClass (" + easyScoreCalculatorClass
+                        + ") that implements " + PartitionedEasyScoreCalculator.class.getSimpleName() + ".");
+            }
+            ThreadFactory threadFactory = threadFactoryClass != null
+                    ? ConfigUtils.newInstance(this, "threadFactoryClass", threadFactoryClass)
+                    : new DefaultSolverThreadFactory("ScoreThread");
+            return new EasyScoreDirectorFactory<>(easyScoreCalculator, easyScoreThreadCount_, threadFactory);
         } else {
+            if (easyScoreThreadCount != null) {
+                throw new IllegalArgumentException("The easyScoreThreadCount (" + easyScoreThreadCount
+                        + ") requires an easyScoreCalculatorClass (" + easyScoreCalculatorClass + ").");
+            }
             return null;
         }
     }
 
+    /**
+     * Resolved like {@link SolverConfig#resolveMoveThreadCount()}.
+     * @return null if the parts should be calculated on the solver thread, otherwise at least 1
+     */
+    public Integer resolveEasyScoreThreadCount() {
+        int availableProcessorCount = Runtime.getRuntime().availableProcessors();
+        Integer resolvedEasyScoreThreadCount;
+        if (easyScoreThreadCount == null || easyScoreThreadCount.equals(EASY_SCORE_THREAD_COUNT_NONE)) {
+            return null;
+        } else if (easyScoreThreadCount.equals(EASY_SCORE_THREAD_COUNT_AUTO)) {
+            // Leave one for the Operating System and 1 for the solver thread, take the rest
+            resolvedEasyScoreThreadCount = availableProcessorCount - 2;
+            if (resolvedEasyScoreThreadCount <= 1) {
+                // Fall back to calculating all parts on the solver thread.
+                // To deliberately enforce 1 partition thread, set the easyScoreThreadCount explicitly to 1.
+                return null;
+            }
+        } else {
+            resolvedEasyScoreThreadCount = ConfigUtils.resolveThreadPoolSizeScript(
+                    "easyScoreThreadCount", easyScoreThreadCount,
+                    EASY_SCORE_THREAD_COUNT_NONE, EASY_SCORE_THREAD_COUNT_AUTO);
+        }
+        if (resolvedEasyScoreThreadCount < 1) {
+            throw new IllegalArgumentException("The easyScoreThreadCount (" + easyScoreThreadCount
+                    + ") resulted in a resolvedEasyScoreThreadCount (" + resolvedEasyScoreThreadCount
+                    + ") that is lower than 1.");
+        }
+        if (resolvedEasyScoreThreadCount > availableProcessorCount) {
+            logger.debug("The resolvedEasyScoreThreadCount ({}) is higher than "
+                    + "the availableProcessorCount ({}), which is counter-efficient.",
+                    resolvedEasyScoreThreadCount, availableProcessorCount);
+        }
+        return resolvedEasyScoreThreadCount;
+    }
+
     protected <Solution_> AbstractScoreDirectorFactory<Solution_> buildIncrementalScoreDirectorFactory() {
         if (incrementalScoreCalculatorClass != null) {
             if (!IncrementalScoreCalculator.class.isAssignableFrom(incrementalScoreCalculatorClass)) {
@@ -414,6 +647,16 @@ public class ScoreDirectorFactoryConfig extends AbstractConfig<ScoreDirectorFact
         }
     }
 
+    protected <Solution_> AbstractScoreDirectorFactory<Solution_> buildConstraintStreamScoreDirectorFactory() {
+        if (constraintProviderClass != null) {
+            ConstraintProvider constraintProvider = ConfigUtils.newInstance(this,
+                    "constraintProviderClass", constraintProviderClass);
+            return new ConstraintStreamScoreDirectorFactory<>(constraintProvider);
+        } else {
+            return null;
+        }
+    }
+
     protected <Solution_> AbstractScoreDirectorFactory<Solution_> buildDroolsScoreDirectorFactory(
             SolverConfigContext configContext) {
         KieContainer kieContainer = configContext.getKieContainer();
@@ -437,6 +680,11 @@ public class ScoreDirectorFactoryConfig extends AbstractConfig<ScoreDirectorFact
                         + ") is not null, then the kieBaseConfigurationProperties ("
                         + kieBaseConfigurationProperties + ") must be null.");
             }
+            if (precompiledKieBaseResource != null || precompiledKieBaseFile != null) {
+                throw new IllegalArgumentException("If kieContainer or ksessionName (" + ksessionName
+                        + ") is not null, then the precompiledKieBaseResource (" + precompiledKieBaseResource
+                        + ") and the precompiledKieBaseFile (" + precompiledKieBaseFile + ") must be null.");
+            }
             if (BooleanUtils.isTrue(generateDroolsTestOnError)) {
                 return new TestGenDroolsScoreDirectorFactory<>(kieContainer, ksessionName);
             } else {
@@ -451,72 +699,43 @@ public class ScoreDirectorFactoryConfig extends AbstractConfig<ScoreDirectorFact
                 throw new IllegalArgumentException("If kieBase is not null, then the kieBaseConfigurationProperties ("
                         + kieBaseConfigurationProperties + ") must be null.");
             }
+            if (precompiledKieBaseResource != null || precompiledKieBaseFile != null) {
+                throw new IllegalArgumentException("If kieBase is not null, then the precompiledKieBaseResource ("
+                        + precompiledKieBaseResource + ") and the precompiledKieBaseFile ("
+                        + precompiledKieBaseFile + ") must be null.");
+            }
             if (BooleanUtils.isTrue(generateDroolsTestOnError)) {
                 return new TestGenLegacyDroolsScoreDirectorFactory<>(kieBase, null, null);
             } else {
                 return new LegacyDroolsScoreDirectorFactory<>(kieBase);
             }
-        } else if (!ConfigUtils.isEmptyCollection(scoreDrlList) || !ConfigUtils.isEmptyCollection(scoreDrlFileList)) {
-            KieServices kieServices = KieServices.Factory.get();
-            KieResources kieResources = kieServices.getResources();
-            KieFileSystem kieFileSystem = kieServices.newKieFileSystem();
-            if (!ConfigUtils.isEmptyCollection(scoreDrlList)) {
-                ClassLoader actualClassLoader = configContext.determineActualClassLoader();
-                for (String scoreDrl : scoreDrlList) {
-                    if (scoreDrl == null) {
-                        throw new IllegalArgumentException("The scoreDrl (" + scoreDrl + ") cannot be null.");
-                    }
-                    URL scoreDrlURL = actualClassLoader.getResource(scoreDrl);
-                    if (scoreDrlURL == null) {
-                        String errorMessage = "The scoreDrl (" + scoreDrl + ") does not exist as a classpath resource"
-                                + " in the classLoader (" + actualClassLoader + ").";
-                        if (scoreDrl.startsWith("/")) {
-                            errorMessage += "\nAs from 6.1, a classpath resource should not start with a slash (/)."
-                                    + " A scoreDrl now adheres to ClassLoader.getResource(String)."
-                                    + " Remove the leading slash from the scoreDrl if you're upgrading from 6.0.";
-                        }
-                        throw new IllegalArgumentException(errorMessage);
-                    }
-                    kieFileSystem.write(kieResources.newClassPathResource(scoreDrl, "UTF-8", actualClassLoader));
-                }
+        } else if (precompiledKieBaseResource != null || precompiledKieBaseFile != null) {
+            if (precompiledKieBaseResource != null && precompiledKieBaseFile != null) {
+                throw new IllegalArgumentException("The precompiledKieBaseResource (" + precompiledKieBaseResource
+                        + ") and the precompiledKieBaseFile (" + precompiledKieBaseFile
+                        + ") cannot both be configured.");
             }
-            if (!ConfigUtils.isEmptyCollection(scoreDrlFileList)) {
-                for (File scoreDrlFile : scoreDrlFileList) {
-                    if (scoreDrlFile == null) {
-                        throw new IllegalArgumentException("The scoreDrlFile (" + scoreDrlFile + ") cannot be null.");
-                    }
-                    if (!scoreDrlFile.exists()) {
-                        throw new IllegalArgumentException("The scoreDrlFile (" + scoreDrlFile
-                                + ") does not exist.");
-                    }
-                    kieFileSystem.write(kieResources.newFileSystemResource(scoreDrlFile, "UTF-8"));
-                }
-            }
-
-            // Can be overwritten by kieBaseConfigurationProperties
-            KieModuleModel kmodel = kieServices.newKieModuleModel()
-                    .setConfigurationProperty(PropertySpecificOption.PROPERTY_NAME,
-                            PropertySpecificOption.ALLOWED.toString());
-            kieFileSystem.writeKModuleXML(kmodel.toXML());
-
-            KieBuilder kieBuilder = kieServices.newKieBuilder(kieFileSystem);
-            kieBuilder.buildAll();
-            Results results = kieBuilder.getResults();
-            if (results.hasMessages(Message.Level.ERROR)) {
-                throw new IllegalStateException("There are errors in a score DRL:\n"
-                        + results.toString());
-            } else if (results.hasMessages(Message.Level.WARNING)) {
-                logger.warn("There are warning in a score DRL:\n{}", results);
+            if (!ConfigUtils.isEmptyCollection(scoreDrlList) || !ConfigUtils.isEmptyCollection(scoreDrlFileList)) {
+                throw new IllegalArgumentException("If precompiledKieBaseResource (" + precompiledKieBaseResource
+                        + ") or precompiledKieBaseFile (" + precompiledKieBaseFile
+                        + ") is not null, then the scoreDrlList (" + scoreDrlList
+                        + ") and the scoreDrlFileList (" + scoreDrlFileList + ") must be empty.");
             }
-            kieContainer = kieServices.newKieContainer(kieBuilder.getKieModule().getReleaseId());
-
-            KieBaseConfiguration kieBaseConfiguration = kieServices.newKieBaseConfiguration();
             if (kieBaseConfigurationProperties != null) {
-                for (Map.Entry<String, String> entry : kieBaseConfigurationProperties.entrySet()) {
-                    kieBaseConfiguration.setProperty(entry.getKey(), entry.getValue());
-                }
+                throw new IllegalArgumentException("If precompiledKieBaseResource (" + precompiledKieBaseResource
+                        + ") or precompiledKieBaseFile (" + precompiledKieBaseFile
+                        + ") is not null, then the kieBaseConfigurationProperties ("
+                        + kieBaseConfigurationProperties + ") must be null,"
+                        + " because they are applied when the kieBase is precompiled.");
             }
-            KieBase kieBase = kieContainer.newKieBase(kieBaseConfiguration);
+            KieBase precompiledKieBase = buildPrecompiledKieBase(configContext);
+            if (BooleanUtils.isTrue(generateDroolsTestOnError)) {
+                return new TestGenLegacyDroolsScoreDirectorFactory<>(precompiledKieBase, null, null);
+            } else {
+                return new LegacyDroolsScoreDirectorFactory<>(precompiledKieBase);
+            }
+        } else if (!ConfigUtils.isEmptyCollection(scoreDrlList) || !ConfigUtils.isEmptyCollection(scoreDrlFileList)) {
+            KieBase kieBase = buildScoreDrlKieBase(configContext);
             if (BooleanUtils.isTrue(generateDroolsTestOnError)) {
                 return new TestGenLegacyDroolsScoreDirectorFactory<>(kieBase, scoreDrlList, scoreDrlFileList);
             } else {
@@ -533,6 +752,113 @@ public class ScoreDirectorFactoryConfig extends AbstractConfig<ScoreDirectorFact
         }
     }
 
+    /**
+     * The {@link KieSession}s of every score director factory built from an equal configuration
+     * are interchangeable, even if each one has its own {@link KieBase} instance, because it has the same rules.
+     * @return never null
+     */
+    protected Object buildKieSessionPoolKey() {
+        return Arrays.asList(ksessionName, kieBase, precompiledKieBaseResource, precompiledKieBaseFile,
+                scoreDrlList == null ? null : new ArrayList<>(scoreDrlList),
+                scoreDrlFileList == null ? null : new ArrayList<>(scoreDrlFileList),
+                kieBaseConfigurationProperties == null ? null : new HashMap<>(kieBaseConfigurationProperties),
+                generateDroolsTestOnError);
+    }
+
+    protected KieBase buildPrecompiledKieBase(SolverConfigContext configContext) {
+        ClassLoader actualClassLoader = configContext.determineActualClassLoader();
+        if (precompiledKieBaseFile != null) {
+            if (!precompiledKieBaseFile.exists()) {
+                throw new IllegalArgumentException("The precompiledKieBaseFile (" + precompiledKieBaseFile
+                        + ") does not exist.");
+            }
+            return PrecompiledKieBaseUtils.readKieBase(precompiledKieBaseFile, actualClassLoader);
+        }
+        try (InputStream in = actualClassLoader.getResourceAsStream(precompiledKieBaseResource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("The precompiledKieBaseResource (" + precompiledKieBaseResource
+                        + ") does not exist as a classpath resource in the classLoader (" + actualClassLoader + ").");
+            }
+            return PrecompiledKieBaseUtils.readKieBase(in, actualClassLoader);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("The precompiledKieBaseResource (" + precompiledKieBaseResource
+                    + ") cannot be read.", e);
+        }
+    }
+
+    /**
+     * Compiles the {@link #getScoreDrlList() scoreDrlList} and the {@link #getScoreDrlFileList() scoreDrlFileList}.
+     * Used by {@link PrecompiledKieBaseUtils} to precompile them at build time.
+     * @param configContext never null
+     * @return never null
+     */
+    public KieBase buildScoreDrlKieBase(SolverConfigContext configContext) {
+        if (ConfigUtils.isEmptyCollection(scoreDrlList) && ConfigUtils.isEmptyCollection(scoreDrlFileList)) {
+            throw new IllegalArgumentException("The scoreDrlList (" + scoreDrlList
+                    + ") and the scoreDrlFileList (" + scoreDrlFileList + ") cannot both be empty.");
+        }
+        KieServices kieServices = KieServices.Factory.get();
+        KieResources kieResources = kieServices.getResources();
+        KieFileSystem kieFileSystem = kieServices.newKieFileSystem();
+        if (!ConfigUtils.isEmptyCollection(scoreDrlList)) {
+            ClassLoader actualClassLoader = configContext.determineActualClassLoader();
+            for (String scoreDrl : scoreDrlList) {
+                if (scoreDrl == null) {
+                    throw new IllegalArgumentException("The scoreDrl (" + scoreDrl + ") cannot be null.");
+                }
+                URL scoreDrlURL = actualClassLoader.getResource(scoreDrl);
+                if (scoreDrlURL == null) {
+                    String errorMessage = "The scoreDrl (" + scoreDrl + ") does not exist as a classpath resource"
+                            + " in the classLoader (" + actualClassLoader + ").";
+                    if (scoreDrl.startsWith("/")) {
+                        errorMessage += "\nAs from 6.1, a classpath resource should not start with a slash (/)."
+                                + " A scoreDrl now adheres to ClassLoader.getResource(String)."
+                                + " Remove the leading slash from the scoreDrl if you're upgrading from 6.0.";
+                    }
+                    throw new IllegalArgumentException(errorMessage);
+                }
+                kieFileSystem.write(kieResources.newClassPathResource(scoreDrl, "UTF-8", actualClassLoader));
+            }
+        }
+        if (!ConfigUtils.isEmptyCollection(scoreDrlFileList)) {
+            for (File scoreDrlFile : scoreDrlFileList) {
+                if (scoreDrlFile == null) {
+                    throw new IllegalArgumentException("The scoreDrlFile (" + scoreDrlFile + ") cannot be null.");
+                }
+                if (!scoreDrlFile.exists()) {
+                    throw new IllegalArgumentException("The scoreDrlFile (" + scoreDrlFile
+                            + ") does not exist.");
+                }
+                kieFileSystem.write(kieResources.newFileSystemResource(scoreDrlFile, "UTF-8"));
+            }
+        }
+
+        // Can be overwritten by kieBaseConfigurationProperties
+        KieModuleModel kmodel = kieServices.newKieModuleModel()
+                .setConfigurationProperty(PropertySpecificOption.PROPERTY_NAME,
+                        PropertySpecificOption.ALLOWED.toString());
+        kieFileSystem.writeKModuleXML(kmodel.toXML());
+
+        KieBuilder kieBuilder = kieServices.newKieBuilder(kieFileSystem);
+        kieBuilder.buildAll();
+        Results results = kieBuilder.getResults();
+        if (results.hasMessages(Message.Level.ERROR)) {
+            throw new IllegalStateException("There are errors in a score DRL:\n"
+                    + results.toString());
+        } else if (results.hasMessages(Message.Level.WARNING)) {
+            logger.warn("There are warning in a score DRL:\n{}", results);
+        }
+        KieContainer kieContainer = kieServices.newKieContainer(kieBuilder.getKieModule().getReleaseId());
+
+        KieBaseConfiguration kieBaseConfiguration = kieServices.newKieBaseConfiguration();
+        if (kieBaseConfigurationProperties != null) {
+            for (Map.Entry<String, String> entry : kieBaseConfigurationProperties.entrySet()) {
+                kieBaseConfiguration.setProperty(entry.getKey(), entry.getValue());
+            }
+        }
+        return kieContainer.newKieBase(kieBaseConfiguration);
+    }
+
     @Override
     public void inherit(ScoreDirectorFactoryConfig inheritedConfig) {
         if (scoreDefinitionClass == null && scoreDefinitionType == null
@@ -544,8 +870,12 @@ public class ScoreDirectorFactoryConfig extends AbstractConfig<ScoreDirectorFact
         }
         easyScoreCalculatorClass = ConfigUtils.inheritOverwritableProperty(
                 easyScoreCalculatorClass, inheritedConfig.getEasyScoreCalculatorClass());
+        easyScoreThreadCount = ConfigUtils.inheritOverwritableProperty(
+                easyScoreThreadCount, inheritedConfig.getEasyScoreThreadCount());
         incrementalScoreCalculatorClass = ConfigUtils.inheritOverwritableProperty(
                 incrementalScoreCalculatorClass, inheritedConfig.getIncrementalScoreCalculatorClass());
+        constraintProviderClass = ConfigUtils.inheritOverwritableProperty(
+                constraintProviderClass, inheritedConfig.getConstraintProviderClass());
         ksessionName = ConfigUtils.inheritOverwritableProperty(
                 ksessionName, inheritedConfig.getKsessionName());
         kieBase = ConfigUtils.inheritOverwritableProperty(
@@ -556,6 +886,18 @@ public class ScoreDirectorFactoryConfig extends AbstractConfig<ScoreDirectorFact
                 scoreDrlFileList, inheritedConfig.getScoreDrlFileList());
         kieBaseConfigurationProperties = ConfigUtils.inheritMergeableMapProperty(
                 kieBaseConfigurationProperties, inheritedConfig.getKieBaseConfigurationProperties());
+        precompiledKieBaseResource = ConfigUtils.inheritOverwritableProperty(
+                precompiledKieBaseResource, inheritedConfig.getPrecompiledKieBaseResource());
+        precompiledKieBaseFile = ConfigUtils.inheritOverwritableProperty(
+                precompiledKieBaseFile, inheritedConfig.getPrecompiledKieBaseFile());
+        lazyConstraintMatchEnabled = ConfigUtils.inheritOverwritableProperty(
+                lazyConstraintMatchEnabled, inheritedConfig.isLazyConstraintMatchEnabled());
+        kieSessionPoolSize = ConfigUtils.inheritOverwritableProperty(
+                kieSessionPoolSize, inheritedConfig.getKieSessionPoolSize());
+        kieSessionPoolMaximumFactCount = ConfigUtils.inheritOverwritableProperty(
+                kieSessionPoolMaximumFactCount, inheritedConfig.getKieSessionPoolMaximumFactCount());
+        constraintCalculationProfilingEnabled = ConfigUtils.inheritOverwritableProperty(
+                constraintCalculationProfilingEnabled, inheritedConfig.isConstraintCalculationProfilingEnabled());
         initializingScoreTrend = ConfigUtils.inheritOverwritableProperty(
                 initializingScoreTrend, inheritedConfig.getInitializingScoreTrend());
 
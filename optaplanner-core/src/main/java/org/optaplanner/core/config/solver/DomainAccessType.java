@@ -0,0 +1,53 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.config.solver;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.impl.domain.common.accessor.BeanPropertyMemberAccessor;
+import org.optaplanner.core.impl.domain.common.accessor.LambdaBeanPropertyMemberAccessor;
+import org.optaplanner.core.impl.domain.common.accessor.MemberAccessor;
+import org.optaplanner.core.impl.domain.common.accessor.MethodHandleFieldMemberAccessor;
+import org.optaplanner.core.impl.domain.solution.cloner.FieldAccessingSolutionCloner;
+import org.optaplanner.core.impl.domain.solution.cloner.PrecomputedSolutionCloner;
+
+/**
+ * Determines how the {@link MemberAccessor}s access the planning variables, shadow variables
+ * and other annotated members of the domain classes.
+ */
+public enum DomainAccessType {
+    /**
+     * Uses {@link java.lang.reflect.Method#invoke(Object, Object...)} and {@link java.lang.reflect.Field#get(Object)}
+     * (see {@link BeanPropertyMemberAccessor}).
+     * <p>
+     * This is the default.
+     */
+    REFLECTION,
+    /**
+     * Generates a direct call to every getter and setter with {@link java.lang.invoke.LambdaMetafactory}
+     * (see {@link LambdaBeanPropertyMemberAccessor}), which avoids the reflection overhead on every call.
+     * <p>
+     * Fields (see {@link MethodHandleFieldMemberAccessor}) and getters and setters that aren't public,
+     * in a class that isn't public or in a class that isn't visible from OptaPlanner's {@link ClassLoader},
+     * are called through a {@link java.lang.invoke.MethodHandle} instead.
+     * Only annotated read methods that aren't getters still use {@link #REFLECTION}, which is logged at debug level.
+     * <p>
+     * Also uses a {@link PrecomputedSolutionCloner} instead of a {@link FieldAccessingSolutionCloner}
+     * if the {@link PlanningSolution} has no custom {@link PlanningSolution#solutionCloner()}.
+     */
+    GENERATED;
+
+}
@@ -19,6 +19,7 @@ package org.optaplanner.core.config.solver;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ThreadFactory;
 
 import com.thoughtworks.xstream.annotations.XStreamAlias;
 import com.thoughtworks.xstream.annotations.XStreamImplicit;
@@ -36,9 +37,11 @@ import org.optaplanner.core.config.solver.recaller.BestSolutionRecallerConfig;
 import org.optaplanner.core.config.solver.termination.TerminationConfig;
 import org.optaplanner.core.config.util.ConfigUtils;
 import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import org.optaplanner.core.impl.heuristic.move.Move;
 import org.optaplanner.core.impl.phase.Phase;
 import org.optaplanner.core.impl.score.definition.ScoreDefinition;
 import org.optaplanner.core.impl.score.director.InnerScoreDirectorFactory;
+import org.optaplanner.core.impl.score.director.ScoreDirector;
 import org.optaplanner.core.impl.solver.DefaultSolver;
 import org.optaplanner.core.impl.solver.random.DefaultRandomFactory;
 import org.optaplanner.core.impl.solver.random.RandomFactory;
@@ -46,14 +49,22 @@ import org.optaplanner.core.impl.solver.recaller.BestSolutionRecaller;
 import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
 import org.optaplanner.core.impl.solver.termination.BasicPlumbingTermination;
 import org.optaplanner.core.impl.solver.termination.Termination;
+import org.optaplanner.core.impl.solver.thread.DefaultSolverThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import static org.apache.commons.lang3.ObjectUtils.*;
 
 @XStreamAlias("solver")
 public class SolverConfig extends AbstractConfig<SolverConfig> {
 
+    public static final String MOVE_THREAD_COUNT_NONE = "NONE";
+    public static final String MOVE_THREAD_COUNT_AUTO = "AUTO";
+    public static final int DEFAULT_MOVE_THREAD_BUFFER_SIZE = 10;
     protected static final long DEFAULT_RANDOM_SEED = 0L;
 
+    private static final Logger logger = LoggerFactory.getLogger(SolverConfig.class);
+
     // Warning: all fields are null (and not defaulted) because they can be inherited
     // and also because the input config file should match the output config file
 
@@ -62,6 +73,11 @@ public class SolverConfig extends AbstractConfig<SolverConfig> {
     protected RandomType randomType = null;
     protected Long randomSeed = null;
     protected Class<? extends RandomFactory> randomFactoryClass = null;
+    protected String moveThreadCount = null;
+    protected Integer moveThreadBufferSize = null;
+    protected Class<? extends ThreadFactory> threadFactoryClass = null;
+    protected DomainAccessType domainAccessType = null;
+    protected Boolean lazyBestSolutionCloning = null;
 
     @XStreamAlias("scanAnnotatedClasses")
     protected ScanAnnotatedClassesConfig scanAnnotatedClassesConfig = null;
@@ -132,6 +148,70 @@ public class SolverConfig extends AbstractConfig<SolverConfig> {
         this.randomFactoryClass = randomFactoryClass;
     }
 
+    /**
+     * The number of {@link Thread}s that evaluate moves in parallel during a single step,
+     * on top of the solver {@link Thread} that decides the step.
+     * <p>
+     * Defaults to {@value #MOVE_THREAD_COUNT_NONE}, which evaluates all moves on the solver {@link Thread}.
+     * Use {@value #MOVE_THREAD_COUNT_AUTO} to use the majority of the CPU cores on multi-core machines.
+     * <p>
+     * Multithreaded solving requires that every {@link Move}
+     * supports {@link Move#rebase(ScoreDirector)}.
+     * It remains reproducible in {@link EnvironmentMode#REPRODUCIBLE}.
+     * @return null, a number, {@value #MOVE_THREAD_COUNT_NONE}, {@value #MOVE_THREAD_COUNT_AUTO}
+     * or a JavaScript calculation using {@value org.optaplanner.core.config.util.ConfigUtils#AVAILABLE_PROCESSOR_COUNT}.
+     */
+    public String getMoveThreadCount() {
+        return moveThreadCount;
+    }
+
+    public void setMoveThreadCount(String moveThreadCount) {
+        this.moveThreadCount = moveThreadCount;
+    }
+
+    /**
+     * The number of moves per move thread that are selected in advance, before they are evaluated.
+     * <p/>
+     * If it's too low, the move threads idle while the solver thread forages the evaluated moves.
+     * If it's too high, more moves are selected and evaluated that the forager never looks at,
+     * because it already picked the step (for example with an acceptedCountLimit).
+     * <p/>
+     * Defaults to {@value #DEFAULT_MOVE_THREAD_BUFFER_SIZE}, which keeps every move thread busy during a step
+     * while limiting that wasted work to a few moves per move thread.
+     * @return null or at least 1
+     */
+    public Integer getMoveThreadBufferSize() {
+        return moveThreadBufferSize;
+    }
+
+    public void setMoveThreadBufferSize(Integer moveThreadBufferSize) {
+        this.moveThreadBufferSize = moveThreadBufferSize;
+    }
+
+    public Class<? extends ThreadFactory> getThreadFactoryClass() {
+        return threadFactoryClass;
+    }
+
+    public void setThreadFactoryClass(Class<? extends ThreadFactory> threadFactoryClass) {
+        this.threadFactoryClass = threadFactoryClass;
+    }
+
+    public DomainAccessType getDomainAccessType() {
+        return domainAccessType;
+    }
+
+    public void setDomainAccessType(DomainAccessType domainAccessType) {
+        this.domainAccessType = domainAccessType;
+    }
+
+    public Boolean getLazyBestSolutionCloning() {
+        return lazyBestSolutionCloning;
+    }
+
+    public void setLazyBestSolutionCloning(Boolean lazyBestSolutionCloning) {
+        this.lazyBestSolutionCloning = lazyBestSolutionCloning;
+    }
+
     public ScanAnnotatedClassesConfig getScanAnnotatedClassesConfig() {
         return scanAnnotatedClassesConfig;
     }
@@ -191,6 +271,40 @@ public class SolverConfig extends AbstractConfig<SolverConfig> {
         return defaultIfNull(environmentMode, EnvironmentMode.REPRODUCIBLE);
     }
 
+    /**
+     * @return null if move threads are disabled, otherwise at least 1
+     */
+    public Integer resolveMoveThreadCount() {
+        int availableProcessorCount = Runtime.getRuntime().availableProcessors();
+        Integer resolvedMoveThreadCount;
+        if (moveThreadCount == null || moveThreadCount.equals(MOVE_THREAD_COUNT_NONE)) {
+            return null;
+        } else if (moveThreadCount.equals(MOVE_THREAD_COUNT_AUTO)) {
+            // Leave one for the Operating System and 1 for the solver thread, take the rest
+            resolvedMoveThreadCount = availableProcessorCount - 2;
+            if (resolvedMoveThreadCount <= 1) {
+                // Fall back to single threaded solving with no move threads.
+                // To deliberately enforce 1 moveThread, set the moveThreadCount explicitly to 1.
+                return null;
+            }
+        } else {
+            resolvedMoveThreadCount = ConfigUtils.resolveThreadPoolSizeScript(
+                    "moveThreadCount", moveThreadCount, MOVE_THREAD_COUNT_NONE, MOVE_THREAD_COUNT_AUTO);
+        }
+        if (resolvedMoveThreadCount < 1) {
+            throw new IllegalArgumentException("The moveThreadCount (" + moveThreadCount
+                    + ") resulted in a resolvedMoveThreadCount (" + resolvedMoveThreadCount
+                    + ") that is lower than 1.");
+        }
+        if (resolvedMoveThreadCount > availableProcessorCount) {
+            logger.debug("The resolvedMoveThreadCount ({}) is higher than "
+                    + "the availableProcessorCount ({}), which is counter-efficient.",
+                    resolvedMoveThreadCount, availableProcessorCount);
+            // Still allow it, to reproduce issues of a high-end server machine on a low-end developer machine
+        }
+        return resolvedMoveThreadCount;
+    }
+
     // ************************************************************************
     // Builder methods
     // ************************************************************************
@@ -218,17 +332,22 @@ public class SolverConfig extends AbstractConfig<SolverConfig> {
                 = scoreDirectorFactoryConfig == null ? new ScoreDirectorFactoryConfig()
                 : scoreDirectorFactoryConfig;
         InnerScoreDirectorFactory<Solution_> scoreDirectorFactory = scoreDirectorFactoryConfig_.buildScoreDirectorFactory(
-                configContext, environmentMode_, solutionDescriptor);
+                configContext, environmentMode_, solutionDescriptor, threadFactoryClass);
         boolean constraintMatchEnabledPreference = environmentMode_.isAsserted();
         DefaultSolverScope<Solution_> solverScope = new DefaultSolverScope<>();
         solverScope.setScoreDirector(scoreDirectorFactory.buildScoreDirector(true, constraintMatchEnabledPreference));
 
-        HeuristicConfigPolicy configPolicy = new HeuristicConfigPolicy(environmentMode_, scoreDirectorFactory);
+        Integer moveThreadCount_ = resolveMoveThreadCount();
+        HeuristicConfigPolicy configPolicy = new HeuristicConfigPolicy(environmentMode_,
+                moveThreadCount_, moveThreadBufferSize, buildThreadFactory(moveThreadCount_), scoreDirectorFactory);
+        configPolicy.setNearbyDistanceMatrixCache(configContext.getNearbyDistanceMatrixCache());
         TerminationConfig terminationConfig_ = terminationConfig == null ? new TerminationConfig()
                 : terminationConfig;
         BasicPlumbingTermination basicPlumbingTermination = new BasicPlumbingTermination(daemon_);
         Termination termination = terminationConfig_.buildTermination(configPolicy, basicPlumbingTermination);
-        BestSolutionRecaller<Solution_> bestSolutionRecaller = new BestSolutionRecallerConfig()
+        BestSolutionRecallerConfig bestSolutionRecallerConfig = new BestSolutionRecallerConfig();
+        bestSolutionRecallerConfig.setLazyBestSolutionCloning(lazyBestSolutionCloning);
+        BestSolutionRecaller<Solution_> bestSolutionRecaller = bestSolutionRecallerConfig
                 .buildBestSolutionRecaller(environmentMode_);
         List<Phase<Solution_>> phaseList = buildPhaseList(configPolicy, bestSolutionRecaller, termination);
         DefaultSolver<Solution_> solver = new DefaultSolver<>(environmentMode_, randomFactory,
@@ -257,9 +376,25 @@ public class SolverConfig extends AbstractConfig<SolverConfig> {
         return randomFactory;
     }
 
+    protected ThreadFactory buildThreadFactory(Integer moveThreadCount_) {
+        if (moveThreadCount_ == null) {
+            if (moveThreadBufferSize != null) {
+                throw new IllegalArgumentException("The solverConfig with moveThreadCount (" + moveThreadCount
+                        + ") has a non-null moveThreadBufferSize (" + moveThreadBufferSize + ").");
+            }
+            return null;
+        }
+        if (threadFactoryClass != null) {
+            return ConfigUtils.newInstance(this, "threadFactoryClass", threadFactoryClass);
+        } else {
+            return new DefaultSolverThreadFactory("MoveThread");
+        }
+    }
+
     public <Solution_> SolutionDescriptor<Solution_> buildSolutionDescriptor(SolverConfigContext configContext) {
         ScoreDefinition deprecatedScoreDefinition = scoreDirectorFactoryConfig == null ? null
                 : scoreDirectorFactoryConfig.buildDeprecatedScoreDefinition();
+        DomainAccessType domainAccessType_ = defaultIfNull(domainAccessType, DomainAccessType.REFLECTION);
         if (scanAnnotatedClassesConfig != null) {
             if (solutionClass != null || entityClassList != null) {
                 throw new IllegalArgumentException("The solver configuration with scanAnnotatedClasses ("
@@ -267,7 +402,8 @@ public class SolverConfig extends AbstractConfig<SolverConfig> {
                         + ") or an entityClass (" + entityClassList + ").\n"
                         + "  Please decide between automatic scanning or manual referencing.");
             }
-            return scanAnnotatedClassesConfig.buildSolutionDescriptor(configContext, deprecatedScoreDefinition);
+            return scanAnnotatedClassesConfig.buildSolutionDescriptor(configContext, deprecatedScoreDefinition,
+                    domainAccessType_);
         } else {
             if (solutionClass == null) {
                 throw new IllegalArgumentException("The solver configuration must have a solutionClass (" + solutionClass
@@ -278,7 +414,8 @@ public class SolverConfig extends AbstractConfig<SolverConfig> {
                         "The solver configuration must have at least 1 entityClass (" + entityClassList
                         + "), if it has no scanAnnotatedClasses (" + scanAnnotatedClassesConfig + ").");
             }
-            return SolutionDescriptor.buildSolutionDescriptor((Class<Solution_>) solutionClass, entityClassList, deprecatedScoreDefinition);
+            return SolutionDescriptor.buildSolutionDescriptor((Class<Solution_>) solutionClass, entityClassList,
+                    deprecatedScoreDefinition, domainAccessType_);
         }
     }
 
@@ -310,6 +447,16 @@ public class SolverConfig extends AbstractConfig<SolverConfig> {
         randomSeed = ConfigUtils.inheritOverwritableProperty(randomSeed, inheritedConfig.getRandomSeed());
         randomFactoryClass = ConfigUtils.inheritOverwritableProperty(
                 randomFactoryClass, inheritedConfig.getRandomFactoryClass());
+        moveThreadCount = ConfigUtils.inheritOverwritableProperty(moveThreadCount,
+                inheritedConfig.getMoveThreadCount());
+        moveThreadBufferSize = ConfigUtils.inheritOverwritableProperty(moveThreadBufferSize,
+                inheritedConfig.getMoveThreadBufferSize());
+        threadFactoryClass = ConfigUtils.inheritOverwritableProperty(threadFactoryClass,
+                inheritedConfig.getThreadFactoryClass());
+        domainAccessType = ConfigUtils.inheritOverwritableProperty(domainAccessType,
+                inheritedConfig.getDomainAccessType());
+        lazyBestSolutionCloning = ConfigUtils.inheritOverwritableProperty(lazyBestSolutionCloning,
+                inheritedConfig.getLazyBestSolutionCloning());
         scanAnnotatedClassesConfig = ConfigUtils.inheritConfig(scanAnnotatedClassesConfig, inheritedConfig.getScanAnnotatedClassesConfig());
         solutionClass = ConfigUtils.inheritOverwritableProperty(solutionClass, inheritedConfig.getSolutionClass());
         entityClassList = ConfigUtils.inheritMergeableListProperty(
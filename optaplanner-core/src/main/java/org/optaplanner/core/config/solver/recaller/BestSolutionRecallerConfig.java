@@ -18,11 +18,24 @@ package org.optaplanner.core.config.solver.recaller;
 
 import org.optaplanner.core.config.AbstractConfig;
 import org.optaplanner.core.config.solver.EnvironmentMode;
+import org.optaplanner.core.config.util.ConfigUtils;
 import org.optaplanner.core.impl.solver.recaller.BestSolutionRecaller;
 
+import static org.apache.commons.lang3.ObjectUtils.*;
+
 // Currently not yet supported as being nested, so no XStreamAlias
 public class BestSolutionRecallerConfig extends AbstractConfig<BestSolutionRecallerConfig> {
 
+    protected Boolean lazyBestSolutionCloning = null;
+
+    public Boolean getLazyBestSolutionCloning() {
+        return lazyBestSolutionCloning;
+    }
+
+    public void setLazyBestSolutionCloning(Boolean lazyBestSolutionCloning) {
+        this.lazyBestSolutionCloning = lazyBestSolutionCloning;
+    }
+
     // ************************************************************************
     // Builder methods
     // ************************************************************************
@@ -34,11 +47,14 @@ public class BestSolutionRecallerConfig extends AbstractConfig<BestSolutionRecal
             bestSolutionRecaller.setAssertShadowVariablesAreNotStale(true);
             bestSolutionRecaller.setAssertBestScoreIsUnmodified(true);
         }
+        bestSolutionRecaller.setLazyBestSolutionCloning(defaultIfNull(lazyBestSolutionCloning, false));
         return bestSolutionRecaller;
     }
 
     @Override
     public void inherit(BestSolutionRecallerConfig inheritedConfig) {
+        lazyBestSolutionCloning = ConfigUtils.inheritOverwritableProperty(lazyBestSolutionCloning,
+                inheritedConfig.getLazyBestSolutionCloning());
     }
 
 }
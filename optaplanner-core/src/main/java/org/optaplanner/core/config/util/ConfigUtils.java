@@ -41,17 +41,24 @@ import javax.script.ScriptException;
 
 import org.optaplanner.core.api.domain.lookup.PlanningId;
 import org.optaplanner.core.config.AbstractConfig;
+import org.optaplanner.core.config.solver.DomainAccessType;
 import org.optaplanner.core.impl.domain.common.AlphabeticMemberComparator;
 import org.optaplanner.core.impl.domain.common.ReflectionHelper;
 import org.optaplanner.core.impl.domain.common.accessor.BeanPropertyMemberAccessor;
 import org.optaplanner.core.impl.domain.common.accessor.FieldMemberAccessor;
+import org.optaplanner.core.impl.domain.common.accessor.LambdaBeanPropertyMemberAccessor;
 import org.optaplanner.core.impl.domain.common.accessor.MemberAccessor;
+import org.optaplanner.core.impl.domain.common.accessor.MethodHandleFieldMemberAccessor;
 import org.optaplanner.core.impl.domain.common.accessor.MethodMemberAccessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import static org.optaplanner.core.config.util.ConfigUtils.MemberAccessorType.*;
 
 public class ConfigUtils {
 
+    private static final Logger logger = LoggerFactory.getLogger(ConfigUtils.class);
+
     public static <T> T newInstance(Object bean, String propertyName, Class<T> clazz) {
         try {
             return clazz.newInstance();
@@ -385,25 +392,43 @@ public class ConfigUtils {
     }
 
     public static MemberAccessor buildMemberAccessor(Member member, MemberAccessorType memberAccessorType, Class<? extends Annotation> annotationClass) {
+        return buildMemberAccessor(member, memberAccessorType, annotationClass, DomainAccessType.REFLECTION);
+    }
+
+    public static MemberAccessor buildMemberAccessor(Member member, MemberAccessorType memberAccessorType,
+            Class<? extends Annotation> annotationClass, DomainAccessType domainAccessType) {
         if (member instanceof Field) {
             Field field = (Field) member;
-            return new FieldMemberAccessor(field);
+            switch (domainAccessType) {
+                case REFLECTION:
+                    return new FieldMemberAccessor(field);
+                case GENERATED:
+                    return new MethodHandleFieldMemberAccessor(field);
+                default:
+                    throw new IllegalStateException("The domainAccessType (" + domainAccessType
+                            + ") is not implemented.");
+            }
         } else if (member instanceof Method) {
             Method method = (Method) member;
             MemberAccessor memberAccessor;
             switch (memberAccessorType) {
                 case FIELD_OR_READ_METHOD:
                     if (ReflectionHelper.isGetterMethod(method)) {
-                        memberAccessor = new BeanPropertyMemberAccessor(method);
+                        memberAccessor = buildBeanPropertyMemberAccessor(method, domainAccessType);
                     } else {
                         ReflectionHelper.assertReadMethod(method, annotationClass);
+                        if (domainAccessType == DomainAccessType.GENERATED) {
+                            logger.debug("The {} annotated read method ({}) is not a getter,"
+                                    + " so it is called through reflection despite the domainAccessType ({}).",
+                                    annotationClass.getSimpleName(), method, domainAccessType);
+                        }
                         memberAccessor = new MethodMemberAccessor(method);
                     }
                     break;
                 case FIELD_OR_GETTER_METHOD:
                 case FIELD_OR_GETTER_METHOD_WITH_SETTER:
                     ReflectionHelper.assertGetterMethod(method, annotationClass);
-                    memberAccessor = new BeanPropertyMemberAccessor(method);
+                    memberAccessor = buildBeanPropertyMemberAccessor(method, domainAccessType);
                     break;
                 default:
                     throw new IllegalStateException("The memberAccessorType (" + memberAccessorType
@@ -423,6 +448,25 @@ public class ConfigUtils {
         }
     }
 
+    private static MemberAccessor buildBeanPropertyMemberAccessor(Method getterMethod,
+            DomainAccessType domainAccessType) {
+        switch (domainAccessType) {
+            case REFLECTION:
+                return new BeanPropertyMemberAccessor(getterMethod);
+            case GENERATED:
+                if (!LambdaBeanPropertyMemberAccessor.isSupported(getterMethod)) {
+                    logger.debug("The getter method ({}) or its setter is not public on a public class"
+                            + " that is visible from OptaPlanner's ClassLoader,"
+                            + " so it is called through a method handle instead of a generated function.",
+                            getterMethod);
+                }
+                return new LambdaBeanPropertyMemberAccessor(getterMethod);
+            default:
+                throw new IllegalStateException("The domainAccessType (" + domainAccessType
+                        + ") is not implemented.");
+        }
+    }
+
     public static <C> MemberAccessor findPlanningIdMemberAccessor(Class<C> clazz) {
         List<Member> memberList = getAllMembers(clazz, PlanningId.class);
         if (memberList.isEmpty()) {
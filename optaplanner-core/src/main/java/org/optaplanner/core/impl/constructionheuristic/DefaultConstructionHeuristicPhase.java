@@ -36,7 +36,7 @@ public class DefaultConstructionHeuristicPhase<Solution_> extends AbstractPhase<
         implements ConstructionHeuristicPhase<Solution_> {
 
     protected EntityPlacer entityPlacer;
-    protected ConstructionHeuristicDecider decider;
+    protected ConstructionHeuristicDecider<Solution_> decider;
 
     // TODO make this configurable or make it constant
     protected final boolean skipBestSolutionCloningInSteps = true;
@@ -50,7 +50,7 @@ public class DefaultConstructionHeuristicPhase<Solution_> extends AbstractPhase<
         this.entityPlacer = entityPlacer;
     }
 
-    public void setDecider(ConstructionHeuristicDecider decider) {
+    public void setDecider(ConstructionHeuristicDecider<Solution_> decider) {
         this.decider = decider;
     }
 
@@ -16,6 +16,7 @@
 
 package org.optaplanner.core.impl.constructionheuristic.decider;
 
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.impl.constructionheuristic.decider.forager.ConstructionHeuristicForager;
 import org.optaplanner.core.impl.constructionheuristic.placer.Placement;
@@ -29,7 +30,10 @@ import org.optaplanner.core.impl.solver.termination.Termination;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class ConstructionHeuristicDecider {
+/**
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class ConstructionHeuristicDecider<Solution_> {
 
     protected final transient Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -106,6 +110,10 @@ public class ConstructionHeuristicDecider {
             }
         }
         stepScope.setSelectedMoveCount((long) moveIndex);
+        pickMove(stepScope);
+    }
+
+    protected void pickMove(ConstructionHeuristicStepScope stepScope) {
         ConstructionHeuristicMoveScope pickedMoveScope = forager.pickMove(stepScope);
         if (pickedMoveScope != null) {
             Move step = pickedMoveScope.getMove();
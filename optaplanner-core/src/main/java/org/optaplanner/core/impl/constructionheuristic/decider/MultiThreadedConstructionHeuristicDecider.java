@@ -0,0 +1,121 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.constructionheuristic.decider;
+
+import java.util.concurrent.ThreadFactory;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.impl.constructionheuristic.decider.forager.ConstructionHeuristicForager;
+import org.optaplanner.core.impl.constructionheuristic.placer.Placement;
+import org.optaplanner.core.impl.constructionheuristic.scope.ConstructionHeuristicMoveScope;
+import org.optaplanner.core.impl.constructionheuristic.scope.ConstructionHeuristicPhaseScope;
+import org.optaplanner.core.impl.constructionheuristic.scope.ConstructionHeuristicStepScope;
+import org.optaplanner.core.impl.heuristic.move.Move;
+import org.optaplanner.core.impl.heuristic.thread.MoveThreadPool;
+import org.optaplanner.core.impl.heuristic.thread.OrderByMoveIndexBlockingQueue;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.solver.termination.Termination;
+
+/**
+ * Evaluates the moves of each {@link Placement} on multiple move threads,
+ * each with its own {@link InnerScoreDirector} and its own planning clone of the working solution.
+ * <p>
+ * The {@link ConstructionHeuristicForager} still runs on the solver thread
+ * and receives the evaluated moves in the order they were selected,
+ * so the pick early semantics (such as first fit) are unchanged and the solver remains reproducible.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class MultiThreadedConstructionHeuristicDecider<Solution_> extends ConstructionHeuristicDecider<Solution_> {
+
+    protected final MoveThreadPool<Solution_> moveThreadPool;
+
+    public MultiThreadedConstructionHeuristicDecider(String logIndentation, Termination termination,
+            ConstructionHeuristicForager forager,
+            ThreadFactory threadFactory, int moveThreadCount, int selectedMoveBufferSize) {
+        super(logIndentation, termination, forager);
+        // Do not filter out pointless moves, because the original value of the entity(s) is irrelevant
+        moveThreadPool = new MoveThreadPool<>(logIndentation, "Construction Heuristic",
+                threadFactory, moveThreadCount, selectedMoveBufferSize, false);
+    }
+
+    // ************************************************************************
+    // Worker methods
+    // ************************************************************************
+
+    @Override
+    public void phaseStarted(ConstructionHeuristicPhaseScope phaseScope) {
+        super.phaseStarted(phaseScope);
+        InnerScoreDirector<Solution_> scoreDirector = phaseScope.getScoreDirector();
+        moveThreadPool.start(scoreDirector, phaseScope.getNextStepIndex(),
+                phaseScope.getLastCompletedStepScope().getScore(),
+                assertMoveScoreFromScratch, assertExpectedUndoMoveScore);
+    }
+
+    @Override
+    public void phaseEnded(ConstructionHeuristicPhaseScope phaseScope) {
+        super.phaseEnded(phaseScope);
+        long childThreadsScoreCalculationCount = moveThreadPool.stop();
+        phaseScope.getSolverScope().addChildThreadsScoreCalculationCount(childThreadsScoreCalculationCount);
+    }
+
+    @Override
+    public void decideNextStep(ConstructionHeuristicStepScope stepScope, Placement placement) {
+        int processedMoveCount = moveThreadPool.evaluateMoves(stepScope.getStepIndex(), placement.iterator(),
+                (move, result) -> {
+                    processMoveResult(stepScope, move, result);
+                    if (forager.isQuitEarly()) {
+                        return false;
+                    }
+                    stepScope.getPhaseScope().getSolverScope().checkYielding();
+                    return !termination.isPhaseTerminated(stepScope.getPhaseScope());
+                });
+        // Only count the moves that reached the forager, like the single threaded decider does
+        stepScope.setSelectedMoveCount((long) processedMoveCount);
+        pickMove(stepScope);
+    }
+
+    private void processMoveResult(ConstructionHeuristicStepScope stepScope, Move<Solution_> move,
+            OrderByMoveIndexBlockingQueue.MoveResult<Solution_> result) {
+        ConstructionHeuristicMoveScope moveScope = new ConstructionHeuristicMoveScope(stepScope);
+        moveScope.setMoveIndex(result.getMoveIndex());
+        moveScope.setMove(move);
+        // Still rebased on the move thread, see pickMove()
+        moveScope.setUndoMove(result.getUndoMove());
+        moveScope.setScore(result.getScore());
+        forager.addMove(moveScope);
+        logger.trace("{}        Move index ({}), score ({}), move ({}).",
+                logIndentation,
+                moveScope.getMoveIndex(), moveScope.getScore(), moveScope.getMove());
+    }
+
+    @Override
+    protected void pickMove(ConstructionHeuristicStepScope stepScope) {
+        super.pickMove(stepScope);
+        Move<Solution_> undoStep = stepScope.getUndoStep();
+        if (undoStep != null) {
+            // Only rebase the undo move of the picked move, because it's the only one that is ever used
+            stepScope.setUndoStep(undoStep.rebase(stepScope.getScoreDirector()));
+        }
+    }
+
+    @Override
+    public void stepEnded(ConstructionHeuristicStepScope stepScope) {
+        super.stepEnded(stepScope);
+        moveThreadPool.applyStep(stepScope.getStepIndex() + 1, stepScope.getStep(), stepScope.getScore());
+    }
+
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.domain.common.accessor;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.optaplanner.core.impl.domain.common.ReflectionHelper;
+
+/**
+ * A {@link MemberAccessor} based on a getter and optionally a setter,
+ * like {@link BeanPropertyMemberAccessor}, but which calls them directly
+ * through a {@link Function} and a {@link BiConsumer} generated by {@link LambdaMetafactory},
+ * instead of through reflection.
+ * <p>
+ * Those are only generated for a public getter and setter on a public class, see {@link #isSupported(Method)}.
+ * Any other getter and setter are called through a {@link MethodHandle} instead,
+ * which works regardless of their visibility or their class's {@link ClassLoader}.
+ */
+public final class LambdaBeanPropertyMemberAccessor implements MemberAccessor {
+
+    /**
+     * @param getterMethod never null
+     * @return true if the getter and its setter (if any) can be called directly from a generated function,
+     * false if they are called through a {@link MethodHandle}
+     */
+    public static boolean isSupported(Method getterMethod) {
+        if (!ReflectionHelper.isGetterMethod(getterMethod) || !isAccessible(getterMethod)) {
+            return false;
+        }
+        Method setterMethod = ReflectionHelper.getSetterMethod(getterMethod.getDeclaringClass(),
+                getterMethod.getReturnType(), ReflectionHelper.getGetterPropertyName(getterMethod));
+        return setterMethod == null || isAccessible(setterMethod);
+    }
+
+    private static boolean isAccessible(Method method) {
+        if (!Modifier.isPublic(method.getModifiers()) || Modifier.isStatic(method.getModifiers())) {
+            return false;
+        }
+        for (Class<?> type = method.getDeclaringClass(); type != null; type = type.getEnclosingClass()) {
+            if (!Modifier.isPublic(type.getModifiers())) {
+                return false;
+            }
+        }
+        // The generated class resolves the declaring class through this class's ClassLoader
+        Class<?> declaringClass = method.getDeclaringClass();
+        try {
+            return Class.forName(declaringClass.getName(), false,
+                    LambdaBeanPropertyMemberAccessor.class.getClassLoader()) == declaringClass;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private final Class<?> propertyType;
+    private final String propertyName;
+    private final Method getterMethod;
+    private final Method setterMethod;
+    private final Function<Object, Object> getterFunction;
+    private final BiConsumer<Object, Object> setterFunction;
+
+    public LambdaBeanPropertyMemberAccessor(Method getterMethod) {
+        if (!ReflectionHelper.isGetterMethod(getterMethod)) {
+            throw new IllegalArgumentException("The getterMethod (" + getterMethod + ") is not a valid getter.");
+        }
+        this.getterMethod = getterMethod;
+        Class<?> declaringClass = getterMethod.getDeclaringClass();
+        propertyType = getterMethod.getReturnType();
+        propertyName = ReflectionHelper.getGetterPropertyName(getterMethod);
+        setterMethod = ReflectionHelper.getSetterMethod(declaringClass, getterMethod.getReturnType(), propertyName);
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        if (isSupported(getterMethod)) {
+            getterFunction = generateGetterFunction(lookup, getterMethod);
+            setterFunction = setterMethod == null ? null : generateSetterFunction(lookup, setterMethod);
+        } else {
+            getterFunction = buildGetterHandleFunction(lookup, getterMethod);
+            setterFunction = setterMethod == null ? null : buildSetterHandleFunction(lookup, setterMethod);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> generateGetterFunction(MethodHandles.Lookup lookup, Method getterMethod) {
+        try {
+            MethodHandle getterHandle = lookup.unreflect(getterMethod);
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    getterHandle, getterHandle.type().wrap());
+            return (Function<Object, Object>) callSite.getTarget().invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot generate a getter function for the getterMethod ("
+                    + getterMethod + ").", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> generateSetterFunction(MethodHandles.Lookup lookup, Method setterMethod) {
+        try {
+            MethodHandle setterHandle = lookup.unreflect(setterMethod);
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "accept",
+                    MethodType.methodType(BiConsumer.class),
+                    MethodType.methodType(void.class, Object.class, Object.class),
+                    setterHandle, setterHandle.type().wrap().changeReturnType(void.class));
+            return (BiConsumer<Object, Object>) callSite.getTarget().invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot generate a setter function for the setterMethod ("
+                    + setterMethod + ").", e);
+        }
+    }
+
+    private static Function<Object, Object> buildGetterHandleFunction(MethodHandles.Lookup lookup,
+            Method getterMethod) {
+        MethodHandle getterHandle;
+        try {
+            // Unreflecting an accessible method skips the access checks of the lookup class
+            getterMethod.setAccessible(true);
+            getterHandle = lookup.unreflect(getterMethod)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot create a method handle for the getterMethod ("
+                    + getterMethod + ").", e);
+        }
+        return bean -> {
+            try {
+                return getterHandle.invokeExact(bean);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Cannot call property (" + getterMethod.getName()
+                        + ") getterMethod (" + getterMethod + ") on bean of class (" + bean.getClass() + ").", e);
+            }
+        };
+    }
+
+    private static BiConsumer<Object, Object> buildSetterHandleFunction(MethodHandles.Lookup lookup,
+            Method setterMethod) {
+        MethodHandle setterHandle;
+        try {
+            setterMethod.setAccessible(true);
+            setterHandle = lookup.unreflect(setterMethod)
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot create a method handle for the setterMethod ("
+                    + setterMethod + ").", e);
+        }
+        return (bean, value) -> {
+            try {
+                setterHandle.invokeExact(bean, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Cannot call property (" + setterMethod.getName()
+                        + ") setterMethod (" + setterMethod + ") on bean of class (" + bean.getClass()
+                        + ") for value (" + value + ").", e);
+            }
+        };
+    }
+
+    @Override
+    public String getName() {
+        return propertyName;
+    }
+
+    @Override
+    public Class<?> getType() {
+        return propertyType;
+    }
+
+    @Override
+    public Type getGenericType() {
+        return getterMethod.getGenericReturnType();
+    }
+
+    @Override
+    public Object executeGetter(Object bean) {
+        return getterFunction.apply(bean);
+    }
+
+    @Override
+    public boolean supportSetter() {
+        return setterMethod != null;
+    }
+
+    @Override
+    public void executeSetter(Object bean, Object value) {
+        setterFunction.accept(bean, value);
+    }
+
+    // ************************************************************************
+    // AnnotatedElement methods
+    // ************************************************************************
+
+    @Override
+    public boolean isAnnotationPresent(Class<? extends Annotation> annotationClass) {
+        return getterMethod.isAnnotationPresent(annotationClass);
+    }
+
+    @Override
+    public <T extends Annotation> T getAnnotation(Class<T> annotationClass) {
+        return getterMethod.getAnnotation(annotationClass);
+    }
+
+    @Override
+    public Annotation[] getAnnotations() {
+        return getterMethod.getAnnotations();
+    }
+
+    @Override
+    public Annotation[] getDeclaredAnnotations() {
+        return getterMethod.getDeclaredAnnotations();
+    }
+
+    @Override
+    public String toString() {
+        return "bean property " + propertyName + " on " + getterMethod.getDeclaringClass();
+    }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.domain.common.accessor;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+
+/**
+ * A {@link MemberAccessor} based on a field, like {@link FieldMemberAccessor},
+ * but which accesses it through a {@link MethodHandle} instead of through reflection.
+ * <p>
+ * Supports any field, regardless of its visibility or its class's {@link ClassLoader}.
+ */
+public final class MethodHandleFieldMemberAccessor implements MemberAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Field field;
+    private final MethodHandle getterHandle;
+    // Null if the field is final, because a MethodHandle can't write a final field
+    private final MethodHandle setterHandle;
+
+    public MethodHandleFieldMemberAccessor(Field field) {
+        this.field = field;
+        // Unreflecting an accessible field skips the access checks of the lookup class
+        field.setAccessible(true);
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            getterHandle = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+            setterHandle = Modifier.isFinal(field.getModifiers()) ? null
+                    : lookup.unreflectSetter(field).asType(SETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Impossible state: the field (" + field
+                    + ") is accessible, but its method handle can't be created.", e);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return field.getName();
+    }
+
+    @Override
+    public Class<?> getType() {
+        return field.getType();
+    }
+
+    @Override
+    public Type getGenericType() {
+        return field.getGenericType();
+    }
+
+    @Override
+    public Object executeGetter(Object bean) {
+        try {
+            return getterHandle.invokeExact(bean);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot get the field (" + field.getName()
+                    + ") on bean of class (" + bean.getClass() + ").", e);
+        }
+    }
+
+    @Override
+    public boolean supportSetter() {
+        return true;
+    }
+
+    @Override
+    public void executeSetter(Object bean, Object value) {
+        try {
+            if (setterHandle == null) {
+                field.set(bean, value);
+            } else {
+                setterHandle.invokeExact(bean, value);
+            }
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot set the field (" + field.getName()
+                    + ") on bean of class (" + bean.getClass() + ").", e);
+        }
+    }
+
+    // ************************************************************************
+    // AnnotatedElement methods
+    // ************************************************************************
+
+    @Override
+    public boolean isAnnotationPresent(Class<? extends Annotation> annotationClass) {
+        return field.isAnnotationPresent(annotationClass);
+    }
+
+    @Override
+    public <T extends Annotation> T getAnnotation(Class<T> annotationClass) {
+        return field.getAnnotation(annotationClass);
+    }
+
+    @Override
+    public Annotation[] getAnnotations() {
+        return field.getAnnotations();
+    }
+
+    @Override
+    public Annotation[] getDeclaredAnnotations() {
+        return field.getDeclaredAnnotations();
+    }
+
+    @Override
+    public String toString() {
+        return "field " + field;
+    }
+
+}
@@ -159,7 +159,8 @@ public class EntityDescriptor<Solution_> {
         for (Member member : memberList) {
             if (((AnnotatedElement) member).isAnnotationPresent(ValueRangeProvider.class)) {
                 MemberAccessor memberAccessor = ConfigUtils.buildMemberAccessor(
-                        member, FIELD_OR_READ_METHOD, ValueRangeProvider.class);
+                        member, FIELD_OR_READ_METHOD, ValueRangeProvider.class,
+                        descriptorPolicy.getDomainAccessType());
                 descriptorPolicy.addFromEntityValueRangeProvider(
                         memberAccessor);
             }
@@ -178,7 +179,8 @@ public class EntityDescriptor<Solution_> {
             if (variableAnnotationClass != null) {
                 noVariableAnnotation = false;
                 MemberAccessor memberAccessor = ConfigUtils.buildMemberAccessor(
-                        member, FIELD_OR_GETTER_METHOD_WITH_SETTER, variableAnnotationClass);
+                        member, FIELD_OR_GETTER_METHOD_WITH_SETTER, variableAnnotationClass,
+                        descriptorPolicy.getDomainAccessType());
                 registerVariableAccessor(descriptorPolicy, variableAnnotationClass, memberAccessor);
             }
         }
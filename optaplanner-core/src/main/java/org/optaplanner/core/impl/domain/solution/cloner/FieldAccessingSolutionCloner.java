@@ -292,17 +292,20 @@ public class FieldAccessingSolutionCloner<Solution_> implements SolutionCloner<S
         }
 
         protected void process(Unprocessed unprocessed) {
-            Object cloneValue;
-            if (unprocessed.originalValue instanceof Collection) {
-                cloneValue = cloneCollection(unprocessed.field.getType(), (Collection<?>) unprocessed.originalValue);
-            } else if (unprocessed.originalValue instanceof Map) {
-                cloneValue = cloneMap(unprocessed.field.getType(), (Map<?, ?>) unprocessed.originalValue);
-            } else if (unprocessed.originalValue.getClass().isArray()) {
-                cloneValue = cloneArray(unprocessed.field.getType(), unprocessed.originalValue);
+            Object cloneValue = cloneFieldValue(unprocessed.field.getType(), unprocessed.originalValue);
+            setFieldValue(unprocessed.bean, unprocessed.field, cloneValue);
+        }
+
+        protected Object cloneFieldValue(Class<?> expectedType, Object originalValue) {
+            if (originalValue instanceof Collection) {
+                return cloneCollection(expectedType, (Collection<?>) originalValue);
+            } else if (originalValue instanceof Map) {
+                return cloneMap(expectedType, (Map<?, ?>) originalValue);
+            } else if (originalValue.getClass().isArray()) {
+                return cloneArray(expectedType, originalValue);
             } else {
-                cloneValue = clone(unprocessed.originalValue);
+                return clone(originalValue);
             }
-            setFieldValue(unprocessed.bean, unprocessed.field, cloneValue);
         }
 
         protected Object cloneArray(Class<?> expectedType, Object originalArray) {
@@ -0,0 +1,310 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.domain.solution.cloner;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.impl.domain.common.ConcurrentMemoization;
+import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+
+/**
+ * Like {@link FieldAccessingSolutionCloner}, but it precomputes a {@link ClassClonePlan} once per class,
+ * so cloning an instance is a straight loop over its fields without any lookups or decisions
+ * that only depend on the class:
+ * <ul>
+ * <li>The fields of the class and all its superclasses are flattened into arrays.</li>
+ * <li>Every field is classified once as primitive, shallow, deep or depending on the actual value class.</li>
+ * <li>Every field is read and written through {@link MethodHandle}s instead of through reflection.</li>
+ * <li>Primitive fields are copied without boxing.</li>
+ * <li>Public no-arg constructors are called through a {@link Supplier}
+ * generated by {@link LambdaMetafactory} instead of through reflection.</li>
+ * </ul>
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class PrecomputedSolutionCloner<Solution_> extends FieldAccessingSolutionCloner<Solution_> {
+
+    protected final ConcurrentMap<Class<?>, ClassClonePlan> classClonePlanMemoization = new ConcurrentMemoization<>();
+
+    public PrecomputedSolutionCloner(SolutionDescriptor<Solution_> solutionDescriptor) {
+        super(solutionDescriptor);
+    }
+
+    // ************************************************************************
+    // Worker methods
+    // ************************************************************************
+
+    @Override
+    public Solution_ cloneSolution(Solution_ originalSolution) {
+        return new PrecomputedSolutionClonerRun().cloneSolution(originalSolution);
+    }
+
+    /**
+     * This method is thread-safe.
+     * @param clazz never null
+     * @return never null
+     */
+    protected ClassClonePlan retrieveClassClonePlan(Class<?> clazz) {
+        return classClonePlanMemoization.computeIfAbsent(clazz, this::buildClassClonePlan);
+    }
+
+    protected ClassClonePlan buildClassClonePlan(Class<?> instanceClass) {
+        List<FieldClonePlan> copiedFieldList = new ArrayList<>();
+        List<FieldClonePlan> deepFieldList = new ArrayList<>();
+        List<FieldClonePlan> valueDependentFieldList = new ArrayList<>();
+        for (Class<?> clazz = instanceClass; clazz != null; clazz = clazz.getSuperclass()) {
+            for (Field field : retrieveCachedFields(clazz)) {
+                Class<?> type = field.getType();
+                if (type.isPrimitive()) {
+                    copiedFieldList.add(new FieldClonePlan(field));
+                } else if (retrieveDeepCloneDecision(field, instanceClass, type)) {
+                    deepFieldList.add(new FieldClonePlan(field));
+                } else if (Modifier.isFinal(type.getModifiers())) {
+                    // The actual value class is always the declared type (or an array of it), which isn't deep cloned
+                    copiedFieldList.add(new FieldClonePlan(field));
+                } else {
+                    valueDependentFieldList.add(new FieldClonePlan(field));
+                }
+            }
+        }
+        return new ClassClonePlan(buildConstructorSupplier(instanceClass),
+                copiedFieldList.toArray(new FieldClonePlan[0]), deepFieldList.toArray(new FieldClonePlan[0]),
+                valueDependentFieldList.toArray(new FieldClonePlan[0]));
+    }
+
+    @SuppressWarnings("unchecked")
+    protected Supplier<Object> buildConstructorSupplier(Class<?> clazz) {
+        Constructor<?> constructor = retrieveCachedConstructor(clazz);
+        if (Modifier.isPublic(constructor.getModifiers()) && isPubliclyAccessible(clazz)) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                MethodHandle constructorHandle = lookup.unreflectConstructor(constructor);
+                CallSite callSite = LambdaMetafactory.metafactory(lookup, "get",
+                        MethodType.methodType(Supplier.class),
+                        MethodType.methodType(Object.class),
+                        constructorHandle, constructorHandle.type());
+                return (Supplier<Object>) callSite.getTarget().invokeExact();
+            } catch (Throwable e) {
+                throw new IllegalStateException("Cannot generate a constructor supplier for the class ("
+                        + clazz + ").", e);
+            }
+        }
+        return () -> {
+            try {
+                return constructor.newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("The class (" + clazz
+                        + ") should have a no-arg constructor to create a planning clone.", e);
+            }
+        };
+    }
+
+    private static boolean isPubliclyAccessible(Class<?> clazz) {
+        for (Class<?> type = clazz; type != null; type = type.getEnclosingClass()) {
+            if (!Modifier.isPublic(type.getModifiers())) {
+                return false;
+            }
+        }
+        // The generated class resolves the class through this class's ClassLoader
+        try {
+            return Class.forName(clazz.getName(), false, PrecomputedSolutionCloner.class.getClassLoader()) == clazz;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    protected class PrecomputedSolutionClonerRun extends FieldAccessingSolutionClonerRun {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected <C> C clone(C original) {
+            if (original == null) {
+                return null;
+            }
+            C existingClone = (C) originalToCloneMap.get(original);
+            if (existingClone != null) {
+                return existingClone;
+            }
+            ClassClonePlan classClonePlan = retrieveClassClonePlan(original.getClass());
+            C clone = (C) classClonePlan.constructorSupplier.get();
+            originalToCloneMap.put(original, clone);
+            classClonePlan.copyFields(original, clone, unprocessedQueue);
+            return clone;
+        }
+
+        @Override
+        protected void process(Unprocessed unprocessed) {
+            if (!(unprocessed instanceof PrecomputedUnprocessed)) {
+                super.process(unprocessed);
+                return;
+            }
+            FieldClonePlan fieldClonePlan = ((PrecomputedUnprocessed) unprocessed).fieldClonePlan;
+            Object cloneValue = cloneFieldValue(unprocessed.field.getType(), unprocessed.originalValue);
+            fieldClonePlan.set(unprocessed.bean, cloneValue);
+        }
+
+    }
+
+    protected static class PrecomputedUnprocessed extends Unprocessed {
+
+        protected final FieldClonePlan fieldClonePlan;
+
+        public PrecomputedUnprocessed(Object bean, FieldClonePlan fieldClonePlan, Object originalValue) {
+            super(bean, fieldClonePlan.field, originalValue);
+            this.fieldClonePlan = fieldClonePlan;
+        }
+
+    }
+
+    protected final class ClassClonePlan {
+
+        private final Supplier<Object> constructorSupplier;
+        // Primitive fields and fields of which the value is never deep cloned
+        private final FieldClonePlan[] copiedFields;
+        private final FieldClonePlan[] deepFields;
+        private final FieldClonePlan[] valueDependentFields;
+
+        public ClassClonePlan(Supplier<Object> constructorSupplier, FieldClonePlan[] copiedFields,
+                FieldClonePlan[] deepFields, FieldClonePlan[] valueDependentFields) {
+            this.constructorSupplier = constructorSupplier;
+            this.copiedFields = copiedFields;
+            this.deepFields = deepFields;
+            this.valueDependentFields = valueDependentFields;
+        }
+
+        public void copyFields(Object original, Object clone, Queue<Unprocessed> unprocessedQueue) {
+            for (FieldClonePlan fieldClonePlan : copiedFields) {
+                fieldClonePlan.copy(original, clone);
+            }
+            for (FieldClonePlan fieldClonePlan : deepFields) {
+                Object originalValue = fieldClonePlan.get(original);
+                if (originalValue != null) {
+                    // Postpone filling in the fields
+                    unprocessedQueue.add(new PrecomputedUnprocessed(clone, fieldClonePlan, originalValue));
+                } else {
+                    // Overwrite any default of the no-arg constructor
+                    fieldClonePlan.set(clone, null);
+                }
+            }
+            for (FieldClonePlan fieldClonePlan : valueDependentFields) {
+                Object originalValue = fieldClonePlan.get(original);
+                if (originalValue != null
+                        && retrieveDeepCloneDecisionForActualValueClass(originalValue.getClass())) {
+                    // Postpone filling in the fields
+                    unprocessedQueue.add(new PrecomputedUnprocessed(clone, fieldClonePlan, originalValue));
+                } else {
+                    fieldClonePlan.set(clone, originalValue);
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Reads, writes and copies 1 field through {@link MethodHandle}s that are built once,
+     * so the type of a primitive field is already resolved and its value is copied without boxing.
+     */
+    protected static final class FieldClonePlan {
+
+        private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+        private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+        private static final MethodHandle REFLECTIVE_SETTER;
+
+        static {
+            try {
+                REFLECTIVE_SETTER = MethodHandles.lookup().findVirtual(Field.class, "set", SETTER_TYPE);
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                throw new IllegalStateException("Impossible state: the method Field.set() is not accessible.", e);
+            }
+        }
+
+        private final Field field;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+        // Reads the original's field and writes it to the clone's field, with the parameters (clone, original)
+        private final MethodHandle copier;
+
+        public FieldClonePlan(Field field) {
+            this.field = field;
+            MethodType exactSetterType = MethodType.methodType(void.class, field.getDeclaringClass(), field.getType());
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle exactGetter;
+            MethodHandle exactSetter;
+            try {
+                // Unreflecting an accessible field skips the access checks of the lookup class
+                exactGetter = lookup.unreflectGetter(field);
+                // A MethodHandle can't write a final field, so that one is written through reflection
+                exactSetter = Modifier.isFinal(field.getModifiers())
+                        ? REFLECTIVE_SETTER.bindTo(field).asType(exactSetterType)
+                        : lookup.unreflectSetter(field);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Impossible state: the field (" + field
+                        + ") is accessible, but its method handle can't be created.", e);
+            }
+            getter = exactGetter.asType(GETTER_TYPE);
+            setter = exactSetter.asType(SETTER_TYPE);
+            copier = MethodHandles.filterArguments(exactSetter, 1, exactGetter).asType(SETTER_TYPE);
+        }
+
+        public Object get(Object bean) {
+            try {
+                return getter.invokeExact(bean);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("The class (" + bean.getClass() + ") has a field (" + field
+                        + ") which can not be read to create a planning clone.", e);
+            }
+        }
+
+        public void set(Object bean, Object value) {
+            try {
+                setter.invokeExact(bean, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("The class (" + bean.getClass() + ") has a field (" + field
+                        + ") which can not be written with the value (" + value + ") to create a planning clone.", e);
+            }
+        }
+
+        public void copy(Object original, Object clone) {
+            try {
+                copier.invokeExact(clone, original);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("The class (" + original.getClass() + ") has a field (" + field
+                        + ") which can not be read or written to create a planning clone.", e);
+            }
+        }
+
+    }
+
+}
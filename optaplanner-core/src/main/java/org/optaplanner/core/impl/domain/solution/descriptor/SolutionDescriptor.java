@@ -64,6 +64,7 @@ import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
 import org.optaplanner.core.api.score.buildin.simplebigdecimal.SimpleBigDecimalScore;
 import org.optaplanner.core.api.score.buildin.simpledouble.SimpleDoubleScore;
 import org.optaplanner.core.api.score.buildin.simplelong.SimpleLongScore;
+import org.optaplanner.core.config.solver.DomainAccessType;
 import org.optaplanner.core.config.util.ConfigUtils;
 import org.optaplanner.core.impl.domain.common.ConcurrentMemoization;
 import org.optaplanner.core.impl.domain.common.ReflectionHelper;
@@ -75,6 +76,7 @@ import org.optaplanner.core.impl.domain.lookup.LookUpStrategyResolver;
 import org.optaplanner.core.impl.domain.policy.DescriptorPolicy;
 import org.optaplanner.core.impl.domain.solution.AbstractSolution;
 import org.optaplanner.core.impl.domain.solution.cloner.FieldAccessingSolutionCloner;
+import org.optaplanner.core.impl.domain.solution.cloner.PrecomputedSolutionCloner;
 import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
 import org.optaplanner.core.impl.domain.variable.descriptor.ShadowVariableDescriptor;
 import org.optaplanner.core.impl.domain.variable.descriptor.VariableDescriptor;
@@ -110,7 +112,15 @@ public class SolutionDescriptor<Solution_> {
 
     public static <Solution_> SolutionDescriptor<Solution_> buildSolutionDescriptor(Class<Solution_> solutionClass,
             List<Class<?>> entityClassList, ScoreDefinition deprecatedScoreDefinition) {
+        return buildSolutionDescriptor(solutionClass, entityClassList, deprecatedScoreDefinition,
+                DomainAccessType.REFLECTION);
+    }
+
+    public static <Solution_> SolutionDescriptor<Solution_> buildSolutionDescriptor(Class<Solution_> solutionClass,
+            List<Class<?>> entityClassList, ScoreDefinition deprecatedScoreDefinition,
+            DomainAccessType domainAccessType) {
         DescriptorPolicy descriptorPolicy = new DescriptorPolicy();
+        descriptorPolicy.setDomainAccessType(domainAccessType);
         SolutionDescriptor<Solution_> solutionDescriptor = new SolutionDescriptor<>(solutionClass);
         solutionDescriptor.processAnnotations(descriptorPolicy, deprecatedScoreDefinition, entityClassList);
         for (Class<?> entityClass : sortEntityClassList(entityClassList)) {
@@ -319,6 +329,8 @@ public class SolutionDescriptor<Solution_> {
         }
         if (solutionClonerClass != null) {
             solutionCloner = ConfigUtils.newInstance(this, "solutionClonerClass", solutionClonerClass);
+        } else if (descriptorPolicy.getDomainAccessType() == DomainAccessType.GENERATED) {
+            solutionCloner = new PrecomputedSolutionCloner<>(this);
         } else {
             solutionCloner = new FieldAccessingSolutionCloner<>(this);
         }
@@ -327,7 +339,8 @@ public class SolutionDescriptor<Solution_> {
     private void processValueRangeProviderAnnotation(DescriptorPolicy descriptorPolicy, Member member) {
         if (((AnnotatedElement) member).isAnnotationPresent(ValueRangeProvider.class)) {
             MemberAccessor memberAccessor = ConfigUtils.buildMemberAccessor(
-                    member, FIELD_OR_READ_METHOD, ValueRangeProvider.class);
+                    member, FIELD_OR_READ_METHOD, ValueRangeProvider.class,
+                    descriptorPolicy.getDomainAccessType());
             descriptorPolicy.addFromSolutionValueRangeProvider(memberAccessor);
         }
     }
@@ -408,7 +421,8 @@ public class SolutionDescriptor<Solution_> {
     private void processProblemFactPropertyAnnotation(DescriptorPolicy descriptorPolicy, Member member,
             Class<? extends Annotation> annotationClass) {
         MemberAccessor memberAccessor = ConfigUtils.buildMemberAccessor(
-                member, FIELD_OR_READ_METHOD, annotationClass);
+                member, FIELD_OR_READ_METHOD, annotationClass,
+                descriptorPolicy.getDomainAccessType());
         assertUnexistingProblemFactOrPlanningEntityProperty(memberAccessor, annotationClass);
         if (annotationClass == ProblemFactProperty.class) {
             problemFactMemberAccessorMap.put(memberAccessor.getName(), memberAccessor);
@@ -429,7 +443,8 @@ public class SolutionDescriptor<Solution_> {
     private void processPlanningEntityPropertyAnnotation(DescriptorPolicy descriptorPolicy, Member member,
             Class<? extends Annotation> annotationClass) {
         MemberAccessor memberAccessor = ConfigUtils.buildMemberAccessor(
-                member, FIELD_OR_GETTER_METHOD, annotationClass);
+                member, FIELD_OR_GETTER_METHOD, annotationClass,
+                descriptorPolicy.getDomainAccessType());
         assertUnexistingProblemFactOrPlanningEntityProperty(memberAccessor, annotationClass);
         if (annotationClass == PlanningEntityProperty.class) {
             entityMemberAccessorMap.put(memberAccessor.getName(), memberAccessor);
@@ -480,7 +495,8 @@ public class SolutionDescriptor<Solution_> {
     private void processScoreAnnotation(DescriptorPolicy descriptorPolicy, Member member,
             Class<? extends Annotation> annotationClass, ScoreDefinition deprecatedScoreDefinition) {
         MemberAccessor memberAccessor = ConfigUtils.buildMemberAccessor(
-                member, FIELD_OR_GETTER_METHOD_WITH_SETTER, PlanningScore.class);
+                member, FIELD_OR_GETTER_METHOD_WITH_SETTER, PlanningScore.class,
+                descriptorPolicy.getDomainAccessType());
         if (deprecatedScoreDefinition != null) {
             throw new IllegalStateException("The solutionClass (" + solutionClass
                     + ") has a " + PlanningScore.class.getSimpleName()
@@ -0,0 +1,352 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.domain.variable.index;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.optaplanner.core.impl.domain.entity.descriptor.EntityDescriptor;
+import org.optaplanner.core.impl.domain.variable.descriptor.VariableDescriptor;
+import org.optaplanner.core.impl.domain.variable.listener.StatefulVariableListener;
+import org.optaplanner.core.impl.score.director.ScoreDirector;
+
+/**
+ * Keeps every chain segment (a part of a chain that is connected right now) in an implicit treap,
+ * so a change of the previous variable only splits and merges 2 treaps in {@code O(log n)},
+ * instead of renumbering all trailing entities.
+ * A segment that starts with an anchor is a complete chain.
+ * <p>
+ * Every {@link #beforeVariableChanged(ScoreDirector, Object)} cuts the entity from its previous entity
+ * and every {@link #afterVariableChanged(ScoreDirector, Object)} joins it after its new previous entity,
+ * so the treaps are only consistent with the chains when no after events are pending.
+ */
+public class ExternalizedIndexVariableSupply implements StatefulVariableListener<Object>, IndexVariableSupply {
+
+    protected final VariableDescriptor previousVariableDescriptor;
+
+    protected Map<Object, ChainNode> nodeMap = null;
+    protected Random random = null;
+
+    private ChainNode splitLeft;
+    private ChainNode splitRight;
+
+    public ExternalizedIndexVariableSupply(VariableDescriptor previousVariableDescriptor) {
+        this.previousVariableDescriptor = previousVariableDescriptor;
+    }
+
+    @Override
+    public VariableDescriptor getSourceVariableDescriptor() {
+        return previousVariableDescriptor;
+    }
+
+    @Override
+    public void resetWorkingSolution(ScoreDirector scoreDirector) {
+        EntityDescriptor entityDescriptor = previousVariableDescriptor.getEntityDescriptor();
+        List<Object> entityList = entityDescriptor.extractEntities(scoreDirector.getWorkingSolution());
+        nodeMap = new IdentityHashMap<>(entityList.size());
+        // Fixed seed, so the shape of the treaps (and therefore the performance) is reproducible
+        random = new Random(0L);
+        for (Object entity : entityList) {
+            nodeMap.put(entity, new ChainNode(entity, false, random.nextInt()));
+        }
+        // The segments are joined in any order: each join only links an entity to its previous entity
+        for (Object entity : entityList) {
+            join(entity);
+        }
+    }
+
+    @Override
+    public void clearWorkingSolution(ScoreDirector scoreDirector) {
+        nodeMap = null;
+        random = null;
+    }
+
+    @Override
+    public void beforeEntityAdded(ScoreDirector scoreDirector, Object entity) {
+        // Do nothing
+    }
+
+    @Override
+    public void afterEntityAdded(ScoreDirector scoreDirector, Object entity) {
+        ChainNode node = new ChainNode(entity, false, random.nextInt());
+        ChainNode oldNode = nodeMap.put(entity, node);
+        if (oldNode != null) {
+            throw new IllegalStateException("The supply (" + this + ") is corrupted,"
+                    + " because the entity (" + entity
+                    + ") for sourceVariable (" + previousVariableDescriptor.getVariableName()
+                    + ") cannot be inserted: it was already inserted.");
+        }
+        join(entity);
+    }
+
+    @Override
+    public void beforeVariableChanged(ScoreDirector scoreDirector, Object entity) {
+        cutBefore(getNode(entity));
+    }
+
+    @Override
+    public void afterVariableChanged(ScoreDirector scoreDirector, Object entity) {
+        join(entity);
+    }
+
+    @Override
+    public void beforeEntityRemoved(ScoreDirector scoreDirector, Object entity) {
+        ChainNode node = getNode(entity);
+        cutBefore(node);
+        // Detach the trailing entities: they will be removed too or change their previousVariable
+        split(node, 1);
+        nodeMap.remove(entity);
+    }
+
+    @Override
+    public void afterEntityRemoved(ScoreDirector scoreDirector, Object entity) {
+        // Do nothing
+    }
+
+    protected ChainNode getNode(Object entity) {
+        ChainNode node = nodeMap.get(entity);
+        if (node == null) {
+            throw new IllegalStateException("The supply (" + this + ") is corrupted,"
+                    + " because the entity (" + entity
+                    + ") for sourceVariable (" + previousVariableDescriptor.getVariableName()
+                    + ") was never inserted.");
+        }
+        return node;
+    }
+
+    protected void cutBefore(ChainNode node) {
+        ChainNode root = root(node);
+        int rank = rank(node);
+        if (rank > 0) {
+            split(root, rank);
+        }
+    }
+
+    protected void join(Object entity) {
+        Object previousEntity = previousVariableDescriptor.getValue(entity);
+        if (previousEntity == null) {
+            return;
+        }
+        ChainNode previousNode = nodeMap.get(previousEntity);
+        if (previousNode == null) {
+            if (!previousVariableDescriptor.isValuePotentialAnchor(previousEntity)) {
+                throw new IllegalStateException("The supply (" + this + ") is corrupted,"
+                        + " because the entity (" + entity
+                        + ") for sourceVariable (" + previousVariableDescriptor.getVariableName()
+                        + ") has a previous entity (" + previousEntity + ") that was never inserted.");
+            }
+            previousNode = new ChainNode(previousEntity, true, random.nextInt());
+            nodeMap.put(previousEntity, previousNode);
+        }
+        ChainNode node = nodeMap.get(entity);
+        ChainNode previousRoot = root(previousNode);
+        ChainNode root = root(node);
+        int rank = rank(node);
+        if (previousRoot == root) {
+            if (rank(previousNode) + 1 == rank) {
+                // Already joined, for example because the entity changed twice before the after events
+                return;
+            }
+            throw new IllegalStateException("The supply (" + this + ") is corrupted,"
+                    + " because the entity (" + entity
+                    + ") for sourceVariable (" + previousVariableDescriptor.getVariableName()
+                    + ") cannot be joined after the previous entity (" + previousEntity
+                    + ") without creating a cycle.");
+        }
+        if (rank != 0 || rank(previousNode) != previousRoot.size - 1) {
+            throw new IllegalStateException("The supply (" + this + ") is corrupted,"
+                    + " because the entity (" + entity
+                    + ") for sourceVariable (" + previousVariableDescriptor.getVariableName()
+                    + ") cannot be joined after the previous entity (" + previousEntity
+                    + ") because another entity is already between them.");
+        }
+        merge(previousRoot, root);
+    }
+
+    @Override
+    public int getIndex(Object entity) {
+        ChainNode node = nodeMap.get(entity);
+        if (node == null) {
+            return -1;
+        }
+        ChainNode first = root(node);
+        while (first.left != null) {
+            first = first.left;
+        }
+        if (!first.anchor) {
+            return -1;
+        }
+        return rank(node) - 1;
+    }
+
+    @Override
+    public int getChainSize(Object anchor) {
+        ChainNode anchorNode = nodeMap.get(anchor);
+        if (anchorNode == null) {
+            return 0;
+        }
+        return root(anchorNode).size - 1;
+    }
+
+    @Override
+    public Object getEntity(Object anchor, int index) {
+        ChainNode anchorNode = nodeMap.get(anchor);
+        int chainSize = anchorNode == null ? 0 : root(anchorNode).size - 1;
+        if (index < 0 || index >= chainSize) {
+            throw new IndexOutOfBoundsException("The index (" + index
+                    + ") is out of the chain size (" + chainSize + ") of the anchor (" + anchor + ").");
+        }
+        // Skip the anchor itself
+        int rank = index + 1;
+        ChainNode node = root(anchorNode);
+        while (true) {
+            int leftSize = size(node.left);
+            if (rank < leftSize) {
+                node = node.left;
+            } else if (rank == leftSize) {
+                return node.value;
+            } else {
+                rank -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    // ************************************************************************
+    // Treap methods
+    // ************************************************************************
+
+    private static int size(ChainNode node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(ChainNode node) {
+        node.size = size(node.left) + 1 + size(node.right);
+        if (node.left != null) {
+            node.left.parent = node;
+        }
+        if (node.right != null) {
+            node.right.parent = node;
+        }
+    }
+
+    private static ChainNode root(ChainNode node) {
+        while (node.parent != null) {
+            node = node.parent;
+        }
+        return node;
+    }
+
+    private static int rank(ChainNode node) {
+        int rank = size(node.left);
+        while (node.parent != null) {
+            if (node.parent.right == node) {
+                rank += size(node.parent.left) + 1;
+            }
+            node = node.parent;
+        }
+        return rank;
+    }
+
+    private static ChainNode merge(ChainNode left, ChainNode right) {
+        ChainNode root = mergeRecursively(left, right);
+        root.parent = null;
+        return root;
+    }
+
+    private static ChainNode mergeRecursively(ChainNode left, ChainNode right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = mergeRecursively(left.right, right);
+            update(left);
+            return left;
+        } else {
+            right.left = mergeRecursively(left, right.left);
+            update(right);
+            return right;
+        }
+    }
+
+    /**
+     * Splits the treap of the node in 2 treaps: one with its first leftSize nodes and one with the rest.
+     * @param node never null, any node of the treap
+     * @param leftSize {@code 0 <= leftSize <= size}
+     */
+    private void split(ChainNode node, int leftSize) {
+        splitRecursively(root(node), leftSize);
+        if (splitLeft != null) {
+            splitLeft.parent = null;
+        }
+        if (splitRight != null) {
+            splitRight.parent = null;
+        }
+        splitLeft = null;
+        splitRight = null;
+    }
+
+    private void splitRecursively(ChainNode node, int leftSize) {
+        if (node == null) {
+            splitLeft = null;
+            splitRight = null;
+            return;
+        }
+        int nodeLeftSize = size(node.left);
+        if (leftSize <= nodeLeftSize) {
+            splitRecursively(node.left, leftSize);
+            node.left = splitRight;
+            update(node);
+            splitRight = node;
+        } else {
+            splitRecursively(node.right, leftSize - nodeLeftSize - 1);
+            node.right = splitLeft;
+            update(node);
+            splitLeft = node;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + previousVariableDescriptor.getVariableName() + ")";
+    }
+
+    protected static final class ChainNode {
+
+        private final Object value;
+        private final boolean anchor;
+        private final int priority;
+
+        private ChainNode left = null;
+        private ChainNode right = null;
+        private ChainNode parent = null;
+        private int size = 1;
+
+        private ChainNode(Object value, boolean anchor, int priority) {
+            this.value = value;
+            this.anchor = anchor;
+            this.priority = priority;
+        }
+
+    }
+
+}
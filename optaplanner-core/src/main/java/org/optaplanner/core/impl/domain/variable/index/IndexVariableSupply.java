@@ -0,0 +1,52 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.domain.variable.index;
+
+import org.optaplanner.core.impl.domain.variable.supply.Supply;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+
+/**
+ * Only supported for chained variables.
+ * Unlike walking a chain through a
+ * {@link org.optaplanner.core.impl.domain.variable.inverserelation.SingletonInverseVariableSupply},
+ * every method is {@code O(log n)}, with n the number of entities in that chain.
+ * <p>
+ * To get an instance, demand a {@link IndexVariableDemand} from {@link InnerScoreDirector#getSupplyManager()}.
+ */
+public interface IndexVariableSupply extends Supply {
+
+    /**
+     * @param entity never null
+     * @return {@code >= -1}, the number of entities before it in its chain (so 0 for the entity right after
+     * the anchor) or -1 if the entity isn't (indirectly) connected to an anchor
+     */
+    int getIndex(Object entity);
+
+    /**
+     * @param anchor never null
+     * @return {@code >= 0}, the number of entities in the chain of that anchor
+     */
+    int getChainSize(Object anchor);
+
+    /**
+     * @param anchor never null
+     * @param index {@code 0 <= index < getChainSize(anchor)}
+     * @return never null, the entity with that {@link #getIndex(Object) index} in the chain of that anchor
+     */
+    Object getEntity(Object anchor, int index);
+
+}
@@ -36,6 +36,7 @@ import org.optaplanner.core.impl.domain.variable.supply.Supply;
 import org.optaplanner.core.impl.domain.variable.supply.SupplyManager;
 import org.optaplanner.core.impl.score.director.InnerScoreDirector;
 import org.optaplanner.core.impl.score.director.ScoreDirector;
+import org.optaplanner.core.impl.score.director.VariableChangeLog;
 
 /**
  * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
@@ -177,6 +178,28 @@ public class VariableListenerSupport<Solution_> implements SupplyManager {
         // beforeVariableChanged() has already added it to the notificationQueue
     }
 
+    /**
+     * Like {@link #beforeVariableChanged(VariableDescriptor, Object)},
+     * but only for the {@link StatefulVariableListener}s (such as the externalized supplies),
+     * because the shadow variables are restored by the {@link VariableChangeLog} rollback itself.
+     * @param variableDescriptor never null
+     * @param entity never null
+     */
+    public void beforeVariableRolledBack(VariableDescriptor<Solution_> variableDescriptor, Object entity) {
+        List<VariableListenerNotifiable> notifiableList = sourceVariableToNotifiableMap.get(variableDescriptor);
+        for (VariableListenerNotifiable notifiable : notifiableList) {
+            if (notifiable.getVariableListener() instanceof StatefulVariableListener) {
+                Collection<VariableListenerNotification> notificationQueue = notifiable.getNotificationQueue();
+                boolean added = notificationQueue.add(
+                        new VariableListenerNotification(entity, VariableListenerNotificationType.VARIABLE_CHANGED));
+                if (added) {
+                    notifiable.getVariableListener().beforeVariableChanged(scoreDirector, entity);
+                }
+                notificationQueuesAreEmpty = false;
+            }
+        }
+    }
+
     public void beforeEntityRemoved(EntityDescriptor<Solution_> entityDescriptor, Object entity) {
         List<VariableListenerNotifiable> notifiableList = sourceEntityToNotifiableMap.get(entityDescriptor);
         for (VariableListenerNotifiable notifiable : notifiableList) {
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.domain.variable.touched;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.optaplanner.core.impl.domain.variable.descriptor.VariableDescriptor;
+import org.optaplanner.core.impl.domain.variable.listener.StatefulVariableListener;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.score.director.ScoreDirector;
+
+/**
+ * Only the before events are used: the entity is already touched before its variable actually changes.
+ */
+public class ExternalizedTouchedEntityVariableSupply implements StatefulVariableListener<Object>,
+        TouchedEntityVariableSupply {
+
+    protected final VariableDescriptor sourceVariableDescriptor;
+    protected final InnerScoreDirector innerScoreDirector;
+
+    protected Set<Object> touchedEntitySet = null;
+    protected boolean allTouched = false;
+
+    public ExternalizedTouchedEntityVariableSupply(VariableDescriptor sourceVariableDescriptor,
+            InnerScoreDirector innerScoreDirector) {
+        this.sourceVariableDescriptor = sourceVariableDescriptor;
+        this.innerScoreDirector = innerScoreDirector;
+    }
+
+    @Override
+    public VariableDescriptor getSourceVariableDescriptor() {
+        return sourceVariableDescriptor;
+    }
+
+    @Override
+    public void resetWorkingSolution(ScoreDirector scoreDirector) {
+        touchedEntitySet = Collections.newSetFromMap(new IdentityHashMap<>());
+        allTouched = true;
+    }
+
+    @Override
+    public void clearWorkingSolution(ScoreDirector scoreDirector) {
+        touchedEntitySet = null;
+        allTouched = false;
+    }
+
+    @Override
+    public void beforeEntityAdded(ScoreDirector scoreDirector, Object entity) {
+        touch(entity);
+    }
+
+    @Override
+    public void afterEntityAdded(ScoreDirector scoreDirector, Object entity) {
+        // Do nothing
+    }
+
+    @Override
+    public void beforeVariableChanged(ScoreDirector scoreDirector, Object entity) {
+        touch(entity);
+    }
+
+    @Override
+    public void afterVariableChanged(ScoreDirector scoreDirector, Object entity) {
+        // Do nothing
+    }
+
+    @Override
+    public void beforeEntityRemoved(ScoreDirector scoreDirector, Object entity) {
+        touch(entity);
+    }
+
+    @Override
+    public void afterEntityRemoved(ScoreDirector scoreDirector, Object entity) {
+        // Do nothing
+    }
+
+    protected void touch(Object entity) {
+        if (!innerScoreDirector.isAllChangesWillBeUndoneBeforeStepEnds()) {
+            touchedEntitySet.add(entity);
+        }
+    }
+
+    @Override
+    public boolean drainTouchedEntitiesTo(Set<Object> touchedEntitySet) {
+        touchedEntitySet.addAll(this.touchedEntitySet);
+        this.touchedEntitySet.clear();
+        boolean complete = !allTouched;
+        allTouched = false;
+        return complete;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + sourceVariableDescriptor.getVariableName() + ")";
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.domain.variable.touched;
+
+import java.io.Serializable;
+
+import org.optaplanner.core.impl.domain.variable.descriptor.VariableDescriptor;
+import org.optaplanner.core.impl.domain.variable.supply.Demand;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+
+/**
+ * Unlike most demands, every owner gets its own {@link TouchedEntityVariableSupply},
+ * because draining the touched entities for one owner must not hide them from another owner.
+ */
+public class TouchedEntityVariableDemand implements Demand<TouchedEntityVariableSupply>, Serializable {
+
+    private static final int CLASS_NAME_HASH_CODE = TouchedEntityVariableDemand.class.getName().hashCode() * 37;
+
+    protected final Object owner;
+    protected final VariableDescriptor sourceVariableDescriptor;
+
+    /**
+     * @param owner never null, compared by identity
+     * @param sourceVariableDescriptor never null
+     */
+    public TouchedEntityVariableDemand(Object owner, VariableDescriptor sourceVariableDescriptor) {
+        this.owner = owner;
+        this.sourceVariableDescriptor = sourceVariableDescriptor;
+    }
+
+    public VariableDescriptor getSourceVariableDescriptor() {
+        return sourceVariableDescriptor;
+    }
+
+    // ************************************************************************
+    // Creation method
+    // ************************************************************************
+
+    @Override
+    public TouchedEntityVariableSupply createExternalizedSupply(InnerScoreDirector scoreDirector) {
+        return new ExternalizedTouchedEntityVariableSupply(sourceVariableDescriptor, scoreDirector);
+    }
+
+    // ************************************************************************
+    // Equals/hashCode method
+    // ************************************************************************
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TouchedEntityVariableDemand)) {
+            return false;
+        }
+        TouchedEntityVariableDemand other = (TouchedEntityVariableDemand) o;
+        if (owner != other.owner) {
+            return false;
+        }
+        if (!sourceVariableDescriptor.equals(other.sourceVariableDescriptor)) {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return (CLASS_NAME_HASH_CODE + System.identityHashCode(owner)) * 37 + sourceVariableDescriptor.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + sourceVariableDescriptor.getSimpleEntityAndVariableName() + ")";
+    }
+
+}
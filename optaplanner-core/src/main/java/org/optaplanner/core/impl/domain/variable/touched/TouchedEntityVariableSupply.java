@@ -0,0 +1,41 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.domain.variable.touched;
+
+import java.util.Set;
+
+import org.optaplanner.core.impl.domain.variable.supply.Supply;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+
+/**
+ * Remembers the entities of which the source variable changed,
+ * ignoring the changes that are {@link InnerScoreDirector#isAllChangesWillBeUndoneBeforeStepEnds() undone}
+ * before the step ends (such as the moves that are evaluated but not picked).
+ * <p>
+ * To get an instance, demand a {@link TouchedEntityVariableDemand} from {@link InnerScoreDirector#getSupplyManager()}.
+ */
+public interface TouchedEntityVariableSupply extends Supply {
+
+    /**
+     * Adds the entities that changed since the previous call to the touchedEntitySet and forgets them.
+     * @param touchedEntitySet never null
+     * @return false if every entity might have changed (because the working solution was reset),
+     * regardless of what was added to the touchedEntitySet
+     */
+    boolean drainTouchedEntitiesTo(Set<Object> touchedEntitySet);
+
+}
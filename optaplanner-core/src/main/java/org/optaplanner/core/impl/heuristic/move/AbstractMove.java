@@ -16,6 +16,9 @@
 
 package org.optaplanner.core.impl.heuristic.move;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.impl.score.director.ScoreDirector;
 
@@ -39,6 +42,12 @@ public abstract class AbstractMove<Solution_> implements Move<Solution_> {
         return undoMove;
     }
 
+    @Override
+    public final void doMoveOnly(ScoreDirector<Solution_> scoreDirector) {
+        doMoveOnGenuineVariables(scoreDirector);
+        scoreDirector.triggerVariableListeners();
+    }
+
     /**
      * Called before the move is done, so the move can be evaluated and then be undone
      * without resulting into a permanent change in the solution.
@@ -54,4 +63,37 @@ public abstract class AbstractMove<Solution_> implements Move<Solution_> {
      */
     protected abstract void doMoveOnGenuineVariables(ScoreDirector<Solution_> scoreDirector);
 
+    // ************************************************************************
+    // Util methods
+    // ************************************************************************
+
+    /**
+     * Rebases every element of a {@link List} with {@link ScoreDirector#lookUpWorkingObject(Object)}.
+     * @param externalObjectList never null
+     * @param destinationScoreDirector never null
+     * @param <E> the element type
+     * @return never null, a new {@link List} with the same size
+     */
+    public static <E> List<E> rebaseList(List<E> externalObjectList, ScoreDirector<?> destinationScoreDirector) {
+        List<E> rebasedObjectList = new ArrayList<>(externalObjectList.size());
+        for (E entity : externalObjectList) {
+            rebasedObjectList.add(destinationScoreDirector.lookUpWorkingObject(entity));
+        }
+        return rebasedObjectList;
+    }
+
+    /**
+     * Rebases every element of an array with {@link ScoreDirector#lookUpWorkingObject(Object)}.
+     * @param externalObjects never null
+     * @param destinationScoreDirector never null
+     * @return never null, a new array with the same length
+     */
+    public static Object[] rebaseArray(Object[] externalObjects, ScoreDirector<?> destinationScoreDirector) {
+        Object[] rebasedObjects = new Object[externalObjects.length];
+        for (int i = 0; i < externalObjects.length; i++) {
+            rebasedObjects[i] = destinationScoreDirector.lookUpWorkingObject(externalObjects[i]);
+        }
+        return rebasedObjects;
+    }
+
 }
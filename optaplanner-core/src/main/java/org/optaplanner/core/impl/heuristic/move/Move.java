@@ -82,6 +82,51 @@ public interface Move<Solution_> {
      */
     Move<Solution_> doMove(ScoreDirector<Solution_> scoreDirector);
 
+    /**
+     * Like {@link #doMove(ScoreDirector)}, but the undo move isn't needed,
+     * for example because the changes are rolled back in bulk by the {@link ScoreDirector}.
+     * <p>
+     * This default implementation still creates the undo move.
+     * @param scoreDirector never null, the {@link ScoreDirector} that needs to get notified of the changes
+     */
+    default void doMoveOnly(ScoreDirector<Solution_> scoreDirector) {
+        doMove(scoreDirector);
+    }
+
+    /**
+     * Calculates the {@link Score} of the {@link PlanningSolution working solution} as if this move was done,
+     * without doing it, so it doesn't need to be undone either.
+     * <p>
+     * This method is optional: if it returns null, the move is done and undone to calculate its {@link Score}.
+     * @param scoreDirector never null, the {@link ScoreDirector} that must not be modified by this method
+     * @return null if this move or the {@link ScoreDirector} doesn't support it
+     */
+    default Score calculateScoreWithoutDoing(ScoreDirector<Solution_> scoreDirector) {
+        return null;
+    }
+
+    /**
+     * Rebases a move from an origin {@link ScoreDirector} to another destination {@link ScoreDirector}
+     * which is usually on another {@link Thread}.
+     * All {@link PlanningEntity}s and planning values referenced by this move
+     * must be translated with {@link ScoreDirector#lookUpWorkingObject(Object)}.
+     * The returned move must not keep any reference to the origin {@link PlanningSolution working solution}.
+     * <p>
+     * This method is thread-safe with regards to the origin {@link ScoreDirector},
+     * but it is called on the {@link Thread} of the destination {@link ScoreDirector}.
+     * <p>
+     * This method is optional: it is only required for multithreaded solving
+     * (for example with {@link org.optaplanner.core.config.solver.SolverConfig#getMoveThreadCount()}).
+     * @param destinationScoreDirector never null, the {@link ScoreDirector#getWorkingSolution()}
+     * that the new move should change the planning entity instances of.
+     * @return never null, a new move that does the same change as this move on another solution instance
+     */
+    default Move<Solution_> rebase(ScoreDirector<Solution_> destinationScoreDirector) {
+        throw new UnsupportedOperationException("The optional rebase() method has not been implemented for move ("
+                + this + ") of class (" + getClass() + ").\n"
+                + "Therefore, multithreaded solving is not supported with that move type.");
+    }
+
     // ************************************************************************
     // Introspection methods
     // ************************************************************************
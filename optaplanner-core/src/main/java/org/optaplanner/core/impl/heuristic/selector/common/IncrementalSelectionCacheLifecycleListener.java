@@ -0,0 +1,34 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.selector.common;
+
+import org.optaplanner.core.config.heuristic.selector.common.SelectionCacheType;
+import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
+
+/**
+ * A {@link SelectionCacheLifecycleListener} that supports {@link SelectionCacheType#STEP_INCREMENTAL}.
+ */
+public interface IncrementalSelectionCacheLifecycleListener extends SelectionCacheLifecycleListener {
+
+    /**
+     * Called when a step starts, to update the cache (constructed when the phase started)
+     * for the changes of the previous step(s).
+     * @param solverScope never null
+     */
+    void updateCache(DefaultSolverScope solverScope);
+
+}
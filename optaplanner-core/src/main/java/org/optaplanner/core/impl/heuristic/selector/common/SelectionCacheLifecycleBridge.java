@@ -36,6 +36,11 @@ public class SelectionCacheLifecycleBridge implements PhaseLifecycleListener {
                     + ") for selectionCacheLifecycleListener (" + selectionCacheLifecycleListener
                     + ") should have already been resolved.");
         }
+        if (cacheType == SelectionCacheType.STEP_INCREMENTAL
+                && !(selectionCacheLifecycleListener instanceof IncrementalSelectionCacheLifecycleListener)) {
+            throw new IllegalArgumentException("The selectionCacheLifecycleListener ("
+                    + selectionCacheLifecycleListener + ") does not support the cacheType (" + cacheType + ").");
+        }
     }
 
     @Override
@@ -47,7 +52,7 @@ public class SelectionCacheLifecycleBridge implements PhaseLifecycleListener {
 
     @Override
     public void phaseStarted(AbstractPhaseScope phaseScope) {
-        if (cacheType == SelectionCacheType.PHASE) {
+        if (cacheType == SelectionCacheType.PHASE || cacheType == SelectionCacheType.STEP_INCREMENTAL) {
             selectionCacheLifecycleListener.constructCache(phaseScope.getSolverScope());
         }
     }
@@ -56,6 +61,9 @@ public class SelectionCacheLifecycleBridge implements PhaseLifecycleListener {
     public void stepStarted(AbstractStepScope stepScope) {
         if (cacheType == SelectionCacheType.STEP) {
             selectionCacheLifecycleListener.constructCache(stepScope.getPhaseScope().getSolverScope());
+        } else if (cacheType == SelectionCacheType.STEP_INCREMENTAL) {
+            ((IncrementalSelectionCacheLifecycleListener) selectionCacheLifecycleListener)
+                    .updateCache(stepScope.getPhaseScope().getSolverScope());
         }
     }
 
@@ -68,7 +76,7 @@ public class SelectionCacheLifecycleBridge implements PhaseLifecycleListener {
 
     @Override
     public void phaseEnded(AbstractPhaseScope phaseScope) {
-        if (cacheType == SelectionCacheType.PHASE) {
+        if (cacheType == SelectionCacheType.PHASE || cacheType == SelectionCacheType.STEP_INCREMENTAL) {
             selectionCacheLifecycleListener.disposeCache(phaseScope.getSolverScope());
         }
     }
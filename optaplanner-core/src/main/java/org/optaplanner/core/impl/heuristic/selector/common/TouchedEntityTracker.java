@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.selector.common;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.optaplanner.core.config.heuristic.selector.common.SelectionCacheType;
+import org.optaplanner.core.impl.domain.entity.descriptor.EntityDescriptor;
+import org.optaplanner.core.impl.domain.variable.descriptor.VariableDescriptor;
+import org.optaplanner.core.impl.domain.variable.supply.SupplyManager;
+import org.optaplanner.core.impl.domain.variable.touched.TouchedEntityVariableDemand;
+import org.optaplanner.core.impl.domain.variable.touched.TouchedEntityVariableSupply;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+
+/**
+ * Tells a {@link SelectionCacheType#STEP_INCREMENTAL} cached selector
+ * which planning entities changed since its cache was constructed or last updated.
+ */
+public class TouchedEntityTracker {
+
+    protected final Object owner;
+
+    protected InnerScoreDirector scoreDirector = null;
+    protected List<TouchedEntityVariableSupply> supplyList = null;
+    protected long workingEntityListRevision;
+    protected final Set<Object> touchedEntitySet = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * @param owner never null, usually the selector
+     */
+    public TouchedEntityTracker(Object owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Tracks the variables of the entity class (including the inherited ones) only.
+     * @param scoreDirector never null
+     * @param entityDescriptor never null
+     */
+    public void start(InnerScoreDirector scoreDirector, EntityDescriptor entityDescriptor) {
+        start(scoreDirector, (Collection<VariableDescriptor>) entityDescriptor.getVariableDescriptors());
+    }
+
+    /**
+     * Tracks the variables of every entity class.
+     * @param scoreDirector never null
+     */
+    public void start(InnerScoreDirector scoreDirector) {
+        List<VariableDescriptor> variableDescriptorList = new ArrayList<>();
+        for (EntityDescriptor entityDescriptor
+                : (Collection<EntityDescriptor>) scoreDirector.getSolutionDescriptor().getEntityDescriptors()) {
+            variableDescriptorList.addAll(entityDescriptor.getDeclaredVariableDescriptors());
+        }
+        start(scoreDirector, variableDescriptorList);
+    }
+
+    /**
+     * Tracks the given variables only.
+     * @param scoreDirector never null
+     * @param variableDescriptors never null
+     */
+    public void start(InnerScoreDirector scoreDirector, Collection<? extends VariableDescriptor> variableDescriptors) {
+        this.scoreDirector = scoreDirector;
+        SupplyManager supplyManager = scoreDirector.getSupplyManager();
+        supplyList = new ArrayList<>(variableDescriptors.size());
+        for (VariableDescriptor variableDescriptor : variableDescriptors) {
+            TouchedEntityVariableSupply supply = supplyManager.demand(
+                    new TouchedEntityVariableDemand(owner, variableDescriptor));
+            // Forget the changes from before the start, such as those of a previous phase
+            supply.drainTouchedEntitiesTo(touchedEntitySet);
+            supplyList.add(supply);
+        }
+        touchedEntitySet.clear();
+        workingEntityListRevision = scoreDirector.getWorkingEntityListRevision();
+    }
+
+    /**
+     * @return null if the cache must be constructed again, because entities were added or removed
+     * or the working solution was reset; otherwise never null, the entities that changed since the previous call
+     * (or since {@link #start}), only valid until the next call
+     */
+    public Set<Object> pollTouchedEntities() {
+        touchedEntitySet.clear();
+        boolean complete = !scoreDirector.isWorkingEntityListDirty(workingEntityListRevision);
+        for (TouchedEntityVariableSupply supply : supplyList) {
+            // Drain every supply, even if the cache must be constructed again anyway
+            complete &= supply.drainTouchedEntitiesTo(touchedEntitySet);
+        }
+        return complete ? touchedEntitySet : null;
+    }
+
+    public void stop() {
+        scoreDirector = null;
+        supplyList = null;
+        touchedEntitySet.clear();
+    }
+
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.selector.common.decorator;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Selects a random selection in {@code O(1)} with a chance proportional to its probabilityWeight,
+ * with the alias method (Vose's variant).
+ * <p>
+ * Every selection has a column with an equal chance.
+ * Within that column, it either selects that selection or one other selection (its alias).
+ * The selections, probabilities and aliases are kept in parallel arrays,
+ * so a cache of millions of selections doesn't box a {@link Double} or create a map entry per selection.
+ * <p>
+ * First {@link #addSelection(Object, double) add} all selections, then {@link #build()} it.
+ * @param <T> the selection type
+ */
+public class ProbabilityAliasTable<T> {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    private Object[] selections;
+    /**
+     * Before {@link #build()}, the probabilityWeight of each selection.
+     * After it, the chance of its column to select that selection instead of its alias.
+     */
+    private double[] probabilities;
+    private int[] aliasIndexes = null;
+    private int size = 0;
+    private double probabilityWeightTotal = 0.0;
+
+    public ProbabilityAliasTable() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param initialCapacity {@code >= 0}
+     */
+    public ProbabilityAliasTable(int initialCapacity) {
+        selections = new Object[initialCapacity];
+        probabilities = new double[initialCapacity];
+    }
+
+    /**
+     * @param selection sometimes null
+     * @param probabilityWeight {@code 0.0 <= probabilityWeight <} {@link Double#POSITIVE_INFINITY},
+     * a selection with probabilityWeight 0.0 is never selected and not counted in {@link #getSize()}
+     */
+    public void addSelection(T selection, double probabilityWeight) {
+        if (aliasIndexes != null) {
+            throw new IllegalStateException("The table is already built, a selection (" + selection
+                    + ") can no longer be added.");
+        }
+        if (!(probabilityWeight >= 0.0) || probabilityWeight == Double.POSITIVE_INFINITY) {
+            throw new IllegalArgumentException("The selection (" + selection
+                    + ") has a probabilityWeight (" + probabilityWeight
+                    + ") that is negative, infinite or NaN.");
+        }
+        if (probabilityWeight == 0.0) {
+            return;
+        }
+        if (size == selections.length) {
+            int newCapacity = Math.max(DEFAULT_INITIAL_CAPACITY, selections.length + (selections.length >> 1));
+            selections = Arrays.copyOf(selections, newCapacity);
+            probabilities = Arrays.copyOf(probabilities, newCapacity);
+        }
+        selections[size] = selection;
+        probabilities[size] = probabilityWeight;
+        size++;
+        probabilityWeightTotal += probabilityWeight;
+    }
+
+    /**
+     * Builds the aliases in {@code O(n)}.
+     */
+    public void build() {
+        if (aliasIndexes != null) {
+            throw new IllegalStateException("The table is already built.");
+        }
+        if (selections.length != size) {
+            selections = Arrays.copyOf(selections, size);
+            probabilities = Arrays.copyOf(probabilities, size);
+        }
+        aliasIndexes = new int[size];
+        // Both work lists are stacks of column indexes
+        int[] smallIndexes = new int[size];
+        int smallSize = 0;
+        int[] largeIndexes = new int[size];
+        int largeSize = 0;
+        for (int i = 0; i < size; i++) {
+            // Scale so the average column has probability 1.0
+            probabilities[i] = probabilities[i] * size / probabilityWeightTotal;
+            aliasIndexes[i] = i;
+            if (probabilities[i] < 1.0) {
+                smallIndexes[smallSize++] = i;
+            } else {
+                largeIndexes[largeSize++] = i;
+            }
+        }
+        while (smallSize > 0 && largeSize > 0) {
+            int smallIndex = smallIndexes[--smallSize];
+            int largeIndex = largeIndexes[--largeSize];
+            // The small column keeps its probability and fills the rest with the large one
+            aliasIndexes[smallIndex] = largeIndex;
+            probabilities[largeIndex] = (probabilities[largeIndex] + probabilities[smallIndex]) - 1.0;
+            if (probabilities[largeIndex] < 1.0) {
+                smallIndexes[smallSize++] = largeIndex;
+            } else {
+                largeIndexes[largeSize++] = largeIndex;
+            }
+        }
+        // Only rounding errors remain, so those columns are full
+        while (largeSize > 0) {
+            probabilities[largeIndexes[--largeSize]] = 1.0;
+        }
+        while (smallSize > 0) {
+            probabilities[smallIndexes[--smallSize]] = 1.0;
+        }
+    }
+
+    /**
+     * @return {@code >= 0}, the number of selections with a positive probabilityWeight
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return {@code >= 0.0}
+     */
+    public double getProbabilityWeightTotal() {
+        return probabilityWeightTotal;
+    }
+
+    /**
+     * Uses only 1 {@link Random#nextDouble()} per selection:
+     * its integer part picks the column and its fraction picks the selection or its alias.
+     * Callers must check that {@link #getSize()} is higher than 0 first.
+     * @param workingRandom never null
+     * @return sometimes null (if a null selection was added)
+     */
+    public T sample(Random workingRandom) {
+        if (aliasIndexes == null) {
+            throw new IllegalStateException("The table is not built yet.");
+        }
+        if (size == 0) {
+            throw new IllegalStateException("The table has no selection with a positive probabilityWeight.");
+        }
+        double offset = workingRandom.nextDouble() * size;
+        int index = (int) offset;
+        if (index >= size) {
+            // Impossible unless nextDouble() is rounded up to 1.0
+            index = size - 1;
+        }
+        if (offset - index >= probabilities[index]) {
+            index = aliasIndexes[index];
+        }
+        return (T) selections[index];
+    }
+
+}
@@ -17,6 +17,7 @@
 package org.optaplanner.core.impl.heuristic.selector.common.decorator;
 
 import java.util.List;
+import java.util.Set;
 
 import org.optaplanner.core.api.domain.entity.PlanningEntity;
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
@@ -40,4 +41,20 @@ public interface SelectionSorter<Solution_, T> {
      */
     void sort(ScoreDirector<Solution_> scoreDirector, List<T> selectionList);
 
+    /**
+     * Like {@link #sort(ScoreDirector, List)}, for a selectionList that was already sorted
+     * before the selections in the touchedSelectionSet changed.
+     * The other selections must still be in order, so an implementation can move only the touched selections.
+     * @param scoreDirector never null, the {@link ScoreDirector}
+     * which has the {@link ScoreDirector#getWorkingSolution()} to which the selections belong or apply to
+     * @param selectionList never null, a {@link List}
+     * of {@link PlanningEntity}, planningValue,  {@link Move} or {@link Selector}
+     * @param touchedSelectionSet never null, the selections that aren't in the selectionList are ignored
+     */
+    default void resort(ScoreDirector<Solution_> scoreDirector, List<T> selectionList, Set<T> touchedSelectionSet) {
+        if (!touchedSelectionSet.isEmpty()) {
+            sort(scoreDirector, selectionList);
+        }
+    }
+
 }
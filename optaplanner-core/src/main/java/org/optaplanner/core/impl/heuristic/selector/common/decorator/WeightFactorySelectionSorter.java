@@ -19,6 +19,7 @@ package org.optaplanner.core.impl.heuristic.selector.common.decorator;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
@@ -80,4 +81,14 @@ public class WeightFactorySelectionSorter<Solution_, T> implements SelectionSort
         selectionList.addAll(selectionMap.values());
     }
 
+    @Override
+    public void resort(ScoreDirector<Solution_> scoreDirector, List<T> selectionList, Set<T> touchedSelectionSet) {
+        Solution_ solution = scoreDirector.getWorkingSolution();
+        // Only the weights of the touched selections and of the untouched selections they're compared to are created
+        ComparatorSelectionSorter.resort(selectionList, touchedSelectionSet,
+                (a, b) -> appliedWeightComparator.compare(
+                        selectionSorterWeightFactory.createSorterWeight(solution, a),
+                        selectionSorterWeightFactory.createSorterWeight(solution, b)));
+    }
+
 }
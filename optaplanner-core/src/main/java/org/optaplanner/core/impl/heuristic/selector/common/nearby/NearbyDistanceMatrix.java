@@ -16,60 +16,232 @@
 
 package org.optaplanner.core.impl.heuristic.selector.common.nearby;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 
+/**
+ * Holds, for every origin, its nearest destinations sorted by {@link NearbyDistanceMeter#getNearbyDistance} ascending.
+ * Destinations with the same distance keep their iteration order.
+ * <p>
+ * Every destination is stored only once, in a dense destination index,
+ * so every row is a primitive {@code int[]} of destination indexes instead of an {@code Object[]}.
+ */
 public final class NearbyDistanceMatrix {
 
     private final NearbyDistanceMeter nearbyDistanceMeter;
-    private final Map<Object, Object[]> originToDestinationsMap;
+    private final Map<Object, int[]> originToDestinationIndexesMap;
+    private final Map<Object, Integer> destinationToIndexMap;
+    private final List<Object> destinationList;
 
     public NearbyDistanceMatrix(NearbyDistanceMeter nearbyDistanceMeter, int originSize) {
         this.nearbyDistanceMeter = nearbyDistanceMeter;
-        originToDestinationsMap = new HashMap<>(originSize);
+        originToDestinationIndexesMap = new HashMap<>(originSize);
+        // Destinations that are equal but different instances must not share an index
+        destinationToIndexMap = new IdentityHashMap<>();
+        destinationList = new ArrayList<>();
     }
 
     public void addAllDestinations(Object origin, Iterator<Object> destinationIterator, int destinationSize) {
-        Object[] destinations = new Object[destinationSize];
-        double[] distances = new double[destinationSize];
-        int size = 0;
-        Double highestDistance = Double.MAX_VALUE;
+        int[] candidateIndexes = new int[destinationSize];
+        int candidateSize = 0;
         while (destinationIterator.hasNext()) {
-            Object destination = destinationIterator.next();
-            double distance = nearbyDistanceMeter.getNearbyDistance(origin, destination);
-            if (distance < highestDistance || size < destinationSize) {
-                int insertIndex = Arrays.binarySearch(distances, 0, size, distance);
-                if (insertIndex < 0) {
-                    insertIndex = -insertIndex - 1;
-                } else {
-                    while (insertIndex < size && distances[insertIndex] == distance) {
-                        insertIndex++;
-                    }
-                }
-                if (size < destinationSize) {
-                    size++;
+            if (candidateSize == candidateIndexes.length) {
+                int[] newCandidateIndexes = new int[Math.max(candidateSize * 2, 16)];
+                System.arraycopy(candidateIndexes, 0, newCandidateIndexes, 0, candidateSize);
+                candidateIndexes = newCandidateIndexes;
+            }
+            candidateIndexes[candidateSize] = indexDestination(destinationIterator.next());
+            candidateSize++;
+        }
+        originToDestinationIndexesMap.put(origin,
+                selectNearestDestinationIndexes(origin, candidateIndexes, candidateSize, destinationSize));
+    }
+
+    /**
+     * Like {@link #addAllDestinations(Object, Iterator, int)} for every origin,
+     * but with the same destinations for every origin.
+     * @param originList never null
+     * @param destinationList never null, the same destinations for every origin
+     * @param destinationSize {@code 0 <= destinationSize <= destinationList.size()},
+     * the number of nearest destinations to keep per origin
+     * @param parallel if true, the rows of different origins are calculated in parallel on the
+     * {@link java.util.concurrent.ForkJoinPool#commonPool()}, so the {@link NearbyDistanceMeter} must be thread-safe
+     */
+    public void addAllDestinations(List<Object> originList, List<Object> destinationList, int destinationSize,
+            boolean parallel) {
+        int candidateSize = destinationList.size();
+        int[] candidateIndexes = new int[candidateSize];
+        for (int i = 0; i < candidateSize; i++) {
+            candidateIndexes[i] = indexDestination(destinationList.get(i));
+        }
+        int originSize = originList.size();
+        int[][] rows = new int[originSize][];
+        IntStream originIndexStream = IntStream.range(0, originSize);
+        if (parallel) {
+            originIndexStream = originIndexStream.parallel();
+        }
+        // Only reads the destinationList field, which is not modified until all rows are calculated
+        originIndexStream.forEach(i -> rows[i] = selectNearestDestinationIndexes(
+                originList.get(i), candidateIndexes, candidateSize, destinationSize));
+        for (int i = 0; i < originSize; i++) {
+            originToDestinationIndexesMap.put(originList.get(i), rows[i]);
+        }
+    }
+
+    /**
+     * Restores rows previously returned by {@link #extractDestinationIndexRows(List)}
+     * of a matrix built with {@link #addAllDestinations(List, List, int, boolean)} on the same origins and destinations,
+     * in the same order, without calling the {@link NearbyDistanceMeter}.
+     * @param originList never null
+     * @param destinationList never null
+     * @param destinationIndexRows never null, one row per origin, in the same order as the originList
+     */
+    public void restoreAllDestinations(List<Object> originList, List<Object> destinationList,
+            int[][] destinationIndexRows) {
+        if (!originToDestinationIndexesMap.isEmpty() || !this.destinationList.isEmpty()) {
+            throw new IllegalStateException("The nearbyDistanceMatrix already contains destinations,"
+                    + " so it cannot restore destinationIndexRows.");
+        }
+        int originSize = originList.size();
+        if (destinationIndexRows.length != originSize) {
+            throw new IllegalArgumentException("The destinationIndexRows length (" + destinationIndexRows.length
+                    + ") differs from the originList size (" + originSize + ").");
+        }
+        for (Object destination : destinationList) {
+            indexDestination(destination);
+        }
+        int destinationIndexSize = this.destinationList.size();
+        for (int i = 0; i < originSize; i++) {
+            int[] row = destinationIndexRows[i];
+            for (int destinationIndex : row) {
+                if (destinationIndex < 0 || destinationIndex >= destinationIndexSize) {
+                    throw new IllegalArgumentException("The destinationIndexRows row (" + i
+                            + ") has a destinationIndex (" + destinationIndex
+                            + ") which is not between 0 and the destination index size (" + destinationIndexSize
+                            + ").");
                 }
-                System.arraycopy(destinations, insertIndex, destinations, insertIndex + 1,
-                        size - insertIndex - 1);
-                System.arraycopy(distances, insertIndex, distances, insertIndex + 1,
-                        size - insertIndex - 1);
-                destinations[insertIndex] = destination;
-                distances[insertIndex] = distance;
-                highestDistance = distances[size - 1];
             }
+            originToDestinationIndexesMap.put(originList.get(i), row);
+        }
+    }
+
+    /**
+     * @param originList never null
+     * @return never null, one row per origin, in the same order as the originList, must not be modified
+     */
+    public int[][] extractDestinationIndexRows(List<Object> originList) {
+        int originSize = originList.size();
+        int[][] destinationIndexRows = new int[originSize][];
+        for (int i = 0; i < originSize; i++) {
+            Object origin = originList.get(i);
+            int[] row = originToDestinationIndexesMap.get(origin);
+            if (row == null) {
+                throw new IllegalArgumentException("The origin (" + origin + ") has no destinations.");
+            }
+            destinationIndexRows[i] = row;
+        }
+        return destinationIndexRows;
+    }
+
+    private int indexDestination(Object destination) {
+        Integer destinationIndex = destinationToIndexMap.get(destination);
+        if (destinationIndex == null) {
+            destinationIndex = destinationList.size();
+            destinationToIndexMap.put(destination, destinationIndex);
+            destinationList.add(destination);
         }
-        if (size != destinationSize) {
-            throw new IllegalStateException("The destinationIterator's size (" + size
+        return destinationIndex;
+    }
+
+    /**
+     * Selects the destinationSize nearest candidates with a bounded max heap, in {@code O(n log(destinationSize))}.
+     * @return never null, the destination indexes sorted by distance and then by candidate order
+     */
+    private int[] selectNearestDestinationIndexes(Object origin, int[] candidateIndexes, int candidateSize,
+            int destinationSize) {
+        if (candidateSize < destinationSize) {
+            throw new IllegalStateException("The destinationIterator's size (" + candidateSize
                     + ") differs from the expected destinationSize (" + destinationSize + ").");
         }
-        originToDestinationsMap.put(origin, destinations);
+        int[] row = new int[destinationSize];
+        if (destinationSize == 0) {
+            return row;
+        }
+        double[] distances = new double[candidateSize];
+        for (int i = 0; i < candidateSize; i++) {
+            distances[i] = nearbyDistanceMeter.getNearbyDistance(origin, destinationList.get(candidateIndexes[i]));
+        }
+        // The heap contains candidate positions, the farthest one at the root
+        int[] heap = new int[destinationSize];
+        int heapSize = 0;
+        for (int i = 0; i < candidateSize; i++) {
+            if (heapSize < destinationSize) {
+                heap[heapSize] = i;
+                siftUp(heap, heapSize, distances);
+                heapSize++;
+            } else if (isFarther(distances, heap[0], i)) {
+                heap[0] = i;
+                siftDown(heap, heapSize, distances);
+            }
+        }
+        for (int i = destinationSize - 1; i >= 0; i--) {
+            row[i] = candidateIndexes[heap[0]];
+            heap[0] = heap[i];
+            siftDown(heap, i, distances);
+        }
+        return row;
+    }
+
+    private static boolean isFarther(double[] distances, int a, int b) {
+        return distances[a] > distances[b] || (distances[a] == distances[b] && a > b);
+    }
+
+    private static void siftUp(int[] heap, int index, double[] distances) {
+        int element = heap[index];
+        while (index > 0) {
+            int parentIndex = (index - 1) >>> 1;
+            int parent = heap[parentIndex];
+            if (!isFarther(distances, element, parent)) {
+                break;
+            }
+            heap[index] = parent;
+            index = parentIndex;
+        }
+        heap[index] = element;
+    }
+
+    private static void siftDown(int[] heap, int heapSize, double[] distances) {
+        if (heapSize == 0) {
+            return;
+        }
+        int element = heap[0];
+        int index = 0;
+        int halfSize = heapSize >>> 1;
+        while (index < halfSize) {
+            int childIndex = (index << 1) + 1;
+            int child = heap[childIndex];
+            int rightChildIndex = childIndex + 1;
+            if (rightChildIndex < heapSize && isFarther(distances, heap[rightChildIndex], child)) {
+                childIndex = rightChildIndex;
+                child = heap[childIndex];
+            }
+            if (!isFarther(distances, child, element)) {
+                break;
+            }
+            heap[index] = child;
+            index = childIndex;
+        }
+        heap[index] = element;
     }
 
     public Object getDestination(Object origin, int nearbyIndex) {
-        Object[] destinations = originToDestinationsMap.get(origin);
-        return destinations[nearbyIndex];
+        int[] destinationIndexes = originToDestinationIndexesMap.get(origin);
+        return destinationList.get(destinationIndexes[nearbyIndex]);
     }
 
 }
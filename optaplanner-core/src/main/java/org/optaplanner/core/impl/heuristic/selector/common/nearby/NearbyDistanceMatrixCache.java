@@ -0,0 +1,341 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.selector.common.nearby;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import org.optaplanner.core.api.domain.lookup.PlanningId;
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.solver.SolverFactory;
+import org.optaplanner.core.config.util.ConfigUtils;
+import org.optaplanner.core.impl.domain.common.accessor.MemberAccessor;
+import org.optaplanner.core.impl.phase.scope.AbstractPhaseScope;
+
+/**
+ * Remembers {@link NearbyDistanceMatrix} rows across phases and {@link org.optaplanner.core.api.solver.Solver}s
+ * of the same {@link SolverFactory}, so the same problem doesn't need to recalculate
+ * all of its {@link NearbyDistanceMeter} distances.
+ * Use {@link SolverFactory#setNearbyDistanceMatrixCache(NearbyDistanceMatrixCache)} to enable it.
+ * <p>
+ * A matrix is only reused if the nearby selector config, the problem fingerprint and the destination size
+ * are the same, and if the origins and destinations are the same, in the same order.
+ * The problem fingerprint must change whenever a distance changes.
+ * The origins and destinations are compared one by one by their {@link PlanningId} (or by value for immutable types,
+ * such as {@link String} and {@link Number}), so those without either are never cached.
+ * A {@link PlanningId} must itself be such an immutable type (or an enum), because it's also persisted.
+ * <p>
+ * This class is thread-safe.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class NearbyDistanceMatrixCache<Solution_> {
+
+    private static final int FORMAT_VERSION = 3;
+
+    private static final Function<Object, String> UNIDENTIFIABLE_FUNCTION = element -> null;
+
+    private final Function<Solution_, String> problemFingerprintFunction;
+    private final Map<CacheKey, CachedDestinationIndexRows> cacheMap = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, Function<Object, String>> identityFunctionMap = new ConcurrentHashMap<>();
+
+    /**
+     * @param problemFingerprintFunction never null, returns a fingerprint of the problem
+     * that determines all distances between the origins and destinations (for example a version or a hash),
+     * or null if the matrix of that problem must not be cached
+     */
+    public NearbyDistanceMatrixCache(Function<Solution_, String> problemFingerprintFunction) {
+        this.problemFingerprintFunction = problemFingerprintFunction;
+    }
+
+    /**
+     * @return {@code >= 0}
+     */
+    public int size() {
+        return cacheMap.size();
+    }
+
+    public void clear() {
+        cacheMap.clear();
+    }
+
+    // ************************************************************************
+    // Worker methods
+    // ************************************************************************
+
+    /**
+     * Builds a {@link NearbyDistanceMatrix} like {@link NearbyDistanceMatrix#addAllDestinations(List, List, int, boolean)},
+     * unless it's cached.
+     * @param selectorKey never null, identifies the nearby selector config,
+     * see {@link org.optaplanner.core.config.heuristic.selector.common.nearby.NearbySelectionConfig}
+     * @param phaseScope never null, its working solution is passed to the problem fingerprint function
+     * @param nearbyDistanceMeter never null
+     * @param originList never null
+     * @param destinationList never null
+     * @param destinationSize see {@link NearbyDistanceMatrix#addAllDestinations(List, List, int, boolean)}
+     * @param parallel see {@link NearbyDistanceMatrix#addAllDestinations(List, List, int, boolean)}
+     * @return never null
+     */
+    public NearbyDistanceMatrix buildNearbyDistanceMatrix(String selectorKey, AbstractPhaseScope<Solution_> phaseScope,
+            NearbyDistanceMeter<?, ?> nearbyDistanceMeter, List<Object> originList, List<Object> destinationList,
+            int destinationSize, boolean parallel) {
+        NearbyDistanceMatrix nearbyDistanceMatrix = new NearbyDistanceMatrix(nearbyDistanceMeter, originList.size());
+        String problemFingerprint = problemFingerprintFunction.apply(phaseScope.getWorkingSolution());
+        String[] originIdentities = problemFingerprint == null ? null : extractIdentities(originList);
+        String[] destinationIdentities = originIdentities == null ? null : extractIdentities(destinationList);
+        if (destinationIdentities == null) {
+            nearbyDistanceMatrix.addAllDestinations(originList, destinationList, destinationSize, parallel);
+            return nearbyDistanceMatrix;
+        }
+        CacheKey cacheKey = new CacheKey(selectorKey, problemFingerprint, destinationSize);
+        CachedDestinationIndexRows cached = cacheMap.get(cacheKey);
+        if (cached != null && cached.matches(originIdentities, destinationIdentities)) {
+            nearbyDistanceMatrix.restoreAllDestinations(originList, destinationList, cached.destinationIndexRows);
+            return nearbyDistanceMatrix;
+        }
+        nearbyDistanceMatrix.addAllDestinations(originList, destinationList, destinationSize, parallel);
+        cacheMap.put(cacheKey, new CachedDestinationIndexRows(originIdentities, destinationIdentities,
+                nearbyDistanceMatrix.extractDestinationIndexRows(originList)));
+        return nearbyDistanceMatrix;
+    }
+
+    /**
+     * @param elementList never null
+     * @return null if an element has no identity that is the same in every working solution and after a restart
+     */
+    private String[] extractIdentities(List<Object> elementList) {
+        String[] identities = new String[elementList.size()];
+        for (int i = 0; i < identities.length; i++) {
+            Object element = elementList.get(i);
+            if (element == null) {
+                return null;
+            }
+            String identity = identityFunctionMap.computeIfAbsent(element.getClass(), this::buildIdentityFunction)
+                    .apply(element);
+            if (identity == null) {
+                return null;
+            }
+            identities[i] = identity;
+        }
+        return identities;
+    }
+
+    /**
+     * The identity is prefixed with the class names, so elements of different classes never have the same identity.
+     * @param elementClass never null
+     * @return never null, returns null for an element that has no identity
+     */
+    private Function<Object, String> buildIdentityFunction(Class<?> elementClass) {
+        String prefix = elementClass.getName() + "#";
+        if (elementClass.isEnum() || isValueClass(elementClass)) {
+            return element -> prefix + toValueString(element);
+        }
+        MemberAccessor planningIdAccessor = ConfigUtils.findPlanningIdMemberAccessor(elementClass);
+        if (planningIdAccessor == null) {
+            return UNIDENTIFIABLE_FUNCTION;
+        }
+        return element -> {
+            Object planningId = planningIdAccessor.executeGetter(element);
+            if (planningId == null || !(planningId.getClass().isEnum() || isValueClass(planningId.getClass()))) {
+                return null;
+            }
+            return prefix + planningId.getClass().getName() + "#" + toValueString(planningId);
+        };
+    }
+
+    private static boolean isValueClass(Class<?> valueClass) {
+        return valueClass == String.class || Number.class.isAssignableFrom(valueClass)
+                || valueClass == Character.class || valueClass == Boolean.class
+                || Temporal.class.isAssignableFrom(valueClass) || valueClass == UUID.class;
+    }
+
+    private static String toValueString(Object value) {
+        // The toString() of an enum constant can be overridden
+        return value instanceof Enum ? ((Enum<?>) value).name() : value.toString();
+    }
+
+    /**
+     * Writes all cached matrices in a compact binary format, to restore them after a restart
+     * with {@link #read(InputStream)}.
+     * @param out never null, not closed by this method
+     * @throws IOException if writing fails
+     */
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream dataOut = new DataOutputStream(out);
+        List<Map.Entry<CacheKey, CachedDestinationIndexRows>> entryList = new ArrayList<>(cacheMap.entrySet());
+        dataOut.writeInt(FORMAT_VERSION);
+        dataOut.writeInt(entryList.size());
+        for (Map.Entry<CacheKey, CachedDestinationIndexRows> entry : entryList) {
+            CacheKey cacheKey = entry.getKey();
+            CachedDestinationIndexRows cached = entry.getValue();
+            dataOut.writeUTF(cacheKey.selectorKey);
+            dataOut.writeUTF(cacheKey.problemFingerprint);
+            dataOut.writeInt(cacheKey.destinationSize);
+            writeIdentities(dataOut, cached.originIdentities);
+            // The origins are often the destinations too
+            boolean sameIdentities = cached.destinationIdentities == cached.originIdentities;
+            dataOut.writeBoolean(sameIdentities);
+            if (!sameIdentities) {
+                writeIdentities(dataOut, cached.destinationIdentities);
+            }
+            for (int[] row : cached.destinationIndexRows) {
+                for (int destinationIndex : row) {
+                    dataOut.writeInt(destinationIndex);
+                }
+            }
+        }
+        dataOut.flush();
+    }
+
+    private static void writeIdentities(DataOutputStream dataOut, String[] identities) throws IOException {
+        dataOut.writeInt(identities.length);
+        for (String identity : identities) {
+            dataOut.writeUTF(identity);
+        }
+    }
+
+    /**
+     * Adds all matrices written by {@link #write(OutputStream)}.
+     * Every matrix is validated, so a corrupt input fails fast instead of returning wrong destinations later.
+     * @param in never null, not closed by this method
+     * @throws IOException if reading fails
+     * @throws IllegalArgumentException if the input is not a valid cache
+     */
+    public void read(InputStream in) throws IOException {
+        DataInputStream dataIn = new DataInputStream(in);
+        int formatVersion = dataIn.readInt();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IllegalArgumentException("The formatVersion (" + formatVersion
+                    + ") is not supported, only formatVersion (" + FORMAT_VERSION + ") is.");
+        }
+        int entrySize = dataIn.readInt();
+        for (int i = 0; i < entrySize; i++) {
+            String selectorKey = dataIn.readUTF();
+            String problemFingerprint = dataIn.readUTF();
+            int destinationSize = dataIn.readInt();
+            String[] originIdentities = readIdentities(dataIn);
+            String[] destinationIdentities = dataIn.readBoolean() ? originIdentities : readIdentities(dataIn);
+            int originSize = originIdentities.length;
+            int destinationListSize = destinationIdentities.length;
+            if (destinationSize < 0 || destinationSize > destinationListSize) {
+                throw new IllegalArgumentException("The cached matrix of selectorKey (" + selectorKey
+                        + ") and problemFingerprint (" + problemFingerprint
+                        + ") has a destinationSize (" + destinationSize
+                        + ") which is not between 0 and the destinationListSize (" + destinationListSize + ").");
+            }
+            int[][] destinationIndexRows = new int[originSize][];
+            for (int j = 0; j < originSize; j++) {
+                int[] row = new int[destinationSize];
+                for (int k = 0; k < destinationSize; k++) {
+                    int destinationIndex = dataIn.readInt();
+                    if (destinationIndex < 0 || destinationIndex >= destinationListSize) {
+                        throw new IllegalArgumentException("The cached matrix of selectorKey (" + selectorKey
+                                + ") and problemFingerprint (" + problemFingerprint
+                                + ") has a destinationIndex (" + destinationIndex + ") in row (" + j
+                                + ") which is not between 0 and the destinationListSize ("
+                                + destinationListSize + ").");
+                    }
+                    row[k] = destinationIndex;
+                }
+                destinationIndexRows[j] = row;
+            }
+            cacheMap.put(new CacheKey(selectorKey, problemFingerprint, destinationSize),
+                    new CachedDestinationIndexRows(originIdentities, destinationIdentities, destinationIndexRows));
+        }
+    }
+
+    private static String[] readIdentities(DataInputStream dataIn) throws IOException {
+        int size = dataIn.readInt();
+        if (size < 0) {
+            throw new IllegalArgumentException("The identities size (" + size + ") cannot be negative.");
+        }
+        String[] identities = new String[size];
+        for (int i = 0; i < size; i++) {
+            identities[i] = dataIn.readUTF();
+        }
+        return identities;
+    }
+
+    private static final class CacheKey {
+
+        private final String selectorKey;
+        private final String problemFingerprint;
+        private final int destinationSize;
+
+        public CacheKey(String selectorKey, String problemFingerprint, int destinationSize) {
+            this.selectorKey = selectorKey;
+            this.problemFingerprint = problemFingerprint;
+            this.destinationSize = destinationSize;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            } else if (o instanceof CacheKey) {
+                CacheKey other = (CacheKey) o;
+                return selectorKey.equals(other.selectorKey)
+                        && problemFingerprint.equals(other.problemFingerprint)
+                        && destinationSize == other.destinationSize;
+            } else {
+                return false;
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(selectorKey, problemFingerprint, destinationSize);
+        }
+
+    }
+
+    private static class CachedDestinationIndexRows {
+
+        private final String[] originIdentities;
+        private final String[] destinationIdentities;
+        private final int[][] destinationIndexRows;
+
+        public CachedDestinationIndexRows(String[] originIdentities, String[] destinationIdentities,
+                int[][] destinationIndexRows) {
+            this.originIdentities = originIdentities;
+            // Share the array if the origins are the destinations, which also halves the written size
+            this.destinationIdentities = Arrays.equals(originIdentities, destinationIdentities)
+                    ? originIdentities : destinationIdentities;
+            this.destinationIndexRows = destinationIndexRows;
+        }
+
+        public boolean matches(String[] originIdentities, String[] destinationIdentities) {
+            // Compares every identity, because a hash of them might collide
+            return Arrays.equals(this.originIdentities, originIdentities)
+                    && Arrays.equals(this.destinationIdentities, destinationIdentities);
+        }
+
+    }
+
+}
@@ -80,7 +80,8 @@ public class FromSolutionEntitySelector extends AbstractEntitySelector {
         super.stepStarted(stepScope);
         InnerScoreDirector scoreDirector = stepScope.getScoreDirector();
         if (scoreDirector.isWorkingEntityListDirty(cachedEntityListRevision)) {
-            if (minimumCacheType.compareTo(SelectionCacheType.STEP) > 0) {
+            // A STEP_INCREMENTAL ancestor constructs its cache again when the entity list changes
+            if (minimumCacheType.compareTo(SelectionCacheType.STEP_INCREMENTAL) > 0) {
                 cachedEntityListIsDirty = true;
             } else {
                 cachedEntityList = entityDescriptor.extractEntities(scoreDirector.getWorkingSolution());
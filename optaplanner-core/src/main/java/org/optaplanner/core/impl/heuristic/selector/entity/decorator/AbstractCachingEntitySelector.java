@@ -19,20 +19,25 @@ package org.optaplanner.core.impl.heuristic.selector.entity.decorator;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 import org.optaplanner.core.config.heuristic.selector.common.SelectionCacheType;
 import org.optaplanner.core.impl.domain.entity.descriptor.EntityDescriptor;
+import org.optaplanner.core.impl.heuristic.selector.common.IncrementalSelectionCacheLifecycleListener;
 import org.optaplanner.core.impl.heuristic.selector.common.SelectionCacheLifecycleBridge;
-import org.optaplanner.core.impl.heuristic.selector.common.SelectionCacheLifecycleListener;
+import org.optaplanner.core.impl.heuristic.selector.common.TouchedEntityTracker;
 import org.optaplanner.core.impl.heuristic.selector.entity.AbstractEntitySelector;
 import org.optaplanner.core.impl.heuristic.selector.entity.EntitySelector;
 import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
 
-public abstract class AbstractCachingEntitySelector extends AbstractEntitySelector implements SelectionCacheLifecycleListener {
+public abstract class AbstractCachingEntitySelector extends AbstractEntitySelector
+        implements IncrementalSelectionCacheLifecycleListener {
 
     protected final EntitySelector childEntitySelector;
     protected final SelectionCacheType cacheType;
 
+    protected final TouchedEntityTracker touchedEntityTracker;
+
     protected List<Object> cachedEntityList = null;
 
     public AbstractCachingEntitySelector(EntitySelector childEntitySelector, SelectionCacheType cacheType) {
@@ -49,6 +54,8 @@ public abstract class AbstractCachingEntitySelector extends AbstractEntitySelect
                     + ") does not support the cacheType (" + cacheType + ").");
         }
         phaseLifecycleSupport.addEventListener(new SelectionCacheLifecycleBridge(cacheType, this));
+        touchedEntityTracker = cacheType == SelectionCacheType.STEP_INCREMENTAL
+                ? new TouchedEntityTracker(this) : null;
     }
 
     public EntitySelector getChildEntitySelector() {
@@ -77,11 +84,38 @@ public abstract class AbstractCachingEntitySelector extends AbstractEntitySelect
         childEntitySelector.iterator().forEachRemaining(cachedEntityList::add);
         logger.trace("    Created cachedEntityList: size ({}), entitySelector ({}).",
                 cachedEntityList.size(), this);
+        if (touchedEntityTracker != null) {
+            touchedEntityTracker.start(solverScope.getScoreDirector(), getEntityDescriptor());
+        }
+    }
+
+    @Override
+    public void updateCache(DefaultSolverScope solverScope) {
+        Set<Object> touchedEntitySet = touchedEntityTracker.pollTouchedEntities();
+        if (touchedEntitySet == null) {
+            disposeCache(solverScope);
+            constructCache(solverScope);
+        } else if (!touchedEntitySet.isEmpty()) {
+            updateCache(solverScope, touchedEntitySet);
+        }
+    }
+
+    /**
+     * Only called for {@link SelectionCacheType#STEP_INCREMENTAL}.
+     * Does nothing by default, because the cached selections themselves don't change.
+     * @param solverScope never null
+     * @param touchedEntitySet never null, not empty, the planning entities that changed since the previous update
+     */
+    protected void updateCache(DefaultSolverScope solverScope, Set<Object> touchedEntitySet) {
+        // Do nothing
     }
 
     @Override
     public void disposeCache(DefaultSolverScope solverScope) {
         cachedEntityList = null;
+        if (touchedEntityTracker != null) {
+            touchedEntityTracker.stop();
+        }
     }
 
     @Override
@@ -16,31 +16,40 @@
 
 package org.optaplanner.core.impl.heuristic.selector.entity.decorator;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
-import java.util.NavigableMap;
-import java.util.TreeMap;
+import java.util.Set;
 
 import org.optaplanner.core.config.heuristic.selector.common.SelectionCacheType;
 import org.optaplanner.core.impl.domain.entity.descriptor.EntityDescriptor;
+import org.optaplanner.core.impl.heuristic.selector.common.IncrementalSelectionCacheLifecycleListener;
 import org.optaplanner.core.impl.heuristic.selector.common.SelectionCacheLifecycleBridge;
-import org.optaplanner.core.impl.heuristic.selector.common.SelectionCacheLifecycleListener;
+import org.optaplanner.core.impl.heuristic.selector.common.TouchedEntityTracker;
+import org.optaplanner.core.impl.heuristic.selector.common.decorator.ProbabilityAliasTable;
 import org.optaplanner.core.impl.heuristic.selector.common.decorator.SelectionProbabilityWeightFactory;
 import org.optaplanner.core.impl.heuristic.selector.entity.AbstractEntitySelector;
 import org.optaplanner.core.impl.heuristic.selector.entity.EntitySelector;
 import org.optaplanner.core.impl.score.director.ScoreDirector;
-import org.optaplanner.core.impl.solver.random.RandomUtils;
 import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
 
-public class ProbabilityEntitySelector extends AbstractEntitySelector implements SelectionCacheLifecycleListener {
+public class ProbabilityEntitySelector extends AbstractEntitySelector
+        implements IncrementalSelectionCacheLifecycleListener {
 
     protected final EntitySelector childEntitySelector;
     protected final SelectionCacheType cacheType;
     protected final SelectionProbabilityWeightFactory probabilityWeightFactory;
 
-    protected NavigableMap<Double, Object> cachedEntityMap = null;
-    protected double probabilityWeightTotal = -1.0;
+    protected final TouchedEntityTracker touchedEntityTracker;
+
+    protected ProbabilityAliasTable<Object> cachedEntityTable = null;
+    // Only for STEP_INCREMENTAL, to rebuild the cachedEntityTable without creating every probabilityWeight again
+    protected List<Object> cachedEntityList = null;
+    protected double[] cachedProbabilityWeights = null;
+    protected Map<Object, Integer> cachedEntityIndexMap = null;
 
     public ProbabilityEntitySelector(EntitySelector childEntitySelector, SelectionCacheType cacheType,
             SelectionProbabilityWeightFactory probabilityWeightFactory) {
@@ -58,6 +67,8 @@ public class ProbabilityEntitySelector extends AbstractEntitySelector implements
                     + ") does not support the cacheType (" + cacheType + ").");
         }
         phaseLifecycleSupport.addEventListener(new SelectionCacheLifecycleBridge(cacheType, this));
+        touchedEntityTracker = cacheType == SelectionCacheType.STEP_INCREMENTAL
+                ? new TouchedEntityTracker(this) : null;
     }
 
     @Override
@@ -71,21 +82,70 @@ public class ProbabilityEntitySelector extends AbstractEntitySelector implements
 
     @Override
     public void constructCache(DefaultSolverScope solverScope) {
-        cachedEntityMap = new TreeMap<>();
         ScoreDirector scoreDirector = solverScope.getScoreDirector();
-        double probabilityWeightOffset = 0L;
-        for (Object entity : childEntitySelector) {
-            double probabilityWeight = probabilityWeightFactory.createProbabilityWeight(
-                    scoreDirector, entity);
-            cachedEntityMap.put(probabilityWeightOffset, entity);
-            probabilityWeightOffset += probabilityWeight;
+        if (touchedEntityTracker == null) {
+            cachedEntityTable = new ProbabilityAliasTable<>();
+            for (Object entity : childEntitySelector) {
+                double probabilityWeight = probabilityWeightFactory.createProbabilityWeight(
+                        scoreDirector, entity);
+                cachedEntityTable.addSelection(entity, probabilityWeight);
+            }
+            cachedEntityTable.build();
+            return;
         }
-        probabilityWeightTotal = probabilityWeightOffset;
+        cachedEntityList = new ArrayList<>();
+        childEntitySelector.iterator().forEachRemaining(cachedEntityList::add);
+        cachedProbabilityWeights = new double[cachedEntityList.size()];
+        cachedEntityIndexMap = new IdentityHashMap<>(cachedEntityList.size());
+        for (int i = 0; i < cachedEntityList.size(); i++) {
+            Object entity = cachedEntityList.get(i);
+            cachedProbabilityWeights[i] = probabilityWeightFactory.createProbabilityWeight(scoreDirector, entity);
+            cachedEntityIndexMap.put(entity, i);
+        }
+        buildCachedEntityTable();
+        touchedEntityTracker.start(solverScope.getScoreDirector(), getEntityDescriptor());
+    }
+
+    @Override
+    public void updateCache(DefaultSolverScope solverScope) {
+        Set<Object> touchedEntitySet = touchedEntityTracker.pollTouchedEntities();
+        if (touchedEntitySet == null) {
+            disposeCache(solverScope);
+            constructCache(solverScope);
+            return;
+        }
+        ScoreDirector scoreDirector = solverScope.getScoreDirector();
+        boolean changed = false;
+        for (Object entity : touchedEntitySet) {
+            Integer index = cachedEntityIndexMap.get(entity);
+            if (index != null) {
+                cachedProbabilityWeights[index] = probabilityWeightFactory.createProbabilityWeight(
+                        scoreDirector, entity);
+                changed = true;
+            }
+        }
+        if (changed) {
+            buildCachedEntityTable();
+        }
+    }
+
+    private void buildCachedEntityTable() {
+        cachedEntityTable = new ProbabilityAliasTable<>(cachedEntityList.size());
+        for (int i = 0; i < cachedEntityList.size(); i++) {
+            cachedEntityTable.addSelection(cachedEntityList.get(i), cachedProbabilityWeights[i]);
+        }
+        cachedEntityTable.build();
     }
 
     @Override
     public void disposeCache(DefaultSolverScope solverScope) {
-        probabilityWeightTotal = -1.0;
+        cachedEntityTable = null;
+        if (touchedEntityTracker != null) {
+            cachedEntityList = null;
+            cachedProbabilityWeights = null;
+            cachedEntityIndexMap = null;
+            touchedEntityTracker.stop();
+        }
     }
 
     @Override
@@ -105,7 +165,7 @@ public class ProbabilityEntitySelector extends AbstractEntitySelector implements
 
     @Override
     public long getSize() {
-        return cachedEntityMap.size();
+        return cachedEntityTable.getSize();
     }
 
     @Override
@@ -113,15 +173,13 @@ public class ProbabilityEntitySelector extends AbstractEntitySelector implements
         return new Iterator<Object>() {
             @Override
             public boolean hasNext() {
-                return true;
+                // If every probabilityWeight is 0.0, there is nothing to select
+                return cachedEntityTable.getSize() > 0;
             }
 
             @Override
             public Object next() {
-                double randomOffset = RandomUtils.nextDouble(workingRandom, probabilityWeightTotal);
-                Map.Entry<Double, Object> entry = cachedEntityMap.floorEntry(randomOffset);
-                // entry is never null because randomOffset < probabilityWeightTotal
-                return entry.getValue();
+                return cachedEntityTable.sample(workingRandom);
             }
 
             @Override
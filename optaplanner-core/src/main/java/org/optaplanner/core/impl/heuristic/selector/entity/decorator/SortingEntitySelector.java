@@ -18,6 +18,7 @@ package org.optaplanner.core.impl.heuristic.selector.entity.decorator;
 
 import java.util.Iterator;
 import java.util.ListIterator;
+import java.util.Set;
 
 import org.optaplanner.core.config.heuristic.selector.common.SelectionCacheType;
 import org.optaplanner.core.impl.heuristic.selector.common.decorator.SelectionSorter;
@@ -46,6 +47,13 @@ public class SortingEntitySelector extends AbstractCachingEntitySelector {
                 cachedEntityList.size(), this);
     }
 
+    @Override
+    protected void updateCache(DefaultSolverScope solverScope, Set<Object> touchedEntitySet) {
+        sorter.resort(solverScope.getScoreDirector(), cachedEntityList, touchedEntitySet);
+        logger.trace("    Resorted cachedEntityList: touched entity count ({}), entitySelector ({}).",
+                touchedEntitySet.size(), this);
+    }
+
     @Override
     public boolean isNeverEnding() {
         return false;
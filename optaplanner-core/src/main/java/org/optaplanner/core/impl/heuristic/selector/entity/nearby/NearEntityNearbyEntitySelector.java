@@ -16,12 +16,15 @@
 
 package org.optaplanner.core.impl.heuristic.selector.entity.nearby;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.ListIterator;
 
 import org.optaplanner.core.impl.domain.entity.descriptor.EntityDescriptor;
 import org.optaplanner.core.impl.heuristic.selector.common.iterator.SelectionIterator;
 import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyDistanceMatrix;
+import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyDistanceMatrixCache;
 import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyDistanceMeter;
 import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyRandom;
 import org.optaplanner.core.impl.heuristic.selector.entity.AbstractEntitySelector;
@@ -36,16 +39,45 @@ public class NearEntityNearbyEntitySelector extends AbstractEntitySelector {
     protected final NearbyRandom nearbyRandom;
     protected final boolean randomSelection;
     protected final boolean discardNearbyIndexZero = true; // TODO deactivate me when appropriate
+    /**
+     * Includes the discarded nearby index zero.
+     */
+    protected final int destinationSizeMaximum;
+    protected final boolean parallelDistanceMatrixCalculation;
+    protected final NearbyDistanceMatrixCache<?> nearbyDistanceMatrixCache;
+    protected final String nearbyDistanceMatrixCacheKey;
 
     protected NearbyDistanceMatrix nearbyDistanceMatrix = null;
 
     public NearEntityNearbyEntitySelector(EntitySelector childEntitySelector, EntitySelector originEntitySelector,
             NearbyDistanceMeter nearbyDistanceMeter, NearbyRandom nearbyRandom, boolean randomSelection) {
+        this(childEntitySelector, originEntitySelector, nearbyDistanceMeter, nearbyRandom, randomSelection,
+                Integer.MAX_VALUE, false, null, null);
+    }
+
+    public NearEntityNearbyEntitySelector(EntitySelector childEntitySelector, EntitySelector originEntitySelector,
+            NearbyDistanceMeter nearbyDistanceMeter, NearbyRandom nearbyRandom, boolean randomSelection,
+            int destinationSizeMaximum, boolean parallelDistanceMatrixCalculation,
+            NearbyDistanceMatrixCache<?> nearbyDistanceMatrixCache, String nearbyDistanceMatrixCacheKey) {
         this.childEntitySelector = childEntitySelector;
         this.originEntitySelector = originEntitySelector;
         this.nearbyDistanceMeter = nearbyDistanceMeter;
         this.nearbyRandom = nearbyRandom;
         this.randomSelection = randomSelection;
+        if (destinationSizeMaximum < 1) {
+            throw new IllegalArgumentException("The entitySelector (" + this
+                    + ") has a destinationSizeMaximum (" + destinationSizeMaximum + ") which is lower than 1.");
+        }
+        this.destinationSizeMaximum = (discardNearbyIndexZero && destinationSizeMaximum < Integer.MAX_VALUE)
+                ? destinationSizeMaximum + 1 : destinationSizeMaximum;
+        this.parallelDistanceMatrixCalculation = parallelDistanceMatrixCalculation;
+        this.nearbyDistanceMatrixCache = nearbyDistanceMatrixCache;
+        this.nearbyDistanceMatrixCacheKey = nearbyDistanceMatrixCacheKey;
+        if (nearbyDistanceMatrixCache != null && nearbyDistanceMatrixCacheKey == null) {
+            throw new IllegalArgumentException("The entitySelector (" + this
+                    + ") has a nearbyDistanceMatrixCache (" + nearbyDistanceMatrixCache
+                    + ") but no nearbyDistanceMatrixCacheKey (" + nearbyDistanceMatrixCacheKey + ").");
+        }
         if (randomSelection && nearbyRandom == null) {
             throw new IllegalArgumentException("The entitySelector (" + this
                     + ") with randomSelection (" + randomSelection + ") has no nearbyRandom (" + nearbyRandom + ").");
@@ -79,7 +111,7 @@ public class NearEntityNearbyEntitySelector extends AbstractEntitySelector {
                     + ") has an entitySize (" + childSize
                     + ") which is higher than Integer.MAX_VALUE.");
         }
-        int destinationSize = (int) childSize;
+        int destinationSize = (int) Math.min(childSize, destinationSizeMaximum);
         if (randomSelection) {
             // Reduce RAM memory usage by reducing destinationSize if nearbyRandom will never select a higher value
             int overallSizeMaximum = nearbyRandom.getOverallSizeMaximum();
@@ -90,10 +122,18 @@ public class NearEntityNearbyEntitySelector extends AbstractEntitySelector {
                 destinationSize = overallSizeMaximum;
             }
         }
-        nearbyDistanceMatrix = new NearbyDistanceMatrix(nearbyDistanceMeter, (int) originSize);
-        for (Iterator originIt = originEntitySelector.endingIterator(); originIt.hasNext(); ) {
-            final Object origin =  originIt.next();
-            nearbyDistanceMatrix.addAllDestinations(origin, childEntitySelector.endingIterator(), destinationSize);
+        List<Object> originList = new ArrayList<>((int) originSize);
+        originEntitySelector.endingIterator().forEachRemaining(originList::add);
+        List<Object> destinationList = new ArrayList<>((int) childSize);
+        childEntitySelector.endingIterator().forEachRemaining(destinationList::add);
+        if (nearbyDistanceMatrixCache != null) {
+            nearbyDistanceMatrix = nearbyDistanceMatrixCache.buildNearbyDistanceMatrix(nearbyDistanceMatrixCacheKey,
+                    phaseScope, nearbyDistanceMeter, originList, destinationList, destinationSize,
+                    parallelDistanceMatrixCalculation);
+        } else {
+            nearbyDistanceMatrix = new NearbyDistanceMatrix(nearbyDistanceMeter, (int) originSize);
+            nearbyDistanceMatrix.addAllDestinations(originList, destinationList, destinationSize,
+                    parallelDistanceMatrixCalculation);
         }
     }
 
@@ -120,18 +160,28 @@ public class NearEntityNearbyEntitySelector extends AbstractEntitySelector {
 
     @Override
     public long getSize() {
-        return childEntitySelector.getSize() - (discardNearbyIndexZero ? 1 : 0);
+        return calculateNearbySize(childEntitySelector.getSize()) - (discardNearbyIndexZero ? 1 : 0);
     }
 
     @Override
     public Iterator<Object> iterator() {
         if (!randomSelection) {
-            return new OriginalNearbyEntityIterator(originEntitySelector.iterator(), childEntitySelector.getSize());
+            return new OriginalNearbyEntityIterator(originEntitySelector.iterator(),
+                    calculateNearbySize(childEntitySelector.getSize()));
         } else {
-            return new RandomNearbyEntityIterator(originEntitySelector.iterator(), childEntitySelector.getSize());
+            return new RandomNearbyEntityIterator(originEntitySelector.iterator(),
+                    calculateNearbySize(childEntitySelector.getSize()));
         }
     }
 
+    /**
+     * @param childSize {@code >= 0}
+     * @return {@code <= childSize}, the number of destinations per origin in the {@link NearbyDistanceMatrix}
+     */
+    protected long calculateNearbySize(long childSize) {
+        return Math.min(childSize, destinationSizeMaximum);
+    }
+
     @Override
     public ListIterator<Object> listIterator() {
         // TODO Not yet implemented
@@ -18,18 +18,25 @@ package org.optaplanner.core.impl.heuristic.selector.entity.pillar;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.Set;
 
 import org.optaplanner.core.config.heuristic.selector.common.SelectionCacheType;
 import org.optaplanner.core.impl.domain.entity.descriptor.EntityDescriptor;
 import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
 import org.optaplanner.core.impl.heuristic.selector.AbstractSelector;
+import org.optaplanner.core.impl.heuristic.selector.common.IncrementalSelectionCacheLifecycleListener;
 import org.optaplanner.core.impl.heuristic.selector.common.SelectionCacheLifecycleBridge;
-import org.optaplanner.core.impl.heuristic.selector.common.SelectionCacheLifecycleListener;
+import org.optaplanner.core.impl.heuristic.selector.common.TouchedEntityTracker;
 import org.optaplanner.core.impl.heuristic.selector.common.iterator.CachedListRandomIterator;
 import org.optaplanner.core.impl.heuristic.selector.common.iterator.UpcomingSelectionIterator;
 import org.optaplanner.core.impl.heuristic.selector.entity.EntitySelector;
@@ -37,10 +44,13 @@ import org.optaplanner.core.impl.heuristic.selector.value.chained.DefaultSubChai
 import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
 
 /**
+ * The pillars change every step, but instead of grouping all entities again at the start of every step,
+ * only the entities that changed during the previous step move to another pillar.
+ * The pillars (and their order) are the same as if all entities were grouped again.
  * @see PillarSelector
  */
 public class DefaultPillarSelector extends AbstractSelector
-        implements PillarSelector, SelectionCacheLifecycleListener {
+        implements PillarSelector, IncrementalSelectionCacheLifecycleListener {
 
     protected static final SelectionCacheType CACHE_TYPE = SelectionCacheType.STEP;
 
@@ -56,7 +66,19 @@ public class DefaultPillarSelector extends AbstractSelector
     protected final int minimumSubPillarSize;
     protected final int maximumSubPillarSize;
 
+    protected final TouchedEntityTracker touchedEntityTracker;
+
+    /**
+     * Sorted by the ordinal of the first entity of each pillar.
+     * A pillar itself is never changed once it's in this list, because a move might still refer to it.
+     */
     protected List<List<Object>> cachedBasePillarList = null;
+    /**
+     * The ordinal of each entity in the entitySelector, to order the pillars and the entities in each pillar.
+     */
+    protected Map<Object, Integer> entityOrdinalMap = null;
+    protected Map<Object, List<Object>> entityToValueStateMap = null;
+    protected Map<List<Object>, List<Object>> valueStateToPillarMap = null;
 
     public DefaultPillarSelector(EntitySelector entitySelector,
             Collection<GenuineVariableDescriptor> variableDescriptors, boolean randomSelection,
@@ -92,7 +114,10 @@ public class DefaultPillarSelector extends AbstractSelector
                     + ") with neverEnding (" + entitySelector.isNeverEnding() + ").");
         }
         phaseLifecycleSupport.addEventListener(entitySelector);
-        phaseLifecycleSupport.addEventListener(new SelectionCacheLifecycleBridge(CACHE_TYPE, this));
+        // The selection still changes every step (see getCacheType()), but the cache survives the steps
+        phaseLifecycleSupport.addEventListener(
+                new SelectionCacheLifecycleBridge(SelectionCacheType.STEP_INCREMENTAL, this));
+        touchedEntityTracker = new TouchedEntityTracker(this);
         this.subPillarEnabled = subPillarEnabled;
         this.minimumSubPillarSize = minimumSubPillarSize;
         this.maximumSubPillarSize = maximumSubPillarSize;
@@ -136,22 +161,145 @@ public class DefaultPillarSelector extends AbstractSelector
                     + entitySelector + ") with entitySize (" + entitySize
                     + ") which is higher than Integer.MAX_VALUE.");
         }
-        Map<List<Object>, List<Object>> valueStateToPillarMap = new LinkedHashMap<>((int) entitySize);
+        touchedEntityTracker.start(solverScope.getScoreDirector(), variableDescriptors);
+        entityOrdinalMap = new IdentityHashMap<>((int) entitySize);
+        entityToValueStateMap = new IdentityHashMap<>((int) entitySize);
+        valueStateToPillarMap = new LinkedHashMap<>((int) entitySize);
+        int ordinal = 0;
         for (Object entity : entitySelector) {
-            List<Object> valueState = new ArrayList<>(variableDescriptors.size());
-            for (GenuineVariableDescriptor variableDescriptor : variableDescriptors) {
-                Object value = variableDescriptor.getValue(entity);
-                valueState.add(value);
-            }
+            List<Object> valueState = extractValueState(entity);
+            entityOrdinalMap.put(entity, ordinal);
+            ordinal++;
+            entityToValueStateMap.put(entity, valueState);
             List<Object> pillar = valueStateToPillarMap.computeIfAbsent(valueState, key -> new ArrayList<>());
             pillar.add(entity);
         }
         cachedBasePillarList = new ArrayList<>(valueStateToPillarMap.values());
     }
 
+    @Override
+    public void updateCache(DefaultSolverScope solverScope) {
+        Set<Object> touchedEntitySet = touchedEntityTracker.pollTouchedEntities();
+        if (touchedEntitySet == null || !isCachedEntitySetUpToDate()) {
+            disposeCache(solverScope);
+            constructCache(solverScope);
+            return;
+        }
+        Set<Object> movedEntitySet = Collections.newSetFromMap(new IdentityHashMap<>());
+        Map<List<Object>, List<Object>> valueStateToJoiningEntityListMap = new HashMap<>();
+        Set<List<Object>> affectedValueStateSet = new LinkedHashSet<>();
+        for (Object entity : touchedEntitySet) {
+            List<Object> oldValueState = entityToValueStateMap.get(entity);
+            if (oldValueState == null) {
+                // Rejected by the entitySelector (for example by a filter)
+                continue;
+            }
+            List<Object> newValueState = extractValueState(entity);
+            if (!newValueState.equals(oldValueState)) {
+                entityToValueStateMap.put(entity, newValueState);
+                movedEntitySet.add(entity);
+                valueStateToJoiningEntityListMap.computeIfAbsent(newValueState, key -> new ArrayList<>())
+                        .add(entity);
+                affectedValueStateSet.add(oldValueState);
+                affectedValueStateSet.add(newValueState);
+            }
+        }
+        if (movedEntitySet.isEmpty()) {
+            return;
+        }
+        // Remove all affected pillars before adding any, so the first entities of the pillars are always distinct
+        for (List<Object> valueState : affectedValueStateSet) {
+            List<Object> oldPillar = valueStateToPillarMap.get(valueState);
+            if (oldPillar != null) {
+                int pillarIndex = searchPillarIndex(entityOrdinalMap.get(oldPillar.get(0)));
+                if (pillarIndex < 0 || cachedBasePillarList.get(pillarIndex) != oldPillar) {
+                    throw new IllegalStateException("Impossible state: the selector (" + this
+                            + ") has no cached pillar (" + oldPillar + ") for the valueState (" + valueState + ").");
+                }
+                cachedBasePillarList.remove(pillarIndex);
+            }
+        }
+        Comparator<Object> ordinalComparator = Comparator.comparingInt(entityOrdinalMap::get);
+        for (List<Object> valueState : affectedValueStateSet) {
+            List<Object> oldPillar = valueStateToPillarMap.get(valueState);
+            List<Object> joiningEntityList = valueStateToJoiningEntityListMap.get(valueState);
+            // Create a new pillar instead of changing the old one
+            List<Object> newPillar = new ArrayList<>((oldPillar == null ? 0 : oldPillar.size())
+                    + (joiningEntityList == null ? 0 : joiningEntityList.size()));
+            if (oldPillar != null) {
+                for (Object entity : oldPillar) {
+                    if (!movedEntitySet.contains(entity)) {
+                        newPillar.add(entity);
+                    }
+                }
+            }
+            if (joiningEntityList != null) {
+                newPillar.addAll(joiningEntityList);
+                newPillar.sort(ordinalComparator);
+            }
+            if (newPillar.isEmpty()) {
+                valueStateToPillarMap.remove(valueState);
+            } else {
+                valueStateToPillarMap.put(valueState, newPillar);
+                int pillarIndex = searchPillarIndex(entityOrdinalMap.get(newPillar.get(0)));
+                cachedBasePillarList.add(-(pillarIndex + 1), newPillar);
+            }
+        }
+    }
+
+    /**
+     * The entitySelector might select other entities now, even if no entities were added or removed,
+     * for example if it filters on the value of a variable.
+     * @return true if the entitySelector selects exactly the cached entities
+     */
+    private boolean isCachedEntitySetUpToDate() {
+        int entityCount = 0;
+        for (Object entity : entitySelector) {
+            if (!entityOrdinalMap.containsKey(entity)) {
+                return false;
+            }
+            entityCount++;
+        }
+        return entityCount == entityOrdinalMap.size();
+    }
+
+    private List<Object> extractValueState(Object entity) {
+        List<Object> valueState = new ArrayList<>(variableDescriptors.size());
+        for (GenuineVariableDescriptor variableDescriptor : variableDescriptors) {
+            Object value = variableDescriptor.getValue(entity);
+            valueState.add(value);
+        }
+        return valueState;
+    }
+
+    /**
+     * @param firstEntityOrdinal the ordinal of the first entity of a pillar
+     * @return like {@link Collections#binarySearch(List, Object)}
+     */
+    private int searchPillarIndex(int firstEntityOrdinal) {
+        int low = 0;
+        int high = cachedBasePillarList.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleOrdinal = entityOrdinalMap.get(cachedBasePillarList.get(middle).get(0));
+            if (middleOrdinal < firstEntityOrdinal) {
+                low = middle + 1;
+            } else if (middleOrdinal > firstEntityOrdinal) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
     @Override
     public void disposeCache(DefaultSolverScope solverScope) {
+        touchedEntityTracker.stop();
         cachedBasePillarList = null;
+        entityOrdinalMap = null;
+        entityToValueStateMap = null;
+        valueStateToPillarMap = null;
     }
 
     // ************************************************************************
@@ -18,20 +18,25 @@ package org.optaplanner.core.impl.heuristic.selector.move.decorator;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import org.optaplanner.core.config.heuristic.selector.common.SelectionCacheType;
 import org.optaplanner.core.impl.heuristic.move.Move;
+import org.optaplanner.core.impl.heuristic.selector.common.IncrementalSelectionCacheLifecycleListener;
 import org.optaplanner.core.impl.heuristic.selector.common.SelectionCacheLifecycleBridge;
-import org.optaplanner.core.impl.heuristic.selector.common.SelectionCacheLifecycleListener;
+import org.optaplanner.core.impl.heuristic.selector.common.TouchedEntityTracker;
 import org.optaplanner.core.impl.heuristic.selector.move.AbstractMoveSelector;
 import org.optaplanner.core.impl.heuristic.selector.move.MoveSelector;
 import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
 
-public abstract class AbstractCachingMoveSelector extends AbstractMoveSelector implements SelectionCacheLifecycleListener {
+public abstract class AbstractCachingMoveSelector extends AbstractMoveSelector
+        implements IncrementalSelectionCacheLifecycleListener {
 
     protected final MoveSelector childMoveSelector;
     protected final SelectionCacheType cacheType;
 
+    protected final TouchedEntityTracker touchedEntityTracker;
+
     protected List<Move> cachedMoveList = null;
 
     public AbstractCachingMoveSelector(MoveSelector childMoveSelector, SelectionCacheType cacheType) {
@@ -48,6 +53,8 @@ public abstract class AbstractCachingMoveSelector extends AbstractMoveSelector i
                     + ") does not support the cacheType (" + cacheType + ").");
         }
         phaseLifecycleSupport.addEventListener(new SelectionCacheLifecycleBridge(cacheType, this));
+        touchedEntityTracker = cacheType == SelectionCacheType.STEP_INCREMENTAL
+                ? new TouchedEntityTracker(this) : null;
     }
 
     public MoveSelector getChildMoveSelector() {
@@ -76,11 +83,38 @@ public abstract class AbstractCachingMoveSelector extends AbstractMoveSelector i
         childMoveSelector.iterator().forEachRemaining(cachedMoveList::add);
         logger.trace("    Created cachedMoveList: size ({}), moveSelector ({}).",
                 cachedMoveList.size(), this);
+        if (touchedEntityTracker != null) {
+            touchedEntityTracker.start(solverScope.getScoreDirector());
+        }
+    }
+
+    @Override
+    public void updateCache(DefaultSolverScope solverScope) {
+        Set<Object> touchedEntitySet = touchedEntityTracker.pollTouchedEntities();
+        if (touchedEntitySet == null) {
+            disposeCache(solverScope);
+            constructCache(solverScope);
+        } else if (!touchedEntitySet.isEmpty()) {
+            updateCache(solverScope, touchedEntitySet);
+        }
+    }
+
+    /**
+     * Only called for {@link SelectionCacheType#STEP_INCREMENTAL}.
+     * Does nothing by default, because the cached selections themselves don't change.
+     * @param solverScope never null
+     * @param touchedEntitySet never null, not empty, the planning entities that changed since the previous update
+     */
+    protected void updateCache(DefaultSolverScope solverScope, Set<Object> touchedEntitySet) {
+        // Do nothing
     }
 
     @Override
     public void disposeCache(DefaultSolverScope solverScope) {
         cachedMoveList = null;
+        if (touchedEntityTracker != null) {
+            touchedEntityTracker.stop();
+        }
     }
 
     @Override
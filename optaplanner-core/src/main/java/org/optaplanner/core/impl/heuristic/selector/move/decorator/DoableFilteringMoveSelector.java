@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.selector.move.decorator;
+
+import java.util.Collections;
+
+import org.optaplanner.core.impl.heuristic.move.Move;
+import org.optaplanner.core.impl.heuristic.selector.move.MoveSelector;
+import org.optaplanner.core.impl.phase.scope.AbstractStepScope;
+import org.optaplanner.core.impl.score.director.ScoreDirector;
+
+/**
+ * Filters out the moves that are not {@link Move#isMoveDoable(ScoreDirector) doable} on the working solution
+ * at the time they are selected, before the decider creates a move scope for them.
+ * Every filtered out move is counted in {@link AbstractStepScope#getNotDoableMoveCount()}.
+ * <p>
+ * Unlike the other filters, it must not be cached: a move that isn't doable in one step might be doable in the next.
+ */
+public class DoableFilteringMoveSelector extends FilteringMoveSelector {
+
+    protected AbstractStepScope stepScope = null;
+
+    public DoableFilteringMoveSelector(MoveSelector childMoveSelector) {
+        super(childMoveSelector, Collections.emptyList());
+    }
+
+    // ************************************************************************
+    // Worker methods
+    // ************************************************************************
+
+    @Override
+    public void stepStarted(AbstractStepScope stepScope) {
+        super.stepStarted(stepScope);
+        this.stepScope = stepScope;
+    }
+
+    @Override
+    public void stepEnded(AbstractStepScope stepScope) {
+        super.stepEnded(stepScope);
+        this.stepScope = null;
+    }
+
+    @Override
+    protected boolean accept(ScoreDirector scoreDirector, Move move) {
+        if (move.isMoveDoable(scoreDirector)) {
+            return true;
+        }
+        if (stepScope != null) {
+            stepScope.incrementNotDoableMoveCount();
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "DoableFiltering(" + childMoveSelector + ")";
+    }
+
+}
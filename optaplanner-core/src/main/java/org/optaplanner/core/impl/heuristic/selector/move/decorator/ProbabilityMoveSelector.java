@@ -16,30 +16,37 @@
 
 package org.optaplanner.core.impl.heuristic.selector.move.decorator;
 
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.Map;
-import java.util.NavigableMap;
-import java.util.TreeMap;
+import java.util.List;
+import java.util.Set;
 
 import org.optaplanner.core.config.heuristic.selector.common.SelectionCacheType;
 import org.optaplanner.core.impl.heuristic.move.Move;
+import org.optaplanner.core.impl.heuristic.selector.common.IncrementalSelectionCacheLifecycleListener;
 import org.optaplanner.core.impl.heuristic.selector.common.SelectionCacheLifecycleBridge;
-import org.optaplanner.core.impl.heuristic.selector.common.SelectionCacheLifecycleListener;
+import org.optaplanner.core.impl.heuristic.selector.common.TouchedEntityTracker;
+import org.optaplanner.core.impl.heuristic.selector.common.decorator.ProbabilityAliasTable;
 import org.optaplanner.core.impl.heuristic.selector.common.decorator.SelectionProbabilityWeightFactory;
 import org.optaplanner.core.impl.heuristic.selector.move.AbstractMoveSelector;
 import org.optaplanner.core.impl.heuristic.selector.move.MoveSelector;
 import org.optaplanner.core.impl.score.director.ScoreDirector;
-import org.optaplanner.core.impl.solver.random.RandomUtils;
 import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
 
-public class ProbabilityMoveSelector extends AbstractMoveSelector implements SelectionCacheLifecycleListener {
+public class ProbabilityMoveSelector extends AbstractMoveSelector
+        implements IncrementalSelectionCacheLifecycleListener {
 
     protected final MoveSelector childMoveSelector;
     protected final SelectionCacheType cacheType;
     protected final SelectionProbabilityWeightFactory probabilityWeightFactory;
 
-    protected NavigableMap<Double, Move> cachedMoveMap = null;
-    protected double probabilityWeightTotal = -1.0;
+    protected final TouchedEntityTracker touchedEntityTracker;
+
+    protected ProbabilityAliasTable<Move> cachedMoveTable = null;
+    // Only for STEP_INCREMENTAL, to rebuild the cachedMoveTable without creating every probabilityWeight again
+    protected List<Move> cachedMoveList = null;
+    protected double[] cachedProbabilityWeights = null;
+    protected RelatedMoveIndex relatedMoveIndex = null;
 
     public ProbabilityMoveSelector(MoveSelector childMoveSelector, SelectionCacheType cacheType,
             SelectionProbabilityWeightFactory probabilityWeightFactory) {
@@ -57,6 +64,8 @@ public class ProbabilityMoveSelector extends AbstractMoveSelector implements Sel
                     + ") does not support the cacheType (" + cacheType + ").");
         }
         phaseLifecycleSupport.addEventListener(new SelectionCacheLifecycleBridge(cacheType, this));
+        touchedEntityTracker = cacheType == SelectionCacheType.STEP_INCREMENTAL
+                ? new TouchedEntityTracker(this) : null;
     }
 
     @Override
@@ -70,21 +79,66 @@ public class ProbabilityMoveSelector extends AbstractMoveSelector implements Sel
 
     @Override
     public void constructCache(DefaultSolverScope solverScope) {
-        cachedMoveMap = new TreeMap<>();
         ScoreDirector scoreDirector = solverScope.getScoreDirector();
-        double probabilityWeightOffset = 0L;
-        for (Move entity : childMoveSelector) {
-            double probabilityWeight = probabilityWeightFactory.createProbabilityWeight(
-                    scoreDirector, entity);
-            cachedMoveMap.put(probabilityWeightOffset, entity);
-            probabilityWeightOffset += probabilityWeight;
+        if (touchedEntityTracker == null) {
+            cachedMoveTable = new ProbabilityAliasTable<>();
+            for (Move entity : childMoveSelector) {
+                double probabilityWeight = probabilityWeightFactory.createProbabilityWeight(
+                        scoreDirector, entity);
+                cachedMoveTable.addSelection(entity, probabilityWeight);
+            }
+            cachedMoveTable.build();
+            return;
+        }
+        cachedMoveList = new ArrayList<>();
+        childMoveSelector.iterator().forEachRemaining(cachedMoveList::add);
+        cachedProbabilityWeights = new double[cachedMoveList.size()];
+        for (int i = 0; i < cachedMoveList.size(); i++) {
+            cachedProbabilityWeights[i] = probabilityWeightFactory.createProbabilityWeight(
+                    scoreDirector, cachedMoveList.get(i));
+        }
+        relatedMoveIndex = new RelatedMoveIndex(cachedMoveList);
+        buildCachedMoveTable();
+        touchedEntityTracker.start(solverScope.getScoreDirector());
+    }
+
+    @Override
+    public void updateCache(DefaultSolverScope solverScope) {
+        Set<Object> touchedEntitySet = touchedEntityTracker.pollTouchedEntities();
+        if (touchedEntitySet == null) {
+            disposeCache(solverScope);
+            constructCache(solverScope);
+            return;
+        }
+        int[] touchedMoveIndexes = relatedMoveIndex.findTouchedMoveIndexes(touchedEntitySet);
+        if (touchedMoveIndexes.length == 0) {
+            return;
+        }
+        ScoreDirector scoreDirector = solverScope.getScoreDirector();
+        for (int touchedMoveIndex : touchedMoveIndexes) {
+            cachedProbabilityWeights[touchedMoveIndex] = probabilityWeightFactory.createProbabilityWeight(
+                    scoreDirector, cachedMoveList.get(touchedMoveIndex));
         }
-        probabilityWeightTotal = probabilityWeightOffset;
+        buildCachedMoveTable();
+    }
+
+    private void buildCachedMoveTable() {
+        cachedMoveTable = new ProbabilityAliasTable<>(cachedMoveList.size());
+        for (int i = 0; i < cachedMoveList.size(); i++) {
+            cachedMoveTable.addSelection(cachedMoveList.get(i), cachedProbabilityWeights[i]);
+        }
+        cachedMoveTable.build();
     }
 
     @Override
     public void disposeCache(DefaultSolverScope solverScope) {
-        probabilityWeightTotal = -1.0;
+        cachedMoveTable = null;
+        if (touchedEntityTracker != null) {
+            cachedMoveList = null;
+            cachedProbabilityWeights = null;
+            relatedMoveIndex = null;
+            touchedEntityTracker.stop();
+        }
     }
 
     @Override
@@ -99,7 +153,7 @@ public class ProbabilityMoveSelector extends AbstractMoveSelector implements Sel
 
     @Override
     public long getSize() {
-        return cachedMoveMap.size();
+        return cachedMoveTable.getSize();
     }
 
     @Override
@@ -107,15 +161,13 @@ public class ProbabilityMoveSelector extends AbstractMoveSelector implements Sel
         return new Iterator<Move>() {
             @Override
             public boolean hasNext() {
-                return true;
+                // If every probabilityWeight is 0.0, there is nothing to select
+                return cachedMoveTable.getSize() > 0;
             }
 
             @Override
             public Move next() {
-                double randomOffset = RandomUtils.nextDouble(workingRandom, probabilityWeightTotal);
-                Map.Entry<Double, Move> entry = cachedMoveMap.floorEntry(randomOffset);
-                // entry is never null because randomOffset < probabilityWeightTotal
-                return entry.getValue();
+                return cachedMoveTable.sample(workingRandom);
             }
 
             @Override
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.selector.move.decorator;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.optaplanner.core.config.heuristic.selector.common.SelectionCacheType;
+import org.optaplanner.core.impl.heuristic.move.Move;
+
+/**
+ * Indexes the moves of a cached move list by their {@link Move#getPlanningEntities() planning entities}
+ * and {@link Move#getPlanningValues() planning values},
+ * to find the moves affected by the touched planning entities of a {@link SelectionCacheType#STEP_INCREMENTAL} cache.
+ */
+public class RelatedMoveIndex {
+
+    protected final List<Move> moveList;
+    /**
+     * The first element of each array is the number of move indexes that follow it.
+     */
+    protected final Map<Object, int[]> entityToMoveIndexesMap;
+
+    /**
+     * @param moveList never null, must not be reordered afterwards
+     */
+    public RelatedMoveIndex(List<Move> moveList) {
+        this.moveList = moveList;
+        entityToMoveIndexesMap = new IdentityHashMap<>();
+        for (int i = 0; i < moveList.size(); i++) {
+            Move move = moveList.get(i);
+            for (Object entity : move.getPlanningEntities()) {
+                addMoveIndex(entity, i);
+            }
+            for (Object value : move.getPlanningValues()) {
+                if (value != null) {
+                    addMoveIndex(value, i);
+                }
+            }
+        }
+    }
+
+    private void addMoveIndex(Object entity, int moveIndex) {
+        int[] moveIndexes = entityToMoveIndexesMap.get(entity);
+        if (moveIndexes == null) {
+            moveIndexes = new int[4];
+            entityToMoveIndexesMap.put(entity, moveIndexes);
+        } else if (moveIndexes[moveIndexes[0]] == moveIndex) {
+            // The same entity is both a planning entity and a planning value of the move
+            return;
+        } else if (moveIndexes[0] + 1 == moveIndexes.length) {
+            moveIndexes = Arrays.copyOf(moveIndexes, moveIndexes.length * 2);
+            entityToMoveIndexesMap.put(entity, moveIndexes);
+        }
+        moveIndexes[0]++;
+        moveIndexes[moveIndexes[0]] = moveIndex;
+    }
+
+    public Move getMove(int moveIndex) {
+        return moveList.get(moveIndex);
+    }
+
+    /**
+     * @param touchedEntitySet never null
+     * @return never null, the distinct indexes (in ascending order) of the moves
+     * that have a touched planning entity or planning value
+     */
+    public int[] findTouchedMoveIndexes(Set<Object> touchedEntitySet) {
+        int[] touchedMoveIndexes = new int[16];
+        int size = 0;
+        for (Object entity : touchedEntitySet) {
+            int[] moveIndexes = entityToMoveIndexesMap.get(entity);
+            if (moveIndexes != null) {
+                int count = moveIndexes[0];
+                if (size + count > touchedMoveIndexes.length) {
+                    touchedMoveIndexes = Arrays.copyOf(touchedMoveIndexes,
+                            Math.max(size + count, touchedMoveIndexes.length * 2));
+                }
+                System.arraycopy(moveIndexes, 1, touchedMoveIndexes, size, count);
+                size += count;
+            }
+        }
+        Arrays.sort(touchedMoveIndexes, 0, size);
+        // A move with multiple touched entities is only returned once
+        int distinctSize = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinctSize == 0 || touchedMoveIndexes[distinctSize - 1] != touchedMoveIndexes[i]) {
+                touchedMoveIndexes[distinctSize] = touchedMoveIndexes[i];
+                distinctSize++;
+            }
+        }
+        return Arrays.copyOf(touchedMoveIndexes, distinctSize);
+    }
+
+}
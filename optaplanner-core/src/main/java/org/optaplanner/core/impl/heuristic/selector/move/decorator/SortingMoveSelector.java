@@ -16,7 +16,11 @@
 
 package org.optaplanner.core.impl.heuristic.selector.move.decorator;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.Set;
 
 import org.optaplanner.core.config.heuristic.selector.common.SelectionCacheType;
 import org.optaplanner.core.impl.heuristic.move.Move;
@@ -28,6 +32,8 @@ public class SortingMoveSelector extends AbstractCachingMoveSelector {
 
     protected final SelectionSorter sorter;
 
+    protected RelatedMoveIndex relatedMoveIndex = null;
+
     public SortingMoveSelector(MoveSelector childMoveSelector, SelectionCacheType cacheType,
             SelectionSorter sorter) {
         super(childMoveSelector, cacheType);
@@ -41,11 +47,33 @@ public class SortingMoveSelector extends AbstractCachingMoveSelector {
     @Override
     public void constructCache(DefaultSolverScope solverScope) {
         super.constructCache(solverScope);
+        if (touchedEntityTracker != null) {
+            // Index a copy, because the cachedMoveList is reordered by every (re)sort
+            relatedMoveIndex = new RelatedMoveIndex(new ArrayList<>(cachedMoveList));
+        }
         sorter.sort(solverScope.getScoreDirector(), cachedMoveList);
         logger.trace("    Sorted cachedMoveList: size ({}), moveSelector ({}).",
                 cachedMoveList.size(), this);
     }
 
+    @Override
+    protected void updateCache(DefaultSolverScope solverScope, Set<Object> touchedEntitySet) {
+        int[] touchedMoveIndexes = relatedMoveIndex.findTouchedMoveIndexes(touchedEntitySet);
+        Set<Move> touchedMoveSet = Collections.newSetFromMap(new IdentityHashMap<>(touchedMoveIndexes.length));
+        for (int touchedMoveIndex : touchedMoveIndexes) {
+            touchedMoveSet.add(relatedMoveIndex.getMove(touchedMoveIndex));
+        }
+        sorter.resort(solverScope.getScoreDirector(), cachedMoveList, touchedMoveSet);
+        logger.trace("    Resorted cachedMoveList: touched move count ({}), moveSelector ({}).",
+                touchedMoveSet.size(), this);
+    }
+
+    @Override
+    public void disposeCache(DefaultSolverScope solverScope) {
+        super.disposeCache(solverScope);
+        relatedMoveIndex = null;
+    }
+
     @Override
     public boolean isNeverEnding() {
         return false;
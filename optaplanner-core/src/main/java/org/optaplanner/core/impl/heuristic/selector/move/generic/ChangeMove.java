@@ -23,8 +23,10 @@ import java.util.Objects;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
 import org.optaplanner.core.impl.heuristic.move.AbstractMove;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
 import org.optaplanner.core.impl.score.director.ScoreDirector;
 
 /**
@@ -65,6 +67,12 @@ public class ChangeMove<Solution_> extends AbstractMove<Solution_> {
         return !Objects.equals(oldValue, toPlanningValue);
     }
 
+    @Override
+    public Score calculateScoreWithoutDoing(ScoreDirector<Solution_> scoreDirector) {
+        return ((InnerScoreDirector<Solution_>) scoreDirector).calculateChangeScoreWithoutDoing(
+                entity, variableDescriptor, toPlanningValue);
+    }
+
     @Override
     public ChangeMove<Solution_> createUndoMove(ScoreDirector<Solution_> scoreDirector) {
         Object oldValue = variableDescriptor.getValue(entity);
@@ -78,6 +86,13 @@ public class ChangeMove<Solution_> extends AbstractMove<Solution_> {
         scoreDirector.afterVariableChanged(variableDescriptor, entity);
     }
 
+    @Override
+    public ChangeMove<Solution_> rebase(ScoreDirector<Solution_> destinationScoreDirector) {
+        return new ChangeMove<>(destinationScoreDirector.lookUpWorkingObject(entity),
+                variableDescriptor,
+                destinationScoreDirector.lookUpWorkingObject(toPlanningValue));
+    }
+
     // ************************************************************************
     // Introspection methods
     // ************************************************************************
@@ -26,9 +26,11 @@ import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.domain.valuerange.ValueRange;
+import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.impl.domain.valuerange.descriptor.ValueRangeDescriptor;
 import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
 import org.optaplanner.core.impl.heuristic.move.AbstractMove;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
 import org.optaplanner.core.impl.score.director.ScoreDirector;
 
 /**
@@ -92,6 +94,21 @@ public class SwapMove<Solution_> extends AbstractMove<Solution_> {
         return movable;
     }
 
+    @Override
+    public Score calculateScoreWithoutDoing(ScoreDirector<Solution_> scoreDirector) {
+        List<GenuineVariableDescriptor<Solution_>> swappedVariableDescriptorList
+                = new ArrayList<>(variableDescriptorList.size());
+        for (GenuineVariableDescriptor<Solution_> variableDescriptor : variableDescriptorList) {
+            Object leftValue = variableDescriptor.getValue(leftEntity);
+            Object rightValue = variableDescriptor.getValue(rightEntity);
+            if (!Objects.equals(leftValue, rightValue)) {
+                swappedVariableDescriptorList.add(variableDescriptor);
+            }
+        }
+        return ((InnerScoreDirector<Solution_>) scoreDirector).calculateSwapScoreWithoutDoing(
+                leftEntity, rightEntity, swappedVariableDescriptorList);
+    }
+
     @Override
     public SwapMove<Solution_> createUndoMove(ScoreDirector<Solution_> scoreDirector) {
         return new SwapMove<>(variableDescriptorList, rightEntity, leftEntity);
@@ -113,6 +130,13 @@ public class SwapMove<Solution_> extends AbstractMove<Solution_> {
         }
     }
 
+    @Override
+    public SwapMove<Solution_> rebase(ScoreDirector<Solution_> destinationScoreDirector) {
+        return new SwapMove<>(variableDescriptorList,
+                destinationScoreDirector.lookUpWorkingObject(leftEntity),
+                destinationScoreDirector.lookUpWorkingObject(rightEntity));
+    }
+
     // ************************************************************************
     // Introspection methods
     // ************************************************************************
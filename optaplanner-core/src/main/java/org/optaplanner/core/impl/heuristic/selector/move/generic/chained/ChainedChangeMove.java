@@ -19,9 +19,13 @@ package org.optaplanner.core.impl.heuristic.selector.move.generic.chained;
 import java.util.Objects;
 
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
+import org.optaplanner.core.impl.domain.variable.inverserelation.SingletonInverseVariableDemand;
 import org.optaplanner.core.impl.domain.variable.inverserelation.SingletonInverseVariableSupply;
+import org.optaplanner.core.impl.domain.variable.supply.SupplyManager;
 import org.optaplanner.core.impl.heuristic.selector.move.generic.ChangeMove;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
 import org.optaplanner.core.impl.score.director.ScoreDirector;
 
 /**
@@ -47,6 +51,12 @@ public class ChainedChangeMove<Solution_> extends ChangeMove<Solution_> {
                 && !Objects.equals(entity, toPlanningValue);
     }
 
+    @Override
+    public Score calculateScoreWithoutDoing(ScoreDirector<Solution_> scoreDirector) {
+        // Also changes the trailing entities, so it must be done
+        return null;
+    }
+
     @Override
     public ChainedChangeMove<Solution_> createUndoMove(ScoreDirector<Solution_> scoreDirector) {
         Object oldValue = variableDescriptor.getValue(entity);
@@ -71,4 +81,13 @@ public class ChainedChangeMove<Solution_> extends ChangeMove<Solution_> {
         }
     }
 
+    @Override
+    public ChainedChangeMove<Solution_> rebase(ScoreDirector<Solution_> destinationScoreDirector) {
+        SupplyManager supplyManager = ((InnerScoreDirector<Solution_>) destinationScoreDirector).getSupplyManager();
+        return new ChainedChangeMove<>(destinationScoreDirector.lookUpWorkingObject(entity),
+                variableDescriptor,
+                supplyManager.demand(new SingletonInverseVariableDemand(variableDescriptor)),
+                destinationScoreDirector.lookUpWorkingObject(toPlanningValue));
+    }
+
 }
@@ -16,13 +16,18 @@
 
 package org.optaplanner.core.impl.heuristic.selector.move.generic.chained;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
+import org.optaplanner.core.impl.domain.variable.inverserelation.SingletonInverseVariableDemand;
 import org.optaplanner.core.impl.domain.variable.inverserelation.SingletonInverseVariableSupply;
+import org.optaplanner.core.impl.domain.variable.supply.SupplyManager;
 import org.optaplanner.core.impl.heuristic.selector.move.generic.SwapMove;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
 import org.optaplanner.core.impl.score.director.ScoreDirector;
 
 /**
@@ -42,6 +47,12 @@ public class ChainedSwapMove<Solution_> extends SwapMove<Solution_> {
     // Worker methods
     // ************************************************************************
 
+    @Override
+    public Score calculateScoreWithoutDoing(ScoreDirector<Solution_> scoreDirector) {
+        // Also changes the trailing entities, so it must be done
+        return null;
+    }
+
     @Override
     public ChainedSwapMove<Solution_> createUndoMove(ScoreDirector<Solution_> scoreDirector) {
         return new ChainedSwapMove<>(variableDescriptorList, inverseVariableSupplyList, rightEntity, leftEntity);
@@ -98,4 +109,19 @@ public class ChainedSwapMove<Solution_> extends SwapMove<Solution_> {
         }
     }
 
+    @Override
+    public ChainedSwapMove<Solution_> rebase(ScoreDirector<Solution_> destinationScoreDirector) {
+        SupplyManager supplyManager = ((InnerScoreDirector<Solution_>) destinationScoreDirector).getSupplyManager();
+        List<SingletonInverseVariableSupply> rebasedInverseVariableSupplyList
+                = new ArrayList<>(inverseVariableSupplyList.size());
+        for (int i = 0; i < variableDescriptorList.size(); i++) {
+            GenuineVariableDescriptor<Solution_> variableDescriptor = variableDescriptorList.get(i);
+            rebasedInverseVariableSupplyList.add(!variableDescriptor.isChained() ? null
+                    : supplyManager.demand(new SingletonInverseVariableDemand(variableDescriptor)));
+        }
+        return new ChainedSwapMove<>(variableDescriptorList, rebasedInverseVariableSupplyList,
+                destinationScoreDirector.lookUpWorkingObject(leftEntity),
+                destinationScoreDirector.lookUpWorkingObject(rightEntity));
+    }
+
 }
@@ -24,10 +24,14 @@ import java.util.List;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.impl.domain.variable.anchor.AnchorVariableDemand;
 import org.optaplanner.core.impl.domain.variable.anchor.AnchorVariableSupply;
 import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
+import org.optaplanner.core.impl.domain.variable.inverserelation.SingletonInverseVariableDemand;
 import org.optaplanner.core.impl.domain.variable.inverserelation.SingletonInverseVariableSupply;
+import org.optaplanner.core.impl.domain.variable.supply.SupplyManager;
 import org.optaplanner.core.impl.heuristic.move.AbstractMove;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
 import org.optaplanner.core.impl.score.director.ScoreDirector;
 
 /**
@@ -134,6 +138,16 @@ public class KOptMove<Solution_> extends AbstractMove<Solution_> {
         }
     }
 
+    @Override
+    public KOptMove<Solution_> rebase(ScoreDirector<Solution_> destinationScoreDirector) {
+        SupplyManager supplyManager = ((InnerScoreDirector<Solution_>) destinationScoreDirector).getSupplyManager();
+        return new KOptMove<>(variableDescriptor,
+                supplyManager.demand(new SingletonInverseVariableDemand(variableDescriptor)),
+                supplyManager.demand(new AnchorVariableDemand(variableDescriptor)),
+                destinationScoreDirector.lookUpWorkingObject(entity),
+                rebaseArray(values, destinationScoreDirector));
+    }
+
     // ************************************************************************
     // Introspection methods
     // ************************************************************************
@@ -85,7 +85,8 @@ public class FromSolutionPropertyValueSelector extends AbstractValueSelector
         if (valueRangeMightContainEntity) {
             InnerScoreDirector scoreDirector = stepScope.getScoreDirector();
             if (scoreDirector.isWorkingEntityListDirty(cachedEntityListRevision)) {
-                if (minimumCacheType.compareTo(SelectionCacheType.STEP) > 0) {
+                // A STEP_INCREMENTAL ancestor constructs its cache again when the entity list changes
+                if (minimumCacheType.compareTo(SelectionCacheType.STEP_INCREMENTAL) > 0) {
                     cachedEntityListIsDirty = true;
                 } else {
                     cachedValueRange = (ValueRange<Object>)
@@ -17,13 +17,14 @@
 package org.optaplanner.core.impl.heuristic.selector.value.chained;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 
 import org.optaplanner.core.config.heuristic.selector.common.SelectionCacheType;
 import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
+import org.optaplanner.core.impl.domain.variable.index.IndexVariableDemand;
+import org.optaplanner.core.impl.domain.variable.index.IndexVariableSupply;
 import org.optaplanner.core.impl.domain.variable.inverserelation.SingletonInverseVariableDemand;
 import org.optaplanner.core.impl.domain.variable.inverserelation.SingletonInverseVariableSupply;
 import org.optaplanner.core.impl.domain.variable.supply.SupplyManager;
@@ -33,12 +34,14 @@ import org.optaplanner.core.impl.heuristic.selector.common.SelectionCacheLifecyc
 import org.optaplanner.core.impl.heuristic.selector.common.iterator.UpcomingSelectionIterator;
 import org.optaplanner.core.impl.heuristic.selector.entity.pillar.DefaultPillarSelector;
 import org.optaplanner.core.impl.heuristic.selector.value.EntityIndependentValueSelector;
-import org.optaplanner.core.impl.score.director.InnerScoreDirector;
 import org.optaplanner.core.impl.solver.random.RandomUtils;
 import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
 
 /**
  * This is the common {@link SubChainSelector} implementation.
+ * <p>
+ * The chains aren't copied every step: the {@link IndexVariableSupply} finds the entity at an index of a chain
+ * and the {@link SingletonInverseVariableSupply} walks the rest of the {@link SubChain}.
  */
 public class DefaultSubChainSelector extends AbstractSelector
         implements SubChainSelector, SelectionCacheLifecycleListener {
@@ -49,6 +52,7 @@ public class DefaultSubChainSelector extends AbstractSelector
     protected final boolean randomSelection;
 
     protected SingletonInverseVariableSupply inverseVariableSupply;
+    protected IndexVariableSupply indexVariableSupply;
 
     /**
      * Unlike {@link DefaultPillarSelector#minimumSubPillarSize} and {@link DefaultPillarSelector#maximumSubPillarSize},
@@ -57,7 +61,7 @@ public class DefaultSubChainSelector extends AbstractSelector
     protected final int minimumSubChainSize;
     protected final int maximumSubChainSize;
 
-    protected List<SubChain> anchorTrailingChainList = null;
+    protected List<Object> anchorList = null;
 
     public DefaultSubChainSelector(EntityIndependentValueSelector valueSelector, boolean randomSelection,
             int minimumSubChainSize, int maximumSubChainSize) {
@@ -75,7 +79,8 @@ public class DefaultSubChainSelector extends AbstractSelector
                     + ") with neverEnding (" + valueSelector.isNeverEnding() + ").");
         }
         phaseLifecycleSupport.addEventListener(valueSelector);
-        phaseLifecycleSupport.addEventListener(new SelectionCacheLifecycleBridge(CACHE_TYPE, this));
+        // The anchors don't change during a phase, the chains are indexed incrementally by the IndexVariableSupply
+        phaseLifecycleSupport.addEventListener(new SelectionCacheLifecycleBridge(SelectionCacheType.PHASE, this));
         this.minimumSubChainSize = minimumSubChainSize;
         this.maximumSubChainSize = maximumSubChainSize;
         if (minimumSubChainSize < 1) {
@@ -105,12 +110,14 @@ public class DefaultSubChainSelector extends AbstractSelector
         SupplyManager supplyManager = solverScope.getScoreDirector().getSupplyManager();
         GenuineVariableDescriptor variableDescriptor = valueSelector.getVariableDescriptor();
         inverseVariableSupply = supplyManager.demand(new SingletonInverseVariableDemand(variableDescriptor));
+        indexVariableSupply = supplyManager.demand(new IndexVariableDemand(variableDescriptor));
     }
 
     @Override
     public void solvingEnded(DefaultSolverScope solverScope) {
         super.solvingEnded(solverScope);
         inverseVariableSupply = null;
+        indexVariableSupply = null;
     }
 
     // ************************************************************************
@@ -119,40 +126,26 @@ public class DefaultSubChainSelector extends AbstractSelector
 
     @Override
     public void constructCache(DefaultSolverScope solverScope) {
-        InnerScoreDirector scoreDirector = solverScope.getScoreDirector();
         GenuineVariableDescriptor variableDescriptor = valueSelector.getVariableDescriptor();
         long valueSize = valueSelector.getSize();
-        // Fail-fast when anchorTrailingChainList.size() could ever be too big
+        // Fail-fast when a chain size could ever be too big
         if (valueSize > (long) Integer.MAX_VALUE) {
             throw new IllegalStateException("The selector (" + this
                     + ") has a valueSelector (" + valueSelector
                     + ") with valueSize (" + valueSize
                     + ") which is higher than Integer.MAX_VALUE.");
         }
-        List<Object> anchorList = new ArrayList<>();
+        anchorList = new ArrayList<>();
         for (Object value : valueSelector) {
             if (variableDescriptor.isValuePotentialAnchor(value)) {
                 anchorList.add(value);
             }
         }
-        anchorTrailingChainList = new ArrayList<>(anchorList.size());
-        int anchorChainInitialCapacity = ((int) valueSize / anchorList.size()) + 1;
-        for (Object anchor : anchorList) {
-            List<Object> anchorChain = new ArrayList<>(anchorChainInitialCapacity);
-            Object trailingEntity = inverseVariableSupply.getInverseSingleton(anchor);
-            while (trailingEntity != null) {
-                anchorChain.add(trailingEntity);
-                trailingEntity = inverseVariableSupply.getInverseSingleton(trailingEntity);
-            }
-            if (anchorChain.size() >= minimumSubChainSize) {
-                anchorTrailingChainList.add(new SubChain(anchorChain));
-            }
-        }
     }
 
     @Override
     public void disposeCache(DefaultSolverScope solverScope) {
-        anchorTrailingChainList = null;
+        anchorList = null;
     }
 
     // ************************************************************************
@@ -172,14 +165,21 @@ public class DefaultSubChainSelector extends AbstractSelector
     @Override
     public long getSize() {
         long selectionSize = 0L;
-        for (SubChain anchorTrailingChain : anchorTrailingChainList) {
-            selectionSize += calculateSubChainSelectionSize(anchorTrailingChain);
+        for (Object anchor : anchorList) {
+            selectionSize += calculateSubChainSelectionSize(indexVariableSupply.getChainSize(anchor));
         }
         return selectionSize;
     }
 
     protected long calculateSubChainSelectionSize(SubChain anchorTrailingChain) {
-        long anchorTrailingChainSize = (long) anchorTrailingChain.getSize();
+        return calculateSubChainSelectionSize(anchorTrailingChain.getSize());
+    }
+
+    protected long calculateSubChainSelectionSize(int chainSize) {
+        if (chainSize < minimumSubChainSize) {
+            return 0L;
+        }
+        long anchorTrailingChainSize = (long) chainSize;
         long n = anchorTrailingChainSize - (long) minimumSubChainSize + 1L;
         long m = (maximumSubChainSize >= anchorTrailingChainSize)
                 ? 0L : anchorTrailingChainSize - (long) maximumSubChainSize;
@@ -189,7 +189,7 @@ public class DefaultSubChainSelector extends AbstractSelector
     @Override
     public Iterator<SubChain> iterator() {
         if (!randomSelection) {
-            return new OriginalSubChainIterator(anchorTrailingChainList.listIterator());
+            return new OriginalSubChainIterator(anchorList.listIterator());
         } else {
             return new RandomSubChainIterator();
         }
@@ -198,7 +198,7 @@ public class DefaultSubChainSelector extends AbstractSelector
     @Override
     public ListIterator<SubChain> listIterator() {
         if (!randomSelection) {
-            return new OriginalSubChainIterator(anchorTrailingChainList.listIterator());
+            return new OriginalSubChainIterator(anchorList.listIterator());
         } else {
             throw new IllegalStateException("The selector (" + this
                     + ") does not support a ListIterator with randomSelection (" + randomSelection + ").");
@@ -209,7 +209,7 @@ public class DefaultSubChainSelector extends AbstractSelector
     public ListIterator<SubChain> listIterator(int index) {
         if (!randomSelection) {
             // TODO Implement more efficient ListIterator https://issues.jboss.org/browse/PLANNER-37
-            OriginalSubChainIterator it = new OriginalSubChainIterator(anchorTrailingChainList.listIterator());
+            OriginalSubChainIterator it = new OriginalSubChainIterator(anchorList.listIterator());
             for (int i = 0; i < index; i++) {
                 it.next();
             }
@@ -220,41 +220,61 @@ public class DefaultSubChainSelector extends AbstractSelector
         }
     }
 
+    /**
+     * @param anchor never null
+     * @param fromIndex inclusive
+     * @param toIndex exclusive, at most the chain size of the anchor
+     * @return never null
+     */
+    protected SubChain buildSubChain(Object anchor, int fromIndex, int toIndex) {
+        List<Object> entityList = new ArrayList<>(toIndex - fromIndex);
+        Object entity = indexVariableSupply.getEntity(anchor, fromIndex);
+        entityList.add(entity);
+        for (int i = fromIndex + 1; i < toIndex; i++) {
+            entity = inverseVariableSupply.getInverseSingleton(entity);
+            entityList.add(entity);
+        }
+        return new SubChain(entityList);
+    }
+
     private class OriginalSubChainIterator extends UpcomingSelectionIterator<SubChain>
             implements ListIterator<SubChain> {
 
-        private final ListIterator<SubChain> anchorTrailingChainIterator;
-        private List<Object> anchorTrailingChain;
+        private final ListIterator<Object> anchorIterator;
+        private Object anchor;
+        private int chainSize;
         private int fromIndex; // Inclusive
         private int toIndex; // Exclusive
 
         private int nextListIteratorIndex;
 
-        public OriginalSubChainIterator(ListIterator<SubChain> anchorTrailingChainIterator) {
-            this.anchorTrailingChainIterator = anchorTrailingChainIterator;
+        public OriginalSubChainIterator(ListIterator<Object> anchorIterator) {
+            this.anchorIterator = anchorIterator;
             fromIndex = 0;
             toIndex = 1;
-            anchorTrailingChain = Collections.emptyList();
+            anchor = null;
+            chainSize = 0;
             nextListIteratorIndex = 0;
         }
 
         @Override
         protected SubChain createUpcomingSelection() {
             toIndex++;
-            if (toIndex - fromIndex > maximumSubChainSize || toIndex > anchorTrailingChain.size()) {
+            if (toIndex - fromIndex > maximumSubChainSize || toIndex > chainSize) {
                 fromIndex++;
                 toIndex = fromIndex + minimumSubChainSize;
                 // minimumSubChainSize <= maximumSubChainSize so (toIndex - fromIndex > maximumSubChainSize) is true
-                while (toIndex > anchorTrailingChain.size()) {
-                    if (!anchorTrailingChainIterator.hasNext()) {
+                while (toIndex > chainSize) {
+                    if (!anchorIterator.hasNext()) {
                         return noUpcomingSelection();
                     }
-                    anchorTrailingChain = anchorTrailingChainIterator.next().getEntityList();
+                    anchor = anchorIterator.next();
+                    chainSize = indexVariableSupply.getChainSize(anchor);
                     fromIndex = 0;
                     toIndex = fromIndex + minimumSubChainSize;
                 }
             }
-            return new SubChain(anchorTrailingChain.subList(fromIndex, toIndex));
+            return buildSubChain(anchor, fromIndex, toIndex);
         }
 
         @Override
@@ -299,8 +319,17 @@ public class DefaultSubChainSelector extends AbstractSelector
 
     private class RandomSubChainIterator extends UpcomingSelectionIterator<SubChain> {
 
+        // Only the anchors with a chain that is long enough
+        private final List<Object> selectableAnchorList;
+
         private RandomSubChainIterator() {
-            if (anchorTrailingChainList.isEmpty()) {
+            selectableAnchorList = new ArrayList<>(anchorList.size());
+            for (Object anchor : anchorList) {
+                if (indexVariableSupply.getChainSize(anchor) >= minimumSubChainSize) {
+                    selectableAnchorList.add(anchor);
+                }
+            }
+            if (selectableAnchorList.isEmpty()) {
                 upcomingSelection = noUpcomingSelection();
                 upcomingCreated = true;
             }
@@ -308,15 +337,16 @@ public class DefaultSubChainSelector extends AbstractSelector
 
         @Override
         protected SubChain createUpcomingSelection() {
-            SubChain anchorTrailingChain = selectAnchorTrailingChain();
+            Object anchor = selectAnchor();
+            int chainSize = indexVariableSupply.getChainSize(anchor);
             // Every SubChain has the same probability (from this point on at least).
             // A random fromIndex and random toIndex would not be fair.
-            long selectionSize = calculateSubChainSelectionSize(anchorTrailingChain);
+            long selectionSize = calculateSubChainSelectionSize(chainSize);
             long selectionIndex = RandomUtils.nextLong(workingRandom, selectionSize);
             // Black magic to translate selectionIndex into fromIndex and toIndex
             long fromIndex = selectionIndex;
             long subChainSize = minimumSubChainSize;
-            long countInThatSize = anchorTrailingChain.getSize() - subChainSize + 1;
+            long countInThatSize = chainSize - subChainSize + 1;
             while (fromIndex >= countInThatSize) {
                 fromIndex -= countInThatSize;
                 subChainSize++;
@@ -325,14 +355,14 @@ public class DefaultSubChainSelector extends AbstractSelector
                     throw new IllegalStateException("Impossible if calculateSubChainSelectionSize() works correctly.");
                 }
             }
-            return anchorTrailingChain.subChain((int) fromIndex, (int) (fromIndex + subChainSize));
+            return buildSubChain(anchor, (int) fromIndex, (int) (fromIndex + subChainSize));
         }
 
-        private SubChain selectAnchorTrailingChain() {
+        private Object selectAnchor() {
             // Known issue/compromise: Every SubChain should have same probability, but doesn't.
             // Instead, every anchorTrailingChain has the same probability.
-            int anchorTrailingChainListIndex = workingRandom.nextInt(anchorTrailingChainList.size());
-            return anchorTrailingChainList.get(anchorTrailingChainListIndex);
+            int anchorListIndex = workingRandom.nextInt(selectableAnchorList.size());
+            return selectableAnchorList.get(anchorListIndex);
         }
 
     }
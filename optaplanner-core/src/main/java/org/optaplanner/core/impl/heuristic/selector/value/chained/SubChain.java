@@ -21,6 +21,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import org.optaplanner.core.impl.heuristic.move.AbstractMove;
+import org.optaplanner.core.impl.score.director.ScoreDirector;
+
 /**
  * A subList out of a single chain.
  * <p>
@@ -66,6 +69,10 @@ public class SubChain implements Serializable {
         return new SubChain(reversedEntityList);
     }
 
+    public SubChain rebase(ScoreDirector<?> destinationScoreDirector) {
+        return new SubChain(AbstractMove.rebaseList(entityList, destinationScoreDirector));
+    }
+
     public SubChain subChain(int fromIndex, int toIndex) {
         return new SubChain(entityList.subList(fromIndex, toIndex));
     }
@@ -17,19 +17,16 @@
 package org.optaplanner.core.impl.heuristic.selector.value.decorator;
 
 import java.util.Iterator;
-import java.util.Map;
-import java.util.NavigableMap;
-import java.util.TreeMap;
 
 import org.optaplanner.core.config.heuristic.selector.common.SelectionCacheType;
 import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
 import org.optaplanner.core.impl.heuristic.selector.common.SelectionCacheLifecycleBridge;
 import org.optaplanner.core.impl.heuristic.selector.common.SelectionCacheLifecycleListener;
+import org.optaplanner.core.impl.heuristic.selector.common.decorator.ProbabilityAliasTable;
 import org.optaplanner.core.impl.heuristic.selector.common.decorator.SelectionProbabilityWeightFactory;
 import org.optaplanner.core.impl.heuristic.selector.value.AbstractValueSelector;
 import org.optaplanner.core.impl.heuristic.selector.value.EntityIndependentValueSelector;
 import org.optaplanner.core.impl.score.director.ScoreDirector;
-import org.optaplanner.core.impl.solver.random.RandomUtils;
 import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
 
 public class ProbabilityValueSelector extends AbstractValueSelector
@@ -39,8 +36,7 @@ public class ProbabilityValueSelector extends AbstractValueSelector
     protected final SelectionCacheType cacheType;
     protected final SelectionProbabilityWeightFactory probabilityWeightFactory;
 
-    protected NavigableMap<Double, Object> cachedEntityMap = null;
-    protected double probabilityWeightTotal = -1.0;
+    protected ProbabilityAliasTable<Object> cachedValueTable = null;
 
     public ProbabilityValueSelector(EntityIndependentValueSelector childValueSelector, SelectionCacheType cacheType,
             SelectionProbabilityWeightFactory probabilityWeightFactory) {
@@ -71,22 +67,20 @@ public class ProbabilityValueSelector extends AbstractValueSelector
 
     @Override
     public void constructCache(DefaultSolverScope solverScope) {
-        cachedEntityMap = new TreeMap<>();
+        cachedValueTable = new ProbabilityAliasTable<>();
         ScoreDirector scoreDirector = solverScope.getScoreDirector();
-        double probabilityWeightOffset = 0L;
         // TODO Fail-faster if a non FromSolutionPropertyValueSelector is used
         for (Object value : childValueSelector) {
             double probabilityWeight = probabilityWeightFactory.createProbabilityWeight(
                     scoreDirector, value);
-            cachedEntityMap.put(probabilityWeightOffset, value);
-            probabilityWeightOffset += probabilityWeight;
+            cachedValueTable.addSelection(value, probabilityWeight);
         }
-        probabilityWeightTotal = probabilityWeightOffset;
+        cachedValueTable.build();
     }
 
     @Override
     public void disposeCache(DefaultSolverScope solverScope) {
-        probabilityWeightTotal = -1.0;
+        cachedValueTable = null;
     }
 
     @Override
@@ -111,7 +105,7 @@ public class ProbabilityValueSelector extends AbstractValueSelector
 
     @Override
     public long getSize() {
-        return cachedEntityMap.size();
+        return cachedValueTable.getSize();
     }
 
     @Override
@@ -124,15 +118,13 @@ public class ProbabilityValueSelector extends AbstractValueSelector
         return new Iterator<Object>() {
             @Override
             public boolean hasNext() {
-                return true;
+                // If every probabilityWeight is 0.0, there is nothing to select
+                return cachedValueTable.getSize() > 0;
             }
 
             @Override
             public Object next() {
-                double randomOffset = RandomUtils.nextDouble(workingRandom, probabilityWeightTotal);
-                Map.Entry<Double, Object> entry = cachedEntityMap.floorEntry(randomOffset);
-                // entry is never null because randomOffset < probabilityWeightTotal
-                return entry.getValue();
+                return cachedValueTable.sample(workingRandom);
             }
 
             @Override
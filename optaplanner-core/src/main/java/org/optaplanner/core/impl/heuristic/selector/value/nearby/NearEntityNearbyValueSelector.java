@@ -16,15 +16,19 @@
 
 package org.optaplanner.core.impl.heuristic.selector.value.nearby;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
 import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
 import org.optaplanner.core.impl.heuristic.selector.common.iterator.SelectionIterator;
 import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyDistanceMatrix;
+import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyDistanceMatrixCache;
 import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyDistanceMeter;
 import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyRandom;
 import org.optaplanner.core.impl.heuristic.selector.entity.EntitySelector;
 import org.optaplanner.core.impl.heuristic.selector.value.AbstractValueSelector;
+import org.optaplanner.core.impl.heuristic.selector.value.EntityIndependentValueSelector;
 import org.optaplanner.core.impl.heuristic.selector.value.ValueSelector;
 import org.optaplanner.core.impl.phase.scope.AbstractPhaseScope;
 
@@ -36,11 +40,26 @@ public class NearEntityNearbyValueSelector extends AbstractValueSelector {
     protected final NearbyRandom nearbyRandom;
     protected final boolean randomSelection;
     protected final boolean discardNearbyIndexZero;
+    /**
+     * Includes the discarded nearby index zero, if any.
+     */
+    protected final int destinationSizeMaximum;
+    protected final boolean parallelDistanceMatrixCalculation;
+    protected final NearbyDistanceMatrixCache<?> nearbyDistanceMatrixCache;
+    protected final String nearbyDistanceMatrixCacheKey;
 
     protected NearbyDistanceMatrix nearbyDistanceMatrix = null;
 
     public NearEntityNearbyValueSelector(ValueSelector childValueSelector, EntitySelector originEntitySelector,
             NearbyDistanceMeter nearbyDistanceMeter, NearbyRandom nearbyRandom, boolean randomSelection) {
+        this(childValueSelector, originEntitySelector, nearbyDistanceMeter, nearbyRandom, randomSelection,
+                Integer.MAX_VALUE, false, null, null);
+    }
+
+    public NearEntityNearbyValueSelector(ValueSelector childValueSelector, EntitySelector originEntitySelector,
+            NearbyDistanceMeter nearbyDistanceMeter, NearbyRandom nearbyRandom, boolean randomSelection,
+            int destinationSizeMaximum, boolean parallelDistanceMatrixCalculation,
+            NearbyDistanceMatrixCache<?> nearbyDistanceMatrixCache, String nearbyDistanceMatrixCacheKey) {
         this.childValueSelector = childValueSelector;
         this.originEntitySelector = originEntitySelector;
         this.nearbyDistanceMeter = nearbyDistanceMeter;
@@ -52,6 +71,20 @@ public class NearEntityNearbyValueSelector extends AbstractValueSelector {
         }
         discardNearbyIndexZero = childValueSelector.getVariableDescriptor().getVariablePropertyType().isAssignableFrom(
                 originEntitySelector.getEntityDescriptor().getEntityClass());
+        if (destinationSizeMaximum < 1) {
+            throw new IllegalArgumentException("The valueSelector (" + this
+                    + ") has a destinationSizeMaximum (" + destinationSizeMaximum + ") which is lower than 1.");
+        }
+        this.destinationSizeMaximum = (discardNearbyIndexZero && destinationSizeMaximum < Integer.MAX_VALUE)
+                ? destinationSizeMaximum + 1 : destinationSizeMaximum;
+        this.parallelDistanceMatrixCalculation = parallelDistanceMatrixCalculation;
+        this.nearbyDistanceMatrixCache = nearbyDistanceMatrixCache;
+        this.nearbyDistanceMatrixCacheKey = nearbyDistanceMatrixCacheKey;
+        if (nearbyDistanceMatrixCache != null && nearbyDistanceMatrixCacheKey == null) {
+            throw new IllegalArgumentException("The valueSelector (" + this
+                    + ") has a nearbyDistanceMatrixCache (" + nearbyDistanceMatrixCache
+                    + ") but no nearbyDistanceMatrixCacheKey (" + nearbyDistanceMatrixCacheKey + ").");
+        }
         phaseLifecycleSupport.addEventListener(childValueSelector);
         phaseLifecycleSupport.addEventListener(originEntitySelector);
     }
@@ -71,28 +104,64 @@ public class NearEntityNearbyValueSelector extends AbstractValueSelector {
                     + ") has an entitySize (" + originSize
                     + ") which is higher than Integer.MAX_VALUE.");
         }
-        nearbyDistanceMatrix = new NearbyDistanceMatrix(nearbyDistanceMeter, (int) originSize);
-        for (Iterator originIt = originEntitySelector.endingIterator(); originIt.hasNext(); ) {
-            final Object origin =  originIt.next();
-            long childSize = childValueSelector.getSize(origin);
-            if (childSize > (long) Integer.MAX_VALUE) {
-                throw new IllegalStateException("The childEntitySelector (" + childValueSelector
-                        + ") has an entitySize (" + childSize
-                        + ") which is higher than Integer.MAX_VALUE.");
+        if (childValueSelector instanceof EntityIndependentValueSelector) {
+            // Every origin has the same destinations, so they are iterated only once
+            List<Object> originList = new ArrayList<>((int) originSize);
+            originEntitySelector.endingIterator().forEachRemaining(originList::add);
+            if (originList.isEmpty()) {
+                nearbyDistanceMatrix = new NearbyDistanceMatrix(nearbyDistanceMeter, 0);
+                return;
             }
-            int destinationSize = (int) childSize;
-            if (randomSelection) {
-                // Reduce RAM memory usage by reducing destinationSize if nearbyRandom will never select a higher value
-                int overallSizeMaximum = nearbyRandom.getOverallSizeMaximum();
-                if (discardNearbyIndexZero && overallSizeMaximum < Integer.MAX_VALUE) {
-                    overallSizeMaximum++;
-                }
-                if (destinationSize > overallSizeMaximum) {
-                    destinationSize = overallSizeMaximum;
-                }
+            Object firstOrigin = originList.get(0);
+            int destinationSize = calculateDestinationSize(childValueSelector.getSize(firstOrigin));
+            List<Object> destinationList = new ArrayList<>(destinationSize);
+            childValueSelector.endingIterator(firstOrigin).forEachRemaining(destinationList::add);
+            if (nearbyDistanceMatrixCache != null) {
+                nearbyDistanceMatrix = nearbyDistanceMatrixCache.buildNearbyDistanceMatrix(
+                        nearbyDistanceMatrixCacheKey, phaseScope, nearbyDistanceMeter, originList, destinationList,
+                        destinationSize, parallelDistanceMatrixCalculation);
+            } else {
+                nearbyDistanceMatrix = new NearbyDistanceMatrix(nearbyDistanceMeter, (int) originSize);
+                nearbyDistanceMatrix.addAllDestinations(originList, destinationList, destinationSize,
+                        parallelDistanceMatrixCalculation);
             }
-            nearbyDistanceMatrix.addAllDestinations(origin, childValueSelector.endingIterator(origin), destinationSize);
+        } else {
+            nearbyDistanceMatrix = new NearbyDistanceMatrix(nearbyDistanceMeter, (int) originSize);
+            for (Iterator originIt = originEntitySelector.endingIterator(); originIt.hasNext(); ) {
+                final Object origin =  originIt.next();
+                int destinationSize = calculateDestinationSize(childValueSelector.getSize(origin));
+                nearbyDistanceMatrix.addAllDestinations(origin, childValueSelector.endingIterator(origin),
+                        destinationSize);
+            }
+        }
+    }
+
+    private int calculateDestinationSize(long childSize) {
+        if (childSize > (long) Integer.MAX_VALUE) {
+            throw new IllegalStateException("The childEntitySelector (" + childValueSelector
+                    + ") has an entitySize (" + childSize
+                    + ") which is higher than Integer.MAX_VALUE.");
         }
+        int destinationSize = (int) calculateNearbySize(childSize);
+        if (randomSelection) {
+            // Reduce RAM memory usage by reducing destinationSize if nearbyRandom will never select a higher value
+            int overallSizeMaximum = nearbyRandom.getOverallSizeMaximum();
+            if (discardNearbyIndexZero && overallSizeMaximum < Integer.MAX_VALUE) {
+                overallSizeMaximum++;
+            }
+            if (destinationSize > overallSizeMaximum) {
+                destinationSize = overallSizeMaximum;
+            }
+        }
+        return destinationSize;
+    }
+
+    /**
+     * @param childSize {@code >= 0}
+     * @return {@code <= childSize}, the number of destinations per origin in the {@link NearbyDistanceMatrix}
+     */
+    protected long calculateNearbySize(long childSize) {
+        return Math.min(childSize, destinationSizeMaximum);
     }
 
     @Override
@@ -117,17 +186,17 @@ public class NearEntityNearbyValueSelector extends AbstractValueSelector {
 
     @Override
     public long getSize(Object entity) {
-        return childValueSelector.getSize(entity) - (discardNearbyIndexZero ? 1 : 0);
+        return calculateNearbySize(childValueSelector.getSize(entity)) - (discardNearbyIndexZero ? 1 : 0);
     }
 
     @Override
     public Iterator<Object> iterator(Object entity) {
         if (!randomSelection) {
             return new OriginalEntityNearbyValueIterator(
-                    originEntitySelector.iterator(), childValueSelector.getSize(entity));
+                    originEntitySelector.iterator(), calculateNearbySize(childValueSelector.getSize(entity)));
         } else {
             return new RandomEntityNearbyValueIterator(
-                    originEntitySelector.iterator(), childValueSelector.getSize(entity));
+                    originEntitySelector.iterator(), calculateNearbySize(childValueSelector.getSize(entity)));
         }
     }
 
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.thread;
+
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.impl.heuristic.move.Move;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.solver.ChildThreadType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Owns the move threads of a multithreaded decider for the duration of a phase:
+ * the {@link MoveThreadRunner}s, their executor and the queues between them and the solver thread.
+ * <p>
+ * Not thread-safe. All methods must be called from the solver thread.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class MoveThreadPool<Solution_> {
+
+    protected final transient Logger logger = LoggerFactory.getLogger(getClass());
+
+    protected final String logIndentation;
+    protected final String phaseName;
+    protected final ThreadFactory threadFactory;
+    protected final int moveThreadCount;
+    protected final int selectedMoveBufferSize;
+    protected final boolean evaluateDoable;
+
+    protected BlockingQueue<MoveThreadOperation<Solution_>> operationQueue;
+    protected OrderByMoveIndexBlockingQueue<Solution_> resultQueue;
+    protected CyclicBarrier moveThreadBarrier;
+    protected ExecutorService executor;
+    protected MoveThreadRunner<Solution_>[] moveThreadRunners;
+    /**
+     * The selected moves that are in play, indexed by {@code moveIndex % selectedMoveBufferSize}.
+     */
+    protected Move<Solution_>[] selectedMoveBuffer;
+
+    /**
+     * @param phaseName never null, used in log and exception messages, for example "Local Search"
+     * @param evaluateDoable true if the move threads must filter out the moves that are not doable
+     */
+    public MoveThreadPool(String logIndentation, String phaseName, ThreadFactory threadFactory,
+            int moveThreadCount, int selectedMoveBufferSize, boolean evaluateDoable) {
+        this.logIndentation = logIndentation;
+        this.phaseName = phaseName;
+        this.threadFactory = threadFactory;
+        this.moveThreadCount = moveThreadCount;
+        this.selectedMoveBufferSize = selectedMoveBufferSize;
+        this.evaluateDoable = evaluateDoable;
+    }
+
+    // ************************************************************************
+    // Worker methods
+    // ************************************************************************
+
+    /**
+     * Starts the move threads, each with its own planning clone of the working solution.
+     * @param scoreDirector never null, the score director of the solver thread
+     * @param nextStepIndex the index of the first step
+     * @param lastStepScore never null, the score of the working solution before the first step
+     */
+    public void start(InnerScoreDirector<Solution_> scoreDirector, int nextStepIndex, Score lastStepScore,
+            boolean assertMoveScoreFromScratch, boolean assertExpectedUndoMoveScore) {
+        // Capacity: only move evaluations of the current step (and the step operations) are ever in the queue
+        operationQueue = new ArrayBlockingQueue<>(selectedMoveBufferSize + moveThreadCount);
+        resultQueue = new OrderByMoveIndexBlockingQueue<>(selectedMoveBufferSize + moveThreadCount);
+        moveThreadBarrier = new CyclicBarrier(moveThreadCount);
+        executor = Executors.newFixedThreadPool(moveThreadCount, threadFactory);
+        moveThreadRunners = new MoveThreadRunner[moveThreadCount];
+        selectedMoveBuffer = new Move[selectedMoveBufferSize];
+        for (int moveThreadIndex = 0; moveThreadIndex < moveThreadCount; moveThreadIndex++) {
+            // Cloned on the solver thread, so the working solution cannot change during cloning
+            InnerScoreDirector<Solution_> childScoreDirector
+                    = scoreDirector.createChildThreadScoreDirector(ChildThreadType.MOVE_THREAD);
+            MoveThreadRunner<Solution_> moveThreadRunner = new MoveThreadRunner<>(
+                    logIndentation, moveThreadIndex, evaluateDoable,
+                    operationQueue, resultQueue, moveThreadBarrier,
+                    assertMoveScoreFromScratch, assertExpectedUndoMoveScore,
+                    childScoreDirector, nextStepIndex, lastStepScore);
+            moveThreadRunners[moveThreadIndex] = moveThreadRunner;
+            executor.submit(moveThreadRunner);
+        }
+    }
+
+    /**
+     * Stops the move threads and waits for them to terminate.
+     * @return the total score calculation count of all move threads
+     */
+    public long stop() {
+        // Tell the move thread runners to stop
+        // Don't clear the operationsQueue to avoid moveThreadBarrier deadlock:
+        // The MoveEvaluationOperations are already cleared and the new ApplyStepOperation isn't added yet.
+        DestroyOperation<Solution_> destroyOperation = new DestroyOperation<>();
+        for (int i = 0; i < moveThreadCount; i++) {
+            operationQueue.add(destroyOperation);
+        }
+        shutdownMoveThreads();
+        long childThreadsScoreCalculationCount = 0L;
+        for (MoveThreadRunner<Solution_> moveThreadRunner : moveThreadRunners) {
+            childThreadsScoreCalculationCount += moveThreadRunner.getCalculationCount();
+        }
+        operationQueue = null;
+        resultQueue = null;
+        moveThreadBarrier = null;
+        executor = null;
+        moveThreadRunners = null;
+        selectedMoveBuffer = null;
+        return childThreadsScoreCalculationCount;
+    }
+
+    private void shutdownMoveThreads() {
+        executor.shutdown();
+        try {
+            final int awaitingSeconds = 1;
+            if (!executor.awaitTermination(awaitingSeconds, TimeUnit.SECONDS)) {
+                // Some move threads refused to complete. Busy threads will be interrupted in the finally block.
+                logger.error("{}Multithreaded {} executor didn't terminate within timeout ({} second).",
+                        logIndentation, phaseName, awaitingSeconds);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Thread pool termination was interrupted.", e);
+        } finally {
+            // Initiate an abrupt shutdown for the case when any of the previous measures failed.
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Evaluates the moves on the move threads and passes their results to the moveResultProcessor
+     * in the order the moves were selected, until the moves run out or the moveResultProcessor returns false.
+     * The selected moves that haven't started evaluation by then are not evaluated.
+     * @param stepIndex at least 0
+     * @param moveIterator never null
+     * @param moveResultProcessor never null, called on the solver thread
+     * @return the number of move results passed to the moveResultProcessor
+     */
+    public int evaluateMoves(int stepIndex, Iterator<Move> moveIterator,
+            MoveResultProcessor<Solution_> moveResultProcessor) {
+        resultQueue.startNextStep(stepIndex);
+        int selectMoveIndex = 0;
+        int movesInPlay = 0;
+        int processedMoveCount = 0;
+        try {
+            do {
+                // First fill the buffer so the move threads have work to do
+                while (movesInPlay < selectedMoveBufferSize && moveIterator.hasNext()) {
+                    Move<Solution_> move = moveIterator.next();
+                    selectedMoveBuffer[selectMoveIndex % selectedMoveBufferSize] = move;
+                    operationQueue.add(new MoveEvaluationOperation<>(stepIndex, selectMoveIndex, move));
+                    selectMoveIndex++;
+                    movesInPlay++;
+                }
+                if (movesInPlay <= 0) {
+                    break;
+                }
+                // Then process the results in the order the moves were selected
+                OrderByMoveIndexBlockingQueue.MoveResult<Solution_> result;
+                try {
+                    result = resultQueue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Solver thread was interrupted in " + phaseName + ".", e);
+                }
+                movesInPlay--;
+                processedMoveCount++;
+                int moveIndex = result.getMoveIndex();
+                // The move of the solver thread, not the rebased move of the move thread
+                Move<Solution_> move = selectedMoveBuffer[moveIndex % selectedMoveBufferSize];
+                selectedMoveBuffer[moveIndex % selectedMoveBufferSize] = null;
+                if (!moveResultProcessor.process(move, result)) {
+                    break;
+                }
+            } while (true);
+        } catch (RuntimeException | Error e) {
+            // Move threads could be waiting on each other forever, so interrupt them
+            executor.shutdownNow();
+            throw e;
+        }
+        // Do not evaluate the remaining selected moves for this step that haven't started evaluation yet
+        operationQueue.clear();
+        return processedMoveCount;
+    }
+
+    /**
+     * Keeps the working solution of every move thread in sync with the solver thread.
+     * @param stepIndex the index of the next step
+     * @param step never null, the move of the solver thread
+     * @param score never null, the score after the step
+     */
+    public void applyStep(int stepIndex, Move<Solution_> step, Score score) {
+        ApplyStepOperation<Solution_> stepOperation = new ApplyStepOperation<>(stepIndex, step, score);
+        for (int i = 0; i < moveThreadCount; i++) {
+            operationQueue.add(stepOperation);
+        }
+    }
+
+    @FunctionalInterface
+    public interface MoveResultProcessor<Solution_> {
+
+        /**
+         * @param move never null, the move of the solver thread, not the rebased move of the move thread
+         * @param result never null, its undo move is still rebased on the move thread
+         * @return false to stop evaluating the moves of this step
+         */
+        boolean process(Move<Solution_> move, OrderByMoveIndexBlockingQueue.MoveResult<Solution_> result);
+
+    }
+
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.thread;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.impl.heuristic.move.Move;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Evaluates moves on its own {@link InnerScoreDirector} with its own planning clone of the working solution.
+ * Every move and step is {@link Move#rebase(org.optaplanner.core.impl.score.director.ScoreDirector) rebased}
+ * from the solver thread before it is done.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class MoveThreadRunner<Solution_> implements Runnable {
+
+    protected final transient Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final String logIndentation;
+    private final int moveThreadIndex;
+    private final boolean evaluateDoable;
+
+    private final BlockingQueue<MoveThreadOperation<Solution_>> operationQueue;
+    private final OrderByMoveIndexBlockingQueue<Solution_> resultQueue;
+    private final CyclicBarrier moveThreadBarrier;
+
+    private final boolean assertMoveScoreFromScratch;
+    private final boolean assertExpectedUndoMoveScore;
+
+    private final InnerScoreDirector<Solution_> scoreDirector;
+    private int stepIndex;
+    private Score lastStepScore;
+    private volatile long calculationCount = 0L;
+
+    /**
+     * @param scoreDirector never null, created with
+     * {@link InnerScoreDirector#createChildThreadScoreDirector(org.optaplanner.core.impl.solver.ChildThreadType)}
+     * and used exclusively by this runner
+     * @param stepIndex the index of the first step
+     * @param lastStepScore never null, the score of the working solution before the first step
+     */
+    public MoveThreadRunner(String logIndentation, int moveThreadIndex, boolean evaluateDoable,
+            BlockingQueue<MoveThreadOperation<Solution_>> operationQueue,
+            OrderByMoveIndexBlockingQueue<Solution_> resultQueue,
+            CyclicBarrier moveThreadBarrier,
+            boolean assertMoveScoreFromScratch, boolean assertExpectedUndoMoveScore,
+            InnerScoreDirector<Solution_> scoreDirector, int stepIndex, Score lastStepScore) {
+        this.logIndentation = logIndentation;
+        this.moveThreadIndex = moveThreadIndex;
+        this.evaluateDoable = evaluateDoable;
+        this.operationQueue = operationQueue;
+        this.resultQueue = resultQueue;
+        this.moveThreadBarrier = moveThreadBarrier;
+        this.assertMoveScoreFromScratch = assertMoveScoreFromScratch;
+        this.assertExpectedUndoMoveScore = assertExpectedUndoMoveScore;
+        this.scoreDirector = scoreDirector;
+        this.stepIndex = stepIndex;
+        this.lastStepScore = lastStepScore;
+    }
+
+    /**
+     * This method is thread-safe.
+     * @return at least 0
+     */
+    public long getCalculationCount() {
+        return calculationCount;
+    }
+
+    @Override
+    public void run() {
+        try {
+            // Every move is undone before the next operation
+            scoreDirector.setAllChangesWillBeUndoneBeforeStepEnds(true);
+            while (true) {
+                MoveThreadOperation<Solution_> operation;
+                try {
+                    operation = operationQueue.take();
+                } catch (InterruptedException e) {
+                    logger.error("{}            Move thread ({}) was interrupted.", logIndentation, moveThreadIndex, e);
+                    // Restore interrupted flag for the thread pool
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                if (operation instanceof DestroyOperation) {
+                    break;
+                } else if (operation instanceof ApplyStepOperation) {
+                    applyStep((ApplyStepOperation<Solution_>) operation);
+                    // Ensure every move thread takes exactly one ApplyStepOperation per step
+                    moveThreadBarrier.await();
+                } else if (operation instanceof MoveEvaluationOperation) {
+                    evaluateMove((MoveEvaluationOperation<Solution_>) operation);
+                } else {
+                    throw new IllegalStateException("Unknown operation (" + operation + ").");
+                }
+            }
+            logger.trace("{}            Move thread ({}) finished.", logIndentation, moveThreadIndex);
+        } catch (RuntimeException | Error | BrokenBarrierException throwable) {
+            // Any Exception or even Error that happens here (on a move thread) must be stored
+            // in the resultQueue in order to be propagated to the solver thread.
+            logger.trace("{}            Move thread ({}) exception that will be propagated to the solver thread.",
+                    logIndentation, moveThreadIndex, throwable);
+            resultQueue.addExceptionThrown(moveThreadIndex, throwable);
+        } catch (InterruptedException e) {
+            logger.error("{}            Move thread ({}) was interrupted.", logIndentation, moveThreadIndex, e);
+            Thread.currentThread().interrupt();
+        } finally {
+            calculationCount = scoreDirector.getCalculationCount();
+            scoreDirector.close();
+        }
+    }
+
+    private void applyStep(ApplyStepOperation<Solution_> operation) {
+        Move<Solution_> step = operation.getStep().rebase(scoreDirector);
+        scoreDirector.setAllChangesWillBeUndoneBeforeStepEnds(false);
+        step.doMove(scoreDirector);
+        scoreDirector.setAllChangesWillBeUndoneBeforeStepEnds(true);
+        stepIndex = operation.getStepIndex();
+        lastStepScore = operation.getScore();
+        if (assertExpectedUndoMoveScore) {
+            // The intrusive asserts also verify that this working solution is still in sync with the solver thread
+            scoreDirector.assertExpectedWorkingScore(lastStepScore, step);
+        }
+        calculationCount = scoreDirector.getCalculationCount();
+        logger.trace("{}            Move thread ({}) step: step index ({}), score ({}).",
+                logIndentation, moveThreadIndex, stepIndex, lastStepScore);
+    }
+
+    private void evaluateMove(MoveEvaluationOperation<Solution_> operation) {
+        int moveIndex = operation.getMoveIndex();
+        if (operation.getStepIndex() != stepIndex) {
+            // Skip a move of a previous step, its result would be discarded anyway
+            return;
+        }
+        Move<Solution_> move = operation.getMove().rebase(scoreDirector);
+        if (evaluateDoable && !move.isMoveDoable(scoreDirector)) {
+            resultQueue.addUndoableMove(moveThreadIndex, stepIndex, moveIndex, move);
+            return;
+        }
+        // Describe the move before it's done, because its toString() reflects the working solution
+        String undoMoveDescription = assertExpectedUndoMoveScore ? "Undo(" + move + ")" : null;
+        Move<Solution_> undoMove = move.doMove(scoreDirector);
+        Score score = scoreDirector.calculateScore();
+        if (assertMoveScoreFromScratch) {
+            scoreDirector.assertWorkingScoreFromScratch(score, move);
+        }
+        undoMove.doMove(scoreDirector);
+        if (assertExpectedUndoMoveScore) {
+            scoreDirector.assertExpectedWorkingScore(lastStepScore, undoMoveDescription);
+        }
+        calculationCount = scoreDirector.getCalculationCount();
+        resultQueue.addMove(moveThreadIndex, stepIndex, moveIndex, move, undoMove, score);
+        logger.trace("{}            Move thread ({}) evaluation: step index ({}), move index ({}), score ({}).",
+                logIndentation, moveThreadIndex, stepIndex, moveIndex, score);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "-" + moveThreadIndex;
+    }
+
+}
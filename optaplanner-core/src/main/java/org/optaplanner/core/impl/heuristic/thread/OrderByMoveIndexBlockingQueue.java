@@ -0,0 +1,243 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.thread;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.impl.heuristic.move.Move;
+
+/**
+ * Delivers the results of the {@link MoveThreadRunner}s to the solver thread in the order of their moveIndex,
+ * regardless of the order in which the move threads finish evaluating them,
+ * so multithreaded solving remains reproducible.
+ * <p>
+ * The add methods are thread-safe, the other methods must only be called from the solver thread.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class OrderByMoveIndexBlockingQueue<Solution_> {
+
+    private final BlockingQueue<MoveResult<Solution_>> innerQueue;
+    private final Map<Integer, MoveResult<Solution_>> backlog;
+
+    private int filterStepIndex = Integer.MIN_VALUE;
+    private int nextMoveIndex = Integer.MIN_VALUE;
+
+    /**
+     * @param capacity at least the number of moves in play plus the number of move threads
+     */
+    public OrderByMoveIndexBlockingQueue(int capacity) {
+        innerQueue = new ArrayBlockingQueue<>(capacity);
+        backlog = new HashMap<>(capacity);
+    }
+
+    /**
+     * Not thread-safe. Can only be called from the solver thread.
+     * Discards the results of the previous step that have not been taken yet.
+     * @param stepIndex at least 0
+     */
+    public void startNextStep(int stepIndex) {
+        synchronized (this) {
+            if (filterStepIndex >= stepIndex) {
+                throw new IllegalStateException("The old filterStepIndex (" + filterStepIndex
+                        + ") must be less than the stepIndex (" + stepIndex + ")");
+            }
+            filterStepIndex = stepIndex;
+            for (MoveResult<Solution_> result : innerQueue) {
+                if (result.hasThrownException()) {
+                    throwRelayedException(result);
+                }
+            }
+            innerQueue.clear();
+        }
+        nextMoveIndex = 0;
+        backlog.clear();
+    }
+
+    /**
+     * This method is thread-safe.
+     * @param moveThreadIndex {@code 0 <= moveThreadIndex < moveThreadCount}
+     * @param stepIndex at least 0
+     * @param moveIndex at least 0
+     * @param move never null, the rebased move
+     */
+    public void addUndoableMove(int moveThreadIndex, int stepIndex, int moveIndex, Move<Solution_> move) {
+        MoveResult<Solution_> result = new MoveResult<>(moveThreadIndex, stepIndex, moveIndex, move,
+                false, null, null);
+        addResult(result);
+    }
+
+    /**
+     * This method is thread-safe.
+     * @param moveThreadIndex {@code 0 <= moveThreadIndex < moveThreadCount}
+     * @param stepIndex at least 0
+     * @param moveIndex at least 0
+     * @param move never null, the rebased move
+     * @param undoMove never null, the undo move of the rebased move
+     * @param score never null, the score after doing the move
+     */
+    public void addMove(int moveThreadIndex, int stepIndex, int moveIndex, Move<Solution_> move,
+            Move<Solution_> undoMove, Score score) {
+        MoveResult<Solution_> result = new MoveResult<>(moveThreadIndex, stepIndex, moveIndex, move,
+                true, undoMove, score);
+        addResult(result);
+    }
+
+    private void addResult(MoveResult<Solution_> result) {
+        synchronized (this) {
+            if (result.getStepIndex() != filterStepIndex) {
+                // Discard a result of a previous step
+                return;
+            }
+            innerQueue.add(result);
+        }
+    }
+
+    /**
+     * This method is thread-safe.
+     * @param moveThreadIndex {@code 0 <= moveThreadIndex < moveThreadCount}
+     * @param throwable never null
+     */
+    public void addExceptionThrown(int moveThreadIndex, Throwable throwable) {
+        MoveResult<Solution_> result = new MoveResult<>(moveThreadIndex, throwable);
+        synchronized (this) {
+            innerQueue.add(result);
+        }
+    }
+
+    /**
+     * Not thread-safe. Can only be called from the solver thread.
+     * @return never null, the result with the next moveIndex
+     * @throws InterruptedException if interrupted
+     * @see BlockingQueue#take()
+     */
+    public MoveResult<Solution_> take() throws InterruptedException {
+        int moveIndex = nextMoveIndex;
+        nextMoveIndex++;
+        if (!backlog.isEmpty()) {
+            MoveResult<Solution_> result = backlog.remove(moveIndex);
+            if (result != null) {
+                return result;
+            }
+        }
+        while (true) {
+            MoveResult<Solution_> result = innerQueue.take();
+            if (result.hasThrownException()) {
+                throwRelayedException(result);
+            }
+            // Results of a previous step are already filtered out by addResult() and startNextStep()
+            if (result.getMoveIndex() == moveIndex) {
+                return result;
+            } else {
+                backlog.put(result.getMoveIndex(), result);
+            }
+        }
+    }
+
+    private void throwRelayedException(MoveResult<Solution_> result) {
+        throw new IllegalStateException("The move thread with moveThreadIndex ("
+                + result.getMoveThreadIndex() + ") has thrown an exception."
+                + " Relayed here in the parent thread.",
+                result.getThrowable());
+    }
+
+    public static class MoveResult<Solution_> {
+
+        private final int moveThreadIndex;
+        private final int stepIndex;
+        private final int moveIndex;
+        private final Move<Solution_> move;
+        private final boolean moveDoable;
+        private final Move<Solution_> undoMove;
+        private final Score score;
+        private final Throwable throwable;
+
+        public MoveResult(int moveThreadIndex, int stepIndex, int moveIndex, Move<Solution_> move,
+                boolean moveDoable, Move<Solution_> undoMove, Score score) {
+            this.moveThreadIndex = moveThreadIndex;
+            this.stepIndex = stepIndex;
+            this.moveIndex = moveIndex;
+            this.move = move;
+            this.moveDoable = moveDoable;
+            this.undoMove = undoMove;
+            this.score = score;
+            this.throwable = null;
+        }
+
+        public MoveResult(int moveThreadIndex, Throwable throwable) {
+            this.moveThreadIndex = moveThreadIndex;
+            this.stepIndex = -1;
+            this.moveIndex = -1;
+            this.move = null;
+            this.moveDoable = false;
+            this.undoMove = null;
+            this.score = null;
+            this.throwable = throwable;
+        }
+
+        private boolean hasThrownException() {
+            return throwable != null;
+        }
+
+        public int getMoveThreadIndex() {
+            return moveThreadIndex;
+        }
+
+        public int getStepIndex() {
+            return stepIndex;
+        }
+
+        public int getMoveIndex() {
+            return moveIndex;
+        }
+
+        /**
+         * @return never null, the move rebased on the move thread, do not use it on the solver thread
+         */
+        public Move<Solution_> getMove() {
+            return move;
+        }
+
+        public boolean isMoveDoable() {
+            return moveDoable;
+        }
+
+        /**
+         * @return null if the move is not doable, the undo move on the move thread otherwise
+         */
+        public Move<Solution_> getUndoMove() {
+            return undoMove;
+        }
+
+        /**
+         * @return null if the move is not doable
+         */
+        public Score getScore() {
+            return score;
+        }
+
+        private Throwable getThrowable() {
+            return throwable;
+        }
+
+    }
+
+}
@@ -98,7 +98,11 @@ public class DefaultLocalSearchPhase<Solution_> extends AbstractPhase<Solution_>
 
     protected void doStep(LocalSearchStepScope<Solution_> stepScope) {
         Move<Solution_> nextStep = stepScope.getStep();
-        nextStep.doMove(stepScope.getScoreDirector());
+        Move<Solution_> undoStep = nextStep.doMove(stepScope.getScoreDirector());
+        if (stepScope.getUndoStep() == null) {
+            // The step's undo move wasn't created when its score was calculated
+            stepScope.setUndoStep(undoStep);
+        }
         predictWorkingStepScore(stepScope, nextStep);
         bestSolutionRecaller.processWorkingSolutionDuringStep(stepScope);
     }
@@ -130,7 +134,7 @@ public class DefaultLocalSearchPhase<Solution_> extends AbstractPhase<Solution_>
         LocalSearchPhaseScope phaseScope = stepScope.getPhaseScope();
         if (logger.isDebugEnabled()) {
             logger.debug("{}    LS step ({}), time spent ({}), score ({}), {} best score ({})," +
-                    " accepted/selected move count ({}/{}), picked move ({}).",
+                    " accepted/selected/not doable move count ({}/{}/{}), picked move ({}).",
                     logIndentation,
                     stepScope.getStepIndex(),
                     phaseScope.calculateSolverTimeMillisSpentUpToNow(),
@@ -138,6 +142,7 @@ public class DefaultLocalSearchPhase<Solution_> extends AbstractPhase<Solution_>
                     (stepScope.getBestScoreImproved() ? "new" : "   "), phaseScope.getBestScore(),
                     stepScope.getAcceptedMoveCount(),
                     stepScope.getSelectedMoveCount(),
+                    stepScope.getNotDoableMoveCount(),
                     stepScope.getStepString());
         }
     }
@@ -148,13 +153,14 @@ public class DefaultLocalSearchPhase<Solution_> extends AbstractPhase<Solution_>
         decider.phaseEnded(phaseScope);
         phaseScope.endingNow();
         logger.info("{}Local Search phase ({}) ended: time spent ({}), best score ({}),"
-                        + " score calculation speed ({}/sec), step total ({}).",
+                        + " score calculation speed ({}/sec), step total ({}), not doable move total ({}).",
                 logIndentation,
                 phaseIndex,
                 phaseScope.calculateSolverTimeMillisSpentUpToNow(),
                 phaseScope.getBestScore(),
                 phaseScope.getPhaseScoreCalculationSpeed(),
-                phaseScope.getNextStepIndex());
+                phaseScope.getNextStepIndex(),
+                phaseScope.getPhaseNotDoableMoveCount());
     }
 
     @Override
@@ -45,6 +45,8 @@ public class LocalSearchDecider<Solution_> {
     protected final Acceptor acceptor;
     protected final Forager forager;
 
+    protected boolean doableMoveFilterEnabled = false;
+    protected boolean speculativeMoveEvaluationEnabled = false;
     protected boolean assertMoveScoreFromScratch = false;
     protected boolean assertExpectedUndoMoveScore = false;
 
@@ -73,6 +75,18 @@ public class LocalSearchDecider<Solution_> {
         return forager;
     }
 
+    /**
+     * @param doableMoveFilterEnabled true if the {@link MoveSelector} only selects doable moves,
+     * so this decider doesn't need to check them again
+     */
+    public void setDoableMoveFilterEnabled(boolean doableMoveFilterEnabled) {
+        this.doableMoveFilterEnabled = doableMoveFilterEnabled;
+    }
+
+    public void setSpeculativeMoveEvaluationEnabled(boolean speculativeMoveEvaluationEnabled) {
+        this.speculativeMoveEvaluationEnabled = speculativeMoveEvaluationEnabled;
+    }
+
     public void setAssertMoveScoreFromScratch(boolean assertMoveScoreFromScratch) {
         this.assertMoveScoreFromScratch = assertMoveScoreFromScratch;
     }
@@ -112,8 +126,7 @@ public class LocalSearchDecider<Solution_> {
             moveScope.setMoveIndex(moveIndex);
             moveIndex++;
             moveScope.setMove(move);
-            // TODO use Selector filtering to filter out not doable moves
-            if (!move.isMoveDoable(scoreDirector)) {
+            if (!doableMoveFilterEnabled && !move.isMoveDoable(scoreDirector)) {
                 logger.trace("{}        Move index ({}) not doable, ignoring move ({}).",
                         logIndentation, moveScope.getMoveIndex(), move);
             } else {
@@ -128,6 +141,10 @@ public class LocalSearchDecider<Solution_> {
             }
         }
         scoreDirector.setAllChangesWillBeUndoneBeforeStepEnds(false);
+        pickMove(stepScope);
+    }
+
+    protected void pickMove(LocalSearchStepScope<Solution_> stepScope) {
         LocalSearchMoveScope<Solution_> pickedMoveScope = forager.pickMove(stepScope);
         if (pickedMoveScope != null) {
             Move<Solution_> step = pickedMoveScope.getMove();
@@ -143,10 +160,41 @@ public class LocalSearchDecider<Solution_> {
     private void doMove(LocalSearchMoveScope<Solution_> moveScope) {
         ScoreDirector<Solution_> scoreDirector = moveScope.getScoreDirector();
         Move<Solution_> move = moveScope.getMove();
-        Move<Solution_> undoMove = move.doMove(scoreDirector);
-        moveScope.setUndoMove(undoMove);
+        if (!assertMoveScoreFromScratch && !assertExpectedUndoMoveScore) {
+            Score score = move.calculateScoreWithoutDoing(scoreDirector);
+            if (score != null) {
+                // No do and undo round-trip: the undo move is only created if this move becomes the step
+                moveScope.setScore(score);
+                acceptAndForageMove(moveScope);
+                logger.trace("{}        Move index ({}), score ({}), accepted ({}), move ({}).",
+                        logIndentation,
+                        moveScope.getMoveIndex(), moveScope.getScore(), moveScope.getAccepted(),
+                        moveScope.getMove());
+                return;
+            }
+        }
+        InnerScoreDirector<Solution_> innerScoreDirector = moveScope.getStepScope().getScoreDirector();
+        Move<Solution_> undoMove;
+        if (speculativeMoveEvaluationEnabled) {
+            // Most moves are rejected, so the undo move is only created if this move becomes the step
+            innerScoreDirector.startSpeculativeChanges();
+            move.doMoveOnly(scoreDirector);
+            undoMove = null;
+        } else {
+            undoMove = move.doMove(scoreDirector);
+            moveScope.setUndoMove(undoMove);
+        }
         processMove(moveScope);
-        undoMove.doMove(scoreDirector);
+        if (logger.isTraceEnabled()) {
+            // Materialize the score before the undo, so it can be logged below
+            moveScope.getScore();
+        }
+        moveScope.discardUnmaterializedScore();
+        if (undoMove == null) {
+            innerScoreDirector.rollbackSpeculativeChanges();
+        } else {
+            undoMove.doMove(scoreDirector);
+        }
         if (assertExpectedUndoMoveScore) {
             LocalSearchPhaseScope<Solution_> phaseScope = moveScope.getStepScope().getPhaseScope();
             phaseScope.assertExpectedUndoMoveScore(move, undoMove, phaseScope.getLastCompletedStepScope().getScore());
@@ -158,11 +206,20 @@ public class LocalSearchDecider<Solution_> {
     }
 
     private void processMove(LocalSearchMoveScope<Solution_> moveScope) {
-        Score score = moveScope.getStepScope().getPhaseScope().calculateScore();
         if (assertMoveScoreFromScratch) {
+            Score score = moveScope.getStepScope().getPhaseScope().calculateScore();
             moveScope.getStepScope().getPhaseScope().assertWorkingScoreFromScratch(score, moveScope.getMove());
+            moveScope.setScore(score);
+        } else {
+            // Most moves are only compared and then rejected, so only create the Score when it's needed
+            InnerScoreDirector<Solution_> scoreDirector = moveScope.getStepScope().getScoreDirector();
+            scoreDirector.calculateScoreWithoutMaterializing();
+            moveScope.setUnmaterializedScore(scoreDirector);
         }
-        moveScope.setScore(score);
+        acceptAndForageMove(moveScope);
+    }
+
+    private void acceptAndForageMove(LocalSearchMoveScope<Solution_> moveScope) {
         boolean accepted = acceptor.isAccepted(moveScope);
         moveScope.setAccepted(accepted);
         forager.addMove(moveScope);
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.localsearch.decider;
+
+import java.util.concurrent.ThreadFactory;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.impl.heuristic.move.Move;
+import org.optaplanner.core.impl.heuristic.selector.move.MoveSelector;
+import org.optaplanner.core.impl.heuristic.thread.MoveThreadPool;
+import org.optaplanner.core.impl.heuristic.thread.OrderByMoveIndexBlockingQueue;
+import org.optaplanner.core.impl.localsearch.decider.acceptor.Acceptor;
+import org.optaplanner.core.impl.localsearch.decider.forager.Forager;
+import org.optaplanner.core.impl.localsearch.scope.LocalSearchMoveScope;
+import org.optaplanner.core.impl.localsearch.scope.LocalSearchPhaseScope;
+import org.optaplanner.core.impl.localsearch.scope.LocalSearchStepScope;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.solver.termination.Termination;
+
+/**
+ * Evaluates the selected moves of each step on multiple move threads,
+ * each with its own {@link InnerScoreDirector} and its own planning clone of the working solution.
+ * <p>
+ * The {@link Acceptor} and {@link Forager} still run on the solver thread
+ * and receive the evaluated moves in the order they were selected, so the solver remains reproducible.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class MultiThreadedLocalSearchDecider<Solution_> extends LocalSearchDecider<Solution_> {
+
+    protected final MoveThreadPool<Solution_> moveThreadPool;
+
+    public MultiThreadedLocalSearchDecider(String logIndentation, Termination termination,
+            MoveSelector moveSelector, Acceptor acceptor, Forager forager,
+            ThreadFactory threadFactory, int moveThreadCount, int selectedMoveBufferSize) {
+        super(logIndentation, termination, moveSelector, acceptor, forager);
+        moveThreadPool = new MoveThreadPool<>(logIndentation, "Local Search",
+                threadFactory, moveThreadCount, selectedMoveBufferSize, true);
+    }
+
+    // ************************************************************************
+    // Worker methods
+    // ************************************************************************
+
+    @Override
+    public void phaseStarted(LocalSearchPhaseScope<Solution_> phaseScope) {
+        super.phaseStarted(phaseScope);
+        moveThreadPool.start(phaseScope.getScoreDirector(), phaseScope.getNextStepIndex(),
+                phaseScope.getLastCompletedStepScope().getScore(),
+                assertMoveScoreFromScratch, assertExpectedUndoMoveScore);
+    }
+
+    @Override
+    public void phaseEnded(LocalSearchPhaseScope<Solution_> phaseScope) {
+        super.phaseEnded(phaseScope);
+        long childThreadsScoreCalculationCount = moveThreadPool.stop();
+        phaseScope.getSolverScope().addChildThreadsScoreCalculationCount(childThreadsScoreCalculationCount);
+    }
+
+    @Override
+    public void decideNextStep(LocalSearchStepScope<Solution_> stepScope) {
+        moveThreadPool.evaluateMoves(stepScope.getStepIndex(), moveSelector.iterator(), (move, result) -> {
+            processMoveResult(stepScope, move, result);
+            if (forager.isQuitEarly()) {
+                return false;
+            }
+            stepScope.getPhaseScope().getSolverScope().checkYielding();
+            return !termination.isPhaseTerminated(stepScope.getPhaseScope());
+        });
+        pickMove(stepScope);
+    }
+
+    private void processMoveResult(LocalSearchStepScope<Solution_> stepScope, Move<Solution_> move,
+            OrderByMoveIndexBlockingQueue.MoveResult<Solution_> result) {
+        int moveIndex = result.getMoveIndex();
+        if (!result.isMoveDoable()) {
+            // The DoableFilteringMoveSelector is disabled with move threads, so count it here instead
+            stepScope.incrementNotDoableMoveCount();
+            logger.trace("{}        Move index ({}) not doable, ignoring move ({}).",
+                    logIndentation, moveIndex, move);
+            return;
+        }
+        LocalSearchMoveScope<Solution_> moveScope = new LocalSearchMoveScope<>(stepScope);
+        moveScope.setMoveIndex(moveIndex);
+        moveScope.setMove(move);
+        // Still rebased on the move thread, see pickMove()
+        moveScope.setUndoMove(result.getUndoMove());
+        moveScope.setScore(result.getScore());
+        boolean accepted = acceptor.isAccepted(moveScope);
+        moveScope.setAccepted(accepted);
+        forager.addMove(moveScope);
+        logger.trace("{}        Move index ({}), score ({}), accepted ({}), move ({}).",
+                logIndentation,
+                moveScope.getMoveIndex(), moveScope.getScore(), moveScope.getAccepted(),
+                moveScope.getMove());
+    }
+
+    @Override
+    protected void pickMove(LocalSearchStepScope<Solution_> stepScope) {
+        super.pickMove(stepScope);
+        Move<Solution_> undoStep = stepScope.getUndoStep();
+        if (undoStep != null) {
+            // Only rebase the undo move of the picked move, because it's the only one that is ever used
+            stepScope.setUndoStep(undoStep.rebase(stepScope.getScoreDirector()));
+        }
+    }
+
+    @Override
+    public void stepEnded(LocalSearchStepScope<Solution_> stepScope) {
+        super.stepEnded(stepScope);
+        moveThreadPool.applyStep(stepScope.getStepIndex() + 1, stepScope.getStep(), stepScope.getScore());
+    }
+
+}
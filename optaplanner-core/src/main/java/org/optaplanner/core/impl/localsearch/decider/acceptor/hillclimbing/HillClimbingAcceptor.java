@@ -28,9 +28,8 @@ public class HillClimbingAcceptor extends AbstractAcceptor {
 
     @Override
     public boolean isAccepted(LocalSearchMoveScope moveScope) {
-        Score moveScore = moveScope.getScore();
         Score lastStepScore = moveScope.getStepScope().getPhaseScope().getLastCompletedStepScope().getScore();
-        return moveScore.compareTo(lastStepScore) >= 0;
+        return moveScope.compareScoreTo(lastStepScore) >= 0;
     }
 
 }
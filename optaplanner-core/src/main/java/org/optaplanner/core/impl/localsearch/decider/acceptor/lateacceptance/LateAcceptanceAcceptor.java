@@ -63,14 +63,13 @@ public class LateAcceptanceAcceptor extends AbstractAcceptor {
 
     @Override
     public boolean isAccepted(LocalSearchMoveScope moveScope) {
-        Score moveScore = moveScope.getScore();
         Score lateScore = previousScores[lateScoreIndex];
-        if (moveScore.compareTo(lateScore) >= 0) {
+        if (moveScope.compareScoreTo(lateScore) >= 0) {
             return true;
         }
         if (hillClimbingEnabled) {
             Score lastStepScore = moveScope.getStepScope().getPhaseScope().getLastCompletedStepScope().getScore();
-            if (moveScore.compareTo(lastStepScore) >= 0) {
+            if (moveScope.compareScoreTo(lastStepScore) >= 0) {
                 return true;
             }
         }
@@ -59,11 +59,10 @@ public class StepCountingHillClimbingAcceptor extends AbstractAcceptor {
     @Override
     public boolean isAccepted(LocalSearchMoveScope moveScope) {
         Score lastStepScore = moveScope.getStepScope().getPhaseScope().getLastCompletedStepScope().getScore();
-        Score moveScore = moveScope.getScore();
-        if (moveScore.compareTo(lastStepScore) >= 0) {
+        if (moveScope.compareScoreTo(lastStepScore) >= 0) {
             return true;
         }
-        return moveScore.compareTo(thresholdScore) >= 0;
+        return moveScope.compareScoreTo(thresholdScore) >= 0;
     }
 
     @Override
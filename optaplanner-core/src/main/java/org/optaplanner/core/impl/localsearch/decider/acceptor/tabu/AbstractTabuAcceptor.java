@@ -143,7 +143,7 @@ public abstract class AbstractTabuAcceptor extends AbstractAcceptor {
         }
         if (aspirationEnabled) {
             // Natural comparison because shifting penalties don't apply
-            if (moveScope.getScore().compareTo(
+            if (moveScope.compareScoreTo(
                     moveScope.getStepScope().getPhaseScope().getBestScore()) > 0) {
                 logger.trace("{}        Proposed move ({}) is tabu, but is accepted anyway due to aspiration.",
                         logIndentation,
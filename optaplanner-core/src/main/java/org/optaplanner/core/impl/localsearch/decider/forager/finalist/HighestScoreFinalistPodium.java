@@ -45,22 +45,23 @@ public class HighestScoreFinalistPodium extends AbstractFinalistPodium {
             finalistIsAccepted = true;
             finalistScore = null;
         }
-        Score moveScore = moveScope.getScore();
-        int scoreComparison = doComparison(moveScore);
+        int scoreComparison = doComparison(moveScope);
         if (scoreComparison > 0) {
-            finalistScore = moveScore;
+            // Only finalists need their score materialized (before the undo move)
+            finalistScore = moveScope.getScore();
             finalistList.clear();
             finalistList.add(moveScope);
         } else if (scoreComparison == 0) {
+            moveScope.getScore();
             finalistList.add(moveScope);
         }
     }
 
-    private int doComparison(Score moveScore) {
+    private int doComparison(LocalSearchMoveScope moveScope) {
         if (finalistScore == null) {
             return 1;
         }
-        return moveScore.compareTo(finalistScore);
+        return moveScope.compareScoreTo(finalistScore);
     }
 
     @Override
@@ -21,6 +21,7 @@ import java.util.Random;
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.impl.heuristic.move.Move;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
 import org.optaplanner.core.impl.score.director.ScoreDirector;
 
 /**
@@ -34,6 +35,7 @@ public class LocalSearchMoveScope<Solution_> {
     private Move<Solution_> move = null;
     private Move<Solution_> undoMove = null;
     private Score score = null;
+    private InnerScoreDirector<Solution_> unmaterializedScoreDirector = null;
     private Boolean accepted = null;
 
     public LocalSearchMoveScope(LocalSearchStepScope<Solution_> stepScope) {
@@ -68,12 +70,38 @@ public class LocalSearchMoveScope<Solution_> {
         this.undoMove = undoMove;
     }
 
+    /**
+     * Materializes the score if it was set with {@link #setUnmaterializedScore(InnerScoreDirector)}.
+     * @return null if the score was never calculated or if it was discarded before it was materialized
+     */
     public Score getScore() {
+        if (score == null && unmaterializedScoreDirector != null) {
+            score = unmaterializedScoreDirector.materializeCalculatedScore();
+            unmaterializedScoreDirector = null;
+        }
         return score;
     }
 
     public void setScore(Score score) {
         this.score = score;
+        unmaterializedScoreDirector = null;
+    }
+
+    /**
+     * The score is the one of the last {@link InnerScoreDirector#calculateScoreWithoutMaterializing()}.
+     * It is only created if {@link #getScore()} is called before {@link #discardUnmaterializedScore()}.
+     * @param scoreDirector never null
+     */
+    public void setUnmaterializedScore(InnerScoreDirector<Solution_> scoreDirector) {
+        this.score = null;
+        this.unmaterializedScoreDirector = scoreDirector;
+    }
+
+    /**
+     * Must be called before the working solution changes (for example by the undo move).
+     */
+    public void discardUnmaterializedScore() {
+        unmaterializedScoreDirector = null;
     }
 
     public Boolean getAccepted() {
@@ -88,6 +116,18 @@ public class LocalSearchMoveScope<Solution_> {
     // Calculated methods
     // ************************************************************************
 
+    /**
+     * Like {@code getScore().compareTo(otherScore)}, but without materializing the score.
+     * @param otherScore never null
+     * @return like {@link Score#compareTo(Object)}
+     */
+    public int compareScoreTo(Score otherScore) {
+        if (score == null && unmaterializedScoreDirector != null) {
+            return unmaterializedScoreDirector.compareCalculatedScoreTo(otherScore);
+        }
+        return score.compareTo(otherScore);
+    }
+
     public ScoreDirector<Solution_> getScoreDirector() {
         return stepScope.getScoreDirector();
     }
@@ -57,6 +57,9 @@ public class DefaultPartitionedSearchPhase<Solution_> extends AbstractPhase<Solu
     protected SolutionPartitioner<Solution_> solutionPartitioner;
     protected ThreadFactory threadFactory;
     protected Integer runnablePartThreadLimit;
+    protected Integer runnablePartThreadStepSlice;
+    protected int repartitionCountLimit = 0;
+    protected Long repartitionIntervalMilliseconds = null;
 
     protected List<PhaseConfig> phaseConfigList;
     protected HeuristicConfigPolicy configPolicy;
@@ -78,6 +81,18 @@ public class DefaultPartitionedSearchPhase<Solution_> extends AbstractPhase<Solu
         this.runnablePartThreadLimit = runnablePartThreadLimit;
     }
 
+    public void setRunnablePartThreadStepSlice(Integer runnablePartThreadStepSlice) {
+        this.runnablePartThreadStepSlice = runnablePartThreadStepSlice;
+    }
+
+    public void setRepartitionCountLimit(int repartitionCountLimit) {
+        this.repartitionCountLimit = repartitionCountLimit;
+    }
+
+    public void setRepartitionIntervalMilliseconds(Long repartitionIntervalMilliseconds) {
+        this.repartitionIntervalMilliseconds = repartitionIntervalMilliseconds;
+    }
+
     public void setPhaseConfigList(List<PhaseConfig> phaseConfigList) {
         this.phaseConfigList = phaseConfigList;
     }
@@ -99,13 +114,41 @@ public class DefaultPartitionedSearchPhase<Solution_> extends AbstractPhase<Solu
     public void solve(DefaultSolverScope<Solution_> solverScope) {
         PartitionedSearchPhaseScope<Solution_> phaseScope = new PartitionedSearchPhaseScope<>(solverScope);
         List<Solution_> partList = solutionPartitioner.splitWorkingSolution(
-                solverScope.getScoreDirector(), runnablePartThreadLimit);
-        int partCount = partList.size();
-        phaseScope.setPartCount(partCount);
+                solverScope.getScoreDirector(), runnablePartThreadLimit, 0);
+        phaseScope.setPartCount(partList.size());
         phaseStarted(phaseScope);
+        solvePartitions(phaseScope, partList);
+        // Once every partition finished (on its own terminations or after the repartitionIntervalMilliseconds),
+        // the partitions are merged in the working solution,
+        // so split it again to allow improvements across the boundaries of the previous partitions
+        while (phaseScope.getRepartitionCount() < repartitionCountLimit
+                && !termination.isPhaseTerminated(phaseScope)) {
+            int repartitionIndex = phaseScope.getRepartitionCount() + 1;
+            phaseScope.setRepartitionCount(repartitionIndex);
+            partList = solutionPartitioner.splitWorkingSolution(
+                    solverScope.getScoreDirector(), runnablePartThreadLimit, repartitionIndex);
+            phaseScope.setPartCount(partList.size());
+            logger.debug("{}    PS repartition ({}), time spent ({}), partCount ({}).",
+                    logIndentation,
+                    repartitionIndex,
+                    phaseScope.calculateSolverTimeMillisSpentUpToNow(),
+                    partList.size());
+            solvePartitions(phaseScope, partList);
+        }
+        phaseEnded(phaseScope);
+    }
+
+    private void solvePartitions(PartitionedSearchPhaseScope<Solution_> phaseScope, List<Solution_> partList) {
+        DefaultSolverScope<Solution_> solverScope = phaseScope.getSolverScope();
+        int partCount = partList.size();
         ExecutorService executor = createThreadPoolExecutor(partCount);
         ChildThreadPlumbingTermination childThreadPlumbingTermination = new ChildThreadPlumbingTermination();
         PartitionQueue<Solution_> partitionQueue = new PartitionQueue<>(partCount);
+        if (repartitionIntervalMilliseconds != null && phaseScope.getRepartitionCount() < repartitionCountLimit) {
+            // The partitions of the last repartition run until the termination of this phase instead
+            partitionQueue.setPartTermination(System.currentTimeMillis() + repartitionIntervalMilliseconds,
+                    childThreadPlumbingTermination::terminateChildren);
+        }
         Semaphore runnablePartThreadSemaphore
                 = runnablePartThreadLimit == null ? null : new Semaphore(runnablePartThreadLimit, true);
         try {
@@ -117,8 +160,7 @@ public class DefaultPartitionedSearchPhase<Solution_> extends AbstractPhase<Solu
                 partitionSolver.addEventListener(event -> {
                     InnerScoreDirector<Solution_> childScoreDirector = partitionSolver.solverScope.getScoreDirector();
                     PartitionChangeMove<Solution_> move = PartitionChangeMove.createMove(childScoreDirector, partIndex);
-                    InnerScoreDirector<Solution_> parentScoreDirector = solverScope.getScoreDirector();
-                    move = move.rebase(parentScoreDirector);
+                    // Not rebased yet: the parent thread only rebases the moves that aren't coalesced
                     partitionQueue.addMove(partIndex, move);
                 });
                 executor.submit(() -> {
@@ -132,9 +174,13 @@ public class DefaultPartitionedSearchPhase<Solution_> extends AbstractPhase<Solu
                     }
                 });
             }
-            for (PartitionChangeMove<Solution_> step : partitionQueue) {
+            InnerScoreDirector<Solution_> parentScoreDirector = solverScope.getScoreDirector();
+            for (List<PartitionChangeMove<Solution_>> moveBatch : partitionQueue) {
                 PartitionedSearchStepScope<Solution_> stepScope = new PartitionedSearchStepScope<>(phaseScope);
                 stepStarted(stepScope);
+                // Apply the latest improvement of every changed partition in a single step
+                PartitionChangeMove<Solution_> step = PartitionChangeMove.mergeMoves(moveBatch)
+                        .rebase(parentScoreDirector);
                 stepScope.setStep(step);
                 if (logger.isDebugEnabled()) {
                     stepScope.setStepString(step.toString());
@@ -144,6 +190,7 @@ public class DefaultPartitionedSearchPhase<Solution_> extends AbstractPhase<Solu
                 phaseScope.setLastCompletedStepScope(stepScope);
             }
         } finally {
+            phaseScope.addPartitionMoveCount(partitionQueue.getMoveCount(), partitionQueue.getCoalescedMoveCount());
             // 1. In case one of the partition threads threw an Exception, it is propagated here
             // but the other partition threads are not aware of the failure and may continue solving for a long time,
             // so we need to ask them to terminate. In case no exception was thrown, this does nothing.
@@ -184,7 +231,6 @@ public class DefaultPartitionedSearchPhase<Solution_> extends AbstractPhase<Solu
                 executor.shutdownNow();
             }
         }
-        phaseEnded(phaseScope);
     }
 
     private ExecutorService createThreadPoolExecutor(int partCount) {
@@ -220,6 +266,7 @@ public class DefaultPartitionedSearchPhase<Solution_> extends AbstractPhase<Solu
         DefaultSolverScope<Solution_> partSolverScope
                 = solverScope.createChildThreadSolverScope(ChildThreadType.PART_THREAD);
         partSolverScope.setRunnableThreadSemaphore(runnablePartThreadSemaphore);
+        partSolverScope.setRunnableThreadStepSlice(runnablePartThreadStepSlice);
         return new PartitionSolver<>(partTermination, bestSolutionRecaller, phaseList, partSolverScope);
     }
 
@@ -260,7 +307,8 @@ public class DefaultPartitionedSearchPhase<Solution_> extends AbstractPhase<Solu
         super.phaseEnded(phaseScope);
         phaseScope.endingNow();
         logger.info("{}Partitioned Search phase ({}) ended: time spent ({}), best score ({}),"
-                + " score calculation speed ({}/sec), step total ({}), partCount ({}), runnablePartThreadLimit ({}).",
+                + " score calculation speed ({}/sec), step total ({}), partCount ({}), repartition count ({}),"
+                + " partition move count ({}), coalesced ({}), runnablePartThreadLimit ({}).",
                 logIndentation,
                 phaseIndex,
                 phaseScope.calculateSolverTimeMillisSpentUpToNow(),
@@ -268,6 +316,9 @@ public class DefaultPartitionedSearchPhase<Solution_> extends AbstractPhase<Solu
                 phaseScope.getPhaseScoreCalculationSpeed(),
                 phaseScope.getNextStepIndex(),
                 phaseScope.getPartCount(),
+                phaseScope.getRepartitionCount(),
+                phaseScope.getPartitionMoveCount(),
+                phaseScope.getCoalescedPartitionMoveCount(),
                 runnablePartThreadLimit);
     }
 
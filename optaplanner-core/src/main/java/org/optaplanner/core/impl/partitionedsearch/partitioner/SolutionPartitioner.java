@@ -21,6 +21,7 @@ import java.util.List;
 import org.optaplanner.core.api.domain.entity.PlanningEntity;
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.domain.solution.cloner.SolutionCloner;
+import org.optaplanner.core.config.partitionedsearch.PartitionedSearchPhaseConfig;
 import org.optaplanner.core.impl.score.director.ScoreDirector;
 
 /**
@@ -47,4 +48,23 @@ public interface SolutionPartitioner<Solution_> {
      */
     List<Solution_> splitWorkingSolution(ScoreDirector<Solution_> scoreDirector, Integer runnablePartThreadLimit);
 
+    /**
+     * Like {@link #splitWorkingSolution(ScoreDirector, Integer)},
+     * but called again when the partitions are merged and the working solution is repartitioned.
+     * <p>
+     * Override this method to split differently in every repartition (for example by shifting the boundaries),
+     * so improvements that cross the boundaries of the previous partitions become possible.
+     * The default implementation splits up the same way every time,
+     * so repartitioning (see {@link PartitionedSearchPhaseConfig#getRepartitionCountLimit()}) requires overriding it.
+     * @param scoreDirector never null, the {@link ScoreDirector}
+     * which has the {@link ScoreDirector#getWorkingSolution()} that needs to be split up
+     * @param runnablePartThreadLimit null if unlimited, never negative
+     * @param repartitionIndex {@code 0} for the initial split, incremented for every repartition
+     * @return never null, {@link List#size()} of at least 1.
+     */
+    default List<Solution_> splitWorkingSolution(ScoreDirector<Solution_> scoreDirector,
+            Integer runnablePartThreadLimit, int repartitionIndex) {
+        return splitWorkingSolution(scoreDirector, runnablePartThreadLimit);
+    }
+
 }
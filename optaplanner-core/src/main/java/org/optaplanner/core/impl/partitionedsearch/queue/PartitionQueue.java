@@ -16,13 +16,16 @@
 
 package org.optaplanner.core.impl.partitionedsearch.queue;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
@@ -33,9 +36,13 @@ import org.slf4j.LoggerFactory;
 
 /**
  * This class is thread-safe.
+ * <p>
+ * Pending moves are coalesced per partIndex: only the latest move of a partition is kept until it is consumed.
+ * The consumer iterates over batches: every batch contains the latest pending move of every partition
+ * that has changed since the previous batch, in the order in which those partitions first changed.
  * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
  */
-public class PartitionQueue<Solution_> implements Iterable<PartitionChangeMove<Solution_>> {
+public class PartitionQueue<Solution_> implements Iterable<List<PartitionChangeMove<Solution_>>> {
 
     protected final transient Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -44,14 +51,17 @@ public class PartitionQueue<Solution_> implements Iterable<PartitionChangeMove<S
 
     // Only used by producers
     private final Map<Integer, AtomicLong> nextEventIndexMap;
+    private final AtomicLong moveCount = new AtomicLong(0L);
+    private final AtomicLong coalescedMoveCount = new AtomicLong(0L);
 
     // Only used by consumer
     private int openPartCount;
-    private final Map<Integer, Long> processedEventIndexMap; // Key is partIndex
+    private long partTerminationTimeMillis = -1L;
+    private Runnable partTerminator = null;
 
     public PartitionQueue(int partCount) {
-        // TODO partCount * 100 is pulled from thin air
-        queue = new ArrayBlockingQueue<>(partCount * 100);
+        // Per partIndex, there is at most 1 pending move event, 1 finish event and 1 exception event in the queue
+        queue = new ArrayBlockingQueue<>(partCount * 3);
         moveEventMap = new ConcurrentHashMap<>(partCount);
         Map<Integer, AtomicLong> nextEventIndexMap = new HashMap<>(partCount);
         for (int i = 0; i < partCount; i++) {
@@ -59,16 +69,40 @@ public class PartitionQueue<Solution_> implements Iterable<PartitionChangeMove<S
         }
         this.nextEventIndexMap = Collections.unmodifiableMap(nextEventIndexMap);
         openPartCount = partCount;
-        // HashMap because only the consumer thread uses it
-        processedEventIndexMap = new HashMap<>(partCount);
-        for (int i = 0; i < partCount; i++) {
-            processedEventIndexMap.put(i, -1L);
-        }
+    }
+
+    /**
+     * Not thread-safe: call it before iterating.
+     * Once the partTerminationTimeMillis is reached, the consumer calls the partTerminator (only once)
+     * while it waits for events, so the partitions finish even if they have no termination of their own.
+     * @param partTerminationTimeMillis the {@link System#currentTimeMillis()} at which the partitions must terminate
+     * @param partTerminator never null, asks every partition to terminate, must not block
+     */
+    public void setPartTermination(long partTerminationTimeMillis, Runnable partTerminator) {
+        this.partTerminationTimeMillis = partTerminationTimeMillis;
+        this.partTerminator = partTerminator;
     }
 
     /**
      * This method is thread-safe.
-     * The previous move(s) for this partIndex (if it hasn't been consumed yet), will be skipped during iteration.
+     * @return at least 0, the number of moves added with {@link #addMove(int, PartitionChangeMove)}
+     */
+    public long getMoveCount() {
+        return moveCount.get();
+    }
+
+    /**
+     * This method is thread-safe.
+     * @return at least 0, the number of moves that were dropped
+     * because a later move of the same partIndex was added before they were consumed
+     */
+    public long getCoalescedMoveCount() {
+        return coalescedMoveCount.get();
+    }
+
+    /**
+     * This method is thread-safe.
+     * The previous move for this partIndex (if it hasn't been consumed yet), will be skipped during iteration.
      * @param partIndex {@code 0 <= partIndex < partCount}
      * @param move never null
      */
@@ -76,7 +110,13 @@ public class PartitionQueue<Solution_> implements Iterable<PartitionChangeMove<S
         long eventIndex = nextEventIndexMap.get(partIndex).getAndIncrement();
         PartitionChangedEvent<Solution_> event = new PartitionChangedEvent<>(
                 partIndex, eventIndex, move);
-        moveEventMap.put(event.getPartIndex(), event);
+        moveCount.incrementAndGet();
+        PartitionChangedEvent<Solution_> pendingEvent = moveEventMap.put(partIndex, event);
+        if (pendingEvent != null) {
+            // The consumer hasn't taken the pending event out of the map yet, so it will take this one instead
+            coalescedMoveCount.incrementAndGet();
+            return;
+        }
         queue.add(event);
     }
 
@@ -107,47 +147,73 @@ public class PartitionQueue<Solution_> implements Iterable<PartitionChangeMove<S
     }
 
     @Override
-    public Iterator<PartitionChangeMove<Solution_>> iterator() {
+    public Iterator<List<PartitionChangeMove<Solution_>>> iterator() {
         // TODO Currently doesn't be support to be called twice on the same instance
         return new PartitionQueueIterator();
     }
 
-    private class PartitionQueueIterator extends UpcomingSelectionIterator<PartitionChangeMove<Solution_>> {
+    private class PartitionQueueIterator extends UpcomingSelectionIterator<List<PartitionChangeMove<Solution_>>> {
+
+        private PartitionChangedEvent<Solution_> pendingExceptionEvent = null;
 
         @Override
-        protected PartitionChangeMove<Solution_> createUpcomingSelection() {
+        protected List<PartitionChangeMove<Solution_>> createUpcomingSelection() {
+            if (pendingExceptionEvent != null) {
+                throw createRelayedException(pendingExceptionEvent);
+            }
+            if (openPartCount <= 0) {
+                // The last batch was returned together with the last finish event
+                return noUpcomingSelection();
+            }
+            List<PartitionChangeMove<Solution_>> moveBatch = new ArrayList<>();
+            // Maps a partIndex to the index of its move in the moveBatch
+            Map<Integer, Integer> batchIndexMap = new HashMap<>();
             while (true) {
                 PartitionChangedEvent<Solution_> triggerEvent;
-                try {
-                    triggerEvent = queue.take();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw new IllegalStateException("Solver thread was interrupted in Partitioned Search.", e);
+                if (moveBatch.isEmpty()) {
+                    try {
+                        triggerEvent = takeEvent();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Solver thread was interrupted in Partitioned Search.", e);
+                    }
+                } else {
+                    // Drain the events that are already available, without waiting for more
+                    triggerEvent = queue.poll();
+                    if (triggerEvent == null) {
+                        return moveBatch;
+                    }
                 }
                 switch (triggerEvent.getType()) {
                     case MOVE:
                         int partIndex = triggerEvent.getPartIndex();
-                        long processedEventIndex = processedEventIndexMap.get(partIndex);
-                        if (triggerEvent.getEventIndex() <= processedEventIndex) {
-                            // Skip this one because it or a better version was already processed
-                            logger.trace("    Skipped event of partIndex ({}).", partIndex);
-                            continue;
+                        // Take the latest move of that partIndex, which might be newer than the trigger event
+                        PartitionChangedEvent<Solution_> latestMoveEvent = moveEventMap.remove(partIndex);
+                        Integer batchIndex = batchIndexMap.get(partIndex);
+                        if (batchIndex == null) {
+                            batchIndexMap.put(partIndex, moveBatch.size());
+                            moveBatch.add(latestMoveEvent.getMove());
+                        } else {
+                            // That partIndex added another move after its earlier move was taken into this batch,
+                            // so that earlier move is outdated
+                            moveBatch.set(batchIndex, latestMoveEvent.getMove());
+                            coalescedMoveCount.incrementAndGet();
                         }
-                        PartitionChangedEvent<Solution_> latestMoveEvent = moveEventMap.get(partIndex);
-                        processedEventIndexMap.put(partIndex, latestMoveEvent.getEventIndex());
-                        return latestMoveEvent.getMove();
+                        continue;
                     case FINISHED:
                         openPartCount--;
                         if (openPartCount <= 0) {
-                            return noUpcomingSelection();
+                            return moveBatch.isEmpty() ? noUpcomingSelection() : moveBatch;
                         } else {
                             continue;
                         }
                     case EXCEPTION_THROWN:
-                        throw new IllegalStateException("The partition child thread with partIndex ("
-                                + triggerEvent.getPartIndex() + ") has thrown an exception."
-                                + " Relayed here in the parent thread.",
-                                triggerEvent.getThrowable());
+                        if (moveBatch.isEmpty()) {
+                            throw createRelayedException(triggerEvent);
+                        }
+                        // Return the moves that were added before the exception first
+                        pendingExceptionEvent = triggerEvent;
+                        return moveBatch;
                     default:
                         throw new IllegalStateException("The partitionChangedEventType ("
                                 + triggerEvent.getType() + ") is not implemented.");
@@ -155,6 +221,29 @@ public class PartitionQueue<Solution_> implements Iterable<PartitionChangeMove<S
             }
         }
 
+        private PartitionChangedEvent<Solution_> takeEvent() throws InterruptedException {
+            while (partTerminator != null) {
+                long waitMillis = partTerminationTimeMillis - System.currentTimeMillis();
+                if (waitMillis > 0L) {
+                    PartitionChangedEvent<Solution_> event = queue.poll(waitMillis, TimeUnit.MILLISECONDS);
+                    if (event != null) {
+                        return event;
+                    }
+                } else {
+                    partTerminator.run();
+                    partTerminator = null;
+                }
+            }
+            return queue.take();
+        }
+
+        private IllegalStateException createRelayedException(PartitionChangedEvent<Solution_> exceptionEvent) {
+            return new IllegalStateException("The partition child thread with partIndex ("
+                    + exceptionEvent.getPartIndex() + ") has thrown an exception."
+                    + " Relayed here in the parent thread.",
+                    exceptionEvent.getThrowable());
+        }
+
     }
 
 }
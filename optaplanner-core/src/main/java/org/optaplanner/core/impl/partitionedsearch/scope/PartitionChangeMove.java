@@ -17,6 +17,7 @@
 package org.optaplanner.core.impl.partitionedsearch.scope;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -67,13 +68,48 @@ public final class PartitionChangeMove<Solution_> extends AbstractMove<Solution_
         return new PartitionChangeMove<>(changeMap, partIndex);
     }
 
+    /**
+     * Merges the moves of different partitions into 1 move,
+     * so they can be applied on the parent solution in a single step.
+     * Because every entity belongs to exactly 1 partition, the order of the moves is irrelevant.
+     * @param moveList never null, not empty, every move must have a different partIndex
+     * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+     * @return never null, the only element of the moveList if it has only 1 element
+     */
+    public static <Solution_> PartitionChangeMove<Solution_> mergeMoves(List<PartitionChangeMove<Solution_>> moveList) {
+        if (moveList.size() == 1) {
+            return moveList.get(0);
+        }
+        Map<GenuineVariableDescriptor<Solution_>, List<Pair<Object, Object>>> mergedChangeMap
+                = new LinkedHashMap<>(moveList.get(0).changeMap.size());
+        int[] mergedPartIndexes = new int[moveList.size()];
+        int i = 0;
+        for (PartitionChangeMove<Solution_> move : moveList) {
+            if (move.partIndexes.length != 1) {
+                throw new IllegalArgumentException("The move (" + move + ") is already a merged move.");
+            }
+            for (Map.Entry<GenuineVariableDescriptor<Solution_>, List<Pair<Object, Object>>> entry
+                    : move.changeMap.entrySet()) {
+                mergedChangeMap.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).addAll(entry.getValue());
+            }
+            mergedPartIndexes[i] = move.partIndexes[0];
+            i++;
+        }
+        return new PartitionChangeMove<>(mergedChangeMap, mergedPartIndexes);
+    }
+
     private final Map<GenuineVariableDescriptor<Solution_>, List<Pair<Object, Object>>> changeMap;
-    private final int partIndex;
+    private final int[] partIndexes;
 
     public PartitionChangeMove(Map<GenuineVariableDescriptor<Solution_>, List<Pair<Object, Object>>> changeMap,
                                int partIndex) {
+        this(changeMap, new int[]{partIndex});
+    }
+
+    private PartitionChangeMove(Map<GenuineVariableDescriptor<Solution_>, List<Pair<Object, Object>>> changeMap,
+                                int[] partIndexes) {
         this.changeMap = changeMap;
-        this.partIndex = partIndex;
+        this.partIndexes = partIndexes;
     }
 
     @Override
@@ -109,7 +145,8 @@ public final class PartitionChangeMove<Solution_> extends AbstractMove<Solution_
         throw new UnsupportedOperationException();
     }
 
-    public PartitionChangeMove<Solution_> rebase(InnerScoreDirector<Solution_> destinationScoreDirector) {
+    @Override
+    public PartitionChangeMove<Solution_> rebase(ScoreDirector<Solution_> destinationScoreDirector) {
         Map<GenuineVariableDescriptor<Solution_>, List<Pair<Object, Object>>> destinationChangeMap
                 = new LinkedHashMap<>(changeMap.size());
         for (Map.Entry<GenuineVariableDescriptor<Solution_>, List<Pair<Object, Object>>> entry : changeMap.entrySet()) {
@@ -138,13 +175,15 @@ public final class PartitionChangeMove<Solution_> extends AbstractMove<Solution_
             }
             destinationChangeMap.put(variableDescriptor, destinationPairList);
         }
-        return new PartitionChangeMove<>(destinationChangeMap, partIndex);
+        return new PartitionChangeMove<>(destinationChangeMap, partIndexes);
     }
 
     @Override
     public String toString() {
         int changeCount = changeMap.values().stream().mapToInt(List::size).sum();
-        return "part-" + partIndex + " {" + changeCount + " variables changed}";
+        String partString = partIndexes.length == 1 ? "part-" + partIndexes[0]
+                : "parts-" + Arrays.toString(partIndexes);
+        return partString + " {" + changeCount + " variables changed}";
     }
 
 }
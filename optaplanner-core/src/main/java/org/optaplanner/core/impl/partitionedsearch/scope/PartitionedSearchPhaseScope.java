@@ -26,6 +26,9 @@ import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
 public class PartitionedSearchPhaseScope<Solution_> extends AbstractPhaseScope<Solution_> {
 
     private Integer partCount;
+    private int repartitionCount = 0;
+    private long partitionMoveCount = 0L;
+    private long coalescedPartitionMoveCount = 0L;
 
     private PartitionedSearchStepScope<Solution_> lastCompletedStepScope;
 
@@ -42,6 +45,37 @@ public class PartitionedSearchPhaseScope<Solution_> extends AbstractPhaseScope<S
         this.partCount = partCount;
     }
 
+    /**
+     * @return at least 0, the number of times the working solution has been split again after the initial split
+     */
+    public int getRepartitionCount() {
+        return repartitionCount;
+    }
+
+    public void setRepartitionCount(int repartitionCount) {
+        this.repartitionCount = repartitionCount;
+    }
+
+    /**
+     * @return at least 0, the number of partition improvements received from the part threads
+     */
+    public long getPartitionMoveCount() {
+        return partitionMoveCount;
+    }
+
+    /**
+     * @return at least 0, the number of partition improvements that were dropped
+     * because a later improvement of the same partition superseded them before they were applied
+     */
+    public long getCoalescedPartitionMoveCount() {
+        return coalescedPartitionMoveCount;
+    }
+
+    public void addPartitionMoveCount(long partitionMoveCount, long coalescedPartitionMoveCount) {
+        this.partitionMoveCount += partitionMoveCount;
+        this.coalescedPartitionMoveCount += coalescedPartitionMoveCount;
+    }
+
     @Override
     public PartitionedSearchStepScope<Solution_> getLastCompletedStepScope() {
         return lastCompletedStepScope;
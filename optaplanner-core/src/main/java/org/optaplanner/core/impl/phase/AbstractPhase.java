@@ -176,6 +176,7 @@ public abstract class AbstractPhase<Solution_> implements Phase<Solution_> {
         solverPhaseLifecycleSupport.fireStepEnded(stepScope);
         termination.stepEnded(stepScope);
         phaseLifecycleSupport.fireStepEnded(stepScope);
+        stepScope.getPhaseScope().getSolverScope().checkYieldingAfterStep();
     }
 
     @Override
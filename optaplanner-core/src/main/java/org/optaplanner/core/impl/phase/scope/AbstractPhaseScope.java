@@ -42,9 +42,11 @@ public abstract class AbstractPhaseScope<Solution_> {
 
     protected Long startingSystemTimeMillis;
     protected Long startingScoreCalculationCount;
+    protected Long startingNotDoableMoveCount;
     protected Score startingScore;
     protected Long endingSystemTimeMillis;
     protected Long endingScoreCalculationCount;
+    protected Long endingNotDoableMoveCount;
 
     protected int bestSolutionStepIndex;
 
@@ -93,12 +95,14 @@ public abstract class AbstractPhaseScope<Solution_> {
 
     public void startingNow() {
         startingSystemTimeMillis = System.currentTimeMillis();
-        startingScoreCalculationCount = getScoreDirector().getCalculationCount();
+        startingScoreCalculationCount = solverScope.getScoreCalculationCount();
+        startingNotDoableMoveCount = solverScope.getNotDoableMoveCount();
     }
 
     public void endingNow() {
         endingSystemTimeMillis = System.currentTimeMillis();
-        endingScoreCalculationCount = getScoreDirector().getCalculationCount();
+        endingScoreCalculationCount = solverScope.getScoreCalculationCount();
+        endingNotDoableMoveCount = solverScope.getNotDoableMoveCount();
     }
 
     public SolutionDescriptor<Solution_> getSolutionDescriptor() {
@@ -126,6 +130,13 @@ public abstract class AbstractPhaseScope<Solution_> {
         return endingScoreCalculationCount - startingScoreCalculationCount;
     }
 
+    /**
+     * @return at least 0, see {@link AbstractStepScope#getNotDoableMoveCount()}
+     */
+    public long getPhaseNotDoableMoveCount() {
+        return endingNotDoableMoveCount - startingNotDoableMoveCount;
+    }
+
     /**
      * @return at least 0, per second
      */
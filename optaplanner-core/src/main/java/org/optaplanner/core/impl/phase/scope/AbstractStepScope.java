@@ -33,6 +33,7 @@ public abstract class AbstractStepScope<Solution_> {
     protected Boolean bestScoreImproved;
     // Stays null if there is no need to clone it
     protected Solution_ clonedSolution = null;
+    protected long notDoableMoveCount = 0L;
 
     public abstract AbstractPhaseScope<Solution_> getPhaseScope();
 
@@ -68,6 +69,19 @@ public abstract class AbstractStepScope<Solution_> {
         this.clonedSolution = clonedSolution;
     }
 
+    /**
+     * @return {@code >= 0}, the number of selected moves that were filtered out before evaluation
+     * because they weren't doable
+     */
+    public long getNotDoableMoveCount() {
+        return notDoableMoveCount;
+    }
+
+    public void incrementNotDoableMoveCount() {
+        notDoableMoveCount++;
+        getPhaseScope().getSolverScope().incrementNotDoableMoveCount();
+    }
+
     // ************************************************************************
     // Calculated methods
     // ************************************************************************
@@ -35,6 +35,7 @@ import org.optaplanner.core.impl.domain.entity.descriptor.EntityDescriptor;
 import org.optaplanner.core.impl.domain.lookup.ClassAndPlanningIdComparator;
 import org.optaplanner.core.impl.domain.lookup.LookUpManager;
 import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
 import org.optaplanner.core.impl.domain.variable.descriptor.ShadowVariableDescriptor;
 import org.optaplanner.core.impl.domain.variable.descriptor.VariableDescriptor;
 import org.optaplanner.core.impl.domain.variable.listener.VariableListener;
@@ -71,8 +72,17 @@ public abstract class AbstractScoreDirector<Solution_, Factory_ extends Abstract
     protected Integer workingInitScore = null;
 
     protected boolean allChangesWillBeUndoneBeforeStepEnds = false;
+    protected WorkingSolutionSnapshot<Solution_> workingSolutionSnapshot = null;
+    // Lazily created by the first startSpeculativeChanges() call and then reused
+    protected VariableChangeLog<Solution_> variableChangeLog = null;
+    protected boolean speculating = false;
+    protected boolean rollingBack = false;
 
     protected long calculationCount = 0L;
+    /**
+     * Only used by {@link #calculateScoreWithoutMaterializing()}, null if not materialized yet.
+     */
+    protected Score calculatedScore = null;
 
     protected AbstractScoreDirector(Factory_ scoreDirectorFactory,
             boolean lookUpEnabled, boolean constraintMatchEnabledPreference) {
@@ -123,6 +133,7 @@ public abstract class AbstractScoreDirector<Solution_, Factory_ extends Abstract
         return workingEntityListRevision;
     }
 
+    @Override
     public boolean isAllChangesWillBeUndoneBeforeStepEnds() {
         return allChangesWillBeUndoneBeforeStepEnds;
     }
@@ -132,6 +143,51 @@ public abstract class AbstractScoreDirector<Solution_, Factory_ extends Abstract
         this.allChangesWillBeUndoneBeforeStepEnds = allChangesWillBeUndoneBeforeStepEnds;
     }
 
+    @Override
+    public void startSpeculativeChanges() {
+        if (speculating) {
+            throw new IllegalStateException("The speculative changes have already been started.\n"
+                    + "Maybe rollbackSpeculativeChanges() wasn't called after the previous move.");
+        }
+        if (variableChangeLog == null) {
+            variableChangeLog = new VariableChangeLog<>();
+        }
+        speculating = true;
+    }
+
+    @Override
+    public void rollbackSpeculativeChanges() {
+        if (!speculating) {
+            throw new IllegalStateException("The speculative changes have not been started.");
+        }
+        variableListenerSupport.assertNotificationQueuesAreEmpty();
+        speculating = false;
+        rollingBack = true;
+        try {
+            for (int i = variableChangeLog.size() - 1; i >= 0; i--) {
+                VariableDescriptor<Solution_> variableDescriptor = variableChangeLog.getVariableDescriptor(i);
+                Object entity = variableChangeLog.getEntity(i);
+                beforeVariableChanged(variableDescriptor, entity);
+                variableChangeLog.restoreOldValue(i);
+                afterVariableChanged(variableDescriptor, entity);
+            }
+        } finally {
+            rollingBack = false;
+            variableChangeLog.clear();
+        }
+        // Only the supplies (such as an externalized inverse relation) are notified of the restored values
+        variableListenerSupport.triggerVariableListenersInNotificationQueues();
+    }
+
+    private void assertNotSpeculating(Object entity, String action) {
+        if (speculating) {
+            throw new IllegalStateException("The entity (" + entity + ") is " + action
+                    + " during a speculative move evaluation, which can't be rolled back.\n"
+                    + "Maybe disable speculativeMoveEvaluationEnabled in the localSearch phase"
+                    + " for a move that adds or removes entities.");
+        }
+    }
+
     @Override
     public long getCalculationCount() {
         return calculationCount;
@@ -153,6 +209,7 @@ public abstract class AbstractScoreDirector<Solution_, Factory_ extends Abstract
 
     @Override
     public void setWorkingSolution(Solution_ workingSolution) {
+        materializeWorkingSolutionSnapshot();
         this.workingSolution = workingSolution;
         SolutionDescriptor<Solution_> solutionDescriptor = getSolutionDescriptor();
         workingInitScore = - solutionDescriptor.countUninitializedVariables(workingSolution);
@@ -209,6 +266,26 @@ public abstract class AbstractScoreDirector<Solution_, Factory_ extends Abstract
         return cloneSolution;
     }
 
+    @Override
+    public WorkingSolutionSnapshot<Solution_> takeWorkingSolutionSnapshot(Score score) {
+        if (workingSolutionSnapshot != null) {
+            workingSolutionSnapshot.stopTracking();
+        }
+        workingSolutionSnapshot = new WorkingSolutionSnapshot<>(this, score);
+        return workingSolutionSnapshot;
+    }
+
+    /**
+     * Materializes the {@link WorkingSolutionSnapshot}, if any,
+     * before a change of the working solution that it can't undo on its own.
+     */
+    protected void materializeWorkingSolutionSnapshot() {
+        if (workingSolutionSnapshot != null) {
+            workingSolutionSnapshot.materializeBeforeUntrackedChange();
+            workingSolutionSnapshot = null;
+        }
+    }
+
     @Override
     public int getWorkingEntityCount() {
         return getSolutionDescriptor().getEntityCount(workingSolution);
@@ -234,6 +311,46 @@ public abstract class AbstractScoreDirector<Solution_, Factory_ extends Abstract
         calculationCount++;
     }
 
+    /**
+     * This default implementation materializes the {@link Score} immediately.
+     * A subclass that accumulates the score in primitives can override it
+     * together with {@link #compareCalculatedScoreTo(Score)} and {@link #materializeCalculatedScore()}.
+     */
+    @Override
+    public void calculateScoreWithoutMaterializing() {
+        calculatedScore = calculateScore();
+    }
+
+    @Override
+    public int compareCalculatedScoreTo(Score otherScore) {
+        return calculatedScore.compareTo(otherScore);
+    }
+
+    @Override
+    public Score materializeCalculatedScore() {
+        return calculatedScore;
+    }
+
+    /**
+     * This default implementation doesn't support it,
+     * so the change is done (and undone) to calculate the {@link Score}.
+     */
+    @Override
+    public Score calculateChangeScoreWithoutDoing(Object entity,
+            GenuineVariableDescriptor<Solution_> variableDescriptor, Object toPlanningValue) {
+        return null;
+    }
+
+    /**
+     * This default implementation doesn't support it,
+     * so the swap is done (and undone) to calculate the {@link Score}.
+     */
+    @Override
+    public Score calculateSwapScoreWithoutDoing(Object leftEntity, Object rightEntity,
+            List<GenuineVariableDescriptor<Solution_>> variableDescriptorList) {
+        return null;
+    }
+
     @Override
     public AbstractScoreDirector<Solution_, Factory_> clone() {
         // Breaks incremental score calculation.
@@ -246,20 +363,30 @@ public abstract class AbstractScoreDirector<Solution_, Factory_ extends Abstract
 
     @Override
     public InnerScoreDirector<Solution_> createChildThreadScoreDirector(ChildThreadType childThreadType) {
-        AbstractScoreDirector<Solution_, Factory_> childThreadScoreDirector = (AbstractScoreDirector<Solution_, Factory_>)
-                scoreDirectorFactory.buildScoreDirector(false, constraintMatchEnabledPreference);
         if (childThreadType == ChildThreadType.PART_THREAD) {
+            AbstractScoreDirector<Solution_, Factory_> childThreadScoreDirector = (AbstractScoreDirector<Solution_, Factory_>)
+                    scoreDirectorFactory.buildScoreDirector(false, constraintMatchEnabledPreference);
             // ScoreCalculationCountTermination takes into account previous phases
             // but the calculationCount of partitions is maxed, not summed.
             childThreadScoreDirector.calculationCount = calculationCount;
+            return childThreadScoreDirector;
+        } else if (childThreadType == ChildThreadType.MOVE_THREAD) {
+            // The move thread needs look up to rebase the moves and steps of the solver thread
+            AbstractScoreDirector<Solution_, Factory_> childThreadScoreDirector = (AbstractScoreDirector<Solution_, Factory_>)
+                    scoreDirectorFactory.buildScoreDirector(true, constraintMatchEnabledPreference);
+            childThreadScoreDirector.setWorkingSolution(cloneWorkingSolution());
+            return childThreadScoreDirector;
         } else {
             throw new IllegalStateException("The childThreadType (" + childThreadType + ") is not implemented.");
         }
-        return childThreadScoreDirector;
     }
 
     @Override
     public void close() {
+        if (workingSolutionSnapshot != null) {
+            workingSolutionSnapshot.stopTracking();
+            workingSolutionSnapshot = null;
+        }
         workingSolution = null;
         workingInitScore = null;
         if (lookUpEnabled) {
@@ -307,6 +434,8 @@ public abstract class AbstractScoreDirector<Solution_, Factory_ extends Abstract
     }
 
     public void beforeEntityAdded(EntityDescriptor<Solution_> entityDescriptor, Object entity) {
+        assertNotSpeculating(entity, "added");
+        materializeWorkingSolutionSnapshot();
         variableListenerSupport.beforeEntityAdded(entityDescriptor, entity);
     }
 
@@ -326,7 +455,17 @@ public abstract class AbstractScoreDirector<Solution_, Factory_ extends Abstract
         if (variableDescriptor.isGenuineAndUninitialized(entity)) {
             workingInitScore++;
         }
-        variableListenerSupport.beforeVariableChanged(variableDescriptor, entity);
+        if (workingSolutionSnapshot != null && workingSolutionSnapshot.isTracking()) {
+            workingSolutionSnapshot.beforeVariableChanged(entity);
+        }
+        if (speculating) {
+            variableChangeLog.recordChange(variableDescriptor, entity);
+        }
+        if (rollingBack) {
+            variableListenerSupport.beforeVariableRolledBack(variableDescriptor, entity);
+        } else {
+            variableListenerSupport.beforeVariableChanged(variableDescriptor, entity);
+        }
     }
 
     @Override
@@ -345,6 +484,8 @@ public abstract class AbstractScoreDirector<Solution_, Factory_ extends Abstract
     }
 
     public void beforeEntityRemoved(EntityDescriptor<Solution_> entityDescriptor, Object entity) {
+        assertNotSpeculating(entity, "removed");
+        materializeWorkingSolutionSnapshot();
         workingInitScore += entityDescriptor.countUninitializedVariables(entity);
         variableListenerSupport.beforeEntityRemoved(entityDescriptor, entity);
     }
@@ -365,7 +506,7 @@ public abstract class AbstractScoreDirector<Solution_, Factory_ extends Abstract
 
     @Override
     public void beforeProblemFactAdded(Object problemFact) {
-        // Do nothing
+        materializeWorkingSolutionSnapshot();
     }
 
     @Override
@@ -378,7 +519,7 @@ public abstract class AbstractScoreDirector<Solution_, Factory_ extends Abstract
 
     @Override
     public void beforeProblemPropertyChanged(Object problemFactOrEntity) {
-        // Do nothing
+        materializeWorkingSolutionSnapshot();
     }
 
     @Override
@@ -388,7 +529,7 @@ public abstract class AbstractScoreDirector<Solution_, Factory_ extends Abstract
 
     @Override
     public void beforeProblemFactRemoved(Object problemFact) {
-        // Do nothing
+        materializeWorkingSolutionSnapshot();
     }
 
     @Override
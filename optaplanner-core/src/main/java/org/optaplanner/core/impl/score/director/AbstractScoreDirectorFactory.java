@@ -41,6 +41,8 @@ public abstract class AbstractScoreDirectorFactory<Solution_> implements InnerSc
 
     protected boolean assertClonedSolution = false;
 
+    protected ConstraintCalculationProfiler constraintCalculationProfiler = null;
+
     @Override
     public SolutionDescriptor<Solution_> getSolutionDescriptor() {
         return solutionDescriptor;
@@ -80,6 +82,19 @@ public abstract class AbstractScoreDirectorFactory<Solution_> implements InnerSc
         this.assertClonedSolution = assertClonedSolution;
     }
 
+    @Override
+    public ConstraintCalculationProfiler getConstraintCalculationProfiler() {
+        return constraintCalculationProfiler;
+    }
+
+    /**
+     * Only affects the {@link ScoreDirector}s whose working solution is set afterwards.
+     * @param constraintCalculationProfiler sometimes null
+     */
+    public void setConstraintCalculationProfiler(ConstraintCalculationProfiler constraintCalculationProfiler) {
+        this.constraintCalculationProfiler = constraintCalculationProfiler;
+    }
+
     // ************************************************************************
     // Complex methods
     // ************************************************************************
@@ -104,4 +119,18 @@ public abstract class AbstractScoreDirectorFactory<Solution_> implements InnerSc
         }
     }
 
+    @Override
+    public void solvingStarted() {
+        if (assertionScoreDirectorFactory != null) {
+            assertionScoreDirectorFactory.solvingStarted();
+        }
+    }
+
+    @Override
+    public void solvingEnded() {
+        if (assertionScoreDirectorFactory != null) {
+            assertionScoreDirectorFactory.solvingEnded();
+        }
+    }
+
 }
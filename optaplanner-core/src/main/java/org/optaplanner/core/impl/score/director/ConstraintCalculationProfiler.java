@@ -0,0 +1,103 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.director;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.optaplanner.core.api.score.constraint.ConstraintCalculationTotal;
+
+/**
+ * Records how often each constraint is calculated and how long it takes.
+ * Shared by all {@link ScoreDirector}s of a {@link ScoreDirectorFactory}, so it's thread-safe.
+ * <p>
+ * A {@link ScoreDirector} should look up a {@link Counter} once and keep it,
+ * so recording a calculation doesn't create garbage.
+ */
+public class ConstraintCalculationProfiler {
+
+    private final ConcurrentMap<String, Counter> counterMap = new ConcurrentHashMap<>();
+
+    /**
+     * @param constraintPackage never null
+     * @param constraintName never null
+     * @return never null
+     */
+    public Counter getCounter(String constraintPackage, String constraintName) {
+        return counterMap.computeIfAbsent(constraintPackage + "/" + constraintName,
+                k -> new Counter(constraintPackage, constraintName));
+    }
+
+    /**
+     * @return never null, a snapshot, sorted by constraint id
+     */
+    public List<ConstraintCalculationTotal> getConstraintCalculationTotals() {
+        List<ConstraintCalculationTotal> constraintCalculationTotalList = new ArrayList<>(counterMap.size());
+        for (Counter counter : counterMap.values()) {
+            constraintCalculationTotalList.add(counter.toConstraintCalculationTotal());
+        }
+        Collections.sort(constraintCalculationTotalList);
+        return constraintCalculationTotalList;
+    }
+
+    /**
+     * Zeroes all counters. The {@link Counter} instances remain valid.
+     */
+    public void reset() {
+        for (Counter counter : counterMap.values()) {
+            counter.reset();
+        }
+    }
+
+    public static final class Counter {
+
+        private final String constraintPackage;
+        private final String constraintName;
+
+        private final LongAdder calculationCount = new LongAdder();
+        private final LongAdder timeNanosSpent = new LongAdder();
+
+        private Counter(String constraintPackage, String constraintName) {
+            this.constraintPackage = constraintPackage;
+            this.constraintName = constraintName;
+        }
+
+        /**
+         * @param timeNanos {@code >= 0}, the time spent in 1 calculation
+         */
+        public void addCalculation(long timeNanos) {
+            calculationCount.increment();
+            timeNanosSpent.add(timeNanos);
+        }
+
+        private ConstraintCalculationTotal toConstraintCalculationTotal() {
+            return new ConstraintCalculationTotal(constraintPackage, constraintName,
+                    calculationCount.sum(), timeNanosSpent.sum());
+        }
+
+        private void reset() {
+            calculationCount.reset();
+            timeNanosSpent.reset();
+        }
+
+    }
+
+}
@@ -22,6 +22,7 @@ import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.constraint.ConstraintMatch;
 import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
 import org.optaplanner.core.impl.domain.variable.listener.VariableListener;
 import org.optaplanner.core.impl.domain.variable.supply.SupplyManager;
 import org.optaplanner.core.impl.score.definition.ScoreDefinition;
@@ -79,6 +80,63 @@ public interface InnerScoreDirector<Solution_> extends ScoreDirector<Solution_>
      */
     Solution_ cloneSolution(Solution_ originalSolution);
 
+    /**
+     * Like {@link #cloneWorkingSolution()}, but the planning clone is only created
+     * when {@link WorkingSolutionSnapshot#getSolution()} is called (if ever).
+     * Until then, only the old variable values of the entities that change are recorded.
+     * <p>
+     * Taking a new snapshot supersedes the previous one: if it isn't materialized yet, it never will be.
+     * @param score never null, the {@link Score} of the working solution now, set on the planning clone
+     * @return never null
+     */
+    WorkingSolutionSnapshot<Solution_> takeWorkingSolutionSnapshot(Score score);
+
+    /**
+     * Like {@link #calculateScore()}, but the {@link Score} instance might only be created
+     * when {@link #materializeCalculatedScore()} is called.
+     * Until then, {@link #compareCalculatedScoreTo(Score)} compares it without creating it,
+     * so a move that is only compared (and then rejected) doesn't create garbage.
+     * <p>
+     * The calculated score is only valid until the {@link PlanningSolution working solution} changes
+     * (for example by an undo move): compare and materialize it before that.
+     */
+    void calculateScoreWithoutMaterializing();
+
+    /**
+     * @param otherScore never null
+     * @return like {@link Score#compareTo(Object)} for the score of the last
+     * {@link #calculateScoreWithoutMaterializing()}
+     */
+    int compareCalculatedScoreTo(Score otherScore);
+
+    /**
+     * @return never null, the score of the last {@link #calculateScoreWithoutMaterializing()},
+     * also set on the {@link PlanningSolution working solution}
+     */
+    Score materializeCalculatedScore();
+
+    /**
+     * Calculates the {@link Score} as if the variable of the entity was changed to the toPlanningValue,
+     * without changing the {@link PlanningSolution working solution}.
+     * @param entity never null
+     * @param variableDescriptor never null
+     * @param toPlanningValue sometimes null
+     * @return null if the score calculation doesn't support it, then the change must be done instead
+     */
+    Score calculateChangeScoreWithoutDoing(Object entity, GenuineVariableDescriptor<Solution_> variableDescriptor,
+            Object toPlanningValue);
+
+    /**
+     * Calculates the {@link Score} as if the entities swapped the values of those variables,
+     * without changing the {@link PlanningSolution working solution}.
+     * @param leftEntity never null
+     * @param rightEntity never null
+     * @param variableDescriptorList never null, only the variables that have a different value on both entities
+     * @return null if the score calculation doesn't support it, then the swap must be done instead
+     */
+    Score calculateSwapScoreWithoutDoing(Object leftEntity, Object rightEntity,
+            List<GenuineVariableDescriptor<Solution_>> variableDescriptorList);
+
     /**
      * @return {@code >= 0}
      */
@@ -124,6 +182,29 @@ public interface InnerScoreDirector<Solution_> extends ScoreDirector<Solution_>
      */
     void setAllChangesWillBeUndoneBeforeStepEnds(boolean allChangesWillBeUndoneBeforeStepEnds);
 
+    /**
+     * @return true if all changes will be undone before the step ends, so they don't affect the next step
+     * @see #setAllChangesWillBeUndoneBeforeStepEnds(boolean)
+     */
+    boolean isAllChangesWillBeUndoneBeforeStepEnds();
+
+    /**
+     * Starts recording every variable change (genuine and shadow) in a {@link VariableChangeLog},
+     * until {@link #rollbackSpeculativeChanges()} restores them all.
+     * <p>
+     * Adding or removing an entity in the meantime fails fast, because it can't be rolled back.
+     */
+    void startSpeculativeChanges();
+
+    /**
+     * Restores every variable change since {@link #startSpeculativeChanges()} in reverse order,
+     * notifying the score calculation of each restored change,
+     * but without triggering the shadow variable listeners again, because the shadow variables are restored too.
+     * <p>
+     * Must be called when no {@link #triggerVariableListeners() variable listeners are pending}.
+     */
+    void rollbackSpeculativeChanges();
+
     /**
      * Asserts that if the {@link Score} is calculated for the current {@link PlanningSolution working solution}
      * in the current {@link ScoreDirector} (with possibly incremental calculation residue),
@@ -19,6 +19,7 @@ package org.optaplanner.core.impl.score.director;
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.constraint.ConstraintMatch;
+import org.optaplanner.core.api.solver.Solver;
 import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
 import org.optaplanner.core.impl.score.definition.ScoreDefinition;
 import org.optaplanner.core.impl.score.trend.InitializingScoreTrend;
@@ -59,6 +60,11 @@ public interface InnerScoreDirectorFactory<Solution_> extends ScoreDirectorFacto
      */
     InitializingScoreTrend getInitializingScoreTrend();
 
+    /**
+     * @return null if the constraint calculations should not be profiled
+     */
+    ConstraintCalculationProfiler getConstraintCalculationProfiler();
+
     /**
      * Asserts that if the {@link Score} is calculated for the parameter solution,
      * it would be equal to the score of that parameter.
@@ -67,4 +73,17 @@ public interface InnerScoreDirectorFactory<Solution_> extends ScoreDirectorFacto
      */
     void assertScoreFromScratch(Solution_ solution);
 
+    /**
+     * Called when a {@link Solver#solve(Object)} that uses this factory starts,
+     * before any of its {@link ScoreDirector}s has a working solution.
+     * Every call is followed by a call to {@link #solvingEnded()}, even if solving fails.
+     */
+    void solvingStarted();
+
+    /**
+     * Called when a {@link Solver#solve(Object)} that uses this factory ends,
+     * so the resources it shares with concurrent solve calls can be released once they have all ended.
+     */
+    void solvingEnded();
+
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.director;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.impl.domain.variable.descriptor.VariableDescriptor;
+import org.optaplanner.core.impl.heuristic.move.Move;
+
+/**
+ * Records the old value of every variable change (genuine and shadow) notified through the {@link ScoreDirector},
+ * so all those changes can be rolled back in bulk, instead of doing an undo {@link Move}.
+ * <p>
+ * The shadow variable changes are recorded too, so rolling back doesn't need to trigger the variable listeners again.
+ * The lists are reused between rollbacks, so recording a change doesn't create garbage
+ * (except for collection shadow variables, which are changed in place and therefore copied).
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ * @see InnerScoreDirector#startSpeculativeChanges()
+ */
+public class VariableChangeLog<Solution_> {
+
+    private final List<VariableDescriptor<Solution_>> variableDescriptorList = new ArrayList<>();
+    private final List<Object> entityList = new ArrayList<>();
+    private final List<Object> oldValueList = new ArrayList<>();
+    /**
+     * Null for every non collection value, such as every genuine variable value.
+     */
+    private final List<List<Object>> oldCollectionContentsList = new ArrayList<>();
+
+    /**
+     * @return {@code >= 0}
+     */
+    public int size() {
+        return variableDescriptorList.size();
+    }
+
+    protected void recordChange(VariableDescriptor<Solution_> variableDescriptor, Object entity) {
+        Object oldValue = variableDescriptor.getValue(entity);
+        variableDescriptorList.add(variableDescriptor);
+        entityList.add(entity);
+        oldValueList.add(oldValue);
+        oldCollectionContentsList.add(oldValue instanceof Collection
+                ? new ArrayList<>((Collection<?>) oldValue) : null);
+    }
+
+    protected VariableDescriptor<Solution_> getVariableDescriptor(int index) {
+        return variableDescriptorList.get(index);
+    }
+
+    protected Object getEntity(int index) {
+        return entityList.get(index);
+    }
+
+    /**
+     * Sets the old value of a recorded change back on its entity, without any notification.
+     * @param index {@code 0 <= index < size()}
+     */
+    protected void restoreOldValue(int index) {
+        VariableDescriptor<Solution_> variableDescriptor = variableDescriptorList.get(index);
+        Object entity = entityList.get(index);
+        Object oldValue = oldValueList.get(index);
+        List<Object> oldCollectionContents = oldCollectionContentsList.get(index);
+        if (oldCollectionContents != null) {
+            Collection<Object> collection = (Collection<Object>) oldValue;
+            collection.clear();
+            collection.addAll(oldCollectionContents);
+        }
+        if (variableDescriptor.getValue(entity) != oldValue) {
+            variableDescriptor.setValue(entity, oldValue);
+        }
+    }
+
+    protected void clear() {
+        variableDescriptorList.clear();
+        entityList.clear();
+        oldValueList.clear();
+        oldCollectionContentsList.clear();
+    }
+
+}
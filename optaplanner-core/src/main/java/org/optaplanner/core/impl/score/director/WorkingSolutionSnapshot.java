@@ -0,0 +1,208 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.director;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.solver.event.BestSolutionChangedEvent;
+import org.optaplanner.core.impl.domain.entity.descriptor.EntityDescriptor;
+import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import org.optaplanner.core.impl.domain.variable.descriptor.VariableDescriptor;
+
+/**
+ * A copy-on-write snapshot of the {@link InnerScoreDirector#getWorkingSolution() working solution}.
+ * <p>
+ * Instead of planning cloning the working solution immediately,
+ * it records the variable values (genuine and shadow) of an entity the first time that entity changes.
+ * When the snapshot is materialized, those recorded values are temporarily swapped back into the working solution
+ * (without triggering any listeners), the working solution is planning cloned and the current values are restored.
+ * <p>
+ * Only the changes notified through the {@link ScoreDirector} (which is the contract for every move) are recorded,
+ * so any other change of the working solution (such as an entity or a problem fact added or removed)
+ * materializes this snapshot first.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ * @see InnerScoreDirector#takeWorkingSolutionSnapshot(Score)
+ */
+public class WorkingSolutionSnapshot<Solution_> {
+
+    private final InnerScoreDirector<Solution_> scoreDirector;
+    private final Score score;
+
+    private Map<Object, EntityValues> entityToOldValuesMap = new IdentityHashMap<>();
+    private boolean tracking = true;
+    private Solution_ solution = null;
+
+    protected WorkingSolutionSnapshot(InnerScoreDirector<Solution_> scoreDirector, Score score) {
+        this.scoreDirector = scoreDirector;
+        this.score = score;
+    }
+
+    /**
+     * @return never null, the {@link Score} of the working solution when this snapshot was taken
+     */
+    public Score getScore() {
+        return score;
+    }
+
+    /**
+     * @return true if {@link #getSolution()} won't fail
+     */
+    public boolean isMaterializable() {
+        return solution != null || tracking;
+    }
+
+    /**
+     * @return true if {@link #getSolution()} has been called before
+     */
+    public boolean isMaterialized() {
+        return solution != null;
+    }
+
+    /**
+     * Planning clones the working solution as it was when this snapshot was taken,
+     * the first time this method is called.
+     * <p>
+     * Must be called from the thread that owns the {@link ScoreDirector},
+     * at a moment that no {@link ScoreDirector#triggerVariableListeners() variable listeners are pending}.
+     * @return never null, always the same instance
+     * @throws IllegalStateException if this snapshot has been superseded by another before being materialized
+     */
+    public Solution_ getSolution() {
+        if (solution == null) {
+            if (!tracking) {
+                throw new IllegalStateException("The working solution snapshot with score (" + score
+                        + ") can no longer be materialized, because it was superseded by a newer snapshot"
+                        + " or its working solution has been closed.\n"
+                        + "Maybe the new best solution of a " + BestSolutionChangedEvent.class.getSimpleName()
+                        + " was retrieved after the event was handled (for example in another thread).\n"
+                        + "Maybe retrieve it during the event handling instead.");
+            }
+            solution = materialize();
+            tracking = false;
+            entityToOldValuesMap = null;
+        }
+        return solution;
+    }
+
+    // ************************************************************************
+    // Tracking methods, called by the ScoreDirector
+    // ************************************************************************
+
+    protected boolean isTracking() {
+        return tracking;
+    }
+
+    protected void beforeVariableChanged(Object entity) {
+        if (!entityToOldValuesMap.containsKey(entity)) {
+            EntityDescriptor<Solution_> entityDescriptor = scoreDirector.getSolutionDescriptor()
+                    .findEntityDescriptorOrFail(entity.getClass());
+            entityToOldValuesMap.put(entity, new EntityValues(entityDescriptor, entity));
+        }
+    }
+
+    /**
+     * Called before a change of the working solution that this snapshot can't undo on its own.
+     */
+    protected void materializeBeforeUntrackedChange() {
+        if (tracking) {
+            getSolution();
+        }
+    }
+
+    protected void stopTracking() {
+        tracking = false;
+        entityToOldValuesMap = null;
+    }
+
+    private Solution_ materialize() {
+        List<Object> entityList = new ArrayList<>(entityToOldValuesMap.size());
+        List<EntityValues> currentValuesList = new ArrayList<>(entityToOldValuesMap.size());
+        try {
+            for (Map.Entry<Object, EntityValues> entry : entityToOldValuesMap.entrySet()) {
+                Object entity = entry.getKey();
+                EntityValues oldValues = entry.getValue();
+                entityList.add(entity);
+                currentValuesList.add(new EntityValues(oldValues.entityDescriptor, entity));
+                oldValues.apply(entity);
+            }
+            Solution_ clone = scoreDirector.cloneWorkingSolution();
+            SolutionDescriptor<Solution_> solutionDescriptor = scoreDirector.getSolutionDescriptor();
+            solutionDescriptor.setScore(clone, score);
+            return clone;
+        } finally {
+            // Restore in reverse order, in case the same collection is shared by multiple variables
+            for (int i = currentValuesList.size() - 1; i >= 0; i--) {
+                currentValuesList.get(i).apply(entityList.get(i));
+            }
+        }
+    }
+
+    private final class EntityValues {
+
+        private final EntityDescriptor<Solution_> entityDescriptor;
+        private final Object[] values;
+        /**
+         * Null for every non collection variable, such as every genuine variable.
+         * Collection shadow variables (such as a non-chained inverse relation) are changed in place.
+         */
+        private final List<Object>[] collectionContents;
+
+        private EntityValues(EntityDescriptor<Solution_> entityDescriptor, Object entity) {
+            this.entityDescriptor = entityDescriptor;
+            Collection<VariableDescriptor<Solution_>> variableDescriptors = entityDescriptor.getVariableDescriptors();
+            values = new Object[variableDescriptors.size()];
+            List<Object>[] collectionContents = null;
+            int i = 0;
+            for (VariableDescriptor<Solution_> variableDescriptor : variableDescriptors) {
+                Object value = variableDescriptor.getValue(entity);
+                values[i] = value;
+                if (value instanceof Collection) {
+                    if (collectionContents == null) {
+                        collectionContents = new List[values.length];
+                    }
+                    collectionContents[i] = new ArrayList<>((Collection<?>) value);
+                }
+                i++;
+            }
+            this.collectionContents = collectionContents;
+        }
+
+        private void apply(Object entity) {
+            int i = 0;
+            for (VariableDescriptor<Solution_> variableDescriptor : entityDescriptor.getVariableDescriptors()) {
+                Object value = values[i];
+                if (collectionContents != null && collectionContents[i] != null) {
+                    Collection<Object> collection = (Collection<Object>) value;
+                    collection.clear();
+                    collection.addAll(collectionContents[i]);
+                }
+                if (variableDescriptor.getValue(entity) != value) {
+                    variableDescriptor.setValue(entity, value);
+                }
+                i++;
+            }
+        }
+
+    }
+
+}
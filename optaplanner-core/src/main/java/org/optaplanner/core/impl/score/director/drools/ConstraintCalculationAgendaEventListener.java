@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.director.drools;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.kie.api.definition.rule.Rule;
+import org.kie.api.event.rule.AfterMatchFiredEvent;
+import org.kie.api.event.rule.DefaultAgendaEventListener;
+import org.kie.api.runtime.KieSession;
+import org.optaplanner.core.impl.score.director.ConstraintCalculationProfiler;
+
+/**
+ * Records the fire count and the calculation time of each score rule.
+ * <p>
+ * With phreak, the conditions of a rule are matched lazily, during {@link KieSession#fireAllRules()},
+ * just before the matches of that rule fire.
+ * So the time between the previous fired match (or the start of {@link KieSession#fireAllRules()})
+ * and the end of a fired match is attributed to the rule of that match:
+ * it contains both the pattern matching of its conditions and its consequence.
+ * This is an approximation:
+ * <ul>
+ * <li>The pattern matching of a rule that doesn't fire (for example because it only lost matches)
+ * is attributed to the next rule that fires,
+ * or to {@link #UNFIRED_CONSTRAINT_NAME} if no rule fires after it.</li>
+ * <li>The insert, update and delete propagation outside of {@link KieSession#fireAllRules()}
+ * and nodes shared by several rules are not split per rule.</li>
+ * </ul>
+ * <p>
+ * Not thread-safe: use 1 instance per {@link DroolsScoreDirector}.
+ */
+public class ConstraintCalculationAgendaEventListener extends DefaultAgendaEventListener {
+
+    public static final String UNFIRED_CONSTRAINT_PACKAGE = "org.optaplanner.core";
+    public static final String UNFIRED_CONSTRAINT_NAME = "(rule evaluation after the last fired match)";
+
+    private final ConstraintCalculationProfiler constraintCalculationProfiler;
+    private final Map<Rule, ConstraintCalculationProfiler.Counter> ruleToCounterMap = new IdentityHashMap<>();
+    private final ConstraintCalculationProfiler.Counter unfiredCounter;
+
+    private long previousNanos = 0L;
+
+    public ConstraintCalculationAgendaEventListener(ConstraintCalculationProfiler constraintCalculationProfiler) {
+        this.constraintCalculationProfiler = constraintCalculationProfiler;
+        unfiredCounter = constraintCalculationProfiler.getCounter(
+                UNFIRED_CONSTRAINT_PACKAGE, UNFIRED_CONSTRAINT_NAME);
+    }
+
+    public void fireAllRulesStarted() {
+        previousNanos = System.nanoTime();
+    }
+
+    @Override
+    public void afterMatchFired(AfterMatchFiredEvent event) {
+        long nanos = System.nanoTime();
+        Rule rule = event.getMatch().getRule();
+        ConstraintCalculationProfiler.Counter counter = ruleToCounterMap.get(rule);
+        if (counter == null) {
+            counter = constraintCalculationProfiler.getCounter(rule.getPackageName(), rule.getName());
+            ruleToCounterMap.put(rule, counter);
+        }
+        counter.addCalculation(nanos - previousNanos);
+        previousNanos = nanos;
+    }
+
+    public void fireAllRulesEnded() {
+        unfiredCounter.addCalculation(System.nanoTime() - previousNanos);
+    }
+
+}
@@ -30,10 +30,12 @@ import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.constraint.ConstraintMatchTotal;
 import org.optaplanner.core.api.score.constraint.Indictment;
 import org.optaplanner.core.api.score.holder.AbstractScoreHolder.ConstraintActivationUnMatchListener;
+import org.optaplanner.core.api.score.holder.AbstractScoreHolder.ReusableConstraintActivationUnMatchListener;
 import org.optaplanner.core.api.score.holder.ScoreHolder;
 import org.optaplanner.core.impl.domain.entity.descriptor.EntityDescriptor;
 import org.optaplanner.core.impl.domain.variable.descriptor.VariableDescriptor;
 import org.optaplanner.core.impl.score.director.AbstractScoreDirector;
+import org.optaplanner.core.impl.score.director.ConstraintCalculationProfiler;
 import org.optaplanner.core.impl.score.director.ScoreDirector;
 
 /**
@@ -47,12 +49,36 @@ public class DroolsScoreDirector<Solution_>
 
     public static final String GLOBAL_SCORE_HOLDER_KEY = "scoreHolder";
 
+    private static final RuleEventListener RULE_EVENT_LISTENER = new OptaplannerRuleEventListener();
+
+    protected final boolean lazyConstraintMatchEnabled;
+
     protected KieSession kieSession;
     protected ScoreHolder workingScoreHolder;
+    // Only used if the scoreDirectorFactory has a ConstraintCalculationProfiler
+    protected ConstraintCalculationAgendaEventListener constraintCalculationListener = null;
+
+    // Only used if lazyConstraintMatchEnabled is true, null until requested or after a change
+    protected Collection<ConstraintMatchTotal> lazyConstraintMatchTotals = null;
+    protected Map<Object, Indictment> lazyIndictmentMap = null;
 
     public DroolsScoreDirector(DroolsScoreDirectorFactory<Solution_> scoreDirectorFactory,
             boolean lookUpEnabled, boolean constraintMatchEnabledPreference) {
+        this(scoreDirectorFactory, lookUpEnabled, constraintMatchEnabledPreference,
+                scoreDirectorFactory.isLazyConstraintMatchEnabled());
+    }
+
+    /**
+     * @param scoreDirectorFactory never null
+     * @param lookUpEnabled true if {@link #lookUpWorkingObject(Object)} is supported
+     * @param constraintMatchEnabledPreference false if no {@link ConstraintMatchTotal}s are needed
+     * @param lazyConstraintMatchEnabled true if the {@link ConstraintMatchTotal}s and {@link Indictment}s
+     * are calculated from scratch when requested, instead of being tracked while the rules fire
+     */
+    protected DroolsScoreDirector(DroolsScoreDirectorFactory<Solution_> scoreDirectorFactory,
+            boolean lookUpEnabled, boolean constraintMatchEnabledPreference, boolean lazyConstraintMatchEnabled) {
         super(scoreDirectorFactory, lookUpEnabled, constraintMatchEnabledPreference);
+        this.lazyConstraintMatchEnabled = lazyConstraintMatchEnabled;
     }
 
     public KieSession getKieSession() {
@@ -71,11 +97,22 @@ public class DroolsScoreDirector<Solution_>
 
     private void resetKieSession() {
         if (kieSession != null) {
-            kieSession.dispose();
+            releaseKieSession();
         }
-        kieSession = scoreDirectorFactory.newKieSession();
-        ((RuleEventManager) kieSession).addEventListener(new OptaplannerRuleEventListener());
-        workingScoreHolder = getScoreDefinition().buildScoreHolder(constraintMatchEnabledPreference);
+        kieSession = scoreDirectorFactory.acquireKieSession();
+        ((RuleEventManager) kieSession).addEventListener(RULE_EVENT_LISTENER);
+        ConstraintCalculationProfiler constraintCalculationProfiler
+                = scoreDirectorFactory.getConstraintCalculationProfiler();
+        if (constraintCalculationProfiler != null) {
+            if (constraintCalculationListener == null) {
+                constraintCalculationListener = new ConstraintCalculationAgendaEventListener(
+                        constraintCalculationProfiler);
+            }
+            kieSession.addEventListener(constraintCalculationListener);
+        }
+        workingScoreHolder = getScoreDefinition().buildScoreHolder(
+                constraintMatchEnabledPreference && !lazyConstraintMatchEnabled);
+        clearLazyConstraintMatches();
         kieSession.setGlobal(GLOBAL_SCORE_HOLDER_KEY, workingScoreHolder);
         // TODO Adjust when uninitialized entities from getWorkingFacts get added automatically too (and call afterEntityAdded)
         Collection<Object> workingFacts = getWorkingFacts();
@@ -84,6 +121,15 @@ public class DroolsScoreDirector<Solution_>
         }
     }
 
+    private void releaseKieSession() {
+        // A pooled KieSession must not undo the matches of this score director's score holder
+        ((RuleEventManager) kieSession).removeEventListener(RULE_EVENT_LISTENER);
+        if (constraintCalculationListener != null) {
+            kieSession.removeEventListener(constraintCalculationListener);
+        }
+        scoreDirectorFactory.releaseKieSession(kieSession);
+    }
+
     private static final class OptaplannerRuleEventListener implements RuleEventListener {
 
         @Override
@@ -99,7 +145,10 @@ public class DroolsScoreDirector<Solution_>
         public void undoPreviousMatch(AgendaItem agendaItem) {
             Object callback = agendaItem.getCallback();
             // Some rules don't have a callback because their RHS doesn't do addConstraintMatch()
-            if (callback instanceof ConstraintActivationUnMatchListener) {
+            if (callback instanceof ReusableConstraintActivationUnMatchListener) {
+                // Keep it on the match, so it's reused if the match fires again
+                ((ReusableConstraintActivationUnMatchListener) callback).unregister();
+            } else if (callback instanceof ConstraintActivationUnMatchListener) {
                 ((ConstraintActivationUnMatchListener) callback).run();
                 agendaItem.setCallback(null);
             }
@@ -111,17 +160,55 @@ public class DroolsScoreDirector<Solution_>
         return getSolutionDescriptor().getAllFacts(workingSolution);
     }
 
+    private void fireAllRules() {
+        if (constraintCalculationListener == null) {
+            kieSession.fireAllRules();
+        } else {
+            constraintCalculationListener.fireAllRulesStarted();
+            kieSession.fireAllRules();
+            constraintCalculationListener.fireAllRulesEnded();
+        }
+    }
+
     @Override
     public Score calculateScore() {
         variableListenerSupport.assertNotificationQueuesAreEmpty();
-        kieSession.fireAllRules();
+        fireAllRules();
         Score score = workingScoreHolder.extractScore(workingInitScore);
         setCalculatedScore(score);
         return score;
     }
 
+    @Override
+    public void calculateScoreWithoutMaterializing() {
+        variableListenerSupport.assertNotificationQueuesAreEmpty();
+        fireAllRules();
+        calculatedScore = null;
+        calculationCount++;
+    }
+
+    @Override
+    public int compareCalculatedScoreTo(Score otherScore) {
+        if (calculatedScore != null) {
+            return calculatedScore.compareTo(otherScore);
+        }
+        return workingScoreHolder.compareExtractedScoreTo(workingInitScore, otherScore);
+    }
+
+    @Override
+    public Score materializeCalculatedScore() {
+        if (calculatedScore == null) {
+            calculatedScore = workingScoreHolder.extractScore(workingInitScore);
+            getSolutionDescriptor().setScore(workingSolution, calculatedScore);
+        }
+        return calculatedScore;
+    }
+
     @Override
     public boolean isConstraintMatchEnabled() {
+        if (lazyConstraintMatchEnabled) {
+            return constraintMatchEnabledPreference;
+        }
         return workingScoreHolder.isConstraintMatchEnabled();
     }
 
@@ -131,7 +218,11 @@ public class DroolsScoreDirector<Solution_>
             throw new IllegalStateException(
                     "The method setWorkingSolution() must be called before the method getConstraintMatchTotals().");
         }
-        kieSession.fireAllRules();
+        if (lazyConstraintMatchEnabled) {
+            calculateLazyConstraintMatches();
+            return lazyConstraintMatchTotals;
+        }
+        fireAllRules();
         return workingScoreHolder.getConstraintMatchTotals();
     }
 
@@ -141,10 +232,45 @@ public class DroolsScoreDirector<Solution_>
             throw new IllegalStateException(
                     "The method setWorkingSolution() must be called before the method getIndictmentMap().");
         }
-        kieSession.fireAllRules();
+        if (lazyConstraintMatchEnabled) {
+            calculateLazyConstraintMatches();
+            return lazyIndictmentMap;
+        }
+        fireAllRules();
         return workingScoreHolder.getIndictmentMap();
     }
 
+    /**
+     * Calculates the {@link ConstraintMatchTotal}s and {@link Indictment}s of the working solution
+     * in 1 batch on a separate {@link DroolsScoreDirector} that does track them,
+     * unless they are already calculated since the last change.
+     */
+    protected void calculateLazyConstraintMatches() {
+        if (!constraintMatchEnabledPreference) {
+            throw new IllegalStateException("When constraintMatchEnabled (" + isConstraintMatchEnabled()
+                    + ") is disabled in the constructor, this method should not be called.");
+        }
+        if (lazyConstraintMatchTotals != null) {
+            return;
+        }
+        // The separate score director sets the score on the shared working solution
+        Score workingScore = getSolutionDescriptor().getScore(workingSolution);
+        try (DroolsScoreDirector<Solution_> constraintMatchScoreDirector = new DroolsScoreDirector<>(
+                scoreDirectorFactory, false, true, false)) {
+            constraintMatchScoreDirector.setWorkingSolution(workingSolution);
+            constraintMatchScoreDirector.calculateScore();
+            lazyConstraintMatchTotals = constraintMatchScoreDirector.getConstraintMatchTotals();
+            lazyIndictmentMap = constraintMatchScoreDirector.getIndictmentMap();
+        } finally {
+            getSolutionDescriptor().setScore(workingSolution, workingScore);
+        }
+    }
+
+    protected void clearLazyConstraintMatches() {
+        lazyConstraintMatchTotals = null;
+        lazyIndictmentMap = null;
+    }
+
     @Override
     public DroolsScoreDirector<Solution_> clone() {
         // TODO experiment with serializing the KieSession to clone it and its entities but not its other facts.
@@ -160,7 +286,7 @@ public class DroolsScoreDirector<Solution_>
     public void close() {
         super.close();
         if (kieSession != null) {
-            kieSession.dispose();
+            releaseKieSession();
             kieSession = null;
         }
     }
@@ -187,6 +313,7 @@ public class DroolsScoreDirector<Solution_>
                     " and you probably want to use before/afterVariableChanged() instead.");
         }
         kieSession.insert(entity);
+        clearLazyConstraintMatches();
         super.afterEntityAdded(entityDescriptor, entity);
     }
 
@@ -208,6 +335,7 @@ public class DroolsScoreDirector<Solution_>
                     + getSolutionDescriptor().getEntityMemberAndEntityCollectionMemberNames() + ").");
         }
         kieSession.update(factHandle, entity, variableName);
+        clearLazyConstraintMatches();
     }
 
     // public void beforeEntityRemoved(EntityDescriptor entityDescriptor, Object entity) // Do nothing
@@ -223,6 +351,7 @@ public class DroolsScoreDirector<Solution_>
                     + getSolutionDescriptor().getEntityMemberAndEntityCollectionMemberNames() + ").");
         }
         kieSession.delete(factHandle);
+        clearLazyConstraintMatches();
         super.afterEntityRemoved(entityDescriptor, entity);
     }
 
@@ -244,6 +373,7 @@ public class DroolsScoreDirector<Solution_>
                     + "Maybe use before/afterProblemPropertyChanged() instead of before/afterProblemFactAdded().");
         }
         kieSession.insert(problemFact);
+        clearLazyConstraintMatches();
         super.afterProblemFactAdded(problemFact);
     }
 
@@ -262,6 +392,7 @@ public class DroolsScoreDirector<Solution_>
                     + " with " + ScoreDirector.class.getSimpleName() + ".lookUpWorkingObject().");
         }
         kieSession.update(factHandle, problemFactOrEntity);
+        clearLazyConstraintMatches();
         super.afterProblemPropertyChanged(problemFactOrEntity);
     }
 
@@ -280,6 +411,7 @@ public class DroolsScoreDirector<Solution_>
                     + " with " + ScoreDirector.class.getSimpleName() + ".lookUpWorkingObject().");
         }
         kieSession.delete(factHandle);
+        clearLazyConstraintMatches();
         super.afterProblemFactRemoved(problemFact);
     }
 
@@ -23,6 +23,7 @@ import org.kie.api.definition.rule.Global;
 import org.kie.api.runtime.KieContainer;
 import org.kie.api.runtime.KieSession;
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.constraint.ConstraintMatch;
 import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
 import org.optaplanner.core.impl.score.director.AbstractScoreDirectorFactory;
 import org.optaplanner.core.impl.score.director.ScoreDirectorFactory;
@@ -38,6 +39,10 @@ public class DroolsScoreDirectorFactory<Solution_> extends AbstractScoreDirector
     protected final KieContainer kieContainer;
     protected final String ksessionName;
 
+    protected boolean lazyConstraintMatchEnabled = false;
+
+    protected KieSessionPool kieSessionPool = null;
+
     /**
      * For {@link LegacyDroolsScoreDirectorFactory} only. Do not use.
      * @param kieBase never null
@@ -116,6 +121,37 @@ public class DroolsScoreDirectorFactory<Solution_> extends AbstractScoreDirector
         return ksessionName;
     }
 
+    public boolean isLazyConstraintMatchEnabled() {
+        return lazyConstraintMatchEnabled;
+    }
+
+    /**
+     * @param lazyConstraintMatchEnabled true if the {@link DroolsScoreDirector}s should not track
+     * {@link ConstraintMatch}es while they calculate the score, but calculate them in one batch
+     * when they are requested
+     */
+    public void setLazyConstraintMatchEnabled(boolean lazyConstraintMatchEnabled) {
+        this.lazyConstraintMatchEnabled = lazyConstraintMatchEnabled;
+    }
+
+    /**
+     * @return null if the {@link KieSession}s aren't pooled
+     */
+    public KieSessionPool getKieSessionPool() {
+        return kieSessionPool;
+    }
+
+    /**
+     * Instead of disposing the {@link KieSession} of a closed {@link DroolsScoreDirector},
+     * reset it and reuse it for the next {@link DroolsScoreDirector}.
+     * Must be called before any {@link KieSession} is acquired.
+     * @param kieSessionPool null to dispose every {@link KieSession} when its {@link DroolsScoreDirector}
+     * is done with it
+     */
+    public void setKieSessionPool(KieSessionPool kieSessionPool) {
+        this.kieSessionPool = kieSessionPool;
+    }
+
     // ************************************************************************
     // Complex methods
     // ************************************************************************
@@ -130,4 +166,40 @@ public class DroolsScoreDirectorFactory<Solution_> extends AbstractScoreDirector
         return kieContainer.newKieSession(ksessionName);
     }
 
+    /**
+     * Thread-safe, so concurrent solver runs can share this factory.
+     * @return never null, a pooled {@link KieSession} without facts or a {@link #newKieSession()}
+     * @see #releaseKieSession(KieSession)
+     */
+    public KieSession acquireKieSession() {
+        if (kieSessionPool != null) {
+            return kieSessionPool.acquire(this::newKieSession);
+        }
+        return newKieSession();
+    }
+
+    /**
+     * Thread-safe. Returns the {@link KieSession} to the {@link KieSessionPool}, or disposes it
+     * if the pool is disabled.
+     * The caller must remove its own event listeners first.
+     * @param kieSession never null, no longer used by the caller
+     * @see #acquireKieSession()
+     */
+    public void releaseKieSession(KieSession kieSession) {
+        if (kieSessionPool != null) {
+            kieSessionPool.release(kieSession);
+        } else {
+            kieSession.dispose();
+        }
+    }
+
+    @Override
+    public void solvingEnded() {
+        if (kieSessionPool != null) {
+            logger.debug("KieSession pool: hit count ({}), miss count ({}).",
+                    kieSessionPool.getHitCount(), kieSessionPool.getMissCount());
+        }
+        super.solvingEnded();
+    }
+
 }
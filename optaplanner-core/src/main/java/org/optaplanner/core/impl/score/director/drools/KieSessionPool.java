@@ -0,0 +1,138 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.director.drools;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.drools.core.impl.StatefulKnowledgeSessionImpl;
+import org.kie.api.runtime.KieSession;
+import org.optaplanner.core.api.solver.Solver;
+import org.optaplanner.core.api.solver.SolverFactory;
+import org.optaplanner.core.config.SolverConfigContext;
+
+/**
+ * Keeps the idle {@link KieSession}s of closed {@link DroolsScoreDirector}s, so they can be reset and reused
+ * instead of paying the warm up cost of a new {@link KieSession}.
+ * <p>
+ * Shared by every {@link DroolsScoreDirectorFactory} built by the same {@link SolverFactory}
+ * (see {@link SolverConfigContext#getKieSessionPool(Object, int, long)}) for the same rules,
+ * so concurrent and sequential {@link Solver#solve(Object)} calls reuse each other's {@link KieSession}s.
+ * The idle {@link KieSession}s are kept until {@link #clear()} (see {@link SolverFactory#disposeKieSessionPools()}),
+ * so their number is bounded by the pool size.
+ * <p>
+ * Thread-safe.
+ */
+public class KieSessionPool {
+
+    private final BlockingQueue<KieSession> idleKieSessionQueue;
+    private final long maximumFactCount;
+
+    private final AtomicLong hitCount = new AtomicLong(0L);
+    private final AtomicLong missCount = new AtomicLong(0L);
+
+    /**
+     * @param size {@code > 0}, the maximum number of idle {@link KieSession}s kept
+     * @param maximumFactCount {@code >= 0}, a released {@link KieSession} with more facts is disposed instead of pooled
+     */
+    public KieSessionPool(int size, long maximumFactCount) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("The kieSessionPoolSize (" + size + ") must be positive.");
+        }
+        if (maximumFactCount < 0L) {
+            throw new IllegalArgumentException("The kieSessionPoolMaximumFactCount (" + maximumFactCount
+                    + ") cannot be negative.");
+        }
+        idleKieSessionQueue = new ArrayBlockingQueue<>(size);
+        this.maximumFactCount = maximumFactCount;
+    }
+
+    /**
+     * @return {@code > 0}, the maximum number of idle {@link KieSession}s kept
+     */
+    public int getSize() {
+        return idleKieSessionQueue.remainingCapacity() + idleKieSessionQueue.size();
+    }
+
+    public long getMaximumFactCount() {
+        return maximumFactCount;
+    }
+
+    /**
+     * @return {@code >= 0}, the number of times {@link #acquire(Supplier)} reused a pooled {@link KieSession}
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return {@code >= 0}, the number of times {@link #acquire(Supplier)} had to create a new {@link KieSession}
+     * because the pool was empty
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    // ************************************************************************
+    // Worker methods
+    // ************************************************************************
+
+    /**
+     * @param kieSessionSupplier never null, called if the pool is empty
+     * @return never null, a pooled {@link KieSession} without facts or a new one
+     * @see #release(KieSession)
+     */
+    public KieSession acquire(Supplier<KieSession> kieSessionSupplier) {
+        KieSession kieSession = idleKieSessionQueue.poll();
+        if (kieSession != null) {
+            hitCount.incrementAndGet();
+            return kieSession;
+        }
+        missCount.incrementAndGet();
+        return kieSessionSupplier.get();
+    }
+
+    /**
+     * Resets the {@link KieSession} and pools it,
+     * or disposes it if the pool is full or if it held too many facts.
+     * The caller must remove its own event listeners first.
+     * @param kieSession never null, no longer used by the caller
+     * @see #acquire(Supplier)
+     */
+    public void release(KieSession kieSession) {
+        if (kieSession instanceof StatefulKnowledgeSessionImpl && kieSession.getFactCount() <= maximumFactCount) {
+            ((StatefulKnowledgeSessionImpl) kieSession).reset();
+            if (idleKieSessionQueue.offer(kieSession)) {
+                return;
+            }
+        }
+        kieSession.dispose();
+    }
+
+    /**
+     * Disposes all idle {@link KieSession}s.
+     */
+    public void clear() {
+        KieSession kieSession;
+        while ((kieSession = idleKieSessionQueue.poll()) != null) {
+            kieSession.dispose();
+        }
+    }
+
+}
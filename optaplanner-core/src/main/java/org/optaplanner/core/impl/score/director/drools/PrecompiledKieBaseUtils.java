@@ -0,0 +1,121 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.director.drools;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.drools.core.util.DroolsStreamUtils;
+import org.kie.api.KieBase;
+import org.optaplanner.core.api.solver.SolverFactory;
+import org.optaplanner.core.config.SolverConfigContext;
+import org.optaplanner.core.config.score.director.ScoreDirectorFactoryConfig;
+import org.optaplanner.core.config.solver.SolverConfig;
+
+/**
+ * Writes and reads a precompiled {@link KieBase}:
+ * the score DRL is compiled at build time, so a {@link SolverFactory#buildSolver()} doesn't compile it at runtime.
+ * <p>
+ * Run {@link #main(String[])} during the build (for example with the exec-maven-plugin)
+ * and configure the result with {@link ScoreDirectorFactoryConfig#setPrecompiledKieBaseResource(String)}.
+ */
+public final class PrecompiledKieBaseUtils {
+
+    /**
+     * Compiles the score DRL of a solver configuration and writes it as a precompiled {@link KieBase}.
+     * @param args never null, the solver configuration classpath resource and the output file
+     * @throws IOException if the output file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("The args (" + args.length
+                    + ") must be a solverConfigResource and a precompiledKieBaseFile.");
+        }
+        String solverConfigResource = args[0];
+        File precompiledKieBaseFile = new File(args[1]);
+        SolverConfig solverConfig = SolverFactory.createFromXmlResource(solverConfigResource).getSolverConfig();
+        ScoreDirectorFactoryConfig scoreDirectorFactoryConfig = solverConfig.getScoreDirectorFactoryConfig();
+        if (scoreDirectorFactoryConfig == null) {
+            throw new IllegalArgumentException("The solverConfigResource (" + solverConfigResource
+                    + ") has no scoreDirectorFactory.");
+        }
+        KieBase kieBase = scoreDirectorFactoryConfig.buildScoreDrlKieBase(new SolverConfigContext());
+        File parentDirectory = precompiledKieBaseFile.getAbsoluteFile().getParentFile();
+        if (!parentDirectory.exists() && !parentDirectory.mkdirs()) {
+            throw new IllegalStateException("The precompiledKieBaseFile (" + precompiledKieBaseFile
+                    + ")'s parent directory could not be created.");
+        }
+        writeKieBase(kieBase, precompiledKieBaseFile);
+    }
+
+    /**
+     * @param kieBase never null
+     * @param precompiledKieBaseFile never null
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeKieBase(KieBase kieBase, File precompiledKieBaseFile) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(precompiledKieBaseFile))) {
+            DroolsStreamUtils.streamOut(out, kieBase);
+        }
+    }
+
+    /**
+     * @param precompiledKieBaseFile never null
+     * @param classLoader never null, loads the domain classes used by the score rules
+     * @return never null
+     */
+    public static KieBase readKieBase(File precompiledKieBaseFile, ClassLoader classLoader) {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(precompiledKieBaseFile))) {
+            return readKieBase(in, classLoader);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("The precompiledKieBaseFile (" + precompiledKieBaseFile
+                    + ") cannot be read.", e);
+        }
+    }
+
+    /**
+     * @param in never null, not closed
+     * @param classLoader never null, loads the domain classes used by the score rules
+     * @return never null
+     * @throws IOException if the stream cannot be read
+     */
+    public static KieBase readKieBase(InputStream in, ClassLoader classLoader) throws IOException {
+        Object object;
+        try {
+            object = DroolsStreamUtils.streamIn(in, classLoader);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("The precompiled " + KieBase.class.getSimpleName()
+                    + " uses a class that the classLoader (" + classLoader + ") cannot load.\n"
+                    + "Maybe rebuild it with the same domain classes.", e);
+        }
+        if (!(object instanceof KieBase)) {
+            throw new IllegalArgumentException("The precompiled object (" + object
+                    + ") is not a " + KieBase.class.getSimpleName() + ".");
+        }
+        return (KieBase) object;
+    }
+
+    private PrecompiledKieBaseUtils() {
+    }
+
+}
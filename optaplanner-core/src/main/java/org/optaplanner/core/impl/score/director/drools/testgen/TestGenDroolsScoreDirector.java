@@ -96,6 +96,12 @@ public class TestGenDroolsScoreDirector<Solution_> extends DroolsScoreDirector<S
         }
     }
 
+    @Override
+    public void calculateScoreWithoutMaterializing() {
+        // Materialize immediately, so the journal and the exception reproducer see every calculation
+        calculatedScore = calculateScore();
+    }
+
     @Override
     public void assertShadowVariablesAreNotStale(Score expectedWorkingScore, Object completedAction) {
         try {
@@ -16,8 +16,13 @@
 
 package org.optaplanner.core.impl.score.director.easy;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.score.Score;
@@ -30,6 +35,7 @@ import org.optaplanner.core.impl.score.director.ScoreDirector;
 /**
  * Easy java implementation of {@link ScoreDirector}, which recalculates the {@link Score}
  * of the {@link PlanningSolution working solution} every time. This is non-incremental calculation, which is slow.
+ * With a {@link PartitionedEasyScoreCalculator}, the parts can be calculated in parallel.
  * This score director implementation does not support {@link ScoreDirector#getConstraintMatchTotals()}.
  * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
  * @see ScoreDirector
@@ -37,13 +43,21 @@ import org.optaplanner.core.impl.score.director.ScoreDirector;
 public class EasyScoreDirector<Solution_>
         extends AbstractScoreDirector<Solution_, EasyScoreDirectorFactory<Solution_>> {
 
+    /**
+     * The number of chunks per partition thread, so a slow chunk doesn't leave the other threads idle.
+     */
+    protected static final int PARTITION_CHUNKS_PER_THREAD = 4;
+
     private final EasyScoreCalculator<Solution_> easyScoreCalculator;
+    private final PartitionedEasyScoreCalculator<Solution_, Object> partitionedEasyScoreCalculator;
 
     public EasyScoreDirector(EasyScoreDirectorFactory<Solution_> scoreDirectorFactory,
             boolean lookUpEnabled, boolean constraintMatchEnabledPreference,
             EasyScoreCalculator<Solution_> easyScoreCalculator) {
         super(scoreDirectorFactory, lookUpEnabled, constraintMatchEnabledPreference);
         this.easyScoreCalculator = easyScoreCalculator;
+        partitionedEasyScoreCalculator = (easyScoreCalculator instanceof PartitionedEasyScoreCalculator)
+                ? (PartitionedEasyScoreCalculator<Solution_, Object>) easyScoreCalculator : null;
     }
 
     // ************************************************************************
@@ -53,7 +67,9 @@ public class EasyScoreDirector<Solution_>
     @Override
     public Score calculateScore() {
         variableListenerSupport.assertNotificationQueuesAreEmpty();
-        Score score = easyScoreCalculator.calculateScore(workingSolution);
+        Score score = partitionedEasyScoreCalculator != null
+                ? calculatePartitionedScore()
+                : easyScoreCalculator.calculateScore(workingSolution);
         if (workingInitScore != 0) {
             score = score.withInitScore(workingInitScore);
         }
@@ -61,6 +77,56 @@ public class EasyScoreDirector<Solution_>
         return score;
     }
 
+    private Score calculatePartitionedScore() {
+        List<Object> partList = partitionedEasyScoreCalculator.extractPartList(workingSolution);
+        int partCount = partList.size();
+        if (partCount == 0) {
+            return getScoreDefinition().getZeroScore();
+        }
+        ExecutorService partitionExecutor = scoreDirectorFactory.getPartitionExecutor();
+        if (partitionExecutor == null || partCount == 1) {
+            // A single chunk is calculated on this thread
+            return calculateChunkScore(partList, 0, partCount);
+        }
+        int chunkCount = Math.min(partCount,
+                scoreDirectorFactory.getPartitionThreadCount() * PARTITION_CHUNKS_PER_THREAD);
+        List<Future<Score>> futureList = new ArrayList<>(chunkCount - 1);
+        try {
+            for (int i = 1; i < chunkCount; i++) {
+                int fromIndex = (int) ((long) partCount * i / chunkCount);
+                int toIndex = (int) ((long) partCount * (i + 1) / chunkCount);
+                futureList.add(partitionExecutor.submit(() -> calculateChunkScore(partList, fromIndex, toIndex)));
+            }
+            // The solver thread calculates the first chunk instead of waiting idle
+            Score score = calculateChunkScore(partList, 0, partCount / chunkCount);
+            // Keep the order of the parts, in case combinePartScores() isn't commutative
+            for (Future<Score> future : futureList) {
+                score = partitionedEasyScoreCalculator.combinePartScores(score, future.get());
+            }
+            return score;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The solver thread was interrupted"
+                    + " during the partitioned score calculation.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Relayed exception from a partition thread.", e.getCause());
+        } finally {
+            // Only has an effect if the calculation failed
+            for (Future<Score> future : futureList) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private Score calculateChunkScore(List<Object> partList, int fromIndex, int toIndex) {
+        Score score = partitionedEasyScoreCalculator.calculatePartScore(workingSolution, partList.get(fromIndex));
+        for (int i = fromIndex + 1; i < toIndex; i++) {
+            score = partitionedEasyScoreCalculator.combinePartScores(score,
+                    partitionedEasyScoreCalculator.calculatePartScore(workingSolution, partList.get(i)));
+        }
+        return score;
+    }
+
     /**
      * Always false, {@link ConstraintMatchTotal}s are not supported by this {@link ScoreDirector} implementation.
      * @return false
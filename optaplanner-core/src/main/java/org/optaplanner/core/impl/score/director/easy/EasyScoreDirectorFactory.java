@@ -16,6 +16,10 @@
 
 package org.optaplanner.core.impl.score.director.easy;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.impl.score.director.AbstractScoreDirectorFactory;
 import org.optaplanner.core.impl.score.director.ScoreDirectorFactory;
@@ -29,15 +33,50 @@ import org.optaplanner.core.impl.score.director.ScoreDirectorFactory;
 public class EasyScoreDirectorFactory<Solution_> extends AbstractScoreDirectorFactory<Solution_> {
 
     private final EasyScoreCalculator<Solution_> easyScoreCalculator;
+    private final Integer partitionThreadCount;
+    private final ThreadFactory partitionThreadFactory;
+
+    // Only exists while solving, so its threads don't outlive the solver
+    private volatile ExecutorService partitionExecutor = null;
+    private int solvingCount = 0;
 
     public EasyScoreDirectorFactory(EasyScoreCalculator<Solution_> easyScoreCalculator) {
+        this(easyScoreCalculator, null, null);
+    }
+
+    /**
+     * @param easyScoreCalculator never null
+     * @param partitionThreadCount null if the parts of a {@link PartitionedEasyScoreCalculator}
+     * should be calculated sequentially on the solver thread, otherwise at least 1
+     * @param partitionThreadFactory null if partitionThreadCount is null
+     */
+    public EasyScoreDirectorFactory(EasyScoreCalculator<Solution_> easyScoreCalculator,
+            Integer partitionThreadCount, ThreadFactory partitionThreadFactory) {
         this.easyScoreCalculator = easyScoreCalculator;
+        this.partitionThreadCount = partitionThreadCount;
+        this.partitionThreadFactory = partitionThreadFactory;
     }
 
     public EasyScoreCalculator<Solution_> getEasyScoreCalculator() {
         return easyScoreCalculator;
     }
 
+    /**
+     * @return null if the parts of a {@link PartitionedEasyScoreCalculator} are calculated sequentially,
+     * otherwise at least 1
+     */
+    public Integer getPartitionThreadCount() {
+        return partitionThreadCount;
+    }
+
+    /**
+     * @return null if the parts of a {@link PartitionedEasyScoreCalculator} are calculated sequentially
+     * or if no solver is solving
+     */
+    public ExecutorService getPartitionExecutor() {
+        return partitionExecutor;
+    }
+
     // ************************************************************************
     // Complex methods
     // ************************************************************************
@@ -48,4 +87,28 @@ public class EasyScoreDirectorFactory<Solution_> extends AbstractScoreDirectorFa
         return new EasyScoreDirector<>(this, lookUpEnabled, constraintMatchEnabledPreference, easyScoreCalculator);
     }
 
+    @Override
+    public synchronized void solvingStarted() {
+        super.solvingStarted();
+        if (partitionThreadCount != null) {
+            if (solvingCount == 0) {
+                partitionExecutor = Executors.newFixedThreadPool(partitionThreadCount, partitionThreadFactory);
+            }
+            solvingCount++;
+        }
+    }
+
+    @Override
+    public synchronized void solvingEnded() {
+        if (partitionThreadCount != null) {
+            solvingCount--;
+            if (solvingCount == 0) {
+                // Interrupts the partition threads that are still busy if solving failed
+                partitionExecutor.shutdownNow();
+                partitionExecutor = null;
+            }
+        }
+        super.solvingEnded();
+    }
+
 }
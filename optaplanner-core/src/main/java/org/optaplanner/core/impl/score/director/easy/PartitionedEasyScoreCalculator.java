@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.director.easy;
+
+import java.util.List;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+
+/**
+ * An {@link EasyScoreCalculator} that splits the {@link Score} calculation into independent parts,
+ * for example one part per planning entity or per group of planning entities,
+ * so the {@link EasyScoreDirector} can calculate those parts in parallel.
+ * <p>
+ * An implementation must be stateless and {@link #calculatePartScore(Object, Object)} must be thread-safe:
+ * it is called concurrently for different parts of the same solution, which it must not change.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ * @param <Part_> the type of a part, for example a planning entity class
+ * @see EasyScoreDirector
+ */
+public interface PartitionedEasyScoreCalculator<Solution_, Part_> extends EasyScoreCalculator<Solution_> {
+
+    /**
+     * @param solution never null
+     * @return never null, every score constraint match must be covered by exactly 1 part
+     */
+    List<Part_> extractPartList(Solution_ solution);
+
+    /**
+     * Calculates the {@link Score} of 1 part.
+     * It can read the entire solution, for example to compare the part with other parts,
+     * but it must only include the score constraint matches that belong to that part.
+     * @param solution never null
+     * @param part never null, an element of {@link #extractPartList(Object)}
+     * @return never null, without an init score
+     */
+    Score calculatePartScore(Solution_ solution, Part_ part);
+
+    /**
+     * Combines the {@link Score}s of 2 disjoint sets of parts. It must be associative.
+     * @param left never null
+     * @param right never null
+     * @return never null
+     */
+    default Score combinePartScores(Score left, Score right) {
+        return left.add(right);
+    }
+
+    /**
+     * Calculates the parts sequentially.
+     * The {@link EasyScoreDirector} calculates them in parallel instead, if it has a thread pool.
+     * @param solution never null
+     * @return never null
+     */
+    @Override
+    default Score calculateScore(Solution_ solution) {
+        Score score = null;
+        for (Part_ part : extractPartList(solution)) {
+            Score partScore = calculatePartScore(solution, part);
+            score = (score == null) ? partScore : combinePartScores(score, partScore);
+        }
+        if (score == null) {
+            throw new IllegalStateException("The partitionedEasyScoreCalculator class (" + getClass()
+                    + ") has no parts for the solution (" + solution + "), so it cannot determine the zero score.\n"
+                    + "Maybe calculate the score through an " + EasyScoreDirector.class.getSimpleName()
+                    + ", which knows the zero score.");
+        }
+        return score;
+    }
+
+}
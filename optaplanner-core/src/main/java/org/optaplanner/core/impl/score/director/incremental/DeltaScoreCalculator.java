@@ -0,0 +1,66 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.director.incremental;
+
+import java.util.List;
+
+import org.optaplanner.core.api.domain.entity.PlanningEntity;
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.domain.variable.PlanningVariable;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.impl.heuristic.move.Move;
+import org.optaplanner.core.impl.heuristic.selector.move.generic.ChangeMove;
+import org.optaplanner.core.impl.heuristic.selector.move.generic.SwapMove;
+
+/**
+ * Allows a {@link IncrementalScoreCalculator} to calculate the {@link Score} difference of a hypothetical change,
+ * without changing the {@link PlanningSolution working solution}.
+ * <p>
+ * Local Search evaluates far more {@link Move}s than it does.
+ * For a {@link ChangeMove} or a {@link SwapMove}, the {@link Move} no longer needs to be done and undone
+ * to calculate its {@link Score}, which halves the number of
+ * {@link #beforeVariableChanged(Object, String)} and {@link #afterVariableChanged(Object, String)} calls.
+ * <p>
+ * These methods are not called for a {@link PlanningVariable} that has shadow variables depending on it
+ * or if the change involves a null value: then the {@link Move} is still done and undone.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ * @see IncrementalScoreCalculator
+ */
+public interface DeltaScoreCalculator<Solution_> extends IncrementalScoreCalculator<Solution_> {
+
+    /**
+     * Must not change the {@link PlanningSolution working solution} nor the state of this calculator.
+     * @param entity never null, an instance of a {@link PlanningEntity} class
+     * @param variableName never null, a genuine {@link PlanningVariable}
+     * @param toPlanningValue never null, differs from the current value of that variable
+     * @return never null, the {@link Score} after the change minus the {@link Score} of {@link #calculateScore()},
+     * without an init score
+     */
+    Score calculateChangeDeltaScore(Object entity, String variableName, Object toPlanningValue);
+
+    /**
+     * Must not change the {@link PlanningSolution working solution} nor the state of this calculator.
+     * @param leftEntity never null, an instance of a {@link PlanningEntity} class
+     * @param rightEntity never null, an instance of a {@link PlanningEntity} class
+     * @param variableNameList never null, the genuine {@link PlanningVariable}s that swap their values,
+     * only those with a different value on both entities
+     * @return never null, the {@link Score} after the swap minus the {@link Score} of {@link #calculateScore()},
+     * without an init score
+     */
+    Score calculateSwapDeltaScore(Object leftEntity, Object rightEntity, List<String> variableNameList);
+
+}
@@ -16,8 +16,12 @@
 
 package org.optaplanner.core.impl.score.director.incremental;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
@@ -26,8 +30,10 @@ import org.optaplanner.core.api.score.constraint.ConstraintMatch;
 import org.optaplanner.core.api.score.constraint.ConstraintMatchTotal;
 import org.optaplanner.core.api.score.constraint.Indictment;
 import org.optaplanner.core.impl.domain.entity.descriptor.EntityDescriptor;
+import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
 import org.optaplanner.core.impl.domain.variable.descriptor.VariableDescriptor;
 import org.optaplanner.core.impl.score.director.AbstractScoreDirector;
+import org.optaplanner.core.impl.score.director.ConstraintCalculationProfiler;
 import org.optaplanner.core.impl.score.director.ScoreDirector;
 
 /**
@@ -42,6 +48,12 @@ public class IncrementalScoreDirector<Solution_>
 
     private final IncrementalScoreCalculator<Solution_> incrementalScoreCalculator;
 
+    // Only used if the scoreDirectorFactory has a ConstraintCalculationProfiler, null otherwise
+    private ConstraintCalculationProfiler constraintCalculationProfiler = null;
+    private Map<String, ConstraintCalculationProfiler.Counter> hookToCounterMap = null;
+    private Map<VariableDescriptor, ConstraintCalculationProfiler.Counter> beforeVariableChangedCounterMap = null;
+    private Map<VariableDescriptor, ConstraintCalculationProfiler.Counter> afterVariableChangedCounterMap = null;
+
     public IncrementalScoreDirector(IncrementalScoreDirectorFactory<Solution_> scoreDirectorFactory,
             boolean lookUpEnabled, boolean constraintMatchEnabledPreference,
             IncrementalScoreCalculator<Solution_> incrementalScoreCalculator) {
@@ -60,6 +72,20 @@ public class IncrementalScoreDirector<Solution_>
     @Override
     public void setWorkingSolution(Solution_ workingSolution) {
         super.setWorkingSolution(workingSolution);
+        ConstraintCalculationProfiler newConstraintCalculationProfiler
+                = scoreDirectorFactory.getConstraintCalculationProfiler();
+        if (newConstraintCalculationProfiler != constraintCalculationProfiler) {
+            constraintCalculationProfiler = newConstraintCalculationProfiler;
+            if (constraintCalculationProfiler == null) {
+                hookToCounterMap = null;
+                beforeVariableChangedCounterMap = null;
+                afterVariableChangedCounterMap = null;
+            } else {
+                hookToCounterMap = new HashMap<>();
+                beforeVariableChangedCounterMap = new IdentityHashMap<>();
+                afterVariableChangedCounterMap = new IdentityHashMap<>();
+            }
+        }
         if (incrementalScoreCalculator instanceof ConstraintMatchAwareIncrementalScoreCalculator) {
             ((ConstraintMatchAwareIncrementalScoreCalculator<Solution_>) incrementalScoreCalculator)
                     .resetWorkingSolution(workingSolution, constraintMatchEnabledPreference);
@@ -71,7 +97,9 @@ public class IncrementalScoreDirector<Solution_>
     @Override
     public Score calculateScore() {
         variableListenerSupport.assertNotificationQueuesAreEmpty();
+        long startingNanos = startProfiling();
         Score score = incrementalScoreCalculator.calculateScore();
+        endProfiling("calculateScore", startingNanos);
         if (workingInitScore != 0) {
             score = score.withInitScore(workingInitScore);
         }
@@ -79,6 +107,60 @@ public class IncrementalScoreDirector<Solution_>
         return score;
     }
 
+    @Override
+    public Score calculateChangeScoreWithoutDoing(Object entity,
+            GenuineVariableDescriptor<Solution_> variableDescriptor, Object toPlanningValue) {
+        if (!(incrementalScoreCalculator instanceof DeltaScoreCalculator)
+                || !isDeltaScoreSupported(variableDescriptor, entity, toPlanningValue)) {
+            return null;
+        }
+        variableListenerSupport.assertNotificationQueuesAreEmpty();
+        long startingNanos = startProfiling();
+        Score deltaScore = ((DeltaScoreCalculator<Solution_>) incrementalScoreCalculator)
+                .calculateChangeDeltaScore(entity, variableDescriptor.getVariableName(), toPlanningValue);
+        endProfiling("calculateChangeDeltaScore", startingNanos);
+        return calculateScoreWithDelta(deltaScore);
+    }
+
+    @Override
+    public Score calculateSwapScoreWithoutDoing(Object leftEntity, Object rightEntity,
+            List<GenuineVariableDescriptor<Solution_>> variableDescriptorList) {
+        if (!(incrementalScoreCalculator instanceof DeltaScoreCalculator)) {
+            return null;
+        }
+        List<String> variableNameList = new ArrayList<>(variableDescriptorList.size());
+        for (GenuineVariableDescriptor<Solution_> variableDescriptor : variableDescriptorList) {
+            if (!isDeltaScoreSupported(variableDescriptor, leftEntity, variableDescriptor.getValue(rightEntity))) {
+                return null;
+            }
+            variableNameList.add(variableDescriptor.getVariableName());
+        }
+        variableListenerSupport.assertNotificationQueuesAreEmpty();
+        long startingNanos = startProfiling();
+        Score deltaScore = ((DeltaScoreCalculator<Solution_>) incrementalScoreCalculator)
+                .calculateSwapDeltaScore(leftEntity, rightEntity, variableNameList);
+        endProfiling("calculateSwapDeltaScore", startingNanos);
+        return calculateScoreWithDelta(deltaScore);
+    }
+
+    private boolean isDeltaScoreSupported(GenuineVariableDescriptor<Solution_> variableDescriptor,
+            Object entity, Object toPlanningValue) {
+        // A shadow variable would need its variable listener to be triggered
+        // and a null value can change the init score
+        return variableDescriptor.getSinkVariableDescriptorList().isEmpty()
+                && toPlanningValue != null && variableDescriptor.getValue(entity) != null;
+    }
+
+    private Score calculateScoreWithDelta(Score deltaScore) {
+        Score score = incrementalScoreCalculator.calculateScore().add(deltaScore);
+        if (workingInitScore != 0) {
+            score = score.withInitScore(workingInitScore);
+        }
+        // Don't set it on the working solution, because the working solution hasn't changed
+        calculationCount++;
+        return score;
+    }
+
     @Override
     public boolean isConstraintMatchEnabled() {
         return constraintMatchEnabledPreference
@@ -123,43 +205,93 @@ public class IncrementalScoreDirector<Solution_>
         return indictmentMap;
     }
 
+    // ************************************************************************
+    // Profiling methods
+    // ************************************************************************
+
+    private long startProfiling() {
+        return constraintCalculationProfiler == null ? 0L : System.nanoTime();
+    }
+
+    private void endProfiling(String hook, long startingNanos) {
+        if (constraintCalculationProfiler != null) {
+            long timeNanos = System.nanoTime() - startingNanos;
+            ConstraintCalculationProfiler.Counter counter = hookToCounterMap.get(hook);
+            if (counter == null) {
+                counter = constraintCalculationProfiler.getCounter(
+                        incrementalScoreCalculator.getClass().getName(), hook);
+                hookToCounterMap.put(hook, counter);
+            }
+            counter.addCalculation(timeNanos);
+        }
+    }
+
+    private void endVariableProfiling(Map<VariableDescriptor, ConstraintCalculationProfiler.Counter> counterMap,
+            String hook, VariableDescriptor variableDescriptor, long startingNanos) {
+        if (constraintCalculationProfiler != null) {
+            long timeNanos = System.nanoTime() - startingNanos;
+            ConstraintCalculationProfiler.Counter counter = counterMap.get(variableDescriptor);
+            if (counter == null) {
+                counter = constraintCalculationProfiler.getCounter(
+                        incrementalScoreCalculator.getClass().getName(),
+                        hook + "(" + variableDescriptor.getVariableName() + ")");
+                counterMap.put(variableDescriptor, counter);
+            }
+            counter.addCalculation(timeNanos);
+        }
+    }
+
     // ************************************************************************
     // Entity/variable add/change/remove methods
     // ************************************************************************
 
     @Override
     public void beforeEntityAdded(EntityDescriptor<Solution_> entityDescriptor, Object entity) {
+        long startingNanos = startProfiling();
         incrementalScoreCalculator.beforeEntityAdded(entity);
+        endProfiling("beforeEntityAdded", startingNanos);
         super.beforeEntityAdded(entityDescriptor, entity);
     }
 
     @Override
     public void afterEntityAdded(EntityDescriptor<Solution_> entityDescriptor, Object entity) {
+        long startingNanos = startProfiling();
         incrementalScoreCalculator.afterEntityAdded(entity);
+        endProfiling("afterEntityAdded", startingNanos);
         super.afterEntityAdded(entityDescriptor, entity);
     }
 
     @Override
     public void beforeVariableChanged(VariableDescriptor variableDescriptor, Object entity) {
+        long startingNanos = startProfiling();
         incrementalScoreCalculator.beforeVariableChanged(entity, variableDescriptor.getVariableName());
+        endVariableProfiling(beforeVariableChangedCounterMap, "beforeVariableChanged", variableDescriptor,
+                startingNanos);
         super.beforeVariableChanged(variableDescriptor, entity);
     }
 
     @Override
     public void afterVariableChanged(VariableDescriptor variableDescriptor, Object entity) {
+        long startingNanos = startProfiling();
         incrementalScoreCalculator.afterVariableChanged(entity, variableDescriptor.getVariableName());
+        endVariableProfiling(afterVariableChangedCounterMap, "afterVariableChanged", variableDescriptor,
+                startingNanos);
         super.afterVariableChanged(variableDescriptor, entity);
     }
 
     @Override
     public void beforeEntityRemoved(EntityDescriptor<Solution_> entityDescriptor, Object entity) {
+        long startingNanos = startProfiling();
         incrementalScoreCalculator.beforeEntityRemoved(entity);
+        endProfiling("beforeEntityRemoved", startingNanos);
         super.beforeEntityRemoved(entityDescriptor, entity);
     }
 
     @Override
     public void afterEntityRemoved(EntityDescriptor<Solution_> entityDescriptor, Object entity) {
+        long startingNanos = startProfiling();
         incrementalScoreCalculator.afterEntityRemoved(entity);
+        endProfiling("afterEntityRemoved", startingNanos);
         super.afterEntityRemoved(entityDescriptor, entity);
     }
 
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.director.stream;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.stream.ConstraintProvider;
+import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import org.optaplanner.core.impl.score.director.AbstractScoreDirectorFactory;
+import org.optaplanner.core.impl.score.director.ScoreDirectorFactory;
+import org.optaplanner.core.impl.score.stream.ConstraintSession;
+import org.optaplanner.core.impl.score.stream.ConstraintSessionFactory;
+
+/**
+ * Constraint stream implementation of {@link ScoreDirectorFactory}.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ * @see ConstraintStreamScoreDirector
+ * @see ScoreDirectorFactory
+ */
+public class ConstraintStreamScoreDirectorFactory<Solution_> extends AbstractScoreDirectorFactory<Solution_> {
+
+    private final ConstraintProvider constraintProvider;
+
+    private ConstraintSessionFactory<Solution_> constraintSessionFactory = null;
+
+    public ConstraintStreamScoreDirectorFactory(ConstraintProvider constraintProvider) {
+        this.constraintProvider = constraintProvider;
+    }
+
+    @Override
+    public void setSolutionDescriptor(SolutionDescriptor<Solution_> solutionDescriptor) {
+        super.setSolutionDescriptor(solutionDescriptor);
+        // The constraint weights are validated against the score type, so define the constraints only now
+        constraintSessionFactory = new ConstraintSessionFactory<>(solutionDescriptor, constraintProvider);
+    }
+
+    public ConstraintProvider getConstraintProvider() {
+        return constraintProvider;
+    }
+
+    // ************************************************************************
+    // Complex methods
+    // ************************************************************************
+
+    @Override
+    public ConstraintStreamScoreDirector<Solution_> buildScoreDirector(
+            boolean lookUpEnabled, boolean constraintMatchEnabledPreference) {
+        return new ConstraintStreamScoreDirector<>(this, lookUpEnabled, constraintMatchEnabledPreference);
+    }
+
+    public ConstraintSession<Solution_> newConstraintSession() {
+        return constraintSessionFactory.buildSession();
+    }
+
+}
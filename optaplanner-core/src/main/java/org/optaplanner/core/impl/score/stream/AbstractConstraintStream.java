@@ -0,0 +1,74 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.stream.ConstraintStream;
+import org.optaplanner.core.impl.score.definition.ScoreDefinition;
+
+/**
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public abstract class AbstractConstraintStream<Solution_> implements ConstraintStream {
+
+    protected final DefaultConstraintFactory<Solution_> constraintFactory;
+
+    protected AbstractConstraintStream(DefaultConstraintFactory<Solution_> constraintFactory) {
+        this.constraintFactory = constraintFactory;
+    }
+
+    @Override
+    public DefaultConstraintFactory<Solution_> getConstraintFactory() {
+        return constraintFactory;
+    }
+
+    // ************************************************************************
+    // Penalize/reward
+    // ************************************************************************
+
+    /**
+     * @param constraintName never null
+     * @param constraintWeight never null
+     * @param positive false for a penalty
+     * @return never null, the constraint weight negated for a penalty
+     */
+    protected Score buildConstraintWeight(String constraintName, Score<?> constraintWeight, boolean positive) {
+        if (constraintName == null) {
+            throw new IllegalArgumentException("The constraintName (" + constraintName + ") cannot be null.");
+        }
+        if (constraintWeight == null) {
+            throw new IllegalArgumentException("The constraint (" + constraintName
+                    + ")'s constraintWeight (" + constraintWeight + ") cannot be null.");
+        }
+        ScoreDefinition scoreDefinition = constraintFactory.getSolutionDescriptor().getScoreDefinition();
+        if (!scoreDefinition.getScoreClass().isInstance(constraintWeight)) {
+            throw new IllegalArgumentException("The constraint (" + constraintName
+                    + ")'s constraintWeight (" + constraintWeight + ") of class (" + constraintWeight.getClass()
+                    + ") is not compatible with the scoreClass (" + scoreDefinition.getScoreClass()
+                    + ") of the " + PlanningSolution.class.getSimpleName() + ".");
+        }
+        Score zeroScore = scoreDefinition.getZeroScore();
+        if (((Score) constraintWeight).compareTo(zeroScore) < 0) {
+            throw new IllegalArgumentException("The constraint (" + constraintName
+                    + ")'s constraintWeight (" + constraintWeight + ") cannot be negative.\n"
+                    + "Maybe use " + (positive ? "penalize()" : "reward()") + " instead.");
+        }
+        return positive ? constraintWeight : constraintWeight.negate();
+    }
+
+}
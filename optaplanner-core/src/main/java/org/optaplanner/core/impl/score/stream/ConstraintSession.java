@@ -0,0 +1,172 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.constraint.ConstraintMatch;
+import org.optaplanner.core.api.score.constraint.ConstraintMatchTotal;
+import org.optaplanner.core.api.score.constraint.Indictment;
+import org.optaplanner.core.impl.score.stream.common.ScoringNode;
+import org.optaplanner.core.impl.score.stream.uni.FromUniNode;
+
+/**
+ * Holds the nodes of the constraint streams for one working solution.
+ * Every node remembers what it propagated, so an inserted, updated or retracted fact
+ * only recalculates the tuples that contain that fact.
+ * <p>
+ * An update is delayed until the next {@link #calculateScore(int)},
+ * so a fact that changes multiple times in the same move is only propagated once.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class ConstraintSession<Solution_> {
+
+    private final Score zeroScore;
+    private final List<FromUniNode<Object>> fromNodeList;
+    private final List<ScoringNode> scoringNodeList;
+
+    private final Map<Class<?>, List<FromUniNode<Object>>> fromNodeListMap = new HashMap<>();
+    private final Set<Object> dirtyFactSet = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final List<Object> dirtyFactList = new ArrayList<>();
+
+    public ConstraintSession(Score zeroScore, List<FromUniNode<Object>> fromNodeList,
+            List<ScoringNode> scoringNodeList) {
+        this.zeroScore = zeroScore;
+        this.fromNodeList = fromNodeList;
+        this.scoringNodeList = scoringNodeList;
+    }
+
+    // ************************************************************************
+    // Fact methods
+    // ************************************************************************
+
+    public void insert(Object fact) {
+        if (fact == null) {
+            throw new IllegalArgumentException("The fact (" + fact + ") cannot be inserted.");
+        }
+        for (FromUniNode<Object> fromNode : findFromNodeList(fact.getClass())) {
+            fromNode.insert(fact);
+        }
+    }
+
+    public void update(Object fact) {
+        if (fact == null) {
+            throw new IllegalArgumentException("The fact (" + fact + ") cannot be updated.");
+        }
+        if (dirtyFactSet.add(fact)) {
+            dirtyFactList.add(fact);
+        }
+    }
+
+    public void retract(Object fact) {
+        if (fact == null) {
+            throw new IllegalArgumentException("The fact (" + fact + ") cannot be retracted.");
+        }
+        // Its entry in the dirtyFactList is skipped at the next flush
+        dirtyFactSet.remove(fact);
+        for (FromUniNode<Object> fromNode : findFromNodeList(fact.getClass())) {
+            fromNode.retract(fact);
+        }
+    }
+
+    private List<FromUniNode<Object>> findFromNodeList(Class<?> factClass) {
+        return fromNodeListMap.computeIfAbsent(factClass, k -> fromNodeList.stream()
+                .filter(fromNode -> fromNode.getFromClass().isAssignableFrom(factClass))
+                .collect(Collectors.toList()));
+    }
+
+    private void flushDirtyFacts() {
+        if (dirtyFactList.isEmpty()) {
+            return;
+        }
+        for (Object fact : dirtyFactList) {
+            if (dirtyFactSet.remove(fact)) {
+                List<FromUniNode<Object>> factFromNodeList = findFromNodeList(fact.getClass());
+                for (FromUniNode<Object> fromNode : factFromNodeList) {
+                    fromNode.retract(fact);
+                }
+                for (FromUniNode<Object> fromNode : factFromNodeList) {
+                    fromNode.insert(fact);
+                }
+            }
+        }
+        dirtyFactList.clear();
+    }
+
+    // ************************************************************************
+    // Score methods
+    // ************************************************************************
+
+    public Score calculateScore(int initScore) {
+        flushDirtyFacts();
+        Score score = zeroScore;
+        for (ScoringNode scoringNode : scoringNodeList) {
+            long matchWeightTotal = scoringNode.getMatchWeightTotal();
+            if (matchWeightTotal != 0L) {
+                score = score.add(scoringNode.getConstraint().getConstraintWeight().multiply(matchWeightTotal));
+            }
+        }
+        return initScore == 0 ? score : score.withInitScore(initScore);
+    }
+
+    /**
+     * Builds the {@link ConstraintMatchTotal}s from the current state of the nodes,
+     * so there is no overhead when they aren't requested.
+     * @return never null
+     */
+    public Collection<ConstraintMatchTotal> getConstraintMatchTotals() {
+        flushDirtyFacts();
+        Map<String, ConstraintMatchTotal> constraintMatchTotalMap = new LinkedHashMap<>(scoringNodeList.size());
+        for (ScoringNode scoringNode : scoringNodeList) {
+            DefaultConstraint<?> constraint = scoringNode.getConstraint();
+            ConstraintMatchTotal constraintMatchTotal = new ConstraintMatchTotal(
+                    constraint.getConstraintPackage(), constraint.getConstraintName(), zeroScore);
+            scoringNode.addConstraintMatches(constraintMatchTotal);
+            constraintMatchTotalMap.put(constraint.getConstraintId(), constraintMatchTotal);
+        }
+        return constraintMatchTotalMap.values();
+    }
+
+    /**
+     * @return never null
+     */
+    public Map<Object, Indictment> getIndictmentMap() {
+        Map<Object, Indictment> indictmentMap = new LinkedHashMap<>();
+        for (ConstraintMatchTotal constraintMatchTotal : getConstraintMatchTotals()) {
+            for (ConstraintMatch constraintMatch : constraintMatchTotal.getConstraintMatchSet()) {
+                constraintMatch.getJustificationList().stream()
+                        .distinct() // One match might have the same justification twice
+                        .forEach(justification -> indictmentMap.computeIfAbsent(justification,
+                                k -> new Indictment(justification, zeroScore))
+                                .addConstraintMatch(constraintMatch));
+            }
+        }
+        return indictmentMap;
+    }
+
+}
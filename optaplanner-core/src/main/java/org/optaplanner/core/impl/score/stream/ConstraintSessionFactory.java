@@ -0,0 +1,109 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.stream.Constraint;
+import org.optaplanner.core.api.score.stream.ConstraintProvider;
+import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import org.optaplanner.core.impl.score.stream.common.NodeBuildContext;
+import org.optaplanner.core.impl.score.stream.common.ScoringNode;
+import org.optaplanner.core.impl.score.stream.uni.FromUniNode;
+
+/**
+ * Defines the constraints of a {@link ConstraintProvider} once
+ * and builds a new {@link ConstraintSession} with its own nodes for every working solution.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class ConstraintSessionFactory<Solution_> {
+
+    private final SolutionDescriptor<Solution_> solutionDescriptor;
+    private final DefaultConstraintFactory<Solution_> constraintFactory;
+    private final List<Constraint> constraintList;
+
+    public ConstraintSessionFactory(SolutionDescriptor<Solution_> solutionDescriptor,
+            ConstraintProvider constraintProvider) {
+        this.solutionDescriptor = solutionDescriptor;
+        constraintFactory = new DefaultConstraintFactory<>(solutionDescriptor);
+        Constraint[] constraints = constraintProvider.defineConstraints(constraintFactory);
+        if (constraints == null) {
+            throw new IllegalStateException("The constraintProvider class (" + constraintProvider.getClass()
+                    + ")'s defineConstraints() must not return null.\n"
+                    + "Maybe return an empty array instead if there are no constraints.");
+        }
+        Map<String, Constraint> constraintIdMap = new HashMap<>(constraints.length);
+        for (Constraint constraint : constraints) {
+            if (constraint == null) {
+                throw new IllegalStateException("The constraintProvider class (" + constraintProvider.getClass()
+                        + ")'s defineConstraints() must not return a null constraint.");
+            }
+            if (constraint.getConstraintFactory() != constraintFactory) {
+                throw new IllegalStateException("The constraint (" + constraint.getConstraintId()
+                        + ") was not created by the constraintFactory passed to the constraintProvider class ("
+                        + constraintProvider.getClass() + ")'s defineConstraints().");
+            }
+            Constraint duplicate = constraintIdMap.put(constraint.getConstraintId(), constraint);
+            if (duplicate != null) {
+                throw new IllegalStateException("The constraintProvider class (" + constraintProvider.getClass()
+                        + ") has multiple constraints with the same constraintId ("
+                        + constraint.getConstraintId() + ").");
+            }
+        }
+        constraintList = Arrays.asList(constraints);
+    }
+
+    public SolutionDescriptor<Solution_> getSolutionDescriptor() {
+        return solutionDescriptor;
+    }
+
+    /**
+     * @return never null
+     */
+    public List<Constraint> getConstraintList() {
+        return constraintList;
+    }
+
+    // ************************************************************************
+    // Complex methods
+    // ************************************************************************
+
+    /**
+     * @return never null, without any facts
+     */
+    public ConstraintSession<Solution_> buildSession() {
+        NodeBuildContext<Solution_> buildContext = new NodeBuildContext<>(solutionDescriptor);
+        List<FromUniNode<Object>> fromNodeList = constraintFactory.getFromStreamList().stream()
+                .map(fromStream -> fromStream.buildFromNode(buildContext))
+                .collect(Collectors.toList());
+        // A constraint that isn't returned by the ConstraintProvider is ignored
+        Set<Constraint> constraintSet = new HashSet<>(constraintList);
+        List<ScoringNode> scoringNodeList = buildContext.getScoringNodeList().stream()
+                .filter(scoringNode -> constraintSet.contains(scoringNode.getConstraint()))
+                .collect(Collectors.toList());
+        return new ConstraintSession<>(solutionDescriptor.getScoreDefinition().getZeroScore(),
+                fromNodeList, scoringNodeList);
+    }
+
+}
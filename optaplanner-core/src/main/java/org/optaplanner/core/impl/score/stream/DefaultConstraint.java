@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.stream.Constraint;
+import org.optaplanner.core.impl.score.stream.common.NodeBuildContext;
+
+/**
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public abstract class DefaultConstraint<Solution_> implements Constraint {
+
+    protected final DefaultConstraintFactory<Solution_> constraintFactory;
+    protected final String constraintPackage;
+    protected final String constraintName;
+    protected final Score constraintWeight;
+
+    /**
+     * @param constraintFactory never null
+     * @param constraintPackage never null
+     * @param constraintName never null
+     * @param constraintWeight never null, already negated for a penalty
+     */
+    protected DefaultConstraint(DefaultConstraintFactory<Solution_> constraintFactory,
+            String constraintPackage, String constraintName, Score constraintWeight) {
+        this.constraintFactory = constraintFactory;
+        this.constraintPackage = constraintPackage;
+        this.constraintName = constraintName;
+        this.constraintWeight = constraintWeight;
+    }
+
+    @Override
+    public DefaultConstraintFactory<Solution_> getConstraintFactory() {
+        return constraintFactory;
+    }
+
+    @Override
+    public String getConstraintPackage() {
+        return constraintPackage;
+    }
+
+    @Override
+    public String getConstraintName() {
+        return constraintName;
+    }
+
+    @Override
+    public Score getConstraintWeight() {
+        return constraintWeight;
+    }
+
+    @Override
+    public String toString() {
+        return getConstraintId() + " (" + constraintWeight + ")";
+    }
+
+}
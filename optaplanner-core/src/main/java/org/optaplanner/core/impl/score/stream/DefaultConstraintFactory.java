@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.stream.ConstraintFactory;
+import org.optaplanner.core.api.score.stream.uni.UniConstraintStream;
+import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import org.optaplanner.core.impl.score.stream.uni.FromUniConstraintStream;
+
+/**
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public final class DefaultConstraintFactory<Solution_> implements ConstraintFactory {
+
+    private final SolutionDescriptor<Solution_> solutionDescriptor;
+    private final String defaultConstraintPackage;
+
+    private final List<FromUniConstraintStream<Solution_, Object>> fromStreamList = new ArrayList<>();
+
+    public DefaultConstraintFactory(SolutionDescriptor<Solution_> solutionDescriptor) {
+        this.solutionDescriptor = solutionDescriptor;
+        Package pack = solutionDescriptor.getSolutionClass().getPackage();
+        defaultConstraintPackage = (pack == null) ? "" : pack.getName();
+    }
+
+    public SolutionDescriptor<Solution_> getSolutionDescriptor() {
+        return solutionDescriptor;
+    }
+
+    @Override
+    public String getDefaultConstraintPackage() {
+        return defaultConstraintPackage;
+    }
+
+    public List<FromUniConstraintStream<Solution_, Object>> getFromStreamList() {
+        return fromStreamList;
+    }
+
+    // ************************************************************************
+    // From
+    // ************************************************************************
+
+    @Override
+    public <A> UniConstraintStream<A> from(Class<A> fromClass) {
+        return buildFromStream(fromClass, true);
+    }
+
+    @Override
+    public <A> UniConstraintStream<A> fromUnfiltered(Class<A> fromClass) {
+        return buildFromStream(fromClass, false);
+    }
+
+    private <A> FromUniConstraintStream<Solution_, A> buildFromStream(Class<A> fromClass,
+            boolean filterUninitialized) {
+        if (fromClass == null) {
+            throw new IllegalArgumentException("The fromClass (" + fromClass + ") cannot be null.");
+        }
+        FromUniConstraintStream<Solution_, A> fromStream = new FromUniConstraintStream<>(
+                this, fromClass, filterUninitialized);
+        fromStreamList.add((FromUniConstraintStream<Solution_, Object>) fromStream);
+        return fromStream;
+    }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiPredicate;
+import java.util.function.ToIntBiFunction;
+import java.util.stream.Collectors;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.stream.Constraint;
+import org.optaplanner.core.api.score.stream.bi.BiConstraintStream;
+import org.optaplanner.core.impl.score.stream.AbstractConstraintStream;
+import org.optaplanner.core.impl.score.stream.DefaultConstraintFactory;
+import org.optaplanner.core.impl.score.stream.common.NodeBuildContext;
+
+/**
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ * @param <A> the type of the first fact of the tuples
+ * @param <B> the type of the second fact of the tuples
+ */
+public abstract class AbstractBiConstraintStream<Solution_, A, B> extends AbstractConstraintStream<Solution_>
+        implements BiConstraintStream<A, B> {
+
+    protected final List<BiTupleConsumer<Solution_, A, B>> childList = new ArrayList<>(2);
+
+    protected AbstractBiConstraintStream(DefaultConstraintFactory<Solution_> constraintFactory) {
+        super(constraintFactory);
+    }
+
+    public void addChild(BiTupleConsumer<Solution_, A, B> child) {
+        childList.add(child);
+    }
+
+    protected List<BiNode<A, B>> buildChildNodeList(NodeBuildContext<Solution_> buildContext) {
+        return childList.stream()
+                .map(child -> child.buildInputNode(buildContext))
+                .collect(Collectors.toList());
+    }
+
+    // ************************************************************************
+    // Filter
+    // ************************************************************************
+
+    @Override
+    public BiConstraintStream<A, B> filter(BiPredicate<A, B> predicate) {
+        if (predicate == null) {
+            throw new IllegalArgumentException("The predicate (" + predicate + ") cannot be null.");
+        }
+        FilterBiConstraintStream<Solution_, A, B> stream = new FilterBiConstraintStream<>(
+                constraintFactory, predicate);
+        addChild(stream);
+        return stream;
+    }
+
+    // ************************************************************************
+    // Penalize/reward
+    // ************************************************************************
+
+    @Override
+    public Constraint penalize(String constraintName, Score<?> constraintWeight) {
+        return penalize(constraintName, constraintWeight, null);
+    }
+
+    @Override
+    public Constraint penalize(String constraintName, Score<?> constraintWeight,
+            ToIntBiFunction<A, B> matchWeigher) {
+        return buildConstraint(constraintName, constraintWeight, false, matchWeigher);
+    }
+
+    @Override
+    public Constraint reward(String constraintName, Score<?> constraintWeight) {
+        return reward(constraintName, constraintWeight, null);
+    }
+
+    @Override
+    public Constraint reward(String constraintName, Score<?> constraintWeight,
+            ToIntBiFunction<A, B> matchWeigher) {
+        return buildConstraint(constraintName, constraintWeight, true, matchWeigher);
+    }
+
+    protected Constraint buildConstraint(String constraintName, Score<?> constraintWeight, boolean positive,
+            ToIntBiFunction<A, B> matchWeigher) {
+        Score impactWeight = buildConstraintWeight(constraintName, constraintWeight, positive);
+        BiConstraint<Solution_, A, B> constraint = new BiConstraint<>(constraintFactory,
+                constraintFactory.getDefaultConstraintPackage(), constraintName, impactWeight, matchWeigher);
+        addChild(constraint);
+        return constraint;
+    }
+
+}
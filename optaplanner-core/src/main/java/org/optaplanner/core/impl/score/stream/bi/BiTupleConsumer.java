@@ -0,0 +1,37 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bi;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.impl.score.stream.common.NodeBuildContext;
+
+/**
+ * A child of an {@link AbstractBiConstraintStream}.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ * @param <A> the type of the first fact of the tuples
+ * @param <B> the type of the second fact of the tuples
+ */
+@FunctionalInterface
+public interface BiTupleConsumer<Solution_, A, B> {
+
+    /**
+     * @param buildContext never null
+     * @return never null, the node that receives the tuples of the parent node
+     */
+    BiNode<A, B> buildInputNode(NodeBuildContext<Solution_> buildContext);
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bi;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiPredicate;
+
+/**
+ * Remembers which tuples passed the predicate, because the predicate's result can differ on retract.
+ * @param <A> the type of the first fact of the tuples
+ * @param <B> the type of the second fact of the tuples
+ */
+public final class FilterBiNode<A, B> implements BiNode<A, B> {
+
+    private final BiPredicate<A, B> predicate;
+    private final List<BiNode<A, B>> childNodeList;
+
+    private final Set<BiTuple<A, B>> passedTupleSet = new HashSet<>();
+
+    public FilterBiNode(BiPredicate<A, B> predicate, List<BiNode<A, B>> childNodeList) {
+        this.predicate = predicate;
+        this.childNodeList = childNodeList;
+    }
+
+    @Override
+    public void insert(BiTuple<A, B> tuple) {
+        if (predicate.test(tuple.getA(), tuple.getB())) {
+            passedTupleSet.add(tuple);
+            for (BiNode<A, B> childNode : childNodeList) {
+                childNode.insert(tuple);
+            }
+        }
+    }
+
+    @Override
+    public void retract(BiTuple<A, B> tuple) {
+        if (passedTupleSet.remove(tuple)) {
+            for (BiNode<A, B> childNode : childNodeList) {
+                childNode.retract(tuple);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bi;
+
+import java.util.function.Function;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.stream.uni.UniConstraintCollector;
+import org.optaplanner.core.impl.score.stream.DefaultConstraintFactory;
+import org.optaplanner.core.impl.score.stream.common.NodeBuildContext;
+import org.optaplanner.core.impl.score.stream.uni.UniNode;
+import org.optaplanner.core.impl.score.stream.uni.UniTupleConsumer;
+
+/**
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ * @param <A> the type of the fact of the input tuples
+ * @param <GroupKey_> the type of the group key
+ * @param <ResultContainer_> the mutable accumulation type of the collector
+ * @param <Result_> the type of the result of the collector
+ */
+public class GroupByBiConstraintStream<Solution_, A, GroupKey_, ResultContainer_, Result_>
+        extends AbstractBiConstraintStream<Solution_, GroupKey_, Result_>
+        implements UniTupleConsumer<Solution_, A> {
+
+    private final Function<A, GroupKey_> groupKeyMapping;
+    private final UniConstraintCollector<A, ResultContainer_, Result_> collector;
+
+    public GroupByBiConstraintStream(DefaultConstraintFactory<Solution_> constraintFactory,
+            Function<A, GroupKey_> groupKeyMapping, UniConstraintCollector<A, ResultContainer_, Result_> collector) {
+        super(constraintFactory);
+        this.groupKeyMapping = groupKeyMapping;
+        this.collector = collector;
+    }
+
+    @Override
+    public UniNode<A> buildInputNode(NodeBuildContext<Solution_> buildContext) {
+        return new GroupByBiNode<>(groupKeyMapping, collector, buildChildNodeList(buildContext));
+    }
+
+    @Override
+    public String toString() {
+        return "BiGroupBy() with " + childList.size() + " children";
+    }
+
+}
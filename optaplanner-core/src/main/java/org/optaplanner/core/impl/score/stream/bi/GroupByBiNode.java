@@ -0,0 +1,140 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bi;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.optaplanner.core.api.score.stream.uni.UniConstraintCollector;
+import org.optaplanner.core.impl.score.stream.uni.UniNode;
+import org.optaplanner.core.impl.score.stream.uni.UniTuple;
+
+/**
+ * Accumulates every input tuple into the result container of its group
+ * and remembers the undo of that accumulation, so a retract doesn't recalculate the group.
+ * When the result of a group changes, its old output tuple is retracted and a new one is inserted.
+ * @param <A> the type of the fact of the input tuples
+ * @param <GroupKey_> the type of the group key
+ * @param <ResultContainer_> the mutable accumulation type of the collector
+ * @param <Result_> the type of the result of the collector
+ */
+public final class GroupByBiNode<A, GroupKey_, ResultContainer_, Result_> implements UniNode<A> {
+
+    private final Function<A, GroupKey_> groupKeyMapping;
+    private final Supplier<ResultContainer_> supplier;
+    private final BiFunction<ResultContainer_, A, Runnable> accumulator;
+    private final Function<ResultContainer_, Result_> finisher;
+    private final List<BiNode<GroupKey_, Result_>> childNodeList;
+
+    private final Map<GroupKey_, Group> groupMap = new LinkedHashMap<>();
+    private final Map<UniTuple<A>, GroupedTuple> groupedTupleMap = new HashMap<>();
+
+    public GroupByBiNode(Function<A, GroupKey_> groupKeyMapping,
+            UniConstraintCollector<A, ResultContainer_, Result_> collector,
+            List<BiNode<GroupKey_, Result_>> childNodeList) {
+        this.groupKeyMapping = groupKeyMapping;
+        supplier = collector.supplier();
+        accumulator = collector.accumulator();
+        finisher = collector.finisher();
+        this.childNodeList = childNodeList;
+    }
+
+    @Override
+    public void insert(UniTuple<A> tuple) {
+        GroupKey_ groupKey = groupKeyMapping.apply(tuple.getA());
+        Group group = groupMap.computeIfAbsent(groupKey, k -> new Group(groupKey, supplier.get()));
+        Runnable undoAccumulator = accumulator.apply(group.resultContainer, tuple.getA());
+        group.tupleCount++;
+        if (groupedTupleMap.put(tuple, new GroupedTuple(group, undoAccumulator)) != null) {
+            throw new IllegalStateException("Impossible state: the tuple (" + tuple
+                    + ") was already inserted in a group.");
+        }
+        refreshOutTuple(group);
+    }
+
+    @Override
+    public void retract(UniTuple<A> tuple) {
+        GroupedTuple groupedTuple = groupedTupleMap.remove(tuple);
+        if (groupedTuple == null) {
+            throw new IllegalStateException("Impossible state: the tuple (" + tuple
+                    + ") was never inserted in a group.");
+        }
+        Group group = groupedTuple.group;
+        groupedTuple.undoAccumulator.run();
+        group.tupleCount--;
+        if (group.tupleCount == 0) {
+            groupMap.remove(group.groupKey);
+            retractOutTuple(group);
+        } else {
+            refreshOutTuple(group);
+        }
+    }
+
+    private void refreshOutTuple(Group group) {
+        Result_ result = finisher.apply(group.resultContainer);
+        if (group.outTuple != null) {
+            if (Objects.equals(group.outTuple.getB(), result)) {
+                return;
+            }
+            retractOutTuple(group);
+        }
+        group.outTuple = new BiTuple<>(group.groupKey, result);
+        for (BiNode<GroupKey_, Result_> childNode : childNodeList) {
+            childNode.insert(group.outTuple);
+        }
+    }
+
+    private void retractOutTuple(Group group) {
+        for (BiNode<GroupKey_, Result_> childNode : childNodeList) {
+            childNode.retract(group.outTuple);
+        }
+        group.outTuple = null;
+    }
+
+    private final class Group {
+
+        private final GroupKey_ groupKey;
+        private final ResultContainer_ resultContainer;
+        private int tupleCount = 0;
+        private BiTuple<GroupKey_, Result_> outTuple = null;
+
+        private Group(GroupKey_ groupKey, ResultContainer_ resultContainer) {
+            this.groupKey = groupKey;
+            this.resultContainer = resultContainer;
+        }
+
+    }
+
+    private final class GroupedTuple {
+
+        private final Group group;
+        private final Runnable undoAccumulator;
+
+        private GroupedTuple(Group group, Runnable undoAccumulator) {
+            this.group = group;
+            this.undoAccumulator = undoAccumulator;
+        }
+
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bi;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.impl.score.stream.DefaultConstraintFactory;
+import org.optaplanner.core.impl.score.stream.common.NodeBuildContext;
+import org.optaplanner.core.impl.score.stream.uni.AbstractUniConstraintStream;
+import org.optaplanner.core.impl.score.stream.uni.UniNode;
+import org.optaplanner.core.impl.score.stream.uni.UniTupleConsumer;
+
+/**
+ * A child of both its left and its right parent stream, which share a single {@link JoinBiNode}.
+ * For a self join (the left and right parent are the same stream), every tuple is inserted on the left
+ * and then on the right, so it also matches itself once.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ * @param <A> the type of the left fact
+ * @param <B> the type of the right fact
+ */
+public class JoinBiConstraintStream<Solution_, A, B> extends AbstractBiConstraintStream<Solution_, A, B>
+        implements UniTupleConsumer<Solution_, A> {
+
+    private final SingleBiJoiner<A, B>[] joiners;
+
+    public JoinBiConstraintStream(DefaultConstraintFactory<Solution_> constraintFactory,
+            AbstractUniConstraintStream<Solution_, A> leftParent,
+            AbstractUniConstraintStream<Solution_, B> rightParent,
+            SingleBiJoiner<A, B>[] joiners) {
+        super(constraintFactory);
+        this.joiners = joiners;
+        leftParent.addChild(this);
+        rightParent.addChild(buildContext -> buildJoinNode(buildContext).getRightInputNode());
+    }
+
+    @Override
+    public UniNode<A> buildInputNode(NodeBuildContext<Solution_> buildContext) {
+        return buildJoinNode(buildContext).getLeftInputNode();
+    }
+
+    private JoinBiNode<A, B> buildJoinNode(NodeBuildContext<Solution_> buildContext) {
+        return buildContext.computeNodeIfAbsent(this,
+                () -> new JoinBiNode<>(joiners, buildChildNodeList(buildContext)));
+    }
+
+    @Override
+    public String toString() {
+        return "BiJoin() with " + childList.size() + " children";
+    }
+
+}
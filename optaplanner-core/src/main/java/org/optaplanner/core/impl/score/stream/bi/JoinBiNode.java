@@ -0,0 +1,261 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bi;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.optaplanner.core.impl.score.stream.common.JoinerType;
+import org.optaplanner.core.impl.score.stream.uni.UniNode;
+import org.optaplanner.core.impl.score.stream.uni.UniTuple;
+
+/**
+ * Indexes both sides by the values of the {@link JoinerType#EQUAL} joiners,
+ * so a tuple is only compared with the tuples on the other side that have the same index key.
+ * The other joiners are checked for every pair in that bucket.
+ * <p>
+ * Every tuple remembers its index key, its compare values and the output tuples it is part of,
+ * so a retract never calls the mappings again (their result might have changed in the meantime).
+ * @param <A> the type of the left fact
+ * @param <B> the type of the right fact
+ */
+public final class JoinBiNode<A, B> {
+
+    private static final Object NO_INDEX_KEY = new Object();
+
+    private final Function<A, ?>[] leftEqualMappings;
+    private final Function<B, ?>[] rightEqualMappings;
+    private final Function<A, ?>[] leftCompareMappings;
+    private final JoinerType[] compareJoinerTypes;
+    private final Function<B, ?>[] rightCompareMappings;
+    private final List<BiNode<A, B>> childNodeList;
+
+    private final Map<Object, Set<UniTuple<A>>> leftIndexMap = new HashMap<>();
+    private final Map<Object, Set<UniTuple<B>>> rightIndexMap = new HashMap<>();
+    private final Map<UniTuple<A>, JoinedTuple<B, A, B>> leftJoinedTupleMap = new HashMap<>();
+    private final Map<UniTuple<B>, JoinedTuple<A, A, B>> rightJoinedTupleMap = new HashMap<>();
+
+    private final UniNode<A> leftInputNode = new UniNode<A>() {
+        @Override
+        public void insert(UniTuple<A> tuple) {
+            insertLeft(tuple);
+        }
+
+        @Override
+        public void retract(UniTuple<A> tuple) {
+            retractLeft(tuple);
+        }
+    };
+    private final UniNode<B> rightInputNode = new UniNode<B>() {
+        @Override
+        public void insert(UniTuple<B> tuple) {
+            insertRight(tuple);
+        }
+
+        @Override
+        public void retract(UniTuple<B> tuple) {
+            retractRight(tuple);
+        }
+    };
+
+    public JoinBiNode(SingleBiJoiner<A, B>[] joiners, List<BiNode<A, B>> childNodeList) {
+        List<Function<A, ?>> leftEqualMappingList = new ArrayList<>(joiners.length);
+        List<Function<B, ?>> rightEqualMappingList = new ArrayList<>(joiners.length);
+        List<Function<A, ?>> leftCompareMappingList = new ArrayList<>(joiners.length);
+        List<JoinerType> compareJoinerTypeList = new ArrayList<>(joiners.length);
+        List<Function<B, ?>> rightCompareMappingList = new ArrayList<>(joiners.length);
+        for (SingleBiJoiner<A, B> joiner : joiners) {
+            if (joiner.getJoinerType() == JoinerType.EQUAL) {
+                leftEqualMappingList.add(joiner.getLeftMapping());
+                rightEqualMappingList.add(joiner.getRightMapping());
+            } else {
+                leftCompareMappingList.add(joiner.getLeftMapping());
+                compareJoinerTypeList.add(joiner.getJoinerType());
+                rightCompareMappingList.add(joiner.getRightMapping());
+            }
+        }
+        leftEqualMappings = leftEqualMappingList.toArray(new Function[0]);
+        rightEqualMappings = rightEqualMappingList.toArray(new Function[0]);
+        leftCompareMappings = leftCompareMappingList.toArray(new Function[0]);
+        compareJoinerTypes = compareJoinerTypeList.toArray(new JoinerType[0]);
+        rightCompareMappings = rightCompareMappingList.toArray(new Function[0]);
+        this.childNodeList = childNodeList;
+    }
+
+    public UniNode<A> getLeftInputNode() {
+        return leftInputNode;
+    }
+
+    public UniNode<B> getRightInputNode() {
+        return rightInputNode;
+    }
+
+    // ************************************************************************
+    // Worker methods
+    // ************************************************************************
+
+    private void insertLeft(UniTuple<A> leftTuple) {
+        A a = leftTuple.getA();
+        Object indexKey = extractIndexKey(leftEqualMappings, a);
+        Object[] compareValues = extractCompareValues(leftCompareMappings, a);
+        JoinedTuple<B, A, B> leftJoinedTuple = new JoinedTuple<>(indexKey, compareValues);
+        if (leftJoinedTupleMap.put(leftTuple, leftJoinedTuple) != null) {
+            throw new IllegalStateException("Impossible state: the tuple (" + leftTuple
+                    + ") was already inserted on the left.");
+        }
+        leftIndexMap.computeIfAbsent(indexKey, k -> new LinkedHashSet<>()).add(leftTuple);
+        Set<UniTuple<B>> rightTupleSet = rightIndexMap.get(indexKey);
+        if (rightTupleSet == null) {
+            return;
+        }
+        for (UniTuple<B> rightTuple : rightTupleSet) {
+            JoinedTuple<A, A, B> rightJoinedTuple = rightJoinedTupleMap.get(rightTuple);
+            if (matchesCompareValues(compareValues, rightJoinedTuple.compareValues)) {
+                BiTuple<A, B> outTuple = new BiTuple<>(a, rightTuple.getA());
+                leftJoinedTuple.outTupleMap.put(rightTuple, outTuple);
+                rightJoinedTuple.outTupleMap.put(leftTuple, outTuple);
+                for (BiNode<A, B> childNode : childNodeList) {
+                    childNode.insert(outTuple);
+                }
+            }
+        }
+    }
+
+    private void retractLeft(UniTuple<A> leftTuple) {
+        JoinedTuple<B, A, B> leftJoinedTuple = leftJoinedTupleMap.remove(leftTuple);
+        if (leftJoinedTuple == null) {
+            throw new IllegalStateException("Impossible state: the tuple (" + leftTuple
+                    + ") was never inserted on the left.");
+        }
+        removeFromIndex(leftIndexMap, leftJoinedTuple.indexKey, leftTuple);
+        leftJoinedTuple.outTupleMap.forEach((rightTuple, outTuple) -> {
+            rightJoinedTupleMap.get(rightTuple).outTupleMap.remove(leftTuple);
+            for (BiNode<A, B> childNode : childNodeList) {
+                childNode.retract(outTuple);
+            }
+        });
+    }
+
+    private void insertRight(UniTuple<B> rightTuple) {
+        B b = rightTuple.getA();
+        Object indexKey = extractIndexKey(rightEqualMappings, b);
+        Object[] compareValues = extractCompareValues(rightCompareMappings, b);
+        JoinedTuple<A, A, B> rightJoinedTuple = new JoinedTuple<>(indexKey, compareValues);
+        if (rightJoinedTupleMap.put(rightTuple, rightJoinedTuple) != null) {
+            throw new IllegalStateException("Impossible state: the tuple (" + rightTuple
+                    + ") was already inserted on the right.");
+        }
+        rightIndexMap.computeIfAbsent(indexKey, k -> new LinkedHashSet<>()).add(rightTuple);
+        Set<UniTuple<A>> leftTupleSet = leftIndexMap.get(indexKey);
+        if (leftTupleSet == null) {
+            return;
+        }
+        for (UniTuple<A> leftTuple : leftTupleSet) {
+            JoinedTuple<B, A, B> leftJoinedTuple = leftJoinedTupleMap.get(leftTuple);
+            if (matchesCompareValues(leftJoinedTuple.compareValues, compareValues)) {
+                BiTuple<A, B> outTuple = new BiTuple<>(leftTuple.getA(), b);
+                leftJoinedTuple.outTupleMap.put(rightTuple, outTuple);
+                rightJoinedTuple.outTupleMap.put(leftTuple, outTuple);
+                for (BiNode<A, B> childNode : childNodeList) {
+                    childNode.insert(outTuple);
+                }
+            }
+        }
+    }
+
+    private void retractRight(UniTuple<B> rightTuple) {
+        JoinedTuple<A, A, B> rightJoinedTuple = rightJoinedTupleMap.remove(rightTuple);
+        if (rightJoinedTuple == null) {
+            throw new IllegalStateException("Impossible state: the tuple (" + rightTuple
+                    + ") was never inserted on the right.");
+        }
+        removeFromIndex(rightIndexMap, rightJoinedTuple.indexKey, rightTuple);
+        rightJoinedTuple.outTupleMap.forEach((leftTuple, outTuple) -> {
+            leftJoinedTupleMap.get(leftTuple).outTupleMap.remove(rightTuple);
+            for (BiNode<A, B> childNode : childNodeList) {
+                childNode.retract(outTuple);
+            }
+        });
+    }
+
+    private static <T> Object extractIndexKey(Function<T, ?>[] equalMappings, T fact) {
+        switch (equalMappings.length) {
+            case 0:
+                return NO_INDEX_KEY;
+            case 1:
+                return equalMappings[0].apply(fact);
+            default:
+                Object[] indexKeys = new Object[equalMappings.length];
+                for (int i = 0; i < equalMappings.length; i++) {
+                    indexKeys[i] = equalMappings[i].apply(fact);
+                }
+                return Arrays.asList(indexKeys);
+        }
+    }
+
+    private static <T> Object[] extractCompareValues(Function<T, ?>[] compareMappings, T fact) {
+        Object[] compareValues = new Object[compareMappings.length];
+        for (int i = 0; i < compareMappings.length; i++) {
+            compareValues[i] = compareMappings[i].apply(fact);
+        }
+        return compareValues;
+    }
+
+    private boolean matchesCompareValues(Object[] leftCompareValues, Object[] rightCompareValues) {
+        for (int i = 0; i < compareJoinerTypes.length; i++) {
+            if (!compareJoinerTypes[i].matches(leftCompareValues[i], rightCompareValues[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static <T> void removeFromIndex(Map<Object, Set<UniTuple<T>>> indexMap, Object indexKey,
+            UniTuple<T> tuple) {
+        Set<UniTuple<T>> tupleSet = indexMap.get(indexKey);
+        tupleSet.remove(tuple);
+        if (tupleSet.isEmpty()) {
+            indexMap.remove(indexKey);
+        }
+    }
+
+    /**
+     * @param <Other_> the type of the fact on the other side
+     * @param <A> the type of the left fact
+     * @param <B> the type of the right fact
+     */
+    private static final class JoinedTuple<Other_, A, B> {
+
+        private final Object indexKey;
+        private final Object[] compareValues;
+        private final Map<UniTuple<Other_>, BiTuple<A, B>> outTupleMap = new LinkedHashMap<>();
+
+        private JoinedTuple(Object indexKey, Object[] compareValues) {
+            this.indexKey = indexKey;
+            this.compareValues = compareValues;
+        }
+
+    }
+
+}
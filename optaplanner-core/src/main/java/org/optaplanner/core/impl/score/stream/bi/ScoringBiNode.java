@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bi;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToIntBiFunction;
+
+import org.optaplanner.core.impl.score.stream.DefaultConstraint;
+import org.optaplanner.core.impl.score.stream.common.AbstractScoringNode;
+
+/**
+ * @param <A> the type of the first fact of the tuples
+ * @param <B> the type of the second fact of the tuples
+ */
+public final class ScoringBiNode<A, B> extends AbstractScoringNode<BiTuple<A, B>> implements BiNode<A, B> {
+
+    private final ToIntBiFunction<A, B> matchWeigher;
+
+    /**
+     * @param constraint never null
+     * @param matchWeigher null if every match has a match weight of 1
+     */
+    public ScoringBiNode(DefaultConstraint<?> constraint, ToIntBiFunction<A, B> matchWeigher) {
+        super(constraint);
+        this.matchWeigher = matchWeigher;
+    }
+
+    @Override
+    public void insert(BiTuple<A, B> tuple) {
+        insertMatch(tuple, matchWeigher == null ? 1 : matchWeigher.applyAsInt(tuple.getA(), tuple.getB()));
+    }
+
+    @Override
+    public void retract(BiTuple<A, B> tuple) {
+        retractMatch(tuple);
+    }
+
+    @Override
+    protected List<Object> extractJustificationList(BiTuple<A, B> tuple) {
+        return Arrays.asList(tuple.getA(), tuple.getB());
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.bi;
+
+import java.util.function.Function;
+
+import org.optaplanner.core.api.score.stream.bi.BiJoiner;
+import org.optaplanner.core.impl.score.stream.common.JoinerType;
+
+/**
+ * @param <A> the type of the left fact
+ * @param <B> the type of the right fact
+ */
+public final class SingleBiJoiner<A, B> implements BiJoiner<A, B> {
+
+    private final Function<A, ?> leftMapping;
+    private final JoinerType joinerType;
+    private final Function<B, ?> rightMapping;
+
+    public SingleBiJoiner(Function<A, ?> leftMapping, JoinerType joinerType, Function<B, ?> rightMapping) {
+        if (leftMapping == null || rightMapping == null) {
+            throw new IllegalArgumentException("The leftMapping (" + leftMapping
+                    + ") and the rightMapping (" + rightMapping + ") cannot be null.");
+        }
+        this.leftMapping = leftMapping;
+        this.joinerType = joinerType;
+        this.rightMapping = rightMapping;
+    }
+
+    public Function<A, ?> getLeftMapping() {
+        return leftMapping;
+    }
+
+    public JoinerType getJoinerType() {
+        return joinerType;
+    }
+
+    public Function<B, ?> getRightMapping() {
+        return rightMapping;
+    }
+
+    @Override
+    public String toString() {
+        return joinerType.name();
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.common;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.constraint.ConstraintMatchTotal;
+import org.optaplanner.core.impl.score.stream.DefaultConstraint;
+
+/**
+ * Remembers the match weight of every matching tuple,
+ * so a retract never needs to call the match weigher again.
+ * @param <Tuple_> the tuple type
+ */
+public abstract class AbstractScoringNode<Tuple_> implements ScoringNode {
+
+    protected final DefaultConstraint<?> constraint;
+
+    protected final Map<Tuple_, Integer> matchWeightMap = new HashMap<>();
+    protected long matchWeightTotal = 0L;
+
+    protected AbstractScoringNode(DefaultConstraint<?> constraint) {
+        this.constraint = constraint;
+    }
+
+    @Override
+    public DefaultConstraint<?> getConstraint() {
+        return constraint;
+    }
+
+    @Override
+    public long getMatchWeightTotal() {
+        return matchWeightTotal;
+    }
+
+    @Override
+    public int getMatchCount() {
+        return matchWeightMap.size();
+    }
+
+    // ************************************************************************
+    // Worker methods
+    // ************************************************************************
+
+    protected void insertMatch(Tuple_ tuple, int matchWeight) {
+        Integer oldMatchWeight = matchWeightMap.put(tuple, matchWeight);
+        if (oldMatchWeight != null) {
+            throw new IllegalStateException("Impossible state: the tuple (" + tuple
+                    + ") was already matched by the constraint (" + constraint.getConstraintId() + ").");
+        }
+        matchWeightTotal += matchWeight;
+    }
+
+    protected void retractMatch(Tuple_ tuple) {
+        Integer matchWeight = matchWeightMap.remove(tuple);
+        if (matchWeight == null) {
+            throw new IllegalStateException("Impossible state: the tuple (" + tuple
+                    + ") was never matched by the constraint (" + constraint.getConstraintId() + ").");
+        }
+        matchWeightTotal -= matchWeight;
+    }
+
+    protected abstract List<Object> extractJustificationList(Tuple_ tuple);
+
+    @Override
+    public void addConstraintMatches(ConstraintMatchTotal constraintMatchTotal) {
+        Score constraintWeight = constraint.getConstraintWeight();
+        matchWeightMap.forEach((tuple, matchWeight) -> constraintMatchTotal.addConstraintMatch(
+                extractJustificationList(tuple), constraintWeight.multiply(matchWeight)));
+    }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.common;
+
+import java.util.Objects;
+
+public enum JoinerType {
+    EQUAL,
+    LESS_THAN,
+    LESS_THAN_OR_EQUAL,
+    GREATER_THAN,
+    GREATER_THAN_OR_EQUAL;
+
+    /**
+     * @param left sometimes null
+     * @param right sometimes null
+     * @return true if the left and right mapped values match this joiner type
+     */
+    public boolean matches(Object left, Object right) {
+        if (this == EQUAL) {
+            return Objects.equals(left, right);
+        }
+        if (left == null || right == null) {
+            // A comparison with null never matches, like in SQL
+            return false;
+        }
+        int comparison = ((Comparable) left).compareTo(right);
+        switch (this) {
+            case LESS_THAN:
+                return comparison < 0;
+            case LESS_THAN_OR_EQUAL:
+                return comparison <= 0;
+            case GREATER_THAN:
+                return comparison > 0;
+            case GREATER_THAN_OR_EQUAL:
+                return comparison >= 0;
+            default:
+                throw new IllegalStateException("The joinerType (" + this + ") is not implemented.");
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.common;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import org.optaplanner.core.impl.score.stream.ConstraintSession;
+
+/**
+ * Used while the constraint streams build the nodes of a new {@link ConstraintSession}.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public final class NodeBuildContext<Solution_> {
+
+    private final SolutionDescriptor<Solution_> solutionDescriptor;
+
+    private final Map<Object, Object> nodeMap = new IdentityHashMap<>();
+    private final List<ScoringNode> scoringNodeList = new ArrayList<>();
+
+    public NodeBuildContext(SolutionDescriptor<Solution_> solutionDescriptor) {
+        this.solutionDescriptor = solutionDescriptor;
+    }
+
+    public SolutionDescriptor<Solution_> getSolutionDescriptor() {
+        return solutionDescriptor;
+    }
+
+    public List<ScoringNode> getScoringNodeList() {
+        return scoringNodeList;
+    }
+
+    // ************************************************************************
+    // Worker methods
+    // ************************************************************************
+
+    /**
+     * For a stream with multiple parents (such as a join), so its node is only built once.
+     * @param stream never null
+     * @param nodeSupplier never null
+     * @param <Node_> the node type
+     * @return never null
+     */
+    public <Node_> Node_ computeNodeIfAbsent(Object stream, Supplier<Node_> nodeSupplier) {
+        // Not computeIfAbsent() because the supplier builds the child nodes, which can recurse into this method
+        Node_ node = (Node_) nodeMap.get(stream);
+        if (node == null) {
+            node = nodeSupplier.get();
+            nodeMap.put(stream, node);
+        }
+        return node;
+    }
+
+    public void addScoringNode(ScoringNode scoringNode) {
+        scoringNodeList.add(scoringNode);
+    }
+
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.common;
+
+import org.optaplanner.core.api.score.constraint.ConstraintMatchTotal;
+import org.optaplanner.core.impl.score.stream.DefaultConstraint;
+
+/**
+ * The terminal node of a {@link DefaultConstraint}, which tracks the matches of that constraint.
+ */
+public interface ScoringNode {
+
+    /**
+     * @return never null
+     */
+    DefaultConstraint<?> getConstraint();
+
+    /**
+     * @return the sum of the match weights of all current matches
+     */
+    long getMatchWeightTotal();
+
+    /**
+     * @return {@code >= 0}
+     */
+    int getMatchCount();
+
+    /**
+     * Adds a {@link org.optaplanner.core.api.score.constraint.ConstraintMatch} for every current match.
+     * @param constraintMatchTotal never null, of the {@link #getConstraint()}
+     */
+    void addConstraintMatches(ConstraintMatchTotal constraintMatchTotal);
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.uni;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.stream.Constraint;
+import org.optaplanner.core.api.score.stream.bi.BiConstraintStream;
+import org.optaplanner.core.api.score.stream.bi.BiJoiner;
+import org.optaplanner.core.api.score.stream.uni.UniConstraintCollector;
+import org.optaplanner.core.api.score.stream.uni.UniConstraintStream;
+import org.optaplanner.core.impl.score.stream.AbstractConstraintStream;
+import org.optaplanner.core.impl.score.stream.DefaultConstraintFactory;
+import org.optaplanner.core.impl.score.stream.bi.GroupByBiConstraintStream;
+import org.optaplanner.core.impl.score.stream.bi.JoinBiConstraintStream;
+import org.optaplanner.core.impl.score.stream.bi.SingleBiJoiner;
+import org.optaplanner.core.impl.score.stream.common.NodeBuildContext;
+
+/**
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ * @param <A> the type of the fact of the tuples
+ */
+public abstract class AbstractUniConstraintStream<Solution_, A> extends AbstractConstraintStream<Solution_>
+        implements UniConstraintStream<A> {
+
+    protected final List<UniTupleConsumer<Solution_, A>> childList = new ArrayList<>(2);
+
+    protected AbstractUniConstraintStream(DefaultConstraintFactory<Solution_> constraintFactory) {
+        super(constraintFactory);
+    }
+
+    public void addChild(UniTupleConsumer<Solution_, A> child) {
+        childList.add(child);
+    }
+
+    protected List<UniNode<A>> buildChildNodeList(NodeBuildContext<Solution_> buildContext) {
+        return childList.stream()
+                .map(child -> child.buildInputNode(buildContext))
+                .collect(Collectors.toList());
+    }
+
+    // ************************************************************************
+    // Filter
+    // ************************************************************************
+
+    @Override
+    public UniConstraintStream<A> filter(Predicate<A> predicate) {
+        if (predicate == null) {
+            throw new IllegalArgumentException("The predicate (" + predicate + ") cannot be null.");
+        }
+        FilterUniConstraintStream<Solution_, A> stream = new FilterUniConstraintStream<>(constraintFactory, predicate);
+        addChild(stream);
+        return stream;
+    }
+
+    // ************************************************************************
+    // Join
+    // ************************************************************************
+
+    @Override
+    public <B> BiConstraintStream<A, B> join(Class<B> otherClass, BiJoiner<A, B>... joiners) {
+        return join(constraintFactory.from(otherClass), joiners);
+    }
+
+    @Override
+    public <B> BiConstraintStream<A, B> join(UniConstraintStream<B> otherStream, BiJoiner<A, B>... joiners) {
+        if (!(otherStream instanceof AbstractUniConstraintStream)
+                || otherStream.getConstraintFactory() != constraintFactory) {
+            throw new IllegalArgumentException("The otherStream (" + otherStream
+                    + ") must be created by the same constraintFactory (" + constraintFactory + ").");
+        }
+        SingleBiJoiner<A, B>[] singleJoiners = new SingleBiJoiner[joiners.length];
+        for (int i = 0; i < joiners.length; i++) {
+            if (!(joiners[i] instanceof SingleBiJoiner)) {
+                throw new IllegalArgumentException("The joiner (" + joiners[i]
+                        + ") must be created by one of the Joiners methods.");
+            }
+            singleJoiners[i] = (SingleBiJoiner<A, B>) joiners[i];
+        }
+        return new JoinBiConstraintStream<>(constraintFactory,
+                this, (AbstractUniConstraintStream<Solution_, B>) otherStream, singleJoiners);
+    }
+
+    // ************************************************************************
+    // Group by
+    // ************************************************************************
+
+    @Override
+    public <GroupKey_, Result_> BiConstraintStream<GroupKey_, Result_> groupBy(
+            Function<A, GroupKey_> groupKeyMapping, UniConstraintCollector<A, ?, Result_> collector) {
+        if (groupKeyMapping == null) {
+            throw new IllegalArgumentException("The groupKeyMapping (" + groupKeyMapping + ") cannot be null.");
+        }
+        if (collector == null) {
+            throw new IllegalArgumentException("The collector (" + collector + ") cannot be null.");
+        }
+        GroupByBiConstraintStream<Solution_, A, GroupKey_, ?, Result_> stream = new GroupByBiConstraintStream<>(
+                constraintFactory, groupKeyMapping, collector);
+        addChild(stream);
+        return stream;
+    }
+
+    // ************************************************************************
+    // Penalize/reward
+    // ************************************************************************
+
+    @Override
+    public Constraint penalize(String constraintName, Score<?> constraintWeight) {
+        return penalize(constraintName, constraintWeight, null);
+    }
+
+    @Override
+    public Constraint penalize(String constraintName, Score<?> constraintWeight, ToIntFunction<A> matchWeigher) {
+        return buildConstraint(constraintName, constraintWeight, false, matchWeigher);
+    }
+
+    @Override
+    public Constraint reward(String constraintName, Score<?> constraintWeight) {
+        return reward(constraintName, constraintWeight, null);
+    }
+
+    @Override
+    public Constraint reward(String constraintName, Score<?> constraintWeight, ToIntFunction<A> matchWeigher) {
+        return buildConstraint(constraintName, constraintWeight, true, matchWeigher);
+    }
+
+    protected Constraint buildConstraint(String constraintName, Score<?> constraintWeight, boolean positive,
+            ToIntFunction<A> matchWeigher) {
+        Score impactWeight = buildConstraintWeight(constraintName, constraintWeight, positive);
+        UniConstraint<Solution_, A> constraint = new UniConstraint<>(constraintFactory,
+                constraintFactory.getDefaultConstraintPackage(), constraintName, impactWeight, matchWeigher);
+        addChild(constraint);
+        return constraint;
+    }
+
+}
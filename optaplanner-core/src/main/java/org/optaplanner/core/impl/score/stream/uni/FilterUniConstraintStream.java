@@ -0,0 +1,50 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.uni;
+
+import java.util.function.Predicate;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.impl.score.stream.DefaultConstraintFactory;
+import org.optaplanner.core.impl.score.stream.common.NodeBuildContext;
+
+/**
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ * @param <A> the type of the fact of the tuples
+ */
+public class FilterUniConstraintStream<Solution_, A> extends AbstractUniConstraintStream<Solution_, A>
+        implements UniTupleConsumer<Solution_, A> {
+
+    private final Predicate<A> predicate;
+
+    public FilterUniConstraintStream(DefaultConstraintFactory<Solution_> constraintFactory,
+            Predicate<A> predicate) {
+        super(constraintFactory);
+        this.predicate = predicate;
+    }
+
+    @Override
+    public UniNode<A> buildInputNode(NodeBuildContext<Solution_> buildContext) {
+        return new FilterUniNode<>(predicate, buildChildNodeList(buildContext));
+    }
+
+    @Override
+    public String toString() {
+        return "UniFilter() with " + childList.size() + " children";
+    }
+
+}
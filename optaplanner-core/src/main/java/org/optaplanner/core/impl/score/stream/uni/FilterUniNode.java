@@ -0,0 +1,59 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.uni;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Remembers which tuples passed the predicate, because the predicate's result can differ on retract.
+ * @param <A> the type of the fact of the tuples
+ */
+public final class FilterUniNode<A> implements UniNode<A> {
+
+    private final Predicate<A> predicate;
+    private final List<UniNode<A>> childNodeList;
+
+    private final Set<UniTuple<A>> passedTupleSet = new HashSet<>();
+
+    public FilterUniNode(Predicate<A> predicate, List<UniNode<A>> childNodeList) {
+        this.predicate = predicate;
+        this.childNodeList = childNodeList;
+    }
+
+    @Override
+    public void insert(UniTuple<A> tuple) {
+        if (predicate.test(tuple.getA())) {
+            passedTupleSet.add(tuple);
+            for (UniNode<A> childNode : childNodeList) {
+                childNode.insert(tuple);
+            }
+        }
+    }
+
+    @Override
+    public void retract(UniTuple<A> tuple) {
+        if (passedTupleSet.remove(tuple)) {
+            for (UniNode<A> childNode : childNodeList) {
+                childNode.retract(tuple);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.uni;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.optaplanner.core.impl.domain.entity.descriptor.EntityDescriptor;
+import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+
+/**
+ * @param <A> the type of the fact of the tuples
+ */
+public final class FromUniNode<A> {
+
+    private final SolutionDescriptor<?> solutionDescriptor;
+    private final Class<A> fromClass;
+    private final boolean filterUninitialized;
+    private final List<UniNode<A>> childNodeList;
+
+    private final Map<Object, UniTuple<A>> tupleMap = new IdentityHashMap<>();
+
+    public FromUniNode(SolutionDescriptor<?> solutionDescriptor, Class<A> fromClass, boolean filterUninitialized,
+            List<UniNode<A>> childNodeList) {
+        this.solutionDescriptor = solutionDescriptor;
+        this.fromClass = fromClass;
+        this.filterUninitialized = filterUninitialized;
+        this.childNodeList = childNodeList;
+    }
+
+    public Class<A> getFromClass() {
+        return fromClass;
+    }
+
+    public void insert(Object fact) {
+        if (filterUninitialized) {
+            EntityDescriptor<?> entityDescriptor = solutionDescriptor.findEntityDescriptor(fact.getClass());
+            if (entityDescriptor != null && !entityDescriptor.isInitialized(fact)) {
+                return;
+            }
+        }
+        UniTuple<A> tuple = new UniTuple<>((A) fact);
+        if (tupleMap.put(fact, tuple) != null) {
+            throw new IllegalStateException("The fact (" + fact + ") was already inserted.");
+        }
+        for (UniNode<A> childNode : childNodeList) {
+            childNode.insert(tuple);
+        }
+    }
+
+    public void retract(Object fact) {
+        UniTuple<A> tuple = tupleMap.remove(fact);
+        if (tuple == null) {
+            // Filtered out as uninitialized
+            return;
+        }
+        for (UniNode<A> childNode : childNodeList) {
+            childNode.retract(tuple);
+        }
+    }
+
+}
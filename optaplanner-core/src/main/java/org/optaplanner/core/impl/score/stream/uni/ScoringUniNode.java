@@ -0,0 +1,57 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.uni;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import org.optaplanner.core.impl.score.stream.DefaultConstraint;
+import org.optaplanner.core.impl.score.stream.common.AbstractScoringNode;
+
+/**
+ * @param <A> the type of the fact of the tuples
+ */
+public final class ScoringUniNode<A> extends AbstractScoringNode<UniTuple<A>> implements UniNode<A> {
+
+    private final ToIntFunction<A> matchWeigher;
+
+    /**
+     * @param constraint never null
+     * @param matchWeigher null if every match has a match weight of 1
+     */
+    public ScoringUniNode(DefaultConstraint<?> constraint, ToIntFunction<A> matchWeigher) {
+        super(constraint);
+        this.matchWeigher = matchWeigher;
+    }
+
+    @Override
+    public void insert(UniTuple<A> tuple) {
+        insertMatch(tuple, matchWeigher == null ? 1 : matchWeigher.applyAsInt(tuple.getA()));
+    }
+
+    @Override
+    public void retract(UniTuple<A> tuple) {
+        retractMatch(tuple);
+    }
+
+    @Override
+    protected List<Object> extractJustificationList(UniTuple<A> tuple) {
+        return Collections.singletonList(tuple.getA());
+    }
+
+}
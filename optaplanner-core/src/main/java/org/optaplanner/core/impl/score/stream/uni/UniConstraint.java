@@ -0,0 +1,57 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.uni;
+
+import java.util.function.ToIntFunction;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.impl.score.stream.DefaultConstraint;
+import org.optaplanner.core.impl.score.stream.DefaultConstraintFactory;
+import org.optaplanner.core.impl.score.stream.common.NodeBuildContext;
+
+/**
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ * @param <A> the type of the fact of the tuples
+ */
+public class UniConstraint<Solution_, A> extends DefaultConstraint<Solution_>
+        implements UniTupleConsumer<Solution_, A> {
+
+    private final ToIntFunction<A> matchWeigher;
+
+    /**
+     * @param constraintFactory never null
+     * @param constraintPackage never null
+     * @param constraintName never null
+     * @param constraintWeight never null, already negated for a penalty
+     * @param matchWeigher null if every match has a match weight of 1
+     */
+    public UniConstraint(DefaultConstraintFactory<Solution_> constraintFactory,
+            String constraintPackage, String constraintName, Score constraintWeight,
+            ToIntFunction<A> matchWeigher) {
+        super(constraintFactory, constraintPackage, constraintName, constraintWeight);
+        this.matchWeigher = matchWeigher;
+    }
+
+    @Override
+    public UniNode<A> buildInputNode(NodeBuildContext<Solution_> buildContext) {
+        ScoringUniNode<A> scoringNode = new ScoringUniNode<>(this, matchWeigher);
+        buildContext.addScoringNode(scoringNode);
+        return scoringNode;
+    }
+
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.uni;
+
+/**
+ * Uses identity equality, so 2 tuples with the same fact are still different tuples.
+ * @param <A> the type of the fact
+ */
+public final class UniTuple<A> {
+
+    private final A a;
+
+    public UniTuple(A a) {
+        this.a = a;
+    }
+
+    public A getA() {
+        return a;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + a + "]";
+    }
+
+}
@@ -21,6 +21,7 @@ import org.optaplanner.core.api.solver.Solver;
 import org.optaplanner.core.api.solver.SolverFactory;
 import org.optaplanner.core.config.SolverConfigContext;
 import org.optaplanner.core.config.solver.SolverConfig;
+import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyDistanceMatrixCache;
 
 /**
  * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
@@ -71,4 +72,14 @@ public class AbstractSolverFactory<Solution_> extends SolverFactory<Solution_> {
         return new EmptySolverFactory<>(solverConfigContext, solverConfigClone);
     }
 
+    @Override
+    public void setNearbyDistanceMatrixCache(NearbyDistanceMatrixCache<Solution_> nearbyDistanceMatrixCache) {
+        solverConfigContext.setNearbyDistanceMatrixCache(nearbyDistanceMatrixCache);
+    }
+
+    @Override
+    public void disposeKieSessionPools() {
+        solverConfigContext.disposeKieSessionPools();
+    }
+
 }
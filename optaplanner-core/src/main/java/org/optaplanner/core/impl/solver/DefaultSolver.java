@@ -16,15 +16,18 @@
 
 package org.optaplanner.core.impl.solver;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.constraint.ConstraintCalculationTotal;
 import org.optaplanner.core.api.solver.Solver;
 import org.optaplanner.core.config.solver.EnvironmentMode;
 import org.optaplanner.core.impl.phase.Phase;
+import org.optaplanner.core.impl.score.director.ConstraintCalculationProfiler;
 import org.optaplanner.core.impl.score.director.InnerScoreDirectorFactory;
 import org.optaplanner.core.impl.solver.random.RandomFactory;
 import org.optaplanner.core.impl.solver.recaller.BestSolutionRecaller;
@@ -99,12 +102,14 @@ public class DefaultSolver<Solution_> extends AbstractSolver<Solution_> {
 
     @Override
     public Solution_ getBestSolution() {
-        return solverScope.getBestSolution();
+        // Thread-safe, so it never materializes a lazy best solution snapshot of the solver thread
+        return solverScope.getMaterializedBestSolution();
     }
 
     @Override
     public Score getBestScore() {
-        return solverScope.getBestScore();
+        // Consistent with getBestSolution(), even if a newer lazy best solution snapshot isn't materialized yet
+        return solverScope.getMaterializedBestScore();
     }
 
     @Override
@@ -116,6 +121,16 @@ public class DefaultSolver<Solution_> extends AbstractSolver<Solution_> {
         return endingSystemTimeMillis - solverScope.getStartingSystemTimeMillis();
     }
 
+    @Override
+    public List<ConstraintCalculationTotal> getConstraintCalculationTotals() {
+        ConstraintCalculationProfiler constraintCalculationProfiler
+                = getScoreDirectorFactory().getConstraintCalculationProfiler();
+        if (constraintCalculationProfiler == null) {
+            return Collections.emptyList();
+        }
+        return constraintCalculationProfiler.getConstraintCalculationTotals();
+    }
+
     @Override
     public boolean isSolving() {
         return solving.get();
@@ -160,15 +175,22 @@ public class DefaultSolver<Solution_> extends AbstractSolver<Solution_> {
             throw new IllegalArgumentException("The problem (" + problem + ") must not be null.");
         }
         solverScope.setBestSolution(problem);
-        outerSolvingStarted(solverScope);
-        boolean restartSolver = true;
-        while (restartSolver) {
-            solvingStarted(solverScope);
-            runPhases(solverScope);
-            solvingEnded(solverScope);
-            restartSolver = checkProblemFactChanges();
+        InnerScoreDirectorFactory<Solution_> scoreDirectorFactory
+                = solverScope.getScoreDirector().getScoreDirectorFactory();
+        scoreDirectorFactory.solvingStarted();
+        try {
+            outerSolvingStarted(solverScope);
+            boolean restartSolver = true;
+            while (restartSolver) {
+                solvingStarted(solverScope);
+                runPhases(solverScope);
+                solvingEnded(solverScope);
+                restartSolver = checkProblemFactChanges();
+            }
+            outerSolvingEnded(solverScope);
+        } finally {
+            scoreDirectorFactory.solvingEnded();
         }
-        outerSolvingEnded(solverScope);
         return solverScope.getBestSolution();
     }
 
@@ -183,6 +205,8 @@ public class DefaultSolver<Solution_> extends AbstractSolver<Solution_> {
     public void solvingStarted(DefaultSolverScope<Solution_> solverScope) {
         solverScope.startingNow();
         solverScope.getScoreDirector().resetCalculationCount();
+        solverScope.resetChildThreadsScoreCalculationCount();
+        solverScope.resetNotDoableMoveCount();
         super.solvingStarted(solverScope);
         int startingSolverCount = solverScope.getStartingSolverCount() + 1;
         solverScope.setStartingSolverCount(startingSolverCount);
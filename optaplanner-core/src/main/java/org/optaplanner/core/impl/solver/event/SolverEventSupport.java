@@ -17,6 +17,7 @@
 package org.optaplanner.core.impl.solver.event;
 
 import java.util.Iterator;
+import java.util.function.Supplier;
 
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.score.Score;
@@ -37,13 +38,18 @@ public class SolverEventSupport<Solution_> extends AbstractEventSupport<SolverEv
         this.solver = solver;
     }
 
-    public void fireBestSolutionChanged(DefaultSolverScope<Solution_> solverScope, Solution_ newBestSolution) {
+    /**
+     * @param solverScope never null
+     * @param newBestSolutionSupplier never null, only called if an event listener asks for the new best solution
+     */
+    public void fireBestSolutionChanged(DefaultSolverScope<Solution_> solverScope,
+            Supplier<Solution_> newBestSolutionSupplier) {
         final Iterator<SolverEventListener<Solution_>> it = eventListenerSet.iterator();
         long timeMillisSpent = solverScope.getBestSolutionTimeMillisSpent();
         Score bestScore = solverScope.getBestScore();
         if (it.hasNext()) {
             final BestSolutionChangedEvent<Solution_> event = new BestSolutionChangedEvent<>(solver,
-                    timeMillisSpent, newBestSolution, bestScore);
+                    timeMillisSpent, newBestSolutionSupplier, bestScore);
             do {
                 it.next().bestSolutionChanged(event);
             } while (it.hasNext());
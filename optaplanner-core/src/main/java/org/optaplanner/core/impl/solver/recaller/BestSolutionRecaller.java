@@ -23,6 +23,7 @@ import org.optaplanner.core.impl.phase.event.PhaseLifecycleListenerAdapter;
 import org.optaplanner.core.impl.phase.scope.AbstractPhaseScope;
 import org.optaplanner.core.impl.phase.scope.AbstractStepScope;
 import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.score.director.WorkingSolutionSnapshot;
 import org.optaplanner.core.impl.solver.event.SolverEventSupport;
 import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
 import org.slf4j.Logger;
@@ -39,6 +40,7 @@ public class BestSolutionRecaller<Solution_> extends PhaseLifecycleListenerAdapt
     protected boolean assertInitialScoreFromScratch = false;
     protected boolean assertShadowVariablesAreNotStale = false;
     protected boolean assertBestScoreIsUnmodified = false;
+    protected boolean lazyBestSolutionCloning = false;
 
     protected SolverEventSupport<Solution_> solverEventSupport;
 
@@ -54,6 +56,14 @@ public class BestSolutionRecaller<Solution_> extends PhaseLifecycleListenerAdapt
         this.assertBestScoreIsUnmodified = assertBestScoreIsUnmodified;
     }
 
+    /**
+     * @param lazyBestSolutionCloning true to only planning clone a new best solution
+     * when it's actually retrieved, see {@link InnerScoreDirector#takeWorkingSolutionSnapshot(Score)}
+     */
+    public void setLazyBestSolutionCloning(boolean lazyBestSolutionCloning) {
+        this.lazyBestSolutionCloning = lazyBestSolutionCloning;
+    }
+
     public void setSolverEventSupport(SolverEventSupport<Solution_> solverEventSupport) {
         this.solverEventSupport = solverEventSupport;
     }
@@ -92,8 +102,12 @@ public class BestSolutionRecaller<Solution_> extends PhaseLifecycleListenerAdapt
         stepScope.setBestScoreImproved(bestScoreImproved);
         if (bestScoreImproved) {
             phaseScope.setBestSolutionStepIndex(stepScope.getStepIndex());
-            Solution_ newBestSolution = stepScope.createOrGetClonedSolution();
-            updateBestSolution(solverScope, score, newBestSolution);
+            if (lazyBestSolutionCloning) {
+                updateBestSolutionSnapshot(solverScope, score);
+            } else {
+                Solution_ newBestSolution = stepScope.createOrGetClonedSolution();
+                updateBestSolution(solverScope, score, newBestSolution);
+            }
         } else if (assertBestScoreIsUnmodified) {
             solverScope.assertScoreFromScratch(solverScope.getBestSolution());
         }
@@ -110,8 +124,12 @@ public class BestSolutionRecaller<Solution_> extends PhaseLifecycleListenerAdapt
         }
         if (bestScoreImproved) {
             phaseScope.setBestSolutionStepIndex(stepScope.getStepIndex());
-            Solution_ newBestSolution = solverScope.getScoreDirector().cloneWorkingSolution();
-            updateBestSolution(solverScope, score, newBestSolution);
+            if (lazyBestSolutionCloning) {
+                updateBestSolutionSnapshot(solverScope, score);
+            } else {
+                Solution_ newBestSolution = solverScope.getScoreDirector().cloneWorkingSolution();
+                updateBestSolution(solverScope, score, newBestSolution);
+            }
         } else if (assertBestScoreIsUnmodified) {
             solverScope.assertScoreFromScratch(solverScope.getBestSolution());
         }
@@ -133,7 +151,35 @@ public class BestSolutionRecaller<Solution_> extends PhaseLifecycleListenerAdapt
         solverScope.setBestSolution(bestSolution);
         solverScope.setBestScore(bestScore);
         solverScope.setBestSolutionTimeMillis(System.currentTimeMillis());
-        solverEventSupport.fireBestSolutionChanged(solverScope, bestSolution);
+        solverEventSupport.fireBestSolutionChanged(solverScope, () -> bestSolution);
+    }
+
+    /**
+     * Instead of planning cloning the working solution for every new best solution,
+     * only snapshot it, so it's only cloned if an event listener (or the end of a phase) asks for it.
+     * @param solverScope never null
+     * @param bestScore never null, the score of the working solution
+     */
+    protected void updateBestSolutionSnapshot(DefaultSolverScope<Solution_> solverScope, Score bestScore) {
+        if (bestScore.isSolutionInitialized()) {
+            if (!solverScope.isBestSolutionInitialized()) {
+                solverScope.setStartingInitializedScore(bestScore);
+            }
+        }
+        WorkingSolutionSnapshot<Solution_> bestSolutionSnapshot
+                = solverScope.getScoreDirector().takeWorkingSolutionSnapshot(bestScore);
+        solverScope.setBestSolutionSnapshot(bestSolutionSnapshot);
+        solverScope.setBestScore(bestScore);
+        solverScope.setBestSolutionTimeMillis(System.currentTimeMillis());
+        solverEventSupport.fireBestSolutionChanged(solverScope, bestSolutionSnapshot::getSolution);
+    }
+
+    @Override
+    public void solvingEnded(DefaultSolverScope<Solution_> solverScope) {
+        if (lazyBestSolutionCloning) {
+            // Materialize the best solution snapshot before the working solution is closed or replaced
+            solverScope.getBestSolution();
+        }
     }
 
 }
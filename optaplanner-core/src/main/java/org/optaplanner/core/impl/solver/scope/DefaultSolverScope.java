@@ -19,6 +19,7 @@ package org.optaplanner.core.impl.solver.scope;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.score.Score;
@@ -27,6 +28,7 @@ import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
 import org.optaplanner.core.impl.phase.scope.AbstractPhaseScope;
 import org.optaplanner.core.impl.score.definition.ScoreDefinition;
 import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.score.director.WorkingSolutionSnapshot;
 import org.optaplanner.core.impl.solver.ChildThreadType;
 import org.optaplanner.core.impl.solver.termination.Termination;
 import org.slf4j.Logger;
@@ -46,6 +48,22 @@ public class DefaultSolverScope<Solution_> {
      * Used for capping CPU power usage in multi-threaded scenarios.
      */
     protected Semaphore runnableThreadSemaphore = null;
+    /**
+     * Null to yield after every move, otherwise the number of steps to do before yielding.
+     */
+    protected Integer runnableThreadStepSlice = null;
+    /**
+     * Only used by the thread of this solver scope.
+     */
+    protected int yieldingStepCount = 0;
+    /**
+     * The score calculations done by move threads, which do not show up in {@link #scoreDirector}.
+     */
+    protected final AtomicLong childThreadsScoreCalculationCount = new AtomicLong();
+    /**
+     * Only used by the thread of this solver scope.
+     */
+    protected long notDoableMoveCount = 0L;
 
     protected Long startingSystemTimeMillis;
     protected Long endingSystemTimeMillis;
@@ -53,6 +71,11 @@ public class DefaultSolverScope<Solution_> {
     protected Score startingInitializedScore;
 
     protected volatile Solution_ bestSolution;
+    /**
+     * Only used with lazy best solution cloning, null if {@link #bestSolution} is up to date.
+     * Only used by the thread of this solver scope.
+     */
+    protected WorkingSolutionSnapshot<Solution_> bestSolutionSnapshot = null;
     protected volatile Score bestScore;
     protected Long bestSolutionTimeMillis;
 
@@ -88,6 +111,15 @@ public class DefaultSolverScope<Solution_> {
         this.runnableThreadSemaphore = runnableThreadSemaphore;
     }
 
+    /**
+     * @param runnableThreadStepSlice null to yield the {@link #setRunnableThreadSemaphore(Semaphore) runnable thread
+     * permit} to a waiting thread after every move (see {@link #checkYielding()}),
+     * otherwise at least 1, the number of steps to do before yielding it (see {@link #checkYieldingAfterStep()})
+     */
+    public void setRunnableThreadStepSlice(Integer runnableThreadStepSlice) {
+        this.runnableThreadStepSlice = runnableThreadStepSlice;
+    }
+
     public Long getStartingSystemTimeMillis() {
         return startingSystemTimeMillis;
     }
@@ -149,13 +181,71 @@ public class DefaultSolverScope<Solution_> {
     }
 
     public long getScoreCalculationCount() {
-        return scoreDirector.getCalculationCount();
+        return scoreDirector.getCalculationCount() + childThreadsScoreCalculationCount.get();
     }
 
+    public void addChildThreadsScoreCalculationCount(long addition) {
+        childThreadsScoreCalculationCount.addAndGet(addition);
+    }
+
+    public void resetChildThreadsScoreCalculationCount() {
+        childThreadsScoreCalculationCount.set(0L);
+    }
+
+    /**
+     * @return {@code >= 0}, the number of selected moves that were filtered out before evaluation
+     * because they weren't doable, since the solver (re)started
+     */
+    public long getNotDoableMoveCount() {
+        return notDoableMoveCount;
+    }
+
+    public void incrementNotDoableMoveCount() {
+        notDoableMoveCount++;
+    }
+
+    public void resetNotDoableMoveCount() {
+        notDoableMoveCount = 0L;
+    }
+
+    /**
+     * Materializes the {@link #setBestSolutionSnapshot(WorkingSolutionSnapshot) best solution snapshot}, if any,
+     * so it must only be called by the thread of this solver scope.
+     * @return never null
+     * @see #getMaterializedBestSolution()
+     */
     public Solution_ getBestSolution() {
+        if (bestSolutionSnapshot != null) {
+            bestSolution = bestSolutionSnapshot.getSolution();
+            bestSolutionSnapshot = null;
+        }
+        return bestSolution;
+    }
+
+    /**
+     * Unlike {@link #getBestSolution()}, this method is thread-safe,
+     * but with lazy best solution cloning it can return an older best solution during solving.
+     * @return never null
+     */
+    public Solution_ getMaterializedBestSolution() {
         return bestSolution;
     }
 
+    /**
+     * Thread-safe, like {@link #getMaterializedBestSolution()}.
+     * With lazy best solution cloning, this can be older than {@link #getBestScore()} during solving.
+     * @return null if the {@link #getMaterializedBestSolution()} has no {@link Score} yet,
+     * otherwise always the {@link Score} of that solution instance
+     */
+    public Score getMaterializedBestScore() {
+        // Read the volatile field once, so the score always belongs to the same solution instance
+        Solution_ materializedBestSolution = bestSolution;
+        if (materializedBestSolution == null) {
+            return null;
+        }
+        return getSolutionDescriptor().getScore(materializedBestSolution);
+    }
+
     /**
      * The {@link PlanningSolution best solution} must never be the same instance
      * as the {@link PlanningSolution working solution}, it should be a (un)changed clone.
@@ -163,6 +253,16 @@ public class DefaultSolverScope<Solution_> {
      */
     public void setBestSolution(Solution_ bestSolution) {
         this.bestSolution = bestSolution;
+        bestSolutionSnapshot = null;
+    }
+
+    /**
+     * Like {@link #setBestSolution(Object)}, but the best solution is only planning cloned
+     * when {@link #getBestSolution()} is called.
+     * @param bestSolutionSnapshot never null
+     */
+    public void setBestSolutionSnapshot(WorkingSolutionSnapshot<Solution_> bestSolutionSnapshot) {
+        this.bestSolutionSnapshot = bestSolutionSnapshot;
     }
 
     public Score getBestScore() {
@@ -222,7 +322,7 @@ public class DefaultSolverScope<Solution_> {
 
     public void setWorkingSolutionFromBestSolution() {
         // The workingSolution must never be the same instance as the bestSolution.
-        scoreDirector.setWorkingSolution(scoreDirector.cloneSolution(bestSolution));
+        scoreDirector.setWorkingSolution(scoreDirector.cloneSolution(getBestSolution()));
     }
 
     public DefaultSolverScope<Solution_> createChildThreadSolverScope(ChildThreadType childThreadType) {
@@ -236,6 +336,7 @@ public class DefaultSolverScope<Solution_> {
         childThreadSolverScope.endingSystemTimeMillis = endingSystemTimeMillis;
         childThreadSolverScope.startingInitializedScore = null;
         childThreadSolverScope.bestSolution = null;
+        childThreadSolverScope.bestSolutionSnapshot = null;
         childThreadSolverScope.bestScore = null;
         childThreadSolverScope.bestSolutionTimeMillis = null;
         return childThreadSolverScope;
@@ -261,9 +362,33 @@ public class DefaultSolverScope<Solution_> {
      * Needs to be called <b>before</b> {@link Termination#isPhaseTerminated(AbstractPhaseScope)},
      * so the decision to start a new iteration is after any yield waiting time has been consumed
      * (so {@link Solver#terminateEarly()} reacts immediately).
+     * <p>
+     * Does nothing if a {@link #setRunnableThreadStepSlice(Integer) step slice} is set:
+     * then the thread only yields between steps, in {@link #checkYieldingAfterStep()}.
      */
     public void checkYielding() {
-        if (runnableThreadSemaphore != null) {
+        if (runnableThreadSemaphore != null && runnableThreadStepSlice == null) {
+            yieldRunnableThreadPermit();
+        }
+    }
+
+    /**
+     * Like {@link #checkYielding()}, but only yields once per {@link #setRunnableThreadStepSlice(Integer) step slice},
+     * so never in the middle of a step. Does nothing if no step slice is set.
+     */
+    public void checkYieldingAfterStep() {
+        if (runnableThreadSemaphore != null && runnableThreadStepSlice != null) {
+            yieldingStepCount++;
+            if (yieldingStepCount >= runnableThreadStepSlice) {
+                yieldingStepCount = 0;
+                yieldRunnableThreadPermit();
+            }
+        }
+    }
+
+    private void yieldRunnableThreadPermit() {
+        // Only hand over the permit if another thread is waiting for it, to avoid needless context switches
+        if (runnableThreadSemaphore.hasQueuedThreads()) {
             runnableThreadSemaphore.release();
             try {
                 runnableThreadSemaphore.acquire();
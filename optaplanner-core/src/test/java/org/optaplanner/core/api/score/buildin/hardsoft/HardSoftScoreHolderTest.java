@@ -16,8 +16,10 @@
 
 package org.optaplanner.core.api.score.buildin.hardsoft;
 
+import org.drools.core.common.AgendaItem;
 import org.junit.Test;
 import org.kie.api.runtime.rule.RuleContext;
+import org.optaplanner.core.api.score.holder.AbstractScoreHolder.ReusableConstraintActivationUnMatchListener;
 import org.optaplanner.core.api.score.holder.AbstractScoreHolderTest;
 
 import static org.junit.Assert.*;
@@ -79,4 +81,39 @@ public class HardSoftScoreHolderTest extends AbstractScoreHolderTest {
         }
     }
 
+    @Test
+    public void reuseUnMatchListener() {
+        HardSoftScoreHolder scoreHolder = new HardSoftScoreHolder(true);
+        RuleContext hard1 = mockRuleContext("hard1");
+        AgendaItem<?> agendaItem = (AgendaItem) hard1.getMatch();
+        scoreHolder.addHardConstraintMatch(hard1, -1);
+        ReusableConstraintActivationUnMatchListener unMatchListener
+                = (ReusableConstraintActivationUnMatchListener) agendaItem.getCallback();
+        unMatchListener.unregister();
+        assertEquals(HardSoftScore.ZERO, scoreHolder.extractScore(0));
+        unMatchListener.unregister(); // Already unregistered
+        assertEquals(HardSoftScore.ZERO, scoreHolder.extractScore(0));
+
+        scoreHolder.addMultiConstraintMatch(hard1, -5, -7);
+        assertSame(unMatchListener, agendaItem.getCallback());
+        assertEquals(HardSoftScore.valueOf(-5, -7), scoreHolder.extractScore(0));
+        assertEquals(HardSoftScore.valueOf(-5, -7), findConstraintMatchTotal(scoreHolder, "hard1").getScoreTotal());
+        unMatchListener.unregister();
+        assertEquals(HardSoftScore.ZERO, scoreHolder.extractScore(0));
+        assertEquals(HardSoftScore.ZERO, findConstraintMatchTotal(scoreHolder, "hard1").getScoreTotal());
+    }
+
+    @Test
+    public void compareExtractedScoreTo() {
+        HardSoftScoreHolder scoreHolder = new HardSoftScoreHolder(false);
+        scoreHolder.addHardConstraintMatch(mockRuleContext("hard1"), -2);
+        scoreHolder.addSoftConstraintMatch(mockRuleContext("soft1"), -30);
+        assertEquals(0, scoreHolder.compareExtractedScoreTo(0, HardSoftScore.valueOf(-2, -30)));
+        assertTrue(scoreHolder.compareExtractedScoreTo(0, HardSoftScore.valueOf(-2, -31)) > 0);
+        assertTrue(scoreHolder.compareExtractedScoreTo(0, HardSoftScore.valueOf(-1, -100)) < 0);
+        assertTrue(scoreHolder.compareExtractedScoreTo(0, HardSoftScore.valueOf(-3, 0)) > 0);
+        assertTrue(scoreHolder.compareExtractedScoreTo(-1, HardSoftScore.valueOf(-2, -30)) < 0);
+        assertTrue(scoreHolder.compareExtractedScoreTo(0, HardSoftScore.valueOfUninitialized(-1, 0, 0)) > 0);
+    }
+
 }
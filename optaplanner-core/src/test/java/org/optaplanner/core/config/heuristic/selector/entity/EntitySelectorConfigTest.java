@@ -16,13 +16,21 @@
 
 package org.optaplanner.core.config.heuristic.selector.entity;
 
+import java.util.Collections;
+
 import org.junit.Test;
 import org.optaplanner.core.config.heuristic.selector.AbstractSelectorConfigTest;
 import org.optaplanner.core.config.heuristic.selector.common.SelectionCacheType;
 import org.optaplanner.core.config.heuristic.selector.common.SelectionOrder;
+import org.optaplanner.core.impl.heuristic.selector.common.decorator.SelectionFilter;
 import org.optaplanner.core.impl.heuristic.selector.entity.EntitySelector;
 import org.optaplanner.core.impl.heuristic.selector.entity.FromSolutionEntitySelector;
+import org.optaplanner.core.impl.heuristic.selector.entity.decorator.CachingEntitySelector;
+import org.optaplanner.core.impl.heuristic.selector.entity.decorator.FilteringEntitySelector;
 import org.optaplanner.core.impl.heuristic.selector.entity.decorator.ShufflingEntitySelector;
+import org.optaplanner.core.impl.score.director.ScoreDirector;
+import org.optaplanner.core.impl.testdata.domain.TestdataEntity;
+import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
 
 import static org.optaplanner.core.impl.testdata.util.PlannerAssert.*;
 
@@ -144,4 +152,43 @@ public class EntitySelectorConfigTest extends AbstractSelectorConfigTest {
                 SelectionCacheType.JUST_IN_TIME, SelectionOrder.RANDOM);
     }
 
+    @Test
+    public void stepOriginalWithStateDependentFilter() {
+        EntitySelectorConfig entitySelectorConfig = new EntitySelectorConfig();
+        entitySelectorConfig.setCacheType(SelectionCacheType.STEP);
+        entitySelectorConfig.setSelectionOrder(SelectionOrder.ORIGINAL);
+        entitySelectorConfig.setFilterClassList(Collections.singletonList(UninitializedEntityFilter.class));
+        EntitySelector entitySelector = entitySelectorConfig.buildEntitySelector(
+                buildHeuristicConfigPolicy(),
+                SelectionCacheType.JUST_IN_TIME, SelectionOrder.RANDOM);
+        // The filter is applied again every time the step cache is constructed
+        assertInstanceOf(CachingEntitySelector.class, entitySelector);
+        assertEquals(SelectionCacheType.STEP, entitySelector.getCacheType());
+        assertInstanceOf(FilteringEntitySelector.class,
+                ((CachingEntitySelector) entitySelector).getChildEntitySelector());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void stepIncrementalOriginalWithStateDependentFilter() {
+        EntitySelectorConfig entitySelectorConfig = new EntitySelectorConfig();
+        entitySelectorConfig.setCacheType(SelectionCacheType.STEP_INCREMENTAL);
+        entitySelectorConfig.setSelectionOrder(SelectionOrder.ORIGINAL);
+        entitySelectorConfig.setFilterClassList(Collections.singletonList(UninitializedEntityFilter.class));
+        entitySelectorConfig.buildEntitySelector(
+                buildHeuristicConfigPolicy(),
+                SelectionCacheType.JUST_IN_TIME, SelectionOrder.RANDOM);
+    }
+
+    /**
+     * Its result changes when the planning variable of the entity changes.
+     */
+    public static class UninitializedEntityFilter implements SelectionFilter<TestdataSolution, TestdataEntity> {
+
+        @Override
+        public boolean accept(ScoreDirector<TestdataSolution> scoreDirector, TestdataEntity entity) {
+            return entity.getValue() == null;
+        }
+
+    }
+
 }
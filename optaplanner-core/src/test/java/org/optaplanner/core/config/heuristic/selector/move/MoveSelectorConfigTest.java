@@ -16,6 +16,8 @@
 
 package org.optaplanner.core.config.heuristic.selector.move;
 
+import java.util.Collections;
+
 import org.junit.Test;
 import org.optaplanner.core.config.heuristic.policy.HeuristicConfigPolicy;
 import org.optaplanner.core.config.heuristic.selector.AbstractSelectorConfigTest;
@@ -23,9 +25,13 @@ import org.optaplanner.core.config.heuristic.selector.common.SelectionCacheType;
 import org.optaplanner.core.config.heuristic.selector.common.SelectionOrder;
 import org.optaplanner.core.impl.heuristic.move.DummyMove;
 import org.optaplanner.core.impl.heuristic.selector.SelectorTestUtils;
+import org.optaplanner.core.impl.heuristic.selector.common.decorator.SelectionFilter;
 import org.optaplanner.core.impl.heuristic.selector.move.MoveSelector;
 import org.optaplanner.core.impl.heuristic.selector.move.decorator.CachingMoveSelector;
+import org.optaplanner.core.impl.heuristic.selector.move.decorator.FilteringMoveSelector;
 import org.optaplanner.core.impl.heuristic.selector.move.decorator.ShufflingMoveSelector;
+import org.optaplanner.core.impl.score.director.ScoreDirector;
+import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
 
 import static org.junit.Assert.assertEquals;
 import static org.optaplanner.core.impl.testdata.util.PlannerAssert.*;
@@ -237,4 +243,75 @@ public class MoveSelectorConfigTest extends AbstractSelectorConfigTest {
                 SelectionCacheType.JUST_IN_TIME, SelectionOrder.RANDOM);
     }
 
+    @Test
+    public void stepOriginalWithStateDependentFilter() {
+        final MoveSelector baseMoveSelector = SelectorTestUtils.mockMoveSelector(DummyMove.class);
+        MoveSelectorConfig moveSelectorConfig = new MoveSelectorConfig() {
+            @Override
+            protected MoveSelector buildBaseMoveSelector(
+                    HeuristicConfigPolicy configPolicy,
+                    SelectionCacheType minimumCacheType, boolean randomSelection) {
+                return baseMoveSelector;
+            }
+        };
+        moveSelectorConfig.setCacheType(SelectionCacheType.STEP);
+        moveSelectorConfig.setSelectionOrder(SelectionOrder.ORIGINAL);
+        moveSelectorConfig.setFilterClassList(Collections.singletonList(DoableDummyMoveFilter.class));
+        MoveSelector moveSelector = moveSelectorConfig.buildMoveSelector(
+                buildHeuristicConfigPolicy(),
+                SelectionCacheType.JUST_IN_TIME, SelectionOrder.RANDOM);
+        // The filter is applied again every time the step cache is constructed
+        assertInstanceOf(CachingMoveSelector.class, moveSelector);
+        assertEquals(SelectionCacheType.STEP, moveSelector.getCacheType());
+        assertInstanceOf(FilteringMoveSelector.class, ((CachingMoveSelector) moveSelector).getChildMoveSelector());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void stepIncrementalOriginalWithStateDependentFilter() {
+        final MoveSelector baseMoveSelector = SelectorTestUtils.mockMoveSelector(DummyMove.class);
+        MoveSelectorConfig moveSelectorConfig = new MoveSelectorConfig() {
+            @Override
+            protected MoveSelector buildBaseMoveSelector(
+                    HeuristicConfigPolicy configPolicy,
+                    SelectionCacheType minimumCacheType, boolean randomSelection) {
+                return baseMoveSelector;
+            }
+        };
+        moveSelectorConfig.setCacheType(SelectionCacheType.STEP_INCREMENTAL);
+        moveSelectorConfig.setSelectionOrder(SelectionOrder.ORIGINAL);
+        moveSelectorConfig.setFilterClassList(Collections.singletonList(DoableDummyMoveFilter.class));
+        moveSelectorConfig.buildMoveSelector(
+                buildHeuristicConfigPolicy(),
+                SelectionCacheType.JUST_IN_TIME, SelectionOrder.RANDOM);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void justInTimeWithStateDependentFilterUnderStepIncrementalAncestor() {
+        final MoveSelector baseMoveSelector = SelectorTestUtils.mockMoveSelector(DummyMove.class);
+        MoveSelectorConfig moveSelectorConfig = new MoveSelectorConfig() {
+            @Override
+            protected MoveSelector buildBaseMoveSelector(
+                    HeuristicConfigPolicy configPolicy,
+                    SelectionCacheType minimumCacheType, boolean randomSelection) {
+                return baseMoveSelector;
+            }
+        };
+        moveSelectorConfig.setFilterClassList(Collections.singletonList(DoableDummyMoveFilter.class));
+        moveSelectorConfig.buildMoveSelector(
+                buildHeuristicConfigPolicy(),
+                SelectionCacheType.STEP_INCREMENTAL, SelectionOrder.ORIGINAL);
+    }
+
+    /**
+     * Its result changes when the working solution changes.
+     */
+    public static class DoableDummyMoveFilter implements SelectionFilter<TestdataSolution, DummyMove> {
+
+        @Override
+        public boolean accept(ScoreDirector<TestdataSolution> scoreDirector, DummyMove move) {
+            return move.isMoveDoable(scoreDirector);
+        }
+
+    }
+
 }
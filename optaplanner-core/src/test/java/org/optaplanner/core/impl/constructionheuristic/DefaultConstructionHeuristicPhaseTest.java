@@ -70,6 +70,35 @@ public class DefaultConstructionHeuristicPhaseTest {
         assertEquals(0, solution.getScore().getInitScore());
     }
 
+    @Test(timeout = 600000)
+    public void solveWithMoveThreads() {
+        SolverFactory<TestdataSolution> solverFactory = PlannerTestUtils.buildSolverFactory(
+                TestdataSolution.class, TestdataEntity.class);
+        solverFactory.getSolverConfig().setMoveThreadCount("2");
+        solverFactory.getSolverConfig().setPhaseConfigList(Collections.singletonList(
+                new ConstructionHeuristicPhaseConfig()));
+        Solver<TestdataSolution> solver = solverFactory.buildSolver();
+
+        TestdataSolution solution = new TestdataSolution("s1");
+        TestdataValue v1 = new TestdataValue("v1");
+        TestdataValue v2 = new TestdataValue("v2");
+        TestdataValue v3 = new TestdataValue("v3");
+        solution.setValueList(Arrays.asList(v1, v2, v3));
+        solution.setEntityList(Arrays.asList(
+                new TestdataEntity("e1", null),
+                new TestdataEntity("e2", v2),
+                new TestdataEntity("e3", null),
+                new TestdataEntity("e4", null)));
+
+        solution = solver.solve(solution);
+        assertNotNull(solution);
+        for (TestdataEntity entity : solution.getEntityList()) {
+            assertNotNull(entity.getValue());
+        }
+        assertEquals(v2, solution.getEntityList().get(1).getValue());
+        assertEquals(0, solution.getScore().getInitScore());
+    }
+
     @Test
     public void solveWithImmovableEntities() {
         SolverFactory<TestdataImmovableSolution> solverFactory = PlannerTestUtils.buildSolverFactory(
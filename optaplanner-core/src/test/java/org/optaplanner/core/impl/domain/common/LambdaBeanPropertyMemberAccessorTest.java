@@ -0,0 +1,104 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.domain.common;
+
+import org.junit.Test;
+import org.optaplanner.core.api.domain.variable.PlanningVariable;
+import org.optaplanner.core.impl.domain.common.accessor.LambdaBeanPropertyMemberAccessor;
+import org.optaplanner.core.impl.testdata.domain.TestdataEntity;
+import org.optaplanner.core.impl.testdata.domain.TestdataValue;
+
+import static org.junit.Assert.*;
+
+public class LambdaBeanPropertyMemberAccessorTest {
+
+    @Test
+    public void methodAnnotatedEntity() throws NoSuchMethodException {
+        LambdaBeanPropertyMemberAccessor memberAccessor = new LambdaBeanPropertyMemberAccessor(
+                TestdataEntity.class.getMethod("getValue"));
+        assertEquals("value", memberAccessor.getName());
+        assertEquals(TestdataValue.class, memberAccessor.getType());
+        assertEquals(true, memberAccessor.isAnnotationPresent(PlanningVariable.class));
+        assertEquals(true, memberAccessor.supportSetter());
+
+        TestdataValue v1 = new TestdataValue("v1");
+        TestdataValue v2 = new TestdataValue("v2");
+        TestdataEntity e1 = new TestdataEntity("e1", v1);
+        assertSame(v1, memberAccessor.executeGetter(e1));
+        memberAccessor.executeSetter(e1, v2);
+        assertSame(v2, e1.getValue());
+    }
+
+    @Test
+    public void primitiveProperty() throws NoSuchMethodException {
+        LambdaBeanPropertyMemberAccessor memberAccessor = new LambdaBeanPropertyMemberAccessor(
+                PublicBean.class.getMethod("getCount"));
+        assertEquals(int.class, memberAccessor.getType());
+        PublicBean bean = new PublicBean();
+        memberAccessor.executeSetter(bean, 7);
+        assertEquals(7, bean.getCount());
+        assertEquals(7, memberAccessor.executeGetter(bean));
+    }
+
+    @Test
+    public void packagePrivateClass() throws NoSuchMethodException {
+        LambdaBeanPropertyMemberAccessor memberAccessor = new LambdaBeanPropertyMemberAccessor(
+                PackagePrivateBean.class.getMethod("getCount"));
+        assertEquals(int.class, memberAccessor.getType());
+        assertEquals(true, memberAccessor.supportSetter());
+        PackagePrivateBean bean = new PackagePrivateBean();
+        memberAccessor.executeSetter(bean, 7);
+        assertEquals(7, bean.getCount());
+        assertEquals(7, memberAccessor.executeGetter(bean));
+    }
+
+    @Test
+    public void isSupported() throws NoSuchMethodException {
+        assertEquals(true, LambdaBeanPropertyMemberAccessor.isSupported(PublicBean.class.getMethod("getCount")));
+        assertEquals(false, LambdaBeanPropertyMemberAccessor.isSupported(
+                PackagePrivateBean.class.getMethod("getCount")));
+    }
+
+    public static class PublicBean {
+
+        private int count;
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+    }
+
+    static class PackagePrivateBean {
+
+        private int count;
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+    }
+
+}
@@ -661,6 +661,9 @@ public abstract class AbstractSolutionClonerTest {
         assertDeepCloningEntityClone(c, cloneC, "c");
         TestdataDeepCloningEntity cloneD = cloneEntityList.get(3);
         assertDeepCloningEntityClone(d, cloneD, "d");
+        // The no-arg constructor initializes the shadowVariableMap, but it's null in the original
+        assertNull(d.getShadowVariableMap());
+        assertNull(cloneD.getShadowVariableMap());
 
         List<String> cloneGeneralShadowVariableList = clone.getGeneralShadowVariableList();
         assertNotSame(generalShadowVariableList, cloneGeneralShadowVariableList);
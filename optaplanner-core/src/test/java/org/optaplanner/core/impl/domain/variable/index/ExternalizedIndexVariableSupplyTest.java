@@ -0,0 +1,153 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.domain.variable.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
+import org.optaplanner.core.impl.score.director.ScoreDirector;
+import org.optaplanner.core.impl.testdata.domain.chained.TestdataChainedAnchor;
+import org.optaplanner.core.impl.testdata.domain.chained.TestdataChainedEntity;
+import org.optaplanner.core.impl.testdata.domain.chained.TestdataChainedObject;
+import org.optaplanner.core.impl.testdata.domain.chained.TestdataChainedSolution;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class ExternalizedIndexVariableSupplyTest {
+
+    @Test
+    public void chainedEntity() {
+        GenuineVariableDescriptor variableDescriptor = TestdataChainedEntity.buildVariableDescriptorForChainedObject();
+        ScoreDirector scoreDirector = mock(ScoreDirector.class);
+        ExternalizedIndexVariableSupply supply = new ExternalizedIndexVariableSupply(variableDescriptor);
+
+        TestdataChainedAnchor a0 = new TestdataChainedAnchor("a0");
+        TestdataChainedEntity a1 = new TestdataChainedEntity("a1", a0);
+        TestdataChainedEntity a2 = new TestdataChainedEntity("a2", a1);
+        TestdataChainedEntity a3 = new TestdataChainedEntity("a3", a2);
+
+        TestdataChainedAnchor b0 = new TestdataChainedAnchor("b0");
+        TestdataChainedEntity b1 = new TestdataChainedEntity("b1", b0);
+
+        TestdataChainedEntity c1 = new TestdataChainedEntity("c1", null);
+
+        TestdataChainedSolution solution = new TestdataChainedSolution("solution");
+        solution.setChainedAnchorList(Arrays.asList(a0, b0));
+        // Not in chain order, the supply must not rely on it
+        solution.setChainedEntityList(Arrays.asList(a3, b1, a1, c1, a2));
+
+        when(scoreDirector.getWorkingSolution()).thenReturn(solution);
+        supply.resetWorkingSolution(scoreDirector);
+
+        assertChain(supply, a0, a1, a2, a3);
+        assertChain(supply, b0, b1);
+        assertEquals(-1, supply.getIndex(c1));
+
+        // Move a2 between b0 and b1
+        supply.beforeVariableChanged(scoreDirector, a2);
+        a2.setChainedObject(b0);
+        supply.beforeVariableChanged(scoreDirector, a3);
+        a3.setChainedObject(a1);
+        supply.beforeVariableChanged(scoreDirector, b1);
+        b1.setChainedObject(a2);
+        supply.afterVariableChanged(scoreDirector, a2);
+        supply.afterVariableChanged(scoreDirector, a3);
+        supply.afterVariableChanged(scoreDirector, b1);
+
+        assertChain(supply, a0, a1, a3);
+        assertChain(supply, b0, a2, b1);
+
+        // Append c1 after a3, with duplicate events
+        supply.beforeVariableChanged(scoreDirector, c1);
+        supply.beforeVariableChanged(scoreDirector, c1);
+        c1.setChainedObject(a3);
+        supply.afterVariableChanged(scoreDirector, c1);
+        supply.afterVariableChanged(scoreDirector, c1);
+
+        assertChain(supply, a0, a1, a3, c1);
+        assertChain(supply, b0, a2, b1);
+
+        supply.beforeEntityRemoved(scoreDirector, a1);
+        supply.beforeVariableChanged(scoreDirector, a3);
+        a3.setChainedObject(a0);
+        supply.afterEntityRemoved(scoreDirector, a1);
+        supply.afterVariableChanged(scoreDirector, a3);
+
+        assertChain(supply, a0, a3, c1);
+        assertEquals(-1, supply.getIndex(a1));
+
+        supply.clearWorkingSolution(scoreDirector);
+    }
+
+    @Test
+    public void longChainReversed() {
+        GenuineVariableDescriptor variableDescriptor = TestdataChainedEntity.buildVariableDescriptorForChainedObject();
+        ScoreDirector scoreDirector = mock(ScoreDirector.class);
+        ExternalizedIndexVariableSupply supply = new ExternalizedIndexVariableSupply(variableDescriptor);
+
+        TestdataChainedAnchor a0 = new TestdataChainedAnchor("a0");
+        List<TestdataChainedEntity> entityList = new ArrayList<>();
+        TestdataChainedObject previous = a0;
+        for (int i = 1; i <= 100; i++) {
+            TestdataChainedEntity entity = new TestdataChainedEntity("a" + i, previous);
+            entityList.add(entity);
+            previous = entity;
+        }
+        TestdataChainedSolution solution = new TestdataChainedSolution("solution");
+        solution.setChainedAnchorList(Arrays.asList(a0));
+        solution.setChainedEntityList(entityList);
+
+        when(scoreDirector.getWorkingSolution()).thenReturn(solution);
+        supply.resetWorkingSolution(scoreDirector);
+        assertChain(supply, a0, entityList.toArray());
+
+        // Move the last entity to the front, one at a time, which reverses the chain
+        for (int i = 0; i < entityList.size() - 1; i++) {
+            TestdataChainedEntity last = entityList.get(entityList.size() - 1);
+            TestdataChainedEntity target = entityList.get(i);
+            TestdataChainedObject targetPrevious = target.getChainedObject();
+            TestdataChainedEntity lastPrevious = (TestdataChainedEntity) last.getChainedObject();
+            supply.beforeVariableChanged(scoreDirector, last);
+            last.setChainedObject(targetPrevious);
+            supply.beforeVariableChanged(scoreDirector, target);
+            target.setChainedObject(last);
+            supply.afterVariableChanged(scoreDirector, last);
+            supply.afterVariableChanged(scoreDirector, target);
+            entityList.remove(entityList.size() - 1);
+            entityList.add(i, last);
+            assertSame(lastPrevious, entityList.get(entityList.size() - 1));
+            assertChain(supply, a0, entityList.toArray());
+        }
+        assertEquals("a100", entityList.get(0).getCode());
+        assertEquals("a1", entityList.get(entityList.size() - 1).getCode());
+
+        supply.clearWorkingSolution(scoreDirector);
+    }
+
+    private static void assertChain(IndexVariableSupply supply, Object anchor, Object... entities) {
+        assertEquals(entities.length, supply.getChainSize(anchor));
+        for (int i = 0; i < entities.length; i++) {
+            assertSame(entities[i], supply.getEntity(anchor, i));
+            assertEquals(i, supply.getIndex(entities[i]));
+        }
+    }
+
+}
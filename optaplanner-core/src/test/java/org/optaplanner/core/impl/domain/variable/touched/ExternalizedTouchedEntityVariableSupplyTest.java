@@ -0,0 +1,76 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.domain.variable.touched;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.junit.Test;
+import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.testdata.domain.TestdataEntity;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class ExternalizedTouchedEntityVariableSupplyTest {
+
+    @Test
+    public void touchedEntities() {
+        GenuineVariableDescriptor variableDescriptor = TestdataEntity.buildVariableDescriptorForValue();
+        InnerScoreDirector scoreDirector = mock(InnerScoreDirector.class);
+        ExternalizedTouchedEntityVariableSupply supply
+                = new ExternalizedTouchedEntityVariableSupply(variableDescriptor, scoreDirector);
+
+        TestdataEntity a = new TestdataEntity("a");
+        TestdataEntity b = new TestdataEntity("b");
+        TestdataEntity c = new TestdataEntity("c");
+
+        supply.resetWorkingSolution(scoreDirector);
+        Set<Object> touchedEntitySet = Collections.newSetFromMap(new IdentityHashMap<>());
+        assertEquals(false, supply.drainTouchedEntitiesTo(touchedEntitySet));
+        assertEquals(true, touchedEntitySet.isEmpty());
+
+        // An evaluated move is undone before the step ends
+        when(scoreDirector.isAllChangesWillBeUndoneBeforeStepEnds()).thenReturn(true);
+        supply.beforeVariableChanged(scoreDirector, a);
+        supply.afterVariableChanged(scoreDirector, a);
+        when(scoreDirector.isAllChangesWillBeUndoneBeforeStepEnds()).thenReturn(false);
+        supply.beforeVariableChanged(scoreDirector, b);
+        supply.afterVariableChanged(scoreDirector, b);
+        supply.beforeVariableChanged(scoreDirector, c);
+        supply.afterVariableChanged(scoreDirector, c);
+        supply.beforeVariableChanged(scoreDirector, b);
+        supply.afterVariableChanged(scoreDirector, b);
+        assertEquals(true, supply.drainTouchedEntitiesTo(touchedEntitySet));
+        assertEquals(2, touchedEntitySet.size());
+        assertTrue(touchedEntitySet.contains(b));
+        assertTrue(touchedEntitySet.contains(c));
+
+        touchedEntitySet.clear();
+        assertEquals(true, supply.drainTouchedEntitiesTo(touchedEntitySet));
+        assertEquals(true, touchedEntitySet.isEmpty());
+
+        supply.beforeEntityRemoved(scoreDirector, c);
+        supply.afterEntityRemoved(scoreDirector, c);
+        assertEquals(true, supply.drainTouchedEntitiesTo(touchedEntitySet));
+        assertEquals(Collections.singleton(c), touchedEntitySet);
+        supply.clearWorkingSolution(scoreDirector);
+    }
+
+}
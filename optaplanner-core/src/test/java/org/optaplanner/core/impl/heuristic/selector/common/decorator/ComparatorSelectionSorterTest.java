@@ -17,9 +17,12 @@
 package org.optaplanner.core.impl.heuristic.selector.common.decorator;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.Test;
 import org.optaplanner.core.config.heuristic.selector.common.decorator.SelectionSorterOrder;
@@ -45,6 +48,31 @@ public class ComparatorSelectionSorterTest {
         assertTrue(descendingSort(arrayToSort));
     }
 
+    @Test
+    public void resort() {
+        List<Integer> list = new ArrayList<>();
+        Collections.addAll(list, 1, 2, 3, 4, 5, 6, 7, 8);
+        Integer zero = 0;
+        Integer nine = 9;
+        Integer four = 4;
+        // 3 selections changed since the list was sorted
+        list.set(3, nine);
+        list.set(5, zero);
+        list.set(7, four);
+        Set<Integer> touchedSelectionSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        Collections.addAll(touchedSelectionSet, zero, nine, four);
+        ComparatorSelectionSorter<TestdataSolution, Integer> selectionSorter = new ComparatorSelectionSorter<>(
+                new TestComparator(), SelectionSorterOrder.ASCENDING);
+        selectionSorter.resort(null, list, touchedSelectionSet);
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 7, 9), list);
+
+        Collections.reverse(list);
+        touchedSelectionSet.clear();
+        selectionSorter = new ComparatorSelectionSorter<>(new TestComparator(), SelectionSorterOrder.DESCENDING);
+        selectionSorter.resort(null, list, touchedSelectionSet);
+        assertEquals(Arrays.asList(9, 7, 5, 4, 3, 2, 1, 0), list);
+    }
+
     private boolean ascendingSort(List<Integer> list) {
         Integer tmp = list.get(0);
         for (Integer aList : list) {
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.selector.common.decorator;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class ProbabilityAliasTableTest {
+
+    @Test
+    public void sampleDistribution() {
+        ProbabilityAliasTable<String> table = new ProbabilityAliasTable<>(2);
+        table.addSelection("a", 1.0);
+        table.addSelection("b", 0.0);
+        table.addSelection("c", 2.0);
+        table.addSelection("d", 5.0);
+        table.build();
+        assertEquals(3, table.getSize());
+        assertEquals(8.0, table.getProbabilityWeightTotal(), 0.0);
+
+        Random workingRandom = new Random(37);
+        int sampleCount = 80000;
+        int aCount = 0;
+        int cCount = 0;
+        int dCount = 0;
+        for (int i = 0; i < sampleCount; i++) {
+            String selection = table.sample(workingRandom);
+            switch (selection) {
+                case "a":
+                    aCount++;
+                    break;
+                case "c":
+                    cCount++;
+                    break;
+                case "d":
+                    dCount++;
+                    break;
+                default:
+                    fail("The selection (" + selection + ") has no positive probabilityWeight.");
+            }
+        }
+        assertEquals(10000.0, aCount, 500.0);
+        assertEquals(20000.0, cCount, 500.0);
+        assertEquals(50000.0, dCount, 500.0);
+    }
+
+    @Test
+    public void sampleColumnAndAlias() {
+        ProbabilityAliasTable<String> table = new ProbabilityAliasTable<>();
+        table.addSelection("a", 1.0);
+        table.addSelection("b", 3.0);
+        table.build();
+        // Column a selects a with probability 0.5, else its alias b, column b always selects b
+        Random workingRandom = mock(Random.class);
+        when(workingRandom.nextDouble()).thenReturn(0.0, 0.2, 0.3, 0.6, 0.99);
+        assertEquals("a", table.sample(workingRandom));
+        assertEquals("a", table.sample(workingRandom));
+        assertEquals("b", table.sample(workingRandom));
+        assertEquals("b", table.sample(workingRandom));
+        assertEquals("b", table.sample(workingRandom));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeProbabilityWeight() {
+        ProbabilityAliasTable<String> table = new ProbabilityAliasTable<>();
+        table.addSelection("a", -1.0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void sampleWithoutPositiveProbabilityWeight() {
+        ProbabilityAliasTable<String> table = new ProbabilityAliasTable<>();
+        table.addSelection("a", 0.0);
+        table.build();
+        table.sample(new Random(37));
+    }
+
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.selector.common.nearby;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.optaplanner.core.impl.phase.scope.AbstractPhaseScope;
+import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
+import org.optaplanner.core.impl.testdata.domain.TestdataValue;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class NearbyDistanceMatrixCacheTest {
+
+    @Test
+    public void buildNearbyDistanceMatrixReusesSameFingerprint() {
+        List<Object> locationList = Arrays.<Object>asList(0, 1, 2, 3);
+        AtomicInteger distanceCount = new AtomicInteger(0);
+        NearbyDistanceMeter<Integer, Integer> meter = (origin, destination) -> {
+            distanceCount.incrementAndGet();
+            return Math.abs(origin - destination);
+        };
+        TestdataSolution solution = new TestdataSolution("s1");
+        AbstractPhaseScope<TestdataSolution> phaseScope = mockPhaseScope(solution);
+        NearbyDistanceMatrixCache<TestdataSolution> cache = new NearbyDistanceMatrixCache<>(
+                TestdataSolution::getCode);
+
+        NearbyDistanceMatrix matrixA = cache.buildNearbyDistanceMatrix("selector", phaseScope, meter,
+                locationList, locationList, 3, false);
+        assertEquals(16, distanceCount.get());
+        assertEquals(1, cache.size());
+        assertEquals(1, matrixA.getDestination(0, 1));
+        assertEquals(2, matrixA.getDestination(3, 1));
+
+        NearbyDistanceMatrix matrixB = cache.buildNearbyDistanceMatrix("selector", phaseScope, meter,
+                locationList, locationList, 3, false);
+        assertEquals(16, distanceCount.get());
+        assertEquals(1, matrixB.getDestination(0, 1));
+        assertEquals(2, matrixB.getDestination(3, 1));
+
+        solution.setCode("s2");
+        cache.buildNearbyDistanceMatrix("selector", phaseScope, meter, locationList, locationList, 3, false);
+        assertEquals(32, distanceCount.get());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void buildNearbyDistanceMatrixWithoutFingerprint() {
+        List<Object> locationList = Arrays.<Object>asList(0, 1, 2);
+        AtomicInteger distanceCount = new AtomicInteger(0);
+        NearbyDistanceMeter<Integer, Integer> meter = (origin, destination) -> {
+            distanceCount.incrementAndGet();
+            return Math.abs(origin - destination);
+        };
+        NearbyDistanceMatrixCache<TestdataSolution> cache = new NearbyDistanceMatrixCache<>(solution -> null);
+        cache.buildNearbyDistanceMatrix("selector", mockPhaseScope(new TestdataSolution("s1")), meter,
+                locationList, locationList, 3, false);
+        cache.buildNearbyDistanceMatrix("selector", mockPhaseScope(new TestdataSolution("s1")), meter,
+                locationList, locationList, 3, false);
+        assertEquals(18, distanceCount.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void writeAndRead() throws IOException {
+        List<Object> locationList = Arrays.<Object>asList(0, 1, 2, 3);
+        AtomicInteger distanceCount = new AtomicInteger(0);
+        NearbyDistanceMeter<Integer, Integer> meter = (origin, destination) -> {
+            distanceCount.incrementAndGet();
+            return Math.abs(origin - destination);
+        };
+        TestdataSolution solution = new TestdataSolution("s1");
+        AbstractPhaseScope<TestdataSolution> phaseScope = mockPhaseScope(solution);
+        NearbyDistanceMatrixCache<TestdataSolution> cache = new NearbyDistanceMatrixCache<>(
+                TestdataSolution::getCode);
+        cache.buildNearbyDistanceMatrix("selector", phaseScope, meter, locationList, locationList, 4, false);
+        assertEquals(16, distanceCount.get());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cache.write(out);
+
+        NearbyDistanceMatrixCache<TestdataSolution> restartedCache = new NearbyDistanceMatrixCache<>(
+                TestdataSolution::getCode);
+        restartedCache.read(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(1, restartedCache.size());
+        NearbyDistanceMatrix matrix = restartedCache.buildNearbyDistanceMatrix("selector", phaseScope, meter,
+                locationList, locationList, 4, false);
+        assertEquals(16, distanceCount.get());
+        assertEquals(2, matrix.getDestination(1, 2));
+        assertEquals(3, matrix.getDestination(1, 3));
+        assertEquals(0, matrix.getDestination(2, 3));
+    }
+
+    @Test
+    public void buildNearbyDistanceMatrixWithOtherContents() {
+        AtomicInteger distanceCount = new AtomicInteger(0);
+        NearbyDistanceMeter<Integer, Integer> meter = (origin, destination) -> {
+            distanceCount.incrementAndGet();
+            return Math.abs(origin - destination);
+        };
+        AbstractPhaseScope<TestdataSolution> phaseScope = mockPhaseScope(new TestdataSolution("s1"));
+        NearbyDistanceMatrixCache<TestdataSolution> cache = new NearbyDistanceMatrixCache<>(
+                TestdataSolution::getCode);
+        cache.buildNearbyDistanceMatrix("selector", phaseScope, meter,
+                Arrays.<Object>asList(0, 1, 2), Arrays.<Object>asList(0, 1, 2), 3, false);
+        assertEquals(9, distanceCount.get());
+
+        // Same problem fingerprint and sizes, but other destinations
+        NearbyDistanceMatrix matrix = cache.buildNearbyDistanceMatrix("selector", phaseScope, meter,
+                Arrays.<Object>asList(0, 1, 2), Arrays.<Object>asList(0, 1, 5), 3, false);
+        assertEquals(18, distanceCount.get());
+        assertEquals(5, matrix.getDestination(2, 2));
+        assertEquals(1, cache.size());
+
+        // Same problem fingerprint, but another destinationSize
+        cache.buildNearbyDistanceMatrix("selector", phaseScope, meter,
+                Arrays.<Object>asList(0, 1, 2), Arrays.<Object>asList(0, 1, 5), 2, false);
+        assertEquals(27, distanceCount.get());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void buildNearbyDistanceMatrixWithPlanningId() {
+        AtomicInteger distanceCount = new AtomicInteger(0);
+        NearbyDistanceMeter<TestdataValue, TestdataValue> meter = (origin, destination) -> {
+            distanceCount.incrementAndGet();
+            return 0.0;
+        };
+        NearbyDistanceMatrixCache<TestdataSolution> cache = new NearbyDistanceMatrixCache<>(
+                TestdataSolution::getCode);
+        AbstractPhaseScope<TestdataSolution> phaseScope = mockPhaseScope(new TestdataSolution("s1"));
+        List<Object> valueList = Arrays.asList(new TestdataValue("v1"), new TestdataValue("v2"));
+        cache.buildNearbyDistanceMatrix("selector", phaseScope, meter, valueList, valueList, 2, false);
+        // Other instances with the same planning ids, like in the working solution of another solver
+        List<Object> clonedValueList = Arrays.asList(new TestdataValue("v1"), new TestdataValue("v2"));
+        NearbyDistanceMatrix matrix = cache.buildNearbyDistanceMatrix("selector", phaseScope, meter,
+                clonedValueList, clonedValueList, 2, false);
+        assertEquals(4, distanceCount.get());
+        assertSame(clonedValueList.get(1), matrix.getDestination(clonedValueList.get(0), 1));
+    }
+
+    @Test
+    public void buildNearbyDistanceMatrixWithoutPlanningId() {
+        AtomicInteger distanceCount = new AtomicInteger(0);
+        NearbyDistanceMeter<Object, Object> meter = (origin, destination) -> {
+            distanceCount.incrementAndGet();
+            return 0.0;
+        };
+        List<Object> objectList = Arrays.asList(new Object(), new Object());
+        NearbyDistanceMatrixCache<TestdataSolution> cache = new NearbyDistanceMatrixCache<>(
+                TestdataSolution::getCode);
+        AbstractPhaseScope<TestdataSolution> phaseScope = mockPhaseScope(new TestdataSolution("s1"));
+        cache.buildNearbyDistanceMatrix("selector", phaseScope, meter, objectList, objectList, 2, false);
+        cache.buildNearbyDistanceMatrix("selector", phaseScope, meter, objectList, objectList, 2, false);
+        assertEquals(8, distanceCount.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void buildNearbyDistanceMatrixWithCollidingHashCodes() {
+        // Their hashCode() is the same
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        AtomicInteger distanceCount = new AtomicInteger(0);
+        NearbyDistanceMeter<String, String> meter = (origin, destination) -> {
+            distanceCount.incrementAndGet();
+            return origin.equals(destination) ? 0.0 : 1.0;
+        };
+        AbstractPhaseScope<TestdataSolution> phaseScope = mockPhaseScope(new TestdataSolution("s1"));
+        NearbyDistanceMatrixCache<TestdataSolution> cache = new NearbyDistanceMatrixCache<>(
+                TestdataSolution::getCode);
+        List<Object> originList = Arrays.<Object>asList("Aa", "BB");
+        cache.buildNearbyDistanceMatrix("selector", phaseScope, meter,
+                originList, Arrays.<Object>asList("Aa", "BB"), 2, false);
+        assertEquals(4, distanceCount.get());
+
+        NearbyDistanceMatrix matrix = cache.buildNearbyDistanceMatrix("selector", phaseScope, meter,
+                originList, Arrays.<Object>asList("BB", "Aa"), 2, false);
+        assertEquals(8, distanceCount.get());
+        assertEquals("Aa", matrix.getDestination("Aa", 0));
+        assertEquals("BB", matrix.getDestination("BB", 0));
+    }
+
+    @Test
+    public void writeAndReadWithCollidingHashCodes() throws IOException {
+        // Their hashCode() is the same
+        assertEquals(Long.valueOf(0L).hashCode(), Long.valueOf(0x1_0000_0001L).hashCode());
+        AtomicInteger distanceCount = new AtomicInteger(0);
+        NearbyDistanceMeter<Long, Long> meter = (origin, destination) -> {
+            distanceCount.incrementAndGet();
+            return origin.equals(destination) ? 0.0 : 1.0;
+        };
+        AbstractPhaseScope<TestdataSolution> phaseScope = mockPhaseScope(new TestdataSolution("s1"));
+        NearbyDistanceMatrixCache<TestdataSolution> cache = new NearbyDistanceMatrixCache<>(
+                TestdataSolution::getCode);
+        List<Object> originList = Arrays.<Object>asList(0L, 0x1_0000_0001L);
+        cache.buildNearbyDistanceMatrix("selector", phaseScope, meter,
+                originList, Arrays.<Object>asList(0L, 0x1_0000_0001L), 2, false);
+        assertEquals(4, distanceCount.get());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cache.write(out);
+
+        NearbyDistanceMatrixCache<TestdataSolution> restartedCache = new NearbyDistanceMatrixCache<>(
+                TestdataSolution::getCode);
+        restartedCache.read(new ByteArrayInputStream(out.toByteArray()));
+        NearbyDistanceMatrix matrix = restartedCache.buildNearbyDistanceMatrix("selector", phaseScope, meter,
+                originList, Arrays.<Object>asList(0x1_0000_0001L, 0L), 2, false);
+        assertEquals(8, distanceCount.get());
+        assertEquals(0L, matrix.getDestination(0L, 0));
+        assertEquals(0x1_0000_0001L, matrix.getDestination(0x1_0000_0001L, 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void readCorruptDestinationIndex() throws IOException {
+        List<Object> locationList = Arrays.<Object>asList(0, 1, 2);
+        NearbyDistanceMeter<Integer, Integer> meter = (origin, destination) -> Math.abs(origin - destination);
+        NearbyDistanceMatrixCache<TestdataSolution> cache = new NearbyDistanceMatrixCache<>(
+                TestdataSolution::getCode);
+        cache.buildNearbyDistanceMatrix("selector", mockPhaseScope(new TestdataSolution("s1")), meter,
+                locationList, locationList, 3, false);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cache.write(out);
+        byte[] bytes = out.toByteArray();
+        // Overwrite the last destinationIndex with a destinationIndex that is out of bounds
+        bytes[bytes.length - 1] = 7;
+
+        new NearbyDistanceMatrixCache<TestdataSolution>(TestdataSolution::getCode)
+                .read(new ByteArrayInputStream(bytes));
+    }
+
+    private static AbstractPhaseScope<TestdataSolution> mockPhaseScope(TestdataSolution solution) {
+        AbstractPhaseScope<TestdataSolution> phaseScope = mock(AbstractPhaseScope.class);
+        when(phaseScope.getWorkingSolution()).thenReturn(solution);
+        return phaseScope;
+    }
+
+}
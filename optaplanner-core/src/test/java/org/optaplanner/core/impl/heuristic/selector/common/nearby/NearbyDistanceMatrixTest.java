@@ -94,6 +94,62 @@ public class NearbyDistanceMatrixTest {
         assertSame(c, nearbyDistanceMatrix.getDestination(d, 3));
     }
 
+    @Test
+    public void addAllDestinationsInParallelWithSmallerDestinationSize() {
+        final MatrixTestdataObject a = new MatrixTestdataObject("a", 0, new double[]{0.0, 1.0, 1.0, 1.0});
+        final MatrixTestdataObject b = new MatrixTestdataObject("b", 1, new double[]{1.0, 0.0, 2.0, 1.0});
+        final MatrixTestdataObject c = new MatrixTestdataObject("c", 2, new double[]{1.0, 2.0, 0.0, 3.0});
+        final MatrixTestdataObject d = new MatrixTestdataObject("d", 3, new double[]{6.0, 1.0, 3.0, 0.0});
+        List<Object> entityList = Arrays.<Object>asList(a, b, c, d);
+        NearbyDistanceMeter<MatrixTestdataObject, MatrixTestdataObject> meter
+                = (origin, destination) -> origin.distances[destination.index];
+
+        NearbyDistanceMatrix nearbyDistanceMatrix = new NearbyDistanceMatrix(meter, 4);
+        nearbyDistanceMatrix.addAllDestinations(entityList, entityList, 3, true);
+
+        assertSame(a, nearbyDistanceMatrix.getDestination(a, 0));
+        assertSame(b, nearbyDistanceMatrix.getDestination(a, 1));
+        assertSame(c, nearbyDistanceMatrix.getDestination(a, 2));
+        assertSame(b, nearbyDistanceMatrix.getDestination(b, 0));
+        assertSame(a, nearbyDistanceMatrix.getDestination(b, 1));
+        assertSame(d, nearbyDistanceMatrix.getDestination(b, 2));
+        assertSame(c, nearbyDistanceMatrix.getDestination(c, 0));
+        assertSame(a, nearbyDistanceMatrix.getDestination(c, 1));
+        assertSame(b, nearbyDistanceMatrix.getDestination(c, 2));
+        assertSame(d, nearbyDistanceMatrix.getDestination(d, 0));
+        assertSame(b, nearbyDistanceMatrix.getDestination(d, 1));
+        assertSame(c, nearbyDistanceMatrix.getDestination(d, 2));
+    }
+
+    @Test
+    public void addAllDestinationsWithEqualDestinations() {
+        final MatrixTestdataObject a = new EqualCodeMatrixTestdataObject("a", 0, new double[]{0.0, 2.0, 1.0});
+        final MatrixTestdataObject b1 = new EqualCodeMatrixTestdataObject("b", 1, new double[]{2.0, 0.0, 3.0});
+        final MatrixTestdataObject b2 = new EqualCodeMatrixTestdataObject("b", 2, new double[]{1.0, 3.0, 0.0});
+        List<Object> entityList = Arrays.<Object>asList(a, b1, b2);
+        NearbyDistanceMeter<MatrixTestdataObject, MatrixTestdataObject> meter
+                = (origin, destination) -> origin.distances[destination.index];
+
+        NearbyDistanceMatrix nearbyDistanceMatrix = new NearbyDistanceMatrix(meter, 3);
+        nearbyDistanceMatrix.addAllDestinations(a, entityList.iterator(), 3);
+
+        assertSame(a, nearbyDistanceMatrix.getDestination(a, 0));
+        assertSame(b2, nearbyDistanceMatrix.getDestination(a, 1));
+        assertSame(b1, nearbyDistanceMatrix.getDestination(a, 2));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void addAllDestinationsWithTooFewDestinations() {
+        final MatrixTestdataObject a = new MatrixTestdataObject("a", 0, new double[]{0.0, 1.0});
+        final MatrixTestdataObject b = new MatrixTestdataObject("b", 1, new double[]{1.0, 0.0});
+        List<Object> entityList = Arrays.<Object>asList(a, b);
+        NearbyDistanceMeter<MatrixTestdataObject, MatrixTestdataObject> meter
+                = (origin, destination) -> origin.distances[destination.index];
+
+        NearbyDistanceMatrix nearbyDistanceMatrix = new NearbyDistanceMatrix(meter, 2);
+        nearbyDistanceMatrix.addAllDestinations(a, entityList.iterator(), 3);
+    }
+
     private static class MatrixTestdataObject extends TestdataObject {
         private int index;
         private double[] distances;
@@ -106,4 +162,23 @@ public class NearbyDistanceMatrixTest {
 
     }
 
+    private static class EqualCodeMatrixTestdataObject extends MatrixTestdataObject {
+
+        public EqualCodeMatrixTestdataObject(String code, int index, double[] distances) {
+            super(code, index, distances);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof EqualCodeMatrixTestdataObject
+                    && getCode().equals(((EqualCodeMatrixTestdataObject) o).getCode());
+        }
+
+        @Override
+        public int hashCode() {
+            return getCode().hashCode();
+        }
+
+    }
+
 }
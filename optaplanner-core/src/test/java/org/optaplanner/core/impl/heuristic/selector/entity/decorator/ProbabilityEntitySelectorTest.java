@@ -31,6 +31,7 @@ import org.optaplanner.core.impl.testdata.domain.TestdataEntity;
 import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.*;
 import static org.optaplanner.core.impl.testdata.util.PlannerAssert.*;
@@ -61,7 +62,10 @@ public class ProbabilityEntitySelectorTest {
                 probabilityWeightFactory);
 
         Random workingRandom = mock(Random.class);
-        when(workingRandom.nextDouble()).thenReturn(1222.0 / 1234.0, 111.0 / 1234.0, 0.0, 1230.0 / 1234.0, 1199.0 / 1234.0);
+        // Alias method: the integer part of nextDouble() * 4 picks the column of e1, e2, e3 or e4,
+        // the fraction selects it if it's below its probability (e1 100%, e2 65%, e3 9.7%, e4 1.3%), else e1
+        when(workingRandom.nextDouble()).thenReturn(
+                (2.0 + 0.05) / 4.0, (0.0 + 0.4) / 4.0, 0.0, (3.0 + 0.01) / 4.0, (1.0 + 0.5) / 4.0);
 
         DefaultSolverScope solverScope = mock(DefaultSolverScope.class);
         when(solverScope.getWorkingRandom()).thenReturn(workingRandom);
@@ -99,6 +103,41 @@ public class ProbabilityEntitySelectorTest {
         verify(childEntitySelector, times(1)).iterator();
     }
 
+    @Test
+    public void randomSelectionWithOnlyZeroProbabilityWeights() {
+        EntitySelector childEntitySelector = SelectorTestUtils.mockEntitySelector(TestdataEntity.class,
+                new TestdataEntity("e1"), new TestdataEntity("e2"));
+
+        SelectionProbabilityWeightFactory<TestdataSolution, TestdataEntity> probabilityWeightFactory
+                = (scoreDirector, entity) -> 0.0;
+        EntitySelector entitySelector = new ProbabilityEntitySelector(childEntitySelector, SelectionCacheType.STEP,
+                probabilityWeightFactory);
+
+        Random workingRandom = mock(Random.class);
+
+        DefaultSolverScope solverScope = mock(DefaultSolverScope.class);
+        when(solverScope.getWorkingRandom()).thenReturn(workingRandom);
+        entitySelector.solvingStarted(solverScope);
+        AbstractPhaseScope phaseScopeA = mock(AbstractPhaseScope.class);
+        when(phaseScopeA.getSolverScope()).thenReturn(solverScope);
+        when(phaseScopeA.getWorkingRandom()).thenReturn(workingRandom);
+        entitySelector.phaseStarted(phaseScopeA);
+        AbstractStepScope stepScopeA1 = mock(AbstractStepScope.class);
+        when(stepScopeA1.getPhaseScope()).thenReturn(phaseScopeA);
+        when(stepScopeA1.getWorkingRandom()).thenReturn(workingRandom);
+        entitySelector.stepStarted(stepScopeA1);
+
+        assertEquals(0L, entitySelector.getSize());
+        assertFalse(entitySelector.iterator().hasNext());
+
+        entitySelector.stepEnded(stepScopeA1);
+        entitySelector.phaseEnded(phaseScopeA);
+        entitySelector.solvingEnded(solverScope);
+
+        verifyPhaseLifecycle(childEntitySelector, 1, 1, 1);
+        verify(workingRandom, never()).nextDouble();
+    }
+
     @Test
     public void isCountable() {
         EntitySelector childEntitySelector = SelectorTestUtils.mockEntitySelector(TestdataEntity.class);
@@ -17,14 +17,20 @@
 package org.optaplanner.core.impl.heuristic.selector.entity.decorator;
 
 import java.util.Comparator;
+import java.util.Set;
 
 import org.junit.Test;
 import org.optaplanner.core.config.heuristic.selector.common.SelectionCacheType;
+import org.optaplanner.core.impl.domain.variable.supply.SupplyManager;
+import org.optaplanner.core.impl.domain.variable.touched.TouchedEntityVariableDemand;
+import org.optaplanner.core.impl.domain.variable.touched.TouchedEntityVariableSupply;
 import org.optaplanner.core.impl.heuristic.selector.SelectorTestUtils;
+import org.optaplanner.core.impl.heuristic.selector.common.decorator.ComparatorSelectionSorter;
 import org.optaplanner.core.impl.heuristic.selector.common.decorator.SelectionSorter;
 import org.optaplanner.core.impl.heuristic.selector.entity.EntitySelector;
 import org.optaplanner.core.impl.phase.scope.AbstractPhaseScope;
 import org.optaplanner.core.impl.phase.scope.AbstractStepScope;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
 import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
 import org.optaplanner.core.impl.testdata.domain.TestdataEntity;
 import org.optaplanner.core.impl.testdata.domain.TestdataObject;
@@ -117,6 +123,67 @@ public class SortingEntitySelectorTest {
         verify(childEntitySelector, times(timesCalled)).getSize();
     }
 
+    @Test
+    public void cacheTypeStepIncremental() {
+        TestdataEntity jan = new TestdataEntity("jan");
+        EntitySelector childEntitySelector = SelectorTestUtils.mockEntitySelector(
+                TestdataEntity.buildEntityDescriptor(),
+                jan, new TestdataEntity("feb"), new TestdataEntity("mar"),
+                new TestdataEntity("apr"), new TestdataEntity("may"), new TestdataEntity("jun"));
+
+        SelectionSorter<TestdataSolution, TestdataEntity> sorter = new ComparatorSelectionSorter<>(
+                Comparator.comparing(TestdataObject::getCode));
+        EntitySelector entitySelector = new SortingEntitySelector(childEntitySelector,
+                SelectionCacheType.STEP_INCREMENTAL, sorter);
+
+        InnerScoreDirector scoreDirector = mock(InnerScoreDirector.class);
+        SupplyManager supplyManager = mock(SupplyManager.class);
+        when(scoreDirector.getSupplyManager()).thenReturn(supplyManager);
+        TouchedEntityVariableSupply touchedEntityVariableSupply = mock(TouchedEntityVariableSupply.class);
+        when(supplyManager.demand(any(TouchedEntityVariableDemand.class))).thenReturn(touchedEntityVariableSupply);
+        when(touchedEntityVariableSupply.drainTouchedEntitiesTo(any())).thenReturn(true);
+        DefaultSolverScope solverScope = mock(DefaultSolverScope.class);
+        when(solverScope.getScoreDirector()).thenReturn(scoreDirector);
+        entitySelector.solvingStarted(solverScope);
+
+        AbstractPhaseScope phaseScopeA = mock(AbstractPhaseScope.class);
+        when(phaseScopeA.getSolverScope()).thenReturn(solverScope);
+        entitySelector.phaseStarted(phaseScopeA);
+
+        AbstractStepScope stepScopeA1 = mock(AbstractStepScope.class);
+        when(stepScopeA1.getPhaseScope()).thenReturn(phaseScopeA);
+        entitySelector.stepStarted(stepScopeA1);
+        assertAllCodesOfEntitySelector(entitySelector, "apr", "feb", "jan", "jun", "mar", "may");
+        entitySelector.stepEnded(stepScopeA1);
+
+        // The step changed jan
+        jan.setCode("zzz");
+        doAnswer(invocation -> {
+            ((Set<Object>) invocation.getArguments()[0]).add(jan);
+            return true;
+        }).when(touchedEntityVariableSupply).drainTouchedEntitiesTo(any());
+        AbstractStepScope stepScopeA2 = mock(AbstractStepScope.class);
+        when(stepScopeA2.getPhaseScope()).thenReturn(phaseScopeA);
+        entitySelector.stepStarted(stepScopeA2);
+        assertAllCodesOfEntitySelector(entitySelector, "apr", "feb", "jun", "mar", "may", "zzz");
+        entitySelector.stepEnded(stepScopeA2);
+
+        // An entity was added, so the cache is constructed again
+        when(scoreDirector.isWorkingEntityListDirty(anyLong())).thenReturn(true);
+        AbstractStepScope stepScopeA3 = mock(AbstractStepScope.class);
+        when(stepScopeA3.getPhaseScope()).thenReturn(phaseScopeA);
+        entitySelector.stepStarted(stepScopeA3);
+        assertAllCodesOfEntitySelector(entitySelector, "apr", "feb", "jun", "mar", "may", "zzz");
+        entitySelector.stepEnded(stepScopeA3);
+
+        entitySelector.phaseEnded(phaseScopeA);
+
+        entitySelector.solvingEnded(solverScope);
+
+        verifyPhaseLifecycle(childEntitySelector, 1, 1, 3);
+        verify(childEntitySelector, times(2)).iterator();
+    }
+
     @Test
     public void isNeverEnding() {
         EntitySelector entitySelector = new SortingEntitySelector(mock(EntitySelector.class), SelectionCacheType.PHASE,
@@ -17,19 +17,26 @@
 package org.optaplanner.core.impl.heuristic.selector.entity.pillar;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
+import java.util.Set;
 
 import org.junit.Test;
 import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
+import org.optaplanner.core.impl.domain.variable.supply.SupplyManager;
+import org.optaplanner.core.impl.domain.variable.touched.TouchedEntityVariableDemand;
+import org.optaplanner.core.impl.domain.variable.touched.TouchedEntityVariableSupply;
 import org.optaplanner.core.impl.heuristic.selector.SelectorTestUtils;
 import org.optaplanner.core.impl.heuristic.selector.entity.EntitySelector;
 import org.optaplanner.core.impl.phase.scope.AbstractPhaseScope;
 import org.optaplanner.core.impl.phase.scope.AbstractStepScope;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
 import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
 import org.optaplanner.core.impl.testdata.domain.TestdataEntity;
 import org.optaplanner.core.impl.testdata.domain.TestdataValue;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.*;
 import static org.optaplanner.core.impl.testdata.util.PlannerAssert.*;
 
@@ -98,7 +105,8 @@ public class DefaultPillarSelectorTest {
         DefaultPillarSelector pillarSelector = new DefaultPillarSelector(
                 entitySelector, Arrays.asList(variableDescriptor), false, false, 1, Integer.MAX_VALUE);
 
-        DefaultSolverScope solverScope = mock(DefaultSolverScope.class);
+        TouchedEntityVariableSupply touchedEntityVariableSupply = mockTouchedEntityVariableSupply();
+        DefaultSolverScope solverScope = mockSolverScope(touchedEntityVariableSupply);
         pillarSelector.solvingStarted(solverScope);
 
         AbstractPhaseScope phaseScopeA = mock(AbstractPhaseScope.class);
@@ -111,8 +119,10 @@ public class DefaultPillarSelectorTest {
         assertAllCodesOfPillarSelector(pillarSelector, "[a]", "[b, d]", "[c, e, f]");
         pillarSelector.stepEnded(stepScopeA1);
 
+        // The step changed b and f
         b.setValue(val3);
         f.setValue(val4);
+        touchEntities(touchedEntityVariableSupply, b, f);
 
         AbstractStepScope stepScopeA2 = mock(AbstractStepScope.class);
         when(stepScopeA2.getPhaseScope()).thenReturn(phaseScopeA);
@@ -151,7 +161,8 @@ public class DefaultPillarSelectorTest {
         DefaultPillarSelector pillarSelector = new DefaultPillarSelector(
                 entitySelector, Arrays.asList(variableDescriptor), false, false, 1, Integer.MAX_VALUE);
 
-        DefaultSolverScope solverScope = mock(DefaultSolverScope.class);
+        TouchedEntityVariableSupply touchedEntityVariableSupply = mockTouchedEntityVariableSupply();
+        DefaultSolverScope solverScope = mockSolverScope(touchedEntityVariableSupply);
         pillarSelector.solvingStarted(solverScope);
 
         AbstractPhaseScope phaseScopeA = mock(AbstractPhaseScope.class);
@@ -212,7 +223,8 @@ public class DefaultPillarSelectorTest {
 
         Random workingRandom = mock(Random.class);
 
-        DefaultSolverScope solverScope = mock(DefaultSolverScope.class);
+        TouchedEntityVariableSupply touchedEntityVariableSupply = mockTouchedEntityVariableSupply();
+        DefaultSolverScope solverScope = mockSolverScope(touchedEntityVariableSupply);
         when(solverScope.getWorkingRandom()).thenReturn(workingRandom);
         pillarSelector.solvingStarted(solverScope);
 
@@ -233,8 +245,10 @@ public class DefaultPillarSelectorTest {
         assertCodesOfNeverEndingPillarSelector(pillarSelector, "[a]", "[c, e]", "[b]", "[d]");
         pillarSelector.stepEnded(stepScopeA1);
 
+        // The step changed b and f
         b.setValue(val3);
         f.setValue(val4);
+        touchEntities(touchedEntityVariableSupply, b, f);
 
         AbstractStepScope stepScopeA2 = mock(AbstractStepScope.class);
         when(stepScopeA2.getPhaseScope()).thenReturn(phaseScopeA);
@@ -298,7 +312,8 @@ public class DefaultPillarSelectorTest {
 
         Random workingRandom = mock(Random.class);
 
-        DefaultSolverScope solverScope = mock(DefaultSolverScope.class);
+        TouchedEntityVariableSupply touchedEntityVariableSupply = mockTouchedEntityVariableSupply();
+        DefaultSolverScope solverScope = mockSolverScope(touchedEntityVariableSupply);
         when(solverScope.getWorkingRandom()).thenReturn(workingRandom);
         pillarSelector.solvingStarted(solverScope);
 
@@ -338,7 +353,8 @@ public class DefaultPillarSelectorTest {
         DefaultPillarSelector pillarSelector = new DefaultPillarSelector(
                 entitySelector, Arrays.asList(variableDescriptor), true, true, 1, Integer.MAX_VALUE);
 
-        DefaultSolverScope solverScope = mock(DefaultSolverScope.class);
+        TouchedEntityVariableSupply touchedEntityVariableSupply = mockTouchedEntityVariableSupply();
+        DefaultSolverScope solverScope = mockSolverScope(touchedEntityVariableSupply);
         pillarSelector.solvingStarted(solverScope);
 
         AbstractPhaseScope phaseScopeA = mock(AbstractPhaseScope.class);
@@ -376,6 +392,102 @@ public class DefaultPillarSelectorTest {
         verifyPhaseLifecycle(entitySelector, 1, 2, 3);
     }
 
+    @Test
+    public void originalNoSubsIncremental() {
+        TestdataValue val1 = new TestdataValue("1");
+        TestdataValue val2 = new TestdataValue("2");
+        TestdataValue val3 = new TestdataValue("3");
+
+        final TestdataEntity a = new TestdataEntity("a", val1);
+        final TestdataEntity b = new TestdataEntity("b", val2);
+        final TestdataEntity c = new TestdataEntity("c", val3);
+        final TestdataEntity d = new TestdataEntity("d", val2);
+        final TestdataEntity e = new TestdataEntity("e", val3);
+        final TestdataEntity f = new TestdataEntity("f", val3);
+
+        GenuineVariableDescriptor variableDescriptor = TestdataEntity.buildVariableDescriptorForValue();
+        EntitySelector entitySelector = SelectorTestUtils.mockEntitySelector(variableDescriptor.getEntityDescriptor(),
+                a, b, c, d, e, f);
+
+        DefaultPillarSelector pillarSelector = new DefaultPillarSelector(
+                entitySelector, Arrays.asList(variableDescriptor), false, false, 1, Integer.MAX_VALUE);
+
+        TouchedEntityVariableSupply touchedEntityVariableSupply = mockTouchedEntityVariableSupply();
+        DefaultSolverScope solverScope = mockSolverScope(touchedEntityVariableSupply);
+        pillarSelector.solvingStarted(solverScope);
+
+        AbstractPhaseScope phaseScopeA = mock(AbstractPhaseScope.class);
+        when(phaseScopeA.getSolverScope()).thenReturn(solverScope);
+        pillarSelector.phaseStarted(phaseScopeA);
+
+        AbstractStepScope stepScopeA1 = mock(AbstractStepScope.class);
+        when(stepScopeA1.getPhaseScope()).thenReturn(phaseScopeA);
+        pillarSelector.stepStarted(stepScopeA1);
+        assertAllCodesOfPillarSelector(pillarSelector, "[a]", "[b, d]", "[c, e, f]");
+        List<Object> pillarBD = pillarSelector.listIterator(1).next();
+        pillarSelector.stepEnded(stepScopeA1);
+
+        // The step changed a and e, but only touched c
+        a.setValue(val2);
+        e.setValue(val1);
+        touchEntities(touchedEntityVariableSupply, a, c, e);
+
+        AbstractStepScope stepScopeA2 = mock(AbstractStepScope.class);
+        when(stepScopeA2.getPhaseScope()).thenReturn(phaseScopeA);
+        pillarSelector.stepStarted(stepScopeA2);
+        assertAllCodesOfPillarSelector(pillarSelector, "[a, b, d]", "[c, f]", "[e]");
+        // A pillar that a move might still refer to, doesn't change
+        assertAllCodesOfIterator(pillarBD.iterator(), "b", "d");
+        List<Object> pillarCF = pillarSelector.listIterator(1).next();
+        pillarSelector.stepEnded(stepScopeA2);
+
+        // Nothing changed
+        touchEntities(touchedEntityVariableSupply);
+        AbstractStepScope stepScopeA3 = mock(AbstractStepScope.class);
+        when(stepScopeA3.getPhaseScope()).thenReturn(phaseScopeA);
+        pillarSelector.stepStarted(stepScopeA3);
+        assertAllCodesOfPillarSelector(pillarSelector, "[a, b, d]", "[c, f]", "[e]");
+        assertSame(pillarCF, pillarSelector.listIterator(1).next());
+        pillarSelector.stepEnded(stepScopeA3);
+
+        // An entity was added, so all entities are grouped again
+        when(solverScope.getScoreDirector().isWorkingEntityListDirty(anyLong())).thenReturn(true);
+        AbstractStepScope stepScopeA4 = mock(AbstractStepScope.class);
+        when(stepScopeA4.getPhaseScope()).thenReturn(phaseScopeA);
+        pillarSelector.stepStarted(stepScopeA4);
+        assertAllCodesOfPillarSelector(pillarSelector, "[a, b, d]", "[c, f]", "[e]");
+        pillarSelector.stepEnded(stepScopeA4);
+
+        pillarSelector.phaseEnded(phaseScopeA);
+
+        pillarSelector.solvingEnded(solverScope);
+
+        verifyPhaseLifecycle(entitySelector, 1, 1, 4);
+    }
+
+    private TouchedEntityVariableSupply mockTouchedEntityVariableSupply() {
+        TouchedEntityVariableSupply touchedEntityVariableSupply = mock(TouchedEntityVariableSupply.class);
+        when(touchedEntityVariableSupply.drainTouchedEntitiesTo(any())).thenReturn(true);
+        return touchedEntityVariableSupply;
+    }
+
+    private DefaultSolverScope mockSolverScope(TouchedEntityVariableSupply touchedEntityVariableSupply) {
+        InnerScoreDirector scoreDirector = mock(InnerScoreDirector.class);
+        SupplyManager supplyManager = mock(SupplyManager.class);
+        when(scoreDirector.getSupplyManager()).thenReturn(supplyManager);
+        when(supplyManager.demand(any(TouchedEntityVariableDemand.class))).thenReturn(touchedEntityVariableSupply);
+        DefaultSolverScope solverScope = mock(DefaultSolverScope.class);
+        when(solverScope.getScoreDirector()).thenReturn(scoreDirector);
+        return solverScope;
+    }
+
+    private void touchEntities(TouchedEntityVariableSupply touchedEntityVariableSupply, Object... entities) {
+        doAnswer(invocation -> {
+            ((Set<Object>) invocation.getArguments()[0]).addAll(Arrays.asList(entities));
+            return true;
+        }).when(touchedEntityVariableSupply).drainTouchedEntitiesTo(any());
+    }
+
     private void assertAllCodesOfPillarSelector(PillarSelector pillarSelector, String... codes) {
         assertAllCodesOfIterator(pillarSelector.iterator(), codes);
         assertEquals(true, pillarSelector.isCountable());
@@ -58,7 +58,10 @@ public class ProbabilityMoveSelectorTest {
                 probabilityWeightFactory);
 
         Random workingRandom = mock(Random.class);
-        when(workingRandom.nextDouble()).thenReturn(1222.0 / 1234.0, 111.0 / 1234.0, 0.0, 1230.0 / 1234.0, 1199.0 / 1234.0);
+        // Alias method: the integer part of nextDouble() * 4 picks the column of e1, e2, e3 or e4,
+        // the fraction selects it if it's below its probability (e1 100%, e2 65%, e3 9.7%, e4 1.3%), else e1
+        when(workingRandom.nextDouble()).thenReturn(
+                (2.0 + 0.05) / 4.0, (0.0 + 0.4) / 4.0, 0.0, (3.0 + 0.01) / 4.0, (1.0 + 0.5) / 4.0);
 
         DefaultSolverScope solverScope = mock(DefaultSolverScope.class);
         when(solverScope.getWorkingRandom()).thenReturn(workingRandom);
@@ -82,4 +85,38 @@ public class ProbabilityMoveSelectorTest {
         verify(childMoveSelector, times(1)).iterator();
     }
 
+    @Test
+    public void randomSelectionWithOnlyZeroProbabilityWeights() {
+        MoveSelector childMoveSelector = SelectorTestUtils.mockMoveSelector(DummyMove.class,
+                new DummyMove("e1"), new DummyMove("e2"));
+
+        SelectionProbabilityWeightFactory<TestdataSolution, DummyMove> probabilityWeightFactory
+                = (scoreDirector, move) -> 0.0;
+        MoveSelector moveSelector = new ProbabilityMoveSelector(childMoveSelector, SelectionCacheType.STEP,
+                probabilityWeightFactory);
+
+        Random workingRandom = mock(Random.class);
+
+        DefaultSolverScope solverScope = mock(DefaultSolverScope.class);
+        when(solverScope.getWorkingRandom()).thenReturn(workingRandom);
+        moveSelector.solvingStarted(solverScope);
+        AbstractPhaseScope phaseScopeA = mock(AbstractPhaseScope.class);
+        when(phaseScopeA.getSolverScope()).thenReturn(solverScope);
+        when(phaseScopeA.getWorkingRandom()).thenReturn(workingRandom);
+        moveSelector.phaseStarted(phaseScopeA);
+        AbstractStepScope stepScopeA1 = mock(AbstractStepScope.class);
+        when(stepScopeA1.getPhaseScope()).thenReturn(phaseScopeA);
+        when(stepScopeA1.getWorkingRandom()).thenReturn(workingRandom);
+        moveSelector.stepStarted(stepScopeA1);
+
+        assertEmptyNeverEndingMoveSelector(moveSelector, 0L);
+
+        moveSelector.stepEnded(stepScopeA1);
+        moveSelector.phaseEnded(phaseScopeA);
+        moveSelector.solvingEnded(solverScope);
+
+        verifyPhaseLifecycle(childMoveSelector, 1, 1, 1);
+        verify(workingRandom, never()).nextDouble();
+    }
+
 }
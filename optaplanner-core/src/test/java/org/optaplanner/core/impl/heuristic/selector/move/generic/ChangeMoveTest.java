@@ -32,8 +32,10 @@ import org.optaplanner.core.impl.testdata.domain.multivar.TestdataMultiVarSoluti
 import org.optaplanner.core.impl.testdata.domain.multivar.TestdataOtherValue;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.*;
 import static org.optaplanner.core.impl.testdata.util.PlannerAssert.*;
+import static org.optaplanner.core.impl.testdata.util.PlannerTestUtils.*;
 
 public class ChangeMoveTest {
 
@@ -84,6 +86,47 @@ public class ChangeMoveTest {
         assertEquals(v2, a.getValue());
     }
 
+    @Test
+    public void rebase() {
+        EntityDescriptor<TestdataSolution> entityDescriptor = TestdataEntity.buildEntityDescriptor();
+        GenuineVariableDescriptor<TestdataSolution> variableDescriptor = entityDescriptor.getGenuineVariableDescriptor("value");
+
+        TestdataValue v1 = new TestdataValue("v1");
+        TestdataValue v2 = new TestdataValue("v2");
+        TestdataEntity e1 = new TestdataEntity("e1", v1);
+        TestdataEntity e2 = new TestdataEntity("e2", null);
+        TestdataEntity e3 = new TestdataEntity("e3", v1);
+
+        TestdataValue destinationV1 = new TestdataValue("v1");
+        TestdataValue destinationV2 = new TestdataValue("v2");
+        TestdataEntity destinationE1 = new TestdataEntity("e1", destinationV1);
+        TestdataEntity destinationE2 = new TestdataEntity("e2", null);
+        TestdataEntity destinationE3 = new TestdataEntity("e3", destinationV1);
+
+        ScoreDirector<TestdataSolution> destinationScoreDirector = mockRebasingScoreDirector(
+                entityDescriptor.getSolutionDescriptor(), new Object[][]{
+                        {v1, destinationV1},
+                        {v2, destinationV2},
+                        {e1, destinationE1},
+                        {e2, destinationE2},
+                        {e3, destinationE3},
+                });
+
+        assertSameProperties(destinationE1, null,
+                new ChangeMove<>(e1, variableDescriptor, null).rebase(destinationScoreDirector));
+        assertSameProperties(destinationE1, destinationV1,
+                new ChangeMove<>(e1, variableDescriptor, v1).rebase(destinationScoreDirector));
+        assertSameProperties(destinationE2, destinationV1,
+                new ChangeMove<>(e2, variableDescriptor, v1).rebase(destinationScoreDirector));
+        assertSameProperties(destinationE3, destinationV2,
+                new ChangeMove<>(e3, variableDescriptor, v2).rebase(destinationScoreDirector));
+    }
+
+    public void assertSameProperties(Object entity, Object toPlanningVariable, ChangeMove<?> move) {
+        assertSame(entity, move.getEntity());
+        assertSame(toPlanningVariable, move.getToPlanningValue());
+    }
+
     @Test
     public void getters() {
         ChangeMove<TestdataMultiVarSolution> move = new ChangeMove<>(new TestdataMultiVarEntity("a"),
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.thread;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
+import org.optaplanner.core.impl.heuristic.move.DummyMove;
+import org.optaplanner.core.impl.heuristic.move.Move;
+import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.Assert.*;
+
+public class OrderByMoveIndexBlockingQueueTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderByMoveIndexBlockingQueueTest.class);
+    private final ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+    @After
+    public void tearDown() throws InterruptedException {
+        executorService.shutdownNow();
+        if (!executorService.awaitTermination(1, TimeUnit.MILLISECONDS)) {
+            logger.warn("Thread pool didn't terminate within the timeout.");
+        }
+    }
+
+    @Test
+    public void addMove() throws ExecutionException, InterruptedException {
+        OrderByMoveIndexBlockingQueue<TestdataSolution> queue = new OrderByMoveIndexBlockingQueue<>(6);
+
+        queue.startNextStep(0);
+        executorService.submit(() -> queue.addMove(0, 0, 0, new DummyMove("a0"), new DummyMove("a0"),
+                SimpleScore.valueOf(-100))).get();
+        executorService.submit(() -> queue.addMove(1, 0, 2, new DummyMove("a2"), new DummyMove("a2"),
+                SimpleScore.valueOf(-300))).get();
+        executorService.submit(() -> queue.addUndoableMove(0, 0, 3, new DummyMove("a3"))).get();
+        executorService.submit(() -> queue.addMove(1, 0, 1, new DummyMove("a1"), new DummyMove("a1"),
+                SimpleScore.valueOf(-200))).get();
+        assertResult("a0", -100, queue.take());
+        assertResult("a1", -200, queue.take());
+        assertResult("a2", -300, queue.take());
+        assertResult("a3", false, queue.take());
+
+        executorService.submit(() -> queue.addMove(0, 0, 4, new DummyMove("a4"), new DummyMove("a4"),
+                SimpleScore.valueOf(-400))).get();
+        queue.startNextStep(1);
+        // Results of the previous step are ignored
+        executorService.submit(() -> queue.addMove(0, 0, 5, new DummyMove("a5"), new DummyMove("a5"),
+                SimpleScore.valueOf(-500))).get();
+        executorService.submit(() -> queue.addMove(1, 1, 1, new DummyMove("b1"), new DummyMove("b1"),
+                SimpleScore.valueOf(-1200))).get();
+        executorService.submit(() -> queue.addMove(0, 1, 0, new DummyMove("b0"), new DummyMove("b0"),
+                SimpleScore.valueOf(-1100))).get();
+        assertResult("b0", -1100, queue.take());
+        assertResult("b1", -1200, queue.take());
+    }
+
+    @Test
+    public void addExceptionThrown() throws ExecutionException, InterruptedException {
+        OrderByMoveIndexBlockingQueue<TestdataSolution> queue = new OrderByMoveIndexBlockingQueue<>(6);
+
+        queue.startNextStep(0);
+        executorService.submit(() -> queue.addMove(0, 0, 0, new DummyMove("a0"), new DummyMove("a0"),
+                SimpleScore.valueOf(-100))).get();
+        IllegalArgumentException exception = new IllegalArgumentException();
+        executorService.submit(() -> queue.addExceptionThrown(1, exception)).get();
+        assertResult("a0", -100, queue.take());
+        try {
+            queue.take();
+            fail("There was no RuntimeException thrown.");
+        } catch (IllegalStateException e) {
+            assertSame(exception, e.getCause());
+        }
+    }
+
+    private void assertResult(String moveCode, int score, OrderByMoveIndexBlockingQueue.MoveResult<TestdataSolution> result) {
+        assertEquals(moveCode, ((DummyMove) result.getMove()).getCode());
+        assertEquals(true, result.isMoveDoable());
+        assertEquals(SimpleScore.valueOf(score), result.getScore());
+    }
+
+    private void assertResult(String moveCode, boolean doable, OrderByMoveIndexBlockingQueue.MoveResult<TestdataSolution> result) {
+        Move<TestdataSolution> move = result.getMove();
+        assertEquals(moveCode, ((DummyMove) move).getCode());
+        assertEquals(doable, result.isMoveDoable());
+    }
+
+}
@@ -18,6 +18,7 @@ package org.optaplanner.core.impl.localsearch;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.Test;
 import org.optaplanner.core.api.solver.Solver;
@@ -25,10 +26,17 @@ import org.optaplanner.core.api.solver.SolverFactory;
 import org.optaplanner.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
 import org.optaplanner.core.config.localsearch.LocalSearchPhaseConfig;
 import org.optaplanner.core.config.localsearch.LocalSearchType;
+import org.optaplanner.core.config.solver.EnvironmentMode;
 import org.optaplanner.core.config.solver.termination.TerminationConfig;
+import org.optaplanner.core.impl.phase.event.PhaseLifecycleListenerAdapter;
+import org.optaplanner.core.impl.phase.scope.AbstractStepScope;
+import org.optaplanner.core.impl.solver.DefaultSolver;
 import org.optaplanner.core.impl.testdata.domain.TestdataEntity;
 import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
 import org.optaplanner.core.impl.testdata.domain.TestdataValue;
+import org.optaplanner.core.impl.testdata.domain.chained.rich.TestdataRichChainedAnchor;
+import org.optaplanner.core.impl.testdata.domain.chained.rich.TestdataRichChainedEntity;
+import org.optaplanner.core.impl.testdata.domain.chained.rich.TestdataRichChainedSolution;
 import org.optaplanner.core.impl.testdata.domain.immovable.TestdataImmovableEntity;
 import org.optaplanner.core.impl.testdata.domain.immovable.TestdataImmovableSolution;
 import org.optaplanner.core.impl.testdata.domain.reinitialize.TestdataReinitializeEntity;
@@ -37,6 +45,7 @@ import org.optaplanner.core.impl.testdata.util.PlannerTestUtils;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.optaplanner.core.impl.testdata.util.PlannerAssert.*;
 
 public class DefaultLocalSearchPhaseTest {
@@ -74,6 +83,41 @@ public class DefaultLocalSearchPhaseTest {
         assertNotNull(solvedE3.getValue());
     }
 
+    @Test(timeout = 600000)
+    public void solveWithMoveThreadsCountsNotDoableMoves() {
+        SolverFactory<TestdataSolution> solverFactory = PlannerTestUtils.buildSolverFactory(
+                TestdataSolution.class, TestdataEntity.class);
+        solverFactory.getSolverConfig().setMoveThreadCount("2");
+        LocalSearchPhaseConfig phaseConfig = new LocalSearchPhaseConfig();
+        phaseConfig.setTerminationConfig(new TerminationConfig().withStepCountLimit(20));
+        solverFactory.getSolverConfig().setPhaseConfigList(Collections.singletonList(
+                phaseConfig));
+        DefaultSolver<TestdataSolution> solver = (DefaultSolver<TestdataSolution>) solverFactory.buildSolver();
+        AtomicLong stepNotDoableMoveCountTotal = new AtomicLong(0L);
+        solver.addPhaseLifecycleListener(new PhaseLifecycleListenerAdapter<TestdataSolution>() {
+            @Override
+            public void stepEnded(AbstractStepScope<TestdataSolution> stepScope) {
+                stepNotDoableMoveCountTotal.addAndGet(stepScope.getNotDoableMoveCount());
+            }
+        });
+
+        TestdataSolution solution = new TestdataSolution("s1");
+        TestdataValue v1 = new TestdataValue("v1");
+        TestdataValue v2 = new TestdataValue("v2");
+        solution.setValueList(Arrays.asList(v1, v2));
+        // Changing an entity to its own value or swapping e1 and e2 is not doable
+        solution.setEntityList(Arrays.asList(
+                new TestdataEntity("e1", v1),
+                new TestdataEntity("e2", v1),
+                new TestdataEntity("e3", v2)));
+
+        solution = solver.solve(solution);
+        assertNotNull(solution);
+        long notDoableMoveCount = solver.getSolverScope().getNotDoableMoveCount();
+        assertTrue(notDoableMoveCount > 0L);
+        assertEquals(notDoableMoveCount, stepNotDoableMoveCountTotal.get());
+    }
+
     @Test
     public void solveWithImmovableEntities() {
         SolverFactory<TestdataImmovableSolution> solverFactory = PlannerTestUtils.buildSolverFactory(
@@ -220,5 +264,44 @@ public class DefaultLocalSearchPhaseTest {
         assertEquals(0, solution.getEntityList().size());
     }
 
+    @Test
+    public void solveSpeculativeWithChainedEntities() {
+        SolverFactory<TestdataRichChainedSolution> solverFactory = PlannerTestUtils.buildSolverFactory(
+                TestdataRichChainedSolution.class, TestdataRichChainedEntity.class);
+        // Asserts the undo score and the shadow variables after every rollback
+        solverFactory.getSolverConfig().setEnvironmentMode(EnvironmentMode.FULL_ASSERT);
+        LocalSearchPhaseConfig phaseConfig = new LocalSearchPhaseConfig();
+        phaseConfig.setSpeculativeMoveEvaluationEnabled(true);
+        phaseConfig.setTerminationConfig(new TerminationConfig().withScoreCalculationCountLimit(100L));
+        solverFactory.getSolverConfig().setPhaseConfigList(Collections.singletonList(
+                phaseConfig));
+        Solver<TestdataRichChainedSolution> solver = solverFactory.buildSolver();
+
+        TestdataRichChainedAnchor a0 = new TestdataRichChainedAnchor("a0");
+        TestdataRichChainedEntity a1 = new TestdataRichChainedEntity("a1", a0);
+        TestdataRichChainedEntity a2 = new TestdataRichChainedEntity("a2", a1);
+        TestdataRichChainedEntity a3 = new TestdataRichChainedEntity("a3", a2);
+        TestdataRichChainedAnchor b0 = new TestdataRichChainedAnchor("b0");
+        TestdataRichChainedEntity b1 = new TestdataRichChainedEntity("b1", b0);
+        a0.setNextEntity(a1);
+        a1.setNextEntity(a2);
+        a2.setNextEntity(a3);
+        b0.setNextEntity(b1);
+        a1.setAnchor(a0);
+        a2.setAnchor(a0);
+        a3.setAnchor(a0);
+        b1.setAnchor(b0);
+        TestdataRichChainedSolution solution = new TestdataRichChainedSolution("s1");
+        solution.setChainedAnchorList(Arrays.asList(a0, b0));
+        solution.setChainedEntityList(Arrays.asList(a1, a2, a3, b1));
+
+        solution = solver.solve(solution);
+        assertNotNull(solution);
+        assertEquals(4, solution.getChainedEntityList().size());
+        for (TestdataRichChainedEntity entity : solution.getChainedEntityList()) {
+            assertNotNull(entity.getChainedObject());
+            assertNotNull(entity.getAnchor());
+        }
+    }
 
 }
@@ -15,8 +15,11 @@
  */
 package org.optaplanner.core.impl.partitionedsearch;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
@@ -33,11 +36,15 @@ import org.optaplanner.core.api.solver.SolverFactory;
 import org.optaplanner.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
 import org.optaplanner.core.config.localsearch.LocalSearchPhaseConfig;
 import org.optaplanner.core.config.partitionedsearch.PartitionedSearchPhaseConfig;
+import org.optaplanner.core.config.phase.custom.CustomPhaseConfig;
 import org.optaplanner.core.config.solver.SolverConfig;
 import org.optaplanner.core.config.solver.termination.TerminationConfig;
+import org.optaplanner.core.impl.partitionedsearch.partitioner.SolutionPartitioner;
 import org.optaplanner.core.impl.partitionedsearch.scope.PartitionedSearchPhaseScope;
+import org.optaplanner.core.impl.phase.custom.CustomPhaseCommand;
 import org.optaplanner.core.impl.phase.event.PhaseLifecycleListenerAdapter;
 import org.optaplanner.core.impl.phase.scope.AbstractPhaseScope;
+import org.optaplanner.core.impl.score.director.ScoreDirector;
 import org.optaplanner.core.impl.solver.DefaultSolver;
 import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
 import org.optaplanner.core.impl.testdata.domain.TestdataEntity;
@@ -71,6 +78,126 @@ public class DefaultPartitionedSearchPhaseTest {
         solver.solve(createSolution(partCount * partSize, 2));
     }
 
+    @Test(timeout = 5000)
+    public void repartitionCountLimit() {
+        final int partSize = 2;
+        final int partCount = 3;
+        SolverFactory<TestdataSolution> solverFactory = createSolverFactory(false);
+        setPartSize(solverFactory.getSolverConfig(), partSize);
+        PartitionedSearchPhaseConfig phaseConfig
+                = (PartitionedSearchPhaseConfig) solverFactory.getSolverConfig().getPhaseConfigList().get(0);
+        phaseConfig.setRepartitionCountLimit(2);
+        DefaultSolver<TestdataSolution> solver = (DefaultSolver<TestdataSolution>) solverFactory.buildSolver();
+        PartitionedSearchPhase<TestdataSolution> phase
+                = (PartitionedSearchPhase<TestdataSolution>) solver.getPhaseList().get(0);
+        phase.addPhaseLifecycleListener(new PhaseLifecycleListenerAdapter<TestdataSolution>() {
+            @Override
+            public void phaseEnded(AbstractPhaseScope<TestdataSolution> phaseScope) {
+                PartitionedSearchPhaseScope<TestdataSolution> partitionedSearchPhaseScope
+                        = (PartitionedSearchPhaseScope<TestdataSolution>) phaseScope;
+                assertEquals(2, partitionedSearchPhaseScope.getRepartitionCount());
+                assertEquals(Integer.valueOf(partCount), partitionedSearchPhaseScope.getPartCount());
+            }
+        });
+        TestdataSolution solution = solver.solve(createSolution(partCount * partSize, 2));
+        assertNotNull(solution);
+        assertTrue(solution.getScore().isSolutionInitialized());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void repartitionCountLimitWithNonRepartitioningSolutionPartitioner() {
+        SolverFactory<TestdataSolution> solverFactory = createSolverFactory(false);
+        PartitionedSearchPhaseConfig phaseConfig
+                = (PartitionedSearchPhaseConfig) solverFactory.getSolverConfig().getPhaseConfigList().get(0);
+        phaseConfig.setSolutionPartitionerClass(NonRepartitioningSolutionPartitioner.class);
+        phaseConfig.setRepartitionCountLimit(2);
+        solverFactory.buildSolver();
+    }
+
+    @Test(timeout = 5000)
+    public void repartitionIntervalMilliseconds() {
+        final int partSize = 2;
+        final int partCount = 3;
+        SolverFactory<TestdataSolution> solverFactory = createSolverFactory(true);
+        setPartSize(solverFactory.getSolverConfig(), partSize);
+        solverFactory.getSolverConfig().setTerminationConfig(new TerminationConfig().withMillisecondsSpentLimit(500L));
+        PartitionedSearchPhaseConfig phaseConfig
+                = (PartitionedSearchPhaseConfig) solverFactory.getSolverConfig().getPhaseConfigList().get(0);
+        phaseConfig.setRepartitionCountLimit(2);
+        phaseConfig.setRepartitionIntervalMilliseconds(50L);
+        DefaultSolver<TestdataSolution> solver = (DefaultSolver<TestdataSolution>) solverFactory.buildSolver();
+        PartitionedSearchPhase<TestdataSolution> phase
+                = (PartitionedSearchPhase<TestdataSolution>) solver.getPhaseList().get(0);
+        phase.addPhaseLifecycleListener(new PhaseLifecycleListenerAdapter<TestdataSolution>() {
+            @Override
+            public void phaseEnded(AbstractPhaseScope<TestdataSolution> phaseScope) {
+                PartitionedSearchPhaseScope<TestdataSolution> partitionedSearchPhaseScope
+                        = (PartitionedSearchPhaseScope<TestdataSolution>) phaseScope;
+                assertEquals(2, partitionedSearchPhaseScope.getRepartitionCount());
+            }
+        });
+        TestdataSolution solution = solver.solve(createSolution(partCount * partSize, 2));
+        assertNotNull(solution);
+        assertTrue(solution.getScore().isSolutionInitialized());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void repartitionCountLimitWithoutPartTermination() {
+        SolverFactory<TestdataSolution> solverFactory = createSolverFactory(true);
+        PartitionedSearchPhaseConfig phaseConfig
+                = (PartitionedSearchPhaseConfig) solverFactory.getSolverConfig().getPhaseConfigList().get(0);
+        phaseConfig.setRepartitionCountLimit(2);
+        solverFactory.buildSolver();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void repartitionIntervalMillisecondsWithoutRepartitionCountLimit() {
+        SolverFactory<TestdataSolution> solverFactory = createSolverFactory(false);
+        PartitionedSearchPhaseConfig phaseConfig
+                = (PartitionedSearchPhaseConfig) solverFactory.getSolverConfig().getPhaseConfigList().get(0);
+        phaseConfig.setRepartitionIntervalMilliseconds(50L);
+        solverFactory.buildSolver();
+    }
+
+    @Test(timeout = 5000)
+    public void runnablePartThreadStepSlice() {
+        final int stepSlice = 3;
+        // The construction heuristic does 1 step per entity, so it ends exactly at a step slice boundary
+        final int partSize = stepSlice;
+        final int partCount = 5;
+        final int customStepCount = stepSlice * 2;
+        SolverFactory<TestdataSolution> solverFactory = createSolverFactory(false);
+        setPartSize(solverFactory.getSolverConfig(), partSize);
+        PartitionedSearchPhaseConfig phaseConfig
+                = (PartitionedSearchPhaseConfig) solverFactory.getSolverConfig().getPhaseConfigList().get(0);
+        phaseConfig.setRunnablePartThreadLimit("1");
+        phaseConfig.setRunnablePartThreadStepSlice(stepSlice);
+        CustomPhaseConfig customPhaseConfig = new CustomPhaseConfig();
+        customPhaseConfig.setCustomPhaseCommandClassList(
+                Collections.nCopies(customStepCount, StepRecordingCustomPhaseCommand.class));
+        phaseConfig.setPhaseConfigList(Arrays.asList(new ConstructionHeuristicPhaseConfig(), customPhaseConfig));
+        Solver<TestdataSolution> solver = solverFactory.buildSolver();
+
+        StepRecordingCustomPhaseCommand.recordedPartSolutionList.clear();
+        TestdataSolution solution = solver.solve(createSolution(partCount * partSize, 2));
+        assertNotNull(solution);
+        assertTrue(solution.getScore().isSolutionInitialized());
+        List<Object> recordedPartSolutionList = StepRecordingCustomPhaseCommand.recordedPartSolutionList;
+        assertEquals(partCount * customStepCount, recordedPartSolutionList.size());
+        // With only 1 runnable part thread, a part thread only hands over its permit between steps,
+        // once per step slice, so every uninterrupted run of steps of the same partition is a multiple of the slice
+        int runLength = 0;
+        for (int i = 0; i < recordedPartSolutionList.size(); i++) {
+            runLength++;
+            if (i + 1 == recordedPartSolutionList.size()
+                    || recordedPartSolutionList.get(i + 1) != recordedPartSolutionList.get(i)) {
+                assertEquals("The run of steps ending at index (" + i + ") is not a multiple of the step slice.",
+                        0, runLength % stepSlice);
+                runLength = 0;
+            }
+        }
+    }
+
     private static SolverFactory<TestdataSolution> createSolverFactory(boolean infinite) {
         SolverFactory<TestdataSolution> solverFactory = PlannerTestUtils
                 .buildSolverFactory(TestdataSolution.class, TestdataEntity.class);
@@ -201,4 +328,25 @@ public class DefaultPartitionedSearchPhaseTest {
         }
     }
 
+    public static class StepRecordingCustomPhaseCommand implements CustomPhaseCommand<TestdataSolution> {
+
+        private static final List<Object> recordedPartSolutionList = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void changeWorkingSolution(ScoreDirector<TestdataSolution> scoreDirector) {
+            recordedPartSolutionList.add(scoreDirector.getWorkingSolution());
+        }
+
+    }
+
+    public static class NonRepartitioningSolutionPartitioner implements SolutionPartitioner<TestdataSolution> {
+
+        @Override
+        public List<TestdataSolution> splitWorkingSolution(ScoreDirector<TestdataSolution> scoreDirector,
+                Integer runnablePartThreadLimit) {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
 }
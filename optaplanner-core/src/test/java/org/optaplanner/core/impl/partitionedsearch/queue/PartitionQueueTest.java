@@ -16,10 +16,13 @@
 
 package org.optaplanner.core.impl.partitionedsearch.queue;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.After;
@@ -47,59 +50,59 @@ public class PartitionQueueTest {
     @Test
     public void addMove() throws ExecutionException, InterruptedException {
         PartitionQueue<TestdataSolution> partitionQueue = new PartitionQueue<>(3);
-        Iterator<PartitionChangeMove<TestdataSolution>> it = partitionQueue.iterator();
+        Iterator<List<PartitionChangeMove<TestdataSolution>>> it = partitionQueue.iterator();
 
         PartitionChangeMove<TestdataSolution> moveA1 = buildMove();
         executorService.submit(() -> partitionQueue.addMove(0, moveA1)).get();
-        assertSame(moveA1, it.next());
+        assertMoveBatch(it.next(), moveA1);
 
         PartitionChangeMove<TestdataSolution> moveB1 = buildMove();
-        executorService.submit(() -> partitionQueue.addMove(1, moveB1)).get(); // Skipped
+        executorService.submit(() -> partitionQueue.addMove(1, moveB1)).get(); // Coalesced
         PartitionChangeMove<TestdataSolution> moveB2 = buildMove();
-        executorService.submit(() -> partitionQueue.addMove(1, moveB2)).get(); // Skipped
+        executorService.submit(() -> partitionQueue.addMove(1, moveB2)).get(); // Coalesced
         PartitionChangeMove<TestdataSolution> moveB3 = buildMove();
         executorService.submit(() -> partitionQueue.addMove(1, moveB3)).get();
-        assertSame(moveB3, it.next());
+        assertMoveBatch(it.next(), moveB3);
 
         PartitionChangeMove<TestdataSolution> moveA2 = buildMove();
-        executorService.submit(() -> partitionQueue.addMove(0, moveA2)).get(); // Skipped
+        executorService.submit(() -> partitionQueue.addMove(0, moveA2)).get(); // Coalesced
         PartitionChangeMove<TestdataSolution> moveA3 = buildMove();
         executorService.submit(() -> partitionQueue.addMove(0, moveA3)).get();
         PartitionChangeMove<TestdataSolution> moveB4 = buildMove();
         executorService.submit(() -> partitionQueue.addMove(1, moveB4)).get();
-        assertSame(moveA3, it.next());
-        assertSame(moveB4, it.next());
+        assertMoveBatch(it.next(), moveA3, moveB4);
 
         PartitionChangeMove<TestdataSolution> moveB5 = buildMove();
-        executorService.submit(() -> partitionQueue.addMove(1, moveB5)).get(); // Skipped
+        executorService.submit(() -> partitionQueue.addMove(1, moveB5)).get(); // Coalesced
         PartitionChangeMove<TestdataSolution> moveA4 = buildMove();
-        executorService.submit(() -> partitionQueue.addMove(0, moveA4)).get(); // Skipped
+        executorService.submit(() -> partitionQueue.addMove(0, moveA4)).get(); // Coalesced
         PartitionChangeMove<TestdataSolution> moveA5 = buildMove();
-        executorService.submit(() -> partitionQueue.addMove(0, moveA5)).get(); // Skipped
+        executorService.submit(() -> partitionQueue.addMove(0, moveA5)).get(); // Coalesced
         PartitionChangeMove<TestdataSolution> moveB6 = buildMove();
         executorService.submit(() -> partitionQueue.addMove(1, moveB6)).get();
         PartitionChangeMove<TestdataSolution> moveC1 = buildMove();
         executorService.submit(() -> partitionQueue.addMove(2, moveC1)).get();
         PartitionChangeMove<TestdataSolution> moveA6 = buildMove();
         executorService.submit(() -> partitionQueue.addMove(0, moveA6)).get();
-        assertSame(moveB6, it.next());
-        assertSame(moveA6, it.next());
-        assertSame(moveC1, it.next());
+        // In the order in which the partitions first changed
+        assertMoveBatch(it.next(), moveB6, moveA6, moveC1);
 
         executorService.submit(() -> partitionQueue.addFinish(0)).get();
         PartitionChangeMove<TestdataSolution> moveC2 = buildMove();
         executorService.submit(() -> partitionQueue.addMove(2, moveC2)).get();
         executorService.submit(() -> partitionQueue.addFinish(1)).get();
-        assertSame(moveC2, it.next());
+        assertMoveBatch(it.next(), moveC2);
 
         executorService.submit(() -> partitionQueue.addFinish(2)).get();
         assertSame(false, it.hasNext());
+        assertEquals(14L, partitionQueue.getMoveCount());
+        assertEquals(6L, partitionQueue.getCoalescedMoveCount());
     }
 
     @Test
     public void addFinishWithNonEmptyQueue() throws ExecutionException, InterruptedException {
         PartitionQueue<TestdataSolution> partitionQueue = new PartitionQueue<>(3);
-        Iterator<PartitionChangeMove<TestdataSolution>> it = partitionQueue.iterator();
+        Iterator<List<PartitionChangeMove<TestdataSolution>>> it = partitionQueue.iterator();
 
         PartitionChangeMove<TestdataSolution> moveA1 = buildMove();
         executorService.submit(() -> partitionQueue.addMove(0, moveA1)).get();
@@ -111,16 +114,14 @@ public class PartitionQueueTest {
         executorService.submit(() -> partitionQueue.addFinish(2)).get();
         executorService.submit(() -> partitionQueue.addFinish(1)).get();
         assertSame(true, it.hasNext());
-        assertSame(moveA1, it.next());
-        assertSame(true, it.hasNext());
-        assertSame(moveC2, it.next());
+        assertMoveBatch(it.next(), moveA1, moveC2);
         assertSame(false, it.hasNext());
     }
 
     @Test()
     public void addExceptionWithNonEmptyQueue() throws ExecutionException, InterruptedException {
         PartitionQueue<TestdataSolution> partitionQueue = new PartitionQueue<>(3);
-        Iterator<PartitionChangeMove<TestdataSolution>> it = partitionQueue.iterator();
+        Iterator<List<PartitionChangeMove<TestdataSolution>>> it = partitionQueue.iterator();
 
         PartitionChangeMove<TestdataSolution> moveA1 = buildMove();
         executorService.submit(() -> partitionQueue.addMove(0, moveA1)).get();
@@ -135,9 +136,7 @@ public class PartitionQueueTest {
         executorService.submit(() -> partitionQueue.addMove(1, moveB1)).get();
         executorService.submit(() -> partitionQueue.addFinish(1)).get();
         assertSame(true, it.hasNext());
-        assertSame(moveA1, it.next());
-        assertSame(true, it.hasNext());
-        assertSame(moveC2, it.next());
+        assertMoveBatch(it.next(), moveA1, moveC2);
         try {
             it.hasNext();
             fail("There was no RuntimeException thrown.");
@@ -146,6 +145,43 @@ public class PartitionQueueTest {
         }
     }
 
+    @Test(timeout = 10000)
+    public void addMoveConcurrently() throws ExecutionException, InterruptedException {
+        final int partCount = 2;
+        final int moveCountPerPart = 10000;
+        PartitionQueue<TestdataSolution> partitionQueue = new PartitionQueue<>(partCount);
+        Iterator<List<PartitionChangeMove<TestdataSolution>>> it = partitionQueue.iterator();
+        List<Future<?>> futureList = new ArrayList<>(partCount);
+        for (int i = 0; i < partCount; i++) {
+            final int partIndex = i;
+            futureList.add(executorService.submit(() -> {
+                for (int j = 0; j < moveCountPerPart; j++) {
+                    partitionQueue.addMove(partIndex, buildMove());
+                }
+                partitionQueue.addFinish(partIndex);
+            }));
+        }
+        long consumedMoveCount = 0L;
+        while (it.hasNext()) {
+            List<PartitionChangeMove<TestdataSolution>> moveBatch = it.next();
+            assertTrue(moveBatch.size() <= partCount);
+            consumedMoveCount += moveBatch.size();
+        }
+        for (Future<?> future : futureList) {
+            future.get();
+        }
+        assertEquals(partCount * moveCountPerPart, partitionQueue.getMoveCount());
+        assertEquals(partitionQueue.getMoveCount() - partitionQueue.getCoalescedMoveCount(), consumedMoveCount);
+    }
+
+    private static void assertMoveBatch(List<PartitionChangeMove<TestdataSolution>> moveBatch,
+            PartitionChangeMove<TestdataSolution>... expectedMoves) {
+        assertEquals(expectedMoves.length, moveBatch.size());
+        for (int i = 0; i < expectedMoves.length; i++) {
+            assertSame(expectedMoves[i], moveBatch.get(i));
+        }
+    }
+
     public PartitionChangeMove<TestdataSolution> buildMove() {
         return new PartitionChangeMove<>(null, -1);
     }
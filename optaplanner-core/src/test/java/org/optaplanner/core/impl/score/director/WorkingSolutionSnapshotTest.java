@@ -0,0 +1,141 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.director;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
+import org.optaplanner.core.config.score.trend.InitializingScoreTrendLevel;
+import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import org.optaplanner.core.impl.score.director.easy.EasyScoreCalculator;
+import org.optaplanner.core.impl.score.director.easy.EasyScoreDirectorFactory;
+import org.optaplanner.core.impl.score.trend.InitializingScoreTrend;
+import org.optaplanner.core.impl.testdata.domain.shadow.inverserelation.TestdataInverseRelationEntity;
+import org.optaplanner.core.impl.testdata.domain.shadow.inverserelation.TestdataInverseRelationSolution;
+import org.optaplanner.core.impl.testdata.domain.shadow.inverserelation.TestdataInverseRelationValue;
+
+import static org.junit.Assert.*;
+import static org.optaplanner.core.impl.testdata.util.PlannerAssert.*;
+
+public class WorkingSolutionSnapshotTest {
+
+    private TestdataInverseRelationValue v1;
+    private TestdataInverseRelationValue v2;
+    private TestdataInverseRelationEntity a;
+    private TestdataInverseRelationEntity b;
+
+    private InnerScoreDirector<TestdataInverseRelationSolution> buildScoreDirector() {
+        SolutionDescriptor<TestdataInverseRelationSolution> solutionDescriptor
+                = TestdataInverseRelationSolution.buildSolutionDescriptor();
+        EasyScoreDirectorFactory<TestdataInverseRelationSolution> scoreDirectorFactory = new EasyScoreDirectorFactory<>(
+                (EasyScoreCalculator<TestdataInverseRelationSolution>) (solution_) -> SimpleScore.valueOf(0));
+        scoreDirectorFactory.setSolutionDescriptor(solutionDescriptor);
+        scoreDirectorFactory.setInitializingScoreTrend(
+                InitializingScoreTrend.buildUniformTrend(InitializingScoreTrendLevel.ONLY_DOWN, 1));
+        InnerScoreDirector<TestdataInverseRelationSolution> scoreDirector
+                = scoreDirectorFactory.buildScoreDirector(false, false);
+
+        TestdataInverseRelationSolution solution = new TestdataInverseRelationSolution("solution");
+        v1 = new TestdataInverseRelationValue("v1");
+        v2 = new TestdataInverseRelationValue("v2");
+        a = new TestdataInverseRelationEntity("a", v1);
+        b = new TestdataInverseRelationEntity("b", v1);
+        solution.setValueList(Arrays.asList(v1, v2));
+        solution.setEntityList(new ArrayList<>(Arrays.asList(a, b)));
+        scoreDirector.setWorkingSolution(solution);
+        return scoreDirector;
+    }
+
+    private void changeValue(InnerScoreDirector<TestdataInverseRelationSolution> scoreDirector,
+            TestdataInverseRelationEntity entity, TestdataInverseRelationValue value) {
+        scoreDirector.beforeVariableChanged(entity, "value");
+        entity.setValue(value);
+        scoreDirector.afterVariableChanged(entity, "value");
+        scoreDirector.triggerVariableListeners();
+    }
+
+    @Test
+    public void getSolutionAfterChanges() {
+        InnerScoreDirector<TestdataInverseRelationSolution> scoreDirector = buildScoreDirector();
+        WorkingSolutionSnapshot<TestdataInverseRelationSolution> snapshot
+                = scoreDirector.takeWorkingSolutionSnapshot(SimpleScore.valueOf(-7));
+        changeValue(scoreDirector, a, v2);
+        changeValue(scoreDirector, b, v2);
+        changeValue(scoreDirector, a, null);
+        assertFalse(snapshot.isMaterialized());
+
+        TestdataInverseRelationSolution clone = snapshot.getSolution();
+        assertTrue(snapshot.isMaterialized());
+        assertSame(clone, snapshot.getSolution());
+        assertEquals(SimpleScore.valueOf(-7), clone.getScore());
+        TestdataInverseRelationEntity cloneA = clone.getEntityList().get(0);
+        TestdataInverseRelationEntity cloneB = clone.getEntityList().get(1);
+        assertNotSame(a, cloneA);
+        assertCode("v1", cloneA.getValue());
+        assertCode("v1", cloneB.getValue());
+        assertCollectionContainsExactly(cloneA.getValue().getEntities(), cloneA, cloneB);
+        assertEquals(0, clone.getValueList().get(1).getEntities().size());
+
+        // The working solution is unaffected
+        assertNull(a.getValue());
+        assertSame(v2, b.getValue());
+        assertEquals(0, v1.getEntities().size());
+        assertCollectionContainsExactly(v2.getEntities(), b);
+    }
+
+    @Test
+    public void getSolutionWithoutChanges() {
+        InnerScoreDirector<TestdataInverseRelationSolution> scoreDirector = buildScoreDirector();
+        WorkingSolutionSnapshot<TestdataInverseRelationSolution> snapshot
+                = scoreDirector.takeWorkingSolutionSnapshot(SimpleScore.valueOf(-7));
+        TestdataInverseRelationSolution clone = snapshot.getSolution();
+        assertCode("v1", clone.getEntityList().get(0).getValue());
+        // Changes after the materialization don't affect the clone
+        changeValue(scoreDirector, a, v2);
+        assertCode("v1", clone.getEntityList().get(0).getValue());
+        assertSame(v2, a.getValue());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void getSolutionOfSupersededSnapshot() {
+        InnerScoreDirector<TestdataInverseRelationSolution> scoreDirector = buildScoreDirector();
+        WorkingSolutionSnapshot<TestdataInverseRelationSolution> snapshot
+                = scoreDirector.takeWorkingSolutionSnapshot(SimpleScore.valueOf(-7));
+        changeValue(scoreDirector, a, v2);
+        scoreDirector.takeWorkingSolutionSnapshot(SimpleScore.valueOf(-6));
+        assertFalse(snapshot.isMaterializable());
+        snapshot.getSolution();
+    }
+
+    @Test
+    public void problemFactChangeMaterializesSnapshot() {
+        InnerScoreDirector<TestdataInverseRelationSolution> scoreDirector = buildScoreDirector();
+        WorkingSolutionSnapshot<TestdataInverseRelationSolution> snapshot
+                = scoreDirector.takeWorkingSolutionSnapshot(SimpleScore.valueOf(-7));
+        changeValue(scoreDirector, a, v2);
+        TestdataInverseRelationValue v3 = new TestdataInverseRelationValue("v3");
+        scoreDirector.beforeProblemFactAdded(v3);
+        assertTrue(snapshot.isMaterialized());
+        scoreDirector.afterProblemFactAdded(v3);
+        TestdataInverseRelationSolution clone = snapshot.getSolution();
+        assertCode("v1", clone.getEntityList().get(0).getValue());
+        assertEquals(2, clone.getValueList().size());
+    }
+
+}
@@ -15,21 +15,46 @@
  */
 package org.optaplanner.core.impl.score.director.drools;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
 import org.kie.api.runtime.KieSession;
 import org.kie.internal.event.rule.RuleEventManager;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.constraint.ConstraintCalculationTotal;
+import org.optaplanner.core.api.score.constraint.ConstraintMatchTotal;
+import org.optaplanner.core.api.solver.SolverFactory;
+import org.optaplanner.core.config.SolverConfigContext;
+import org.optaplanner.core.config.score.director.ScoreDirectorFactoryConfig;
+import org.optaplanner.core.config.solver.EnvironmentMode;
 import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
 import org.optaplanner.core.impl.score.buildin.simple.SimpleScoreDefinition;
+import org.optaplanner.core.impl.score.director.ConstraintCalculationProfiler;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.score.director.InnerScoreDirectorFactory;
+import org.optaplanner.core.impl.solver.DefaultSolver;
+import org.optaplanner.core.impl.testdata.domain.TestdataEntity;
+import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
+import org.optaplanner.core.impl.testdata.domain.TestdataValue;
+import org.optaplanner.core.impl.testdata.util.PlannerTestUtils;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
+import static org.optaplanner.core.impl.testdata.util.PlannerAssert.assertInstanceOf;
 
 public class DroolsScoreDirectorTest {
 
     @Rule
     public final ExpectedException expectedException = ExpectedException.none();
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
 
     @Test
     public void illegalStateExceptionThrownWhenConstraintMatchNotEnabled() {
@@ -54,12 +79,269 @@ public class DroolsScoreDirectorTest {
         assertNotNull(director.getIndictmentMap());
     }
 
+    @Test
+    public void lazyConstraintMatches() {
+        ScoreDirectorFactoryConfig scoreDirectorFactoryConfig = buildTestdataScoreDirectorFactoryConfig();
+        scoreDirectorFactoryConfig.setLazyConstraintMatchEnabled(true);
+        InnerScoreDirectorFactory<TestdataSolution> scoreDirectorFactory
+                = scoreDirectorFactoryConfig.buildScoreDirectorFactory(new SolverConfigContext(),
+                EnvironmentMode.REPRODUCIBLE, TestdataSolution.buildSolutionDescriptor());
+
+        TestdataSolution solution = buildTestdataSolution();
+        TestdataEntity e1 = solution.getEntityList().get(0);
+        TestdataEntity e3 = solution.getEntityList().get(2);
+        TestdataValue v1 = solution.getValueList().get(0);
+        TestdataValue v2 = solution.getValueList().get(1);
+
+        DroolsScoreDirector<TestdataSolution> scoreDirector
+                = (DroolsScoreDirector<TestdataSolution>) scoreDirectorFactory.buildScoreDirector();
+        scoreDirector.setWorkingSolution(solution);
+        Score score = scoreDirector.calculateScore();
+        assertTrue(scoreDirector.isConstraintMatchEnabled());
+        assertFalse(scoreDirector.workingScoreHolder.isConstraintMatchEnabled());
+        Collection<ConstraintMatchTotal> constraintMatchTotals = scoreDirector.getConstraintMatchTotals();
+        assertEquals(1, constraintMatchTotals.size());
+        assertEquals(score, constraintMatchTotals.iterator().next().getScoreTotal());
+        assertNotNull(scoreDirector.getIndictmentMap().get(e1));
+        assertNull(scoreDirector.getIndictmentMap().get(v2));
+        assertSame(constraintMatchTotals, scoreDirector.getConstraintMatchTotals());
+        assertEquals(score, solution.getScore());
+
+        scoreDirector.beforeVariableChanged(e3, "value");
+        e3.setValue(v1);
+        scoreDirector.afterVariableChanged(e3, "value");
+        Score changedScore = scoreDirector.calculateScore();
+        assertNotEquals(score, changedScore);
+        Collection<ConstraintMatchTotal> changedConstraintMatchTotals = scoreDirector.getConstraintMatchTotals();
+        assertNotSame(constraintMatchTotals, changedConstraintMatchTotals);
+        assertEquals(changedScore, changedConstraintMatchTotals.iterator().next().getScoreTotal());
+        scoreDirector.close();
+    }
+
+    @Test
+    public void pooledKieSession() {
+        ScoreDirectorFactoryConfig scoreDirectorFactoryConfig = buildTestdataScoreDirectorFactoryConfig();
+        scoreDirectorFactoryConfig.setKieSessionPoolSize(1);
+        DroolsScoreDirectorFactory<TestdataSolution> scoreDirectorFactory
+                = (DroolsScoreDirectorFactory<TestdataSolution>) scoreDirectorFactoryConfig
+                .<TestdataSolution>buildScoreDirectorFactory(new SolverConfigContext(),
+                        EnvironmentMode.REPRODUCIBLE, TestdataSolution.buildSolutionDescriptor());
+        KieSessionPool kieSessionPool = scoreDirectorFactory.getKieSessionPool();
+        assertEquals(1, kieSessionPool.getSize());
+
+        TestdataSolution solution = buildTestdataSolution();
+        DroolsScoreDirector<TestdataSolution> scoreDirector1 = scoreDirectorFactory.buildScoreDirector(true, true);
+        scoreDirector1.setWorkingSolution(solution);
+        Score score = scoreDirector1.calculateScore();
+        KieSession kieSession = scoreDirector1.getKieSession();
+        scoreDirector1.close();
+        assertEquals(0L, kieSessionPool.getHitCount());
+        assertEquals(1L, kieSessionPool.getMissCount());
+
+        DroolsScoreDirector<TestdataSolution> scoreDirector2 = scoreDirectorFactory.buildScoreDirector(true, true);
+        scoreDirector2.setWorkingSolution(solution);
+        assertSame(kieSession, scoreDirector2.getKieSession());
+        assertEquals(score, scoreDirector2.calculateScore());
+        // Not pooled while scoreDirector2 uses it, so scoreDirector3 gets a new one
+        DroolsScoreDirector<TestdataSolution> scoreDirector3 = scoreDirectorFactory.buildScoreDirector(true, true);
+        scoreDirector3.setWorkingSolution(solution);
+        assertNotSame(kieSession, scoreDirector3.getKieSession());
+        assertEquals(score, scoreDirector3.calculateScore());
+        scoreDirector2.close();
+        scoreDirector3.close(); // The pool is full, so it's disposed
+        assertEquals(1L, kieSessionPool.getHitCount());
+        assertEquals(2L, kieSessionPool.getMissCount());
+    }
+
+    @Test
+    public void pooledKieSessionSharedBySolverConfigContext() {
+        SolverConfigContext configContext = new SolverConfigContext();
+        ScoreDirectorFactoryConfig scoreDirectorFactoryConfig = buildTestdataScoreDirectorFactoryConfig();
+        scoreDirectorFactoryConfig.setKieSessionPoolSize(2);
+        DroolsScoreDirectorFactory<TestdataSolution> scoreDirectorFactory1
+                = (DroolsScoreDirectorFactory<TestdataSolution>) scoreDirectorFactoryConfig
+                .<TestdataSolution>buildScoreDirectorFactory(configContext,
+                        EnvironmentMode.REPRODUCIBLE, TestdataSolution.buildSolutionDescriptor());
+        DroolsScoreDirectorFactory<TestdataSolution> scoreDirectorFactory2
+                = (DroolsScoreDirectorFactory<TestdataSolution>) scoreDirectorFactoryConfig
+                .<TestdataSolution>buildScoreDirectorFactory(configContext,
+                        EnvironmentMode.REPRODUCIBLE, TestdataSolution.buildSolutionDescriptor());
+        KieSessionPool kieSessionPool = scoreDirectorFactory1.getKieSessionPool();
+        assertSame(kieSessionPool, scoreDirectorFactory2.getKieSessionPool());
+
+        TestdataSolution solution = buildTestdataSolution();
+        scoreDirectorFactory1.solvingStarted();
+        scoreDirectorFactory2.solvingStarted();
+        DroolsScoreDirector<TestdataSolution> scoreDirector1 = scoreDirectorFactory1.buildScoreDirector(true, true);
+        scoreDirector1.setWorkingSolution(solution);
+        KieSession kieSession = scoreDirector1.getKieSession();
+        scoreDirector1.close();
+        scoreDirectorFactory1.solvingEnded();
+        // The other solve call is still solving, so the idle KieSession is kept
+        DroolsScoreDirector<TestdataSolution> scoreDirector2 = scoreDirectorFactory2.buildScoreDirector(true, true);
+        scoreDirector2.setWorkingSolution(solution);
+        assertSame(kieSession, scoreDirector2.getKieSession());
+        assertEquals(1L, kieSessionPool.getHitCount());
+        scoreDirector2.close();
+        scoreDirectorFactory2.solvingEnded();
+
+        // The idle KieSession is kept after the last solve call ended, for the next solve call
+        scoreDirectorFactory1.solvingStarted();
+        DroolsScoreDirector<TestdataSolution> scoreDirector3 = scoreDirectorFactory1.buildScoreDirector(true, true);
+        scoreDirector3.setWorkingSolution(solution);
+        assertSame(kieSession, scoreDirector3.getKieSession());
+        assertEquals(2L, kieSessionPool.getHitCount());
+        assertEquals(1L, kieSessionPool.getMissCount());
+        scoreDirector3.close();
+        scoreDirectorFactory1.solvingEnded();
+
+        configContext.disposeKieSessionPools();
+        DroolsScoreDirector<TestdataSolution> scoreDirector4 = scoreDirectorFactory2.buildScoreDirector(true, true);
+        scoreDirector4.setWorkingSolution(solution);
+        assertNotSame(kieSession, scoreDirector4.getKieSession());
+        assertEquals(2L, kieSessionPool.getMissCount());
+        scoreDirector4.close();
+    }
+
+    @Test
+    public void pooledKieSessionReusedBySequentialSolveCalls() {
+        SolverFactory<TestdataSolution> solverFactory = PlannerTestUtils.buildSolverFactoryWithDroolsScoreDirector(
+                TestdataSolution.class, TestdataEntity.class);
+        solverFactory.getSolverConfig().getScoreDirectorFactoryConfig().setKieSessionPoolSize(1);
+
+        DefaultSolver<TestdataSolution> solver1 = (DefaultSolver<TestdataSolution>) solverFactory.buildSolver();
+        KieSessionPool kieSessionPool = ((DroolsScoreDirectorFactory<TestdataSolution>)
+                solver1.getScoreDirectorFactory()).getKieSessionPool();
+        solver1.solve(buildTestdataSolution());
+        long hitCount = kieSessionPool.getHitCount();
+
+        DefaultSolver<TestdataSolution> solver2 = (DefaultSolver<TestdataSolution>) solverFactory.buildSolver();
+        assertSame(kieSessionPool, ((DroolsScoreDirectorFactory<TestdataSolution>)
+                solver2.getScoreDirectorFactory()).getKieSessionPool());
+        solver2.solve(buildTestdataSolution());
+        // The second solve call reused the KieSession released by the first one
+        assertEquals(hitCount + 1L, kieSessionPool.getHitCount());
+    }
+
+    @Test
+    public void precompiledKieBaseFile() throws IOException {
+        ScoreDirectorFactoryConfig scoreDrlConfig = buildTestdataScoreDirectorFactoryConfig();
+        File precompiledKieBaseFile = temporaryFolder.newFile("testdataScoreRules.kbase");
+        PrecompiledKieBaseUtils.writeKieBase(scoreDrlConfig.buildScoreDrlKieBase(new SolverConfigContext()),
+                precompiledKieBaseFile);
+
+        ScoreDirectorFactoryConfig precompiledConfig = new ScoreDirectorFactoryConfig();
+        precompiledConfig.setPrecompiledKieBaseFile(precompiledKieBaseFile);
+        InnerScoreDirectorFactory<TestdataSolution> scoreDirectorFactory
+                = precompiledConfig.buildScoreDirectorFactory(new SolverConfigContext(),
+                EnvironmentMode.REPRODUCIBLE, TestdataSolution.buildSolutionDescriptor());
+        assertInstanceOf(LegacyDroolsScoreDirectorFactory.class, scoreDirectorFactory);
+        InnerScoreDirectorFactory<TestdataSolution> scoreDrlScoreDirectorFactory
+                = scoreDrlConfig.buildScoreDirectorFactory(new SolverConfigContext(),
+                EnvironmentMode.REPRODUCIBLE, TestdataSolution.buildSolutionDescriptor());
+
+        TestdataSolution solution = buildTestdataSolution();
+        InnerScoreDirector<TestdataSolution> scoreDirector = scoreDirectorFactory.buildScoreDirector();
+        scoreDirector.setWorkingSolution(solution);
+        Score score = scoreDirector.calculateScore();
+        scoreDirector.close();
+        InnerScoreDirector<TestdataSolution> scoreDrlScoreDirector = scoreDrlScoreDirectorFactory.buildScoreDirector();
+        scoreDrlScoreDirector.setWorkingSolution(buildTestdataSolution());
+        assertEquals(scoreDrlScoreDirector.calculateScore(), score);
+        scoreDrlScoreDirector.close();
+    }
+
+    @Test
+    public void precompiledKieBaseAndScoreDrl() {
+        ScoreDirectorFactoryConfig scoreDirectorFactoryConfig = buildTestdataScoreDirectorFactoryConfig();
+        scoreDirectorFactoryConfig.setPrecompiledKieBaseResource("testdataScoreRules.kbase");
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("precompiledKieBaseResource");
+        scoreDirectorFactoryConfig.buildScoreDirectorFactory(new SolverConfigContext(),
+                EnvironmentMode.REPRODUCIBLE, TestdataSolution.buildSolutionDescriptor());
+    }
+
+    @Test
+    public void constraintCalculationProfiling() {
+        ScoreDirectorFactoryConfig scoreDirectorFactoryConfig = new ScoreDirectorFactoryConfig();
+        scoreDirectorFactoryConfig.setScoreDrlList(Collections.singletonList(
+                "org/optaplanner/core/impl/score/director/drools/constraintCalculationTestdataScoreRules.drl"));
+        scoreDirectorFactoryConfig.setConstraintCalculationProfilingEnabled(true);
+        InnerScoreDirectorFactory<TestdataSolution> scoreDirectorFactory
+                = scoreDirectorFactoryConfig.buildScoreDirectorFactory(new SolverConfigContext(),
+                EnvironmentMode.REPRODUCIBLE, TestdataSolution.buildSolutionDescriptor());
+        ConstraintCalculationProfiler constraintCalculationProfiler
+                = scoreDirectorFactory.getConstraintCalculationProfiler();
+        assertNotNull(constraintCalculationProfiler);
+
+        TestdataSolution solution = buildTestdataSolution();
+        TestdataEntity e3 = solution.getEntityList().get(2);
+        TestdataValue v1 = solution.getValueList().get(0);
+        InnerScoreDirector<TestdataSolution> scoreDirector = scoreDirectorFactory.buildScoreDirector();
+        scoreDirector.setWorkingSolution(solution);
+        scoreDirector.calculateScore();
+        // Every entity conflicts with itself: e1-e1, e1-e2, e2-e1, e2-e2 and e3-e3
+        ConstraintCalculationTotal conflictTotal = findConstraintCalculationTotal(
+                constraintCalculationProfiler, "Conflict");
+        assertEquals(5L, conflictTotal.getCalculationCount());
+        assertTrue(conflictTotal.getTimeNanosSpent() > 0L);
+        // The rule "Unassigned" never fires, so its rule evaluation goes to the pseudo constraint
+        assertNull(findConstraintCalculationTotal(constraintCalculationProfiler, "Unassigned"));
+        ConstraintCalculationTotal unfiredTotal = findConstraintCalculationTotal(constraintCalculationProfiler,
+                ConstraintCalculationAgendaEventListener.UNFIRED_CONSTRAINT_NAME);
+        assertEquals(ConstraintCalculationAgendaEventListener.UNFIRED_CONSTRAINT_PACKAGE,
+                unfiredTotal.getConstraintPackage());
+        assertEquals(1L, unfiredTotal.getCalculationCount());
+
+        scoreDirector.beforeVariableChanged(e3, "value");
+        e3.setValue(v1);
+        scoreDirector.afterVariableChanged(e3, "value");
+        scoreDirector.calculateScore();
+        // Only the matches with e3 fire again: e1-e3, e3-e1, e2-e3, e3-e2 and e3-e3
+        assertEquals(10L, findConstraintCalculationTotal(constraintCalculationProfiler, "Conflict")
+                .getCalculationCount());
+        assertNull(findConstraintCalculationTotal(constraintCalculationProfiler, "Unassigned"));
+        assertEquals(2L, findConstraintCalculationTotal(constraintCalculationProfiler,
+                ConstraintCalculationAgendaEventListener.UNFIRED_CONSTRAINT_NAME).getCalculationCount());
+        scoreDirector.close();
+    }
+
+    private ConstraintCalculationTotal findConstraintCalculationTotal(
+            ConstraintCalculationProfiler constraintCalculationProfiler, String constraintName) {
+        for (ConstraintCalculationTotal constraintCalculationTotal
+                : constraintCalculationProfiler.getConstraintCalculationTotals()) {
+            if (constraintCalculationTotal.getConstraintName().equals(constraintName)) {
+                return constraintCalculationTotal;
+            }
+        }
+        return null;
+    }
+
+    private ScoreDirectorFactoryConfig buildTestdataScoreDirectorFactoryConfig() {
+        ScoreDirectorFactoryConfig scoreDirectorFactoryConfig = new ScoreDirectorFactoryConfig();
+        scoreDirectorFactoryConfig.setScoreDrlList(Collections.singletonList(
+                "org/optaplanner/core/api/solver/testdataScoreRules.drl"));
+        return scoreDirectorFactoryConfig;
+    }
+
+    private TestdataSolution buildTestdataSolution() {
+        TestdataValue v1 = new TestdataValue("v1");
+        TestdataValue v2 = new TestdataValue("v2");
+        TestdataSolution solution = new TestdataSolution("s1");
+        solution.setValueList(Arrays.asList(v1, v2));
+        solution.setEntityList(Arrays.asList(
+                new TestdataEntity("e1", v1),
+                new TestdataEntity("e2", v1),
+                new TestdataEntity("e3", v2)));
+        return solution;
+    }
+
     @SuppressWarnings("unchecked")
     private DroolsScoreDirectorFactory<Object> mockDroolsScoreDirectorFactory() {
         DroolsScoreDirectorFactory<Object> factory = mock(DroolsScoreDirectorFactory.class);
         when(factory.getScoreDefinition()).thenReturn(new SimpleScoreDefinition());
         when(factory.getSolutionDescriptor()).thenReturn(mock(SolutionDescriptor.class));
-        when(factory.newKieSession()).thenReturn(
+        when(factory.acquireKieSession()).thenReturn(
                 mock(KieSession.class, withSettings().extraInterfaces(RuleEventManager.class)));
         return factory;
     }
@@ -15,10 +15,22 @@
  */
 package org.optaplanner.core.impl.score.director.easy;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
 import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import org.optaplanner.core.impl.solver.thread.DefaultSolverThreadFactory;
+import org.optaplanner.core.impl.testdata.domain.TestdataEntity;
+import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
+import org.optaplanner.core.impl.testdata.domain.TestdataValue;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -38,6 +50,63 @@ public class EasyScoreDirectorTest {
         director.getConstraintMatchTotals();
     }
 
+    @Test
+    public void partitionedScoreCalculation() {
+        TestdataValue v1 = new TestdataValue("v1");
+        TestdataValue v2 = new TestdataValue("v2");
+        List<TestdataEntity> entityList = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            entityList.add(new TestdataEntity("e" + i, (i % 4 == 0) ? v1 : v2));
+        }
+        TestdataSolution solution = new TestdataSolution("s1");
+        solution.setValueList(Arrays.asList(v1, v2));
+        solution.setEntityList(entityList);
+
+        EasyScoreDirectorFactory<TestdataSolution> sequentialFactory = new EasyScoreDirectorFactory<>(
+                new AvoidV1PartitionedEasyScoreCalculator());
+        assertEquals(SimpleScore.valueOf(-25), calculatePartitionedScore(solution, sequentialFactory));
+        EasyScoreDirectorFactory<TestdataSolution> factory = new EasyScoreDirectorFactory<>(
+                new AvoidV1PartitionedEasyScoreCalculator(), 4, new DefaultSolverThreadFactory("ScoreThread"));
+        // Not solving yet, so calculated on this thread
+        assertNull(factory.getPartitionExecutor());
+        assertEquals(SimpleScore.valueOf(-25), calculatePartitionedScore(solution, factory));
+        factory.solvingStarted();
+        ExecutorService partitionExecutor = factory.getPartitionExecutor();
+        try {
+            assertNotNull(partitionExecutor);
+            assertEquals(SimpleScore.valueOf(-25), calculatePartitionedScore(solution, factory));
+            solution.setEntityList(Collections.emptyList());
+            assertEquals(SimpleScore.valueOf(0), calculatePartitionedScore(solution, factory));
+        } finally {
+            factory.solvingEnded();
+        }
+        assertNull(factory.getPartitionExecutor());
+        assertTrue(partitionExecutor.isShutdown());
+    }
+
+    private Score calculatePartitionedScore(TestdataSolution solution,
+            EasyScoreDirectorFactory<TestdataSolution> factory) {
+        factory.setSolutionDescriptor(TestdataSolution.buildSolutionDescriptor());
+        EasyScoreDirector<TestdataSolution> director = factory.buildScoreDirector(false, false);
+        director.setWorkingSolution(solution);
+        return director.calculateScore();
+    }
+
+    private static class AvoidV1PartitionedEasyScoreCalculator
+            implements PartitionedEasyScoreCalculator<TestdataSolution, TestdataEntity> {
+
+        @Override
+        public List<TestdataEntity> extractPartList(TestdataSolution solution) {
+            return solution.getEntityList();
+        }
+
+        @Override
+        public Score calculatePartScore(TestdataSolution solution, TestdataEntity entity) {
+            return SimpleScore.valueOf(entity.getValue().getCode().equals("v1") ? -1 : 0);
+        }
+
+    }
+
     @SuppressWarnings("unchecked")
     private EasyScoreDirectorFactory<Object> mockEasyScoreDirectorFactory() {
         EasyScoreDirectorFactory<Object> factory = mock(EasyScoreDirectorFactory.class);
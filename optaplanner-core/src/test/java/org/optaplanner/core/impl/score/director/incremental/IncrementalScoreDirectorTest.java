@@ -17,6 +17,7 @@
 package org.optaplanner.core.impl.score.director.incremental;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.Rule;
@@ -25,8 +26,16 @@ import org.junit.rules.ExpectedException;
 import org.mockito.InOrder;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
+import org.optaplanner.core.api.score.constraint.ConstraintCalculationTotal;
 import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
+import org.optaplanner.core.impl.heuristic.selector.move.generic.ChangeMove;
+import org.optaplanner.core.impl.heuristic.selector.move.generic.SwapMove;
 import org.optaplanner.core.impl.score.buildin.simple.SimpleScoreDefinition;
+import org.optaplanner.core.impl.score.director.ConstraintCalculationProfiler;
+import org.optaplanner.core.impl.testdata.domain.TestdataEntity;
+import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
+import org.optaplanner.core.impl.testdata.domain.TestdataValue;
 import org.optaplanner.core.impl.testdata.domain.chained.rich.TestdataRichChainedAnchor;
 import org.optaplanner.core.impl.testdata.domain.chained.rich.TestdataRichChainedEntity;
 import org.optaplanner.core.impl.testdata.domain.chained.rich.TestdataRichChainedSolution;
@@ -117,6 +126,111 @@ public class IncrementalScoreDirectorTest {
         assertFalse(director.isConstraintMatchEnabled());
     }
 
+    @Test
+    public void constraintCalculationProfiling() {
+        TestdataValue v1 = new TestdataValue("v1");
+        TestdataValue v2 = new TestdataValue("v2");
+        TestdataEntity e1 = new TestdataEntity("e1", v1);
+        TestdataSolution solution = new TestdataSolution("s1");
+        solution.setValueList(Arrays.asList(v1, v2));
+        solution.setEntityList(Arrays.asList(e1));
+
+        IncrementalScoreDirectorFactory<TestdataSolution> scoreDirectorFactory
+                = mock(IncrementalScoreDirectorFactory.class);
+        when(scoreDirectorFactory.getSolutionDescriptor()).thenReturn(TestdataSolution.buildSolutionDescriptor());
+        when(scoreDirectorFactory.getScoreDefinition()).thenReturn(new SimpleScoreDefinition());
+        ConstraintCalculationProfiler constraintCalculationProfiler = new ConstraintCalculationProfiler();
+        when(scoreDirectorFactory.getConstraintCalculationProfiler()).thenReturn(constraintCalculationProfiler);
+        IncrementalScoreCalculator<TestdataSolution> incrementalScoreCalculator
+                = mock(IncrementalScoreCalculator.class);
+        when(incrementalScoreCalculator.calculateScore()).thenReturn(SimpleScore.valueOf(0));
+        IncrementalScoreDirector<TestdataSolution> scoreDirector = new IncrementalScoreDirector<>(
+                scoreDirectorFactory, false, false, incrementalScoreCalculator);
+        scoreDirector.setWorkingSolution(solution);
+
+        for (int i = 0; i < 2; i++) {
+            scoreDirector.beforeVariableChanged(e1, "value");
+            e1.setValue(i == 0 ? v2 : v1);
+            scoreDirector.afterVariableChanged(e1, "value");
+            scoreDirector.triggerVariableListeners();
+            scoreDirector.calculateScore();
+        }
+        List<ConstraintCalculationTotal> constraintCalculationTotals
+                = constraintCalculationProfiler.getConstraintCalculationTotals();
+        assertEquals(3, constraintCalculationTotals.size());
+        assertEquals("afterVariableChanged(value)", constraintCalculationTotals.get(0).getConstraintName());
+        assertEquals("beforeVariableChanged(value)", constraintCalculationTotals.get(1).getConstraintName());
+        assertEquals("calculateScore", constraintCalculationTotals.get(2).getConstraintName());
+        for (ConstraintCalculationTotal constraintCalculationTotal : constraintCalculationTotals) {
+            assertEquals(2L, constraintCalculationTotal.getCalculationCount());
+        }
+
+        constraintCalculationProfiler.reset();
+        assertEquals(0L, constraintCalculationProfiler.getConstraintCalculationTotals().get(0).getCalculationCount());
+    }
+
+    @Test
+    public void calculateScoreWithoutDoing() {
+        TestdataValue v1 = new TestdataValue("v1");
+        TestdataValue v2 = new TestdataValue("v2");
+        TestdataEntity e1 = new TestdataEntity("e1", v1);
+        TestdataEntity e2 = new TestdataEntity("e2", v2);
+        TestdataSolution solution = new TestdataSolution("s1");
+        solution.setValueList(Arrays.asList(v1, v2));
+        solution.setEntityList(Arrays.asList(e1, e2));
+
+        SolutionDescriptor<TestdataSolution> solutionDescriptor = TestdataSolution.buildSolutionDescriptor();
+        IncrementalScoreDirectorFactory<TestdataSolution> scoreDirectorFactory
+                = mock(IncrementalScoreDirectorFactory.class);
+        when(scoreDirectorFactory.getSolutionDescriptor()).thenReturn(solutionDescriptor);
+        when(scoreDirectorFactory.getScoreDefinition()).thenReturn(new SimpleScoreDefinition());
+        DeltaScoreCalculator<TestdataSolution> deltaScoreCalculator = mock(DeltaScoreCalculator.class);
+        when(deltaScoreCalculator.calculateScore()).thenReturn(SimpleScore.valueOf(-3));
+        when(deltaScoreCalculator.calculateChangeDeltaScore(e1, "value", v2)).thenReturn(SimpleScore.valueOf(-2));
+        when(deltaScoreCalculator.calculateSwapDeltaScore(e1, e2, Collections.singletonList("value")))
+                .thenReturn(SimpleScore.valueOf(1));
+        IncrementalScoreDirector<TestdataSolution> scoreDirector = new IncrementalScoreDirector<>(
+                scoreDirectorFactory, false, false, deltaScoreCalculator);
+        scoreDirector.setWorkingSolution(solution);
+        GenuineVariableDescriptor<TestdataSolution> variableDescriptor
+                = TestdataEntity.buildVariableDescriptorForValue();
+
+        assertEquals(SimpleScore.valueOf(-5), new ChangeMove<>(e1, variableDescriptor, v2)
+                .calculateScoreWithoutDoing(scoreDirector));
+        assertEquals(SimpleScore.valueOf(-2), new SwapMove<>(Collections.singletonList(variableDescriptor), e1, e2)
+                .calculateScoreWithoutDoing(scoreDirector));
+        // A null value can change the init score
+        assertNull(new ChangeMove<>(e1, variableDescriptor, null).calculateScoreWithoutDoing(scoreDirector));
+        assertSame(v1, e1.getValue());
+        assertSame(v2, e2.getValue());
+        verify(deltaScoreCalculator, never()).beforeVariableChanged(any(), anyString());
+        verify(deltaScoreCalculator, never()).afterVariableChanged(any(), anyString());
+        assertEquals(2L, scoreDirector.getCalculationCount());
+    }
+
+    @Test
+    public void calculateScoreWithoutDoingWithoutDeltaScoreCalculator() {
+        TestdataValue v1 = new TestdataValue("v1");
+        TestdataValue v2 = new TestdataValue("v2");
+        TestdataEntity e1 = new TestdataEntity("e1", v1);
+        TestdataSolution solution = new TestdataSolution("s1");
+        solution.setValueList(Arrays.asList(v1, v2));
+        solution.setEntityList(Arrays.asList(e1));
+
+        IncrementalScoreDirectorFactory<TestdataSolution> scoreDirectorFactory
+                = mock(IncrementalScoreDirectorFactory.class);
+        when(scoreDirectorFactory.getSolutionDescriptor()).thenReturn(TestdataSolution.buildSolutionDescriptor());
+        IncrementalScoreCalculator<TestdataSolution> incrementalScoreCalculator
+                = mock(IncrementalScoreCalculator.class);
+        IncrementalScoreDirector<TestdataSolution> scoreDirector = new IncrementalScoreDirector<>(
+                scoreDirectorFactory, false, false, incrementalScoreCalculator);
+        scoreDirector.setWorkingSolution(solution);
+
+        assertNull(new ChangeMove<>(e1, TestdataEntity.buildVariableDescriptorForValue(), v2)
+                .calculateScoreWithoutDoing(scoreDirector));
+        assertEquals(0L, scoreDirector.getCalculationCount());
+    }
+
     @SuppressWarnings("unchecked")
     private IncrementalScoreDirectorFactory<Object> mockIncrementalScoreDirectorFactory() {
         IncrementalScoreDirectorFactory<Object> factory = mock(IncrementalScoreDirectorFactory.class);
@@ -0,0 +1,676 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.director.stream;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.junit.Test;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.buildin.hardsoft.HardSoftScore;
+import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
+import org.optaplanner.core.api.score.constraint.ConstraintMatchTotal;
+import org.optaplanner.core.api.score.constraint.Indictment;
+import org.optaplanner.core.api.score.stream.Constraint;
+import org.optaplanner.core.api.score.stream.ConstraintCollectors;
+import org.optaplanner.core.api.score.stream.ConstraintFactory;
+import org.optaplanner.core.api.score.stream.ConstraintProvider;
+import org.optaplanner.core.api.score.stream.Joiners;
+import org.optaplanner.core.api.score.stream.bi.BiJoiner;
+import org.optaplanner.core.impl.testdata.domain.TestdataEntity;
+import org.optaplanner.core.impl.testdata.domain.TestdataObject;
+import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
+import org.optaplanner.core.impl.testdata.domain.TestdataValue;
+
+import static org.junit.Assert.*;
+
+public class ConstraintStreamScoreDirectorTest {
+
+    @Test
+    public void filter() {
+        TestdataValue v1 = new TestdataValue("v1");
+        TestdataValue v2 = new TestdataValue("v2");
+        TestdataEntity e1 = new TestdataEntity("e1", v1);
+        TestdataEntity e2 = new TestdataEntity("e2", v2);
+        TestdataEntity e3 = new TestdataEntity("e3", v1);
+        TestdataSolution solution = buildSolution(Arrays.asList(v1, v2), Arrays.asList(e1, e2, e3));
+        ConstraintStreamScoreDirector<TestdataSolution> scoreDirector = buildScoreDirector(constraintFactory ->
+                new Constraint[] {
+                        constraintFactory.from(TestdataEntity.class)
+                                .filter(entity -> entity.getValue() == v1)
+                                .penalize("Avoid v1", SimpleScore.valueOf(2))
+                });
+        scoreDirector.setWorkingSolution(solution);
+        assertEquals(SimpleScore.valueOf(-4), scoreDirector.calculateScore());
+
+        changeValue(scoreDirector, e1, v2);
+        assertEquals(SimpleScore.valueOf(-2), scoreDirector.calculateScore());
+        changeValue(scoreDirector, e2, v1);
+        changeValue(scoreDirector, e3, v2);
+        assertEquals(SimpleScore.valueOf(-2), scoreDirector.calculateScore());
+    }
+
+    @Test
+    public void join() {
+        TestdataValue v1 = new TestdataValue("v1");
+        TestdataValue v2 = new TestdataValue("v2");
+        TestdataEntity e1 = new TestdataEntity("e1", v1);
+        TestdataEntity e2 = new TestdataEntity("e2", v1);
+        TestdataEntity e3 = new TestdataEntity("e3", v2);
+        TestdataSolution solution = buildSolution(Arrays.asList(v1, v2), Arrays.asList(e1, e2, e3));
+        ConstraintProvider constraintProvider = constraintFactory -> new Constraint[] {
+                constraintFactory.from(TestdataEntity.class)
+                        .join(TestdataEntity.class,
+                                Joiners.equal(TestdataEntity::getValue),
+                                Joiners.lessThan(TestdataObject::getCode))
+                        .penalize("Value conflict", SimpleScore.valueOf(1))
+        };
+        ConstraintStreamScoreDirector<TestdataSolution> scoreDirector = buildScoreDirector(constraintProvider);
+        scoreDirector.setWorkingSolution(solution);
+        assertEquals(SimpleScore.valueOf(-1), scoreDirector.calculateScore());
+
+        changeValue(scoreDirector, e3, v1);
+        assertEquals(SimpleScore.valueOf(-3), scoreDirector.calculateScore());
+        changeValue(scoreDirector, e1, v2);
+        assertEquals(SimpleScore.valueOf(-1), scoreDirector.calculateScore());
+        assertScoreFromScratch(constraintProvider, solution, scoreDirector.calculateScore());
+    }
+
+    @Test
+    public void groupBy() {
+        TestdataValue v1 = new TestdataValue("v1");
+        TestdataValue v2 = new TestdataValue("v2");
+        TestdataEntity e1 = new TestdataEntity("e1", v1);
+        TestdataEntity e2 = new TestdataEntity("e2", v1);
+        TestdataEntity e3 = new TestdataEntity("e3", v2);
+        TestdataSolution solution = buildSolution(Arrays.asList(v1, v2), Arrays.asList(e1, e2, e3));
+        ConstraintProvider constraintProvider = constraintFactory -> new Constraint[] {
+                constraintFactory.from(TestdataEntity.class)
+                        .groupBy(TestdataEntity::getValue, ConstraintCollectors.count())
+                        .penalize("Squared value usage", SimpleScore.valueOf(1),
+                                (value, count) -> count * count)
+        };
+        ConstraintStreamScoreDirector<TestdataSolution> scoreDirector = buildScoreDirector(constraintProvider);
+        scoreDirector.setWorkingSolution(solution);
+        assertEquals(SimpleScore.valueOf(-5), scoreDirector.calculateScore());
+
+        changeValue(scoreDirector, e3, v1);
+        assertEquals(SimpleScore.valueOf(-9), scoreDirector.calculateScore());
+        changeValue(scoreDirector, e1, v2);
+        changeValue(scoreDirector, e2, v2);
+        assertEquals(SimpleScore.valueOf(-5), scoreDirector.calculateScore());
+        assertScoreFromScratch(constraintProvider, solution, scoreDirector.calculateScore());
+    }
+
+    @Test
+    public void penalizeAndReward() {
+        TestdataValue v1 = new TestdataValue("v1");
+        TestdataValue v2 = new TestdataValue("v2");
+        TestdataEntity e1 = new TestdataEntity("e1", v1);
+        TestdataEntity e2 = new TestdataEntity("e2", v2);
+        TestdataSolution solution = buildSolution(Arrays.asList(v1, v2), Arrays.asList(e1, e2));
+        ConstraintStreamScoreDirector<TestdataSolution> scoreDirector = buildScoreDirector(constraintFactory ->
+                new Constraint[] {
+                        constraintFactory.from(TestdataEntity.class)
+                                .filter(entity -> entity.getValue() == v1)
+                                .penalize("Avoid v1", SimpleScore.valueOf(10)),
+                        constraintFactory.from(TestdataEntity.class)
+                                .filter(entity -> entity.getValue() == v2)
+                                .reward("Prefer v2", SimpleScore.valueOf(3))
+                });
+        scoreDirector.setWorkingSolution(solution);
+        assertEquals(SimpleScore.valueOf(-7), scoreDirector.calculateScore());
+        changeValue(scoreDirector, e1, v2);
+        assertEquals(SimpleScore.valueOf(6), scoreDirector.calculateScore());
+    }
+
+    @Test
+    public void uninitializedEntities() {
+        TestdataValue v1 = new TestdataValue("v1");
+        TestdataEntity e1 = new TestdataEntity("e1", v1);
+        TestdataEntity e2 = new TestdataEntity("e2");
+        TestdataSolution solution = buildSolution(Arrays.asList(v1), Arrays.asList(e1, e2));
+        ConstraintStreamScoreDirector<TestdataSolution> scoreDirector = buildScoreDirector(constraintFactory ->
+                new Constraint[] {
+                        constraintFactory.from(TestdataEntity.class)
+                                .penalize("Initialized", SimpleScore.valueOf(1)),
+                        constraintFactory.fromUnfiltered(TestdataEntity.class)
+                                .penalize("All", SimpleScore.valueOf(10))
+                });
+        scoreDirector.setWorkingSolution(solution);
+        assertEquals(SimpleScore.valueOfUninitialized(-1, -21), scoreDirector.calculateScore());
+        changeValue(scoreDirector, e2, v1);
+        assertEquals(SimpleScore.valueOf(-22), scoreDirector.calculateScore());
+    }
+
+    @Test
+    public void constraintMatchTotalsAndIndictments() {
+        TestdataValue v1 = new TestdataValue("v1");
+        TestdataEntity e1 = new TestdataEntity("e1", v1);
+        TestdataEntity e2 = new TestdataEntity("e2", v1);
+        TestdataSolution solution = buildSolution(Arrays.asList(v1), Arrays.asList(e1, e2));
+        ConstraintStreamScoreDirector<TestdataSolution> scoreDirector = buildScoreDirector(constraintFactory ->
+                new Constraint[] {
+                        constraintFactory.from(TestdataEntity.class)
+                                .join(TestdataEntity.class,
+                                        Joiners.equal(TestdataEntity::getValue),
+                                        Joiners.lessThan(TestdataObject::getCode))
+                                .penalize("Value conflict", SimpleScore.valueOf(5))
+                });
+        scoreDirector.setWorkingSolution(solution);
+        assertEquals(SimpleScore.valueOf(-5), scoreDirector.calculateScore());
+
+        Collection<ConstraintMatchTotal> constraintMatchTotals = scoreDirector.getConstraintMatchTotals();
+        assertEquals(1, constraintMatchTotals.size());
+        ConstraintMatchTotal constraintMatchTotal = constraintMatchTotals.iterator().next();
+        assertEquals("Value conflict", constraintMatchTotal.getConstraintName());
+        assertEquals(TestdataSolution.class.getPackage().getName(), constraintMatchTotal.getConstraintPackage());
+        assertEquals(1, constraintMatchTotal.getConstraintMatchCount());
+        assertEquals(SimpleScore.valueOf(-5), constraintMatchTotal.getScoreTotal());
+        assertEquals(Arrays.asList(e1, e2),
+                constraintMatchTotal.getConstraintMatchSet().iterator().next().getJustificationList());
+
+        Map<Object, Indictment> indictmentMap = scoreDirector.getIndictmentMap();
+        assertEquals(2, indictmentMap.size());
+        assertEquals(SimpleScore.valueOf(-5), indictmentMap.get(e1).getScoreTotal());
+        assertEquals(SimpleScore.valueOf(-5), indictmentMap.get(e2).getScoreTotal());
+    }
+
+    @Test
+    public void joinWithoutEqualJoinerAndBiFilter() {
+        TestdataValue v1 = new TestdataValue("v1");
+        TestdataValue v2 = new TestdataValue("v2");
+        TestdataEntity a = new TestdataEntity("a", v1);
+        TestdataEntity bb = new TestdataEntity("bb", v1);
+        TestdataEntity ccc = new TestdataEntity("ccc", v2);
+        TestdataSolution solution = buildSolution(Arrays.asList(v1, v2), Arrays.asList(a, bb, ccc));
+        ConstraintProvider constraintProvider = constraintFactory -> new Constraint[] {
+                constraintFactory.from(TestdataEntity.class)
+                        .join(TestdataEntity.class, Joiners.lessThan(TestdataObject::getCode))
+                        .filter((left, right) -> left.getValue() == right.getValue())
+                        .penalize("Value conflict", SimpleScore.valueOf(10),
+                                (left, right) -> left.getCode().length() * right.getCode().length())
+        };
+        ConstraintStreamScoreDirector<TestdataSolution> scoreDirector = buildScoreDirector(constraintProvider);
+        scoreDirector.setWorkingSolution(solution);
+        assertEquals(SimpleScore.valueOf(-20), scoreDirector.calculateScore());
+
+        changeValue(scoreDirector, ccc, v1);
+        assertEquals(SimpleScore.valueOf(-110), scoreDirector.calculateScore());
+        changeValue(scoreDirector, a, v2);
+        assertEquals(SimpleScore.valueOf(-60), scoreDirector.calculateScore());
+        assertScoreFromScratch(constraintProvider, solution, scoreDirector.calculateScore());
+    }
+
+    @Test
+    public void joinDifferentClassesWithComparisonJoiners() {
+        TestdataValue b = new TestdataValue("b");
+        TestdataValue c = new TestdataValue("c");
+        TestdataEntity ea = new TestdataEntity("a", b);
+        TestdataEntity ec = new TestdataEntity("c", b);
+        TestdataEntity ee = new TestdataEntity("e", b);
+        TestdataSolution solution = buildSolution(Arrays.asList(b, c), Arrays.asList(ea, ec, ee));
+        ConstraintProvider constraintProvider = constraintFactory -> new Constraint[] {
+                constraintFactory.from(TestdataEntity.class)
+                        .join(TestdataValue.class,
+                                Joiners.lessThan(TestdataObject::getCode, TestdataObject::getCode))
+                        .penalize("Less than", SimpleScore.valueOf(1)),
+                constraintFactory.from(TestdataEntity.class)
+                        .join(TestdataValue.class,
+                                Joiners.lessThanOrEqual(TestdataObject::getCode, TestdataObject::getCode))
+                        .penalize("Less than or equal", SimpleScore.valueOf(10)),
+                constraintFactory.from(TestdataEntity.class)
+                        .join(TestdataValue.class,
+                                Joiners.greaterThan(TestdataObject::getCode, TestdataObject::getCode))
+                        .penalize("Greater than", SimpleScore.valueOf(100)),
+                constraintFactory.from(TestdataEntity.class)
+                        .join(TestdataValue.class,
+                                Joiners.greaterThanOrEqual(TestdataObject::getCode, TestdataObject::getCode))
+                        .penalize("Greater than or equal", SimpleScore.valueOf(1000))
+        };
+        ConstraintStreamScoreDirector<TestdataSolution> scoreDirector = buildScoreDirector(constraintProvider);
+        scoreDirector.setWorkingSolution(solution);
+        // 2 less than, 3 less than or equal, 3 greater than and 4 greater than or equal
+        assertEquals(SimpleScore.valueOf(-4332), scoreDirector.calculateScore());
+
+        scoreDirector.beforeProblemPropertyChanged(c);
+        c.setCode("f");
+        scoreDirector.afterProblemPropertyChanged(c);
+        // 4 less than, 4 less than or equal, 2 greater than and 2 greater than or equal
+        assertEquals(SimpleScore.valueOf(-2244), scoreDirector.calculateScore());
+        assertScoreFromScratch(constraintProvider, solution, scoreDirector.calculateScore());
+    }
+
+    @Test
+    public void joinWithNullKeys() {
+        TestdataValue v1 = new TestdataValue("v1");
+        TestdataEntity e1 = new TestdataEntity("e1", v1);
+        TestdataEntity e2 = new TestdataEntity("e2");
+        TestdataEntity e3 = new TestdataEntity("e3");
+        TestdataSolution solution = buildSolution(Arrays.asList(v1), Arrays.asList(e1, e2, e3));
+        Function<TestdataEntity, String> valueCodeMapping
+                = entity -> entity.getValue() == null ? null : entity.getValue().getCode();
+        ConstraintProvider constraintProvider = constraintFactory -> new Constraint[] {
+                // A null equals a null
+                constraintFactory.fromUnfiltered(TestdataEntity.class)
+                        .join(constraintFactory.fromUnfiltered(TestdataEntity.class),
+                                Joiners.equal(TestdataEntity::getValue),
+                                Joiners.lessThan(TestdataObject::getCode))
+                        .penalize("Same value", SimpleScore.valueOf(1)),
+                // A comparison with null never matches
+                constraintFactory.fromUnfiltered(TestdataEntity.class)
+                        .join(constraintFactory.fromUnfiltered(TestdataEntity.class),
+                                Joiners.lessThanOrEqual(valueCodeMapping, valueCodeMapping))
+                        .penalize("Compared value", SimpleScore.valueOf(10))
+        };
+        ConstraintStreamScoreDirector<TestdataSolution> scoreDirector = buildScoreDirector(constraintProvider);
+        scoreDirector.setWorkingSolution(solution);
+        assertEquals(SimpleScore.valueOfUninitialized(-2, -11), scoreDirector.calculateScore());
+
+        changeValue(scoreDirector, e2, v1);
+        assertEquals(SimpleScore.valueOfUninitialized(-1, -41), scoreDirector.calculateScore());
+        changeValue(scoreDirector, e3, v1);
+        assertEquals(SimpleScore.valueOf(-93), scoreDirector.calculateScore());
+        assertScoreFromScratch(constraintProvider, solution, scoreDirector.calculateScore());
+    }
+
+    @Test
+    public void groupByWithSumAndEmptiedGroup() {
+        TestdataValue v1 = new TestdataValue("v1");
+        TestdataValue v2 = new TestdataValue("v2");
+        TestdataEntity a = new TestdataEntity("a", v1);
+        TestdataEntity bb = new TestdataEntity("bb", v1);
+        TestdataEntity ccc = new TestdataEntity("ccc", v2);
+        TestdataSolution solution = buildSolution(Arrays.asList(v1, v2), Arrays.asList(a, bb, ccc));
+        ConstraintProvider constraintProvider = constraintFactory -> new Constraint[] {
+                constraintFactory.from(TestdataEntity.class)
+                        .groupBy(TestdataEntity::getValue,
+                                ConstraintCollectors.sum(entity -> entity.getCode().length()))
+                        .penalize("Squared code length per value", SimpleScore.valueOf(1),
+                                (value, sum) -> sum * sum)
+        };
+        ConstraintStreamScoreDirector<TestdataSolution> scoreDirector = buildScoreDirector(constraintProvider);
+        scoreDirector.setWorkingSolution(solution);
+        assertEquals(SimpleScore.valueOf(-18), scoreDirector.calculateScore());
+
+        changeValue(scoreDirector, a, v2);
+        assertEquals(SimpleScore.valueOf(-20), scoreDirector.calculateScore());
+        changeValue(scoreDirector, bb, v2);
+        assertEquals(SimpleScore.valueOf(-36), scoreDirector.calculateScore());
+        ConstraintMatchTotal constraintMatchTotal = scoreDirector.getConstraintMatchTotals().iterator().next();
+        assertEquals(1, constraintMatchTotal.getConstraintMatchCount());
+        assertEquals(Arrays.asList(v2, 6),
+                constraintMatchTotal.getConstraintMatchSet().iterator().next().getJustificationList());
+
+        changeValue(scoreDirector, a, v1);
+        assertEquals(SimpleScore.valueOf(-26), scoreDirector.calculateScore());
+        assertEquals(2, scoreDirector.getConstraintMatchTotals().iterator().next().getConstraintMatchCount());
+        assertScoreFromScratch(constraintProvider, solution, scoreDirector.calculateScore());
+    }
+
+    @Test
+    public void multipleChangesBeforeCalculateScore() {
+        TestdataValue v1 = new TestdataValue("v1");
+        TestdataValue v2 = new TestdataValue("v2");
+        TestdataEntity e1 = new TestdataEntity("e1", v1);
+        TestdataEntity e2 = new TestdataEntity("e2", v1);
+        TestdataEntity e3 = new TestdataEntity("e3", v1);
+        TestdataEntity e4 = new TestdataEntity("e4", v2);
+        List<TestdataEntity> entityList = new ArrayList<>(Arrays.asList(e1, e2, e3, e4));
+        TestdataSolution solution = buildSolution(Arrays.asList(v1, v2), entityList);
+        ConstraintProvider constraintProvider = constraintFactory -> new Constraint[] {
+                constraintFactory.from(TestdataEntity.class)
+                        .groupBy(TestdataEntity::getValue, ConstraintCollectors.count())
+                        .penalize("Squared value usage", SimpleScore.valueOf(1),
+                                (value, count) -> count * count)
+        };
+        ConstraintStreamScoreDirector<TestdataSolution> scoreDirector = buildScoreDirector(constraintProvider);
+        scoreDirector.setWorkingSolution(solution);
+        assertEquals(SimpleScore.valueOf(-10), scoreDirector.calculateScore());
+
+        // Changed and changed back
+        changeValue(scoreDirector, e4, v1);
+        changeValue(scoreDirector, e4, v2);
+        assertEquals(SimpleScore.valueOf(-10), scoreDirector.calculateScore());
+        // Changed twice
+        changeValue(scoreDirector, e4, v1);
+        changeValue(scoreDirector, e1, v1);
+        assertEquals(SimpleScore.valueOf(-16), scoreDirector.calculateScore());
+        // Changed and removed
+        changeValue(scoreDirector, e1, v2);
+        scoreDirector.beforeEntityRemoved(e1);
+        entityList.remove(e1);
+        scoreDirector.afterEntityRemoved(e1);
+        assertEquals(SimpleScore.valueOf(-9), scoreDirector.calculateScore());
+        assertScoreFromScratch(constraintProvider, solution, scoreDirector.calculateScore());
+    }
+
+    @Test
+    public void entityAddedAndRemoved() {
+        TestdataValue v1 = new TestdataValue("v1");
+        TestdataValue v2 = new TestdataValue("v2");
+        TestdataEntity e1 = new TestdataEntity("e1", v1);
+        TestdataEntity e2 = new TestdataEntity("e2", v2);
+        List<TestdataEntity> entityList = new ArrayList<>(Arrays.asList(e1, e2));
+        TestdataSolution solution = buildSolution(Arrays.asList(v1, v2), entityList);
+        ConstraintProvider constraintProvider = constraintFactory -> new Constraint[] {
+                constraintFactory.from(TestdataEntity.class)
+                        .join(TestdataEntity.class,
+                                Joiners.equal(TestdataEntity::getValue),
+                                Joiners.lessThan(TestdataObject::getCode))
+                        .penalize("Value conflict", SimpleScore.valueOf(1))
+        };
+        ConstraintStreamScoreDirector<TestdataSolution> scoreDirector = buildScoreDirector(constraintProvider);
+        scoreDirector.setWorkingSolution(solution);
+        assertEquals(SimpleScore.valueOf(0), scoreDirector.calculateScore());
+
+        TestdataEntity e3 = new TestdataEntity("e3");
+        scoreDirector.beforeEntityAdded(e3);
+        entityList.add(e3);
+        scoreDirector.afterEntityAdded(e3);
+        assertEquals(SimpleScore.valueOfUninitialized(-1, 0), scoreDirector.calculateScore());
+        changeValue(scoreDirector, e3, v1);
+        assertEquals(SimpleScore.valueOf(-1), scoreDirector.calculateScore());
+
+        scoreDirector.beforeEntityRemoved(e1);
+        entityList.remove(e1);
+        scoreDirector.afterEntityRemoved(e1);
+        assertEquals(SimpleScore.valueOf(0), scoreDirector.calculateScore());
+        changeValue(scoreDirector, e3, v2);
+        assertEquals(SimpleScore.valueOf(-1), scoreDirector.calculateScore());
+        assertScoreFromScratch(constraintProvider, solution, scoreDirector.calculateScore());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void entityAddedTwice() {
+        TestdataValue v1 = new TestdataValue("v1");
+        TestdataEntity e1 = new TestdataEntity("e1", v1);
+        TestdataSolution solution = buildSolution(Arrays.asList(v1), Arrays.asList(e1));
+        ConstraintStreamScoreDirector<TestdataSolution> scoreDirector = buildScoreDirector(constraintFactory ->
+                new Constraint[] {
+                        constraintFactory.from(TestdataEntity.class).penalize("Entity", SimpleScore.valueOf(1))
+                });
+        scoreDirector.setWorkingSolution(solution);
+        scoreDirector.afterEntityAdded(e1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullEntityAdded() {
+        ConstraintStreamScoreDirector<TestdataSolution> scoreDirector = buildScoreDirector(constraintFactory ->
+                new Constraint[0]);
+        scoreDirector.setWorkingSolution(buildSolution(Arrays.asList(), Arrays.asList()));
+        scoreDirector.afterEntityAdded(
+                scoreDirector.getSolutionDescriptor().findEntityDescriptorOrFail(TestdataEntity.class), null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nonEntityAdded() {
+        ConstraintStreamScoreDirector<TestdataSolution> scoreDirector = buildScoreDirector(constraintFactory ->
+                new Constraint[0]);
+        scoreDirector.setWorkingSolution(buildSolution(Arrays.asList(), Arrays.asList()));
+        scoreDirector.afterEntityAdded(
+                scoreDirector.getSolutionDescriptor().findEntityDescriptorOrFail(TestdataEntity.class),
+                new TestdataValue("v1"));
+    }
+
+    @Test
+    public void problemFactAddedChangedAndRemoved() {
+        TestdataValue v1 = new TestdataValue("v1");
+        TestdataValue v2 = new TestdataValue("v2");
+        TestdataEntity e1 = new TestdataEntity("e1", v1);
+        List<TestdataValue> valueList = new ArrayList<>(Arrays.asList(v1, v2));
+        TestdataSolution solution = buildSolution(valueList, Arrays.asList(e1));
+        ConstraintProvider constraintProvider = constraintFactory -> new Constraint[] {
+                constraintFactory.from(TestdataValue.class)
+                        .filter(value -> value.getCode().startsWith("x"))
+                        .penalize("Avoid x values", SimpleScore.valueOf(3)),
+                constraintFactory.from(TestdataValue.class)
+                        .join(TestdataEntity.class, Joiners.equal(value -> value, TestdataEntity::getValue))
+                        .reward("Used value", SimpleScore.valueOf(1))
+        };
+        ConstraintStreamScoreDirector<TestdataSolution> scoreDirector = buildScoreDirector(constraintProvider);
+        scoreDirector.setWorkingSolution(solution);
+        assertEquals(SimpleScore.valueOf(1), scoreDirector.calculateScore());
+
+        TestdataValue v3 = new TestdataValue("x3");
+        scoreDirector.beforeProblemFactAdded(v3);
+        valueList.add(v3);
+        scoreDirector.afterProblemFactAdded(v3);
+        assertEquals(SimpleScore.valueOf(-2), scoreDirector.calculateScore());
+
+        scoreDirector.beforeProblemPropertyChanged(v1);
+        v1.setCode("x1");
+        scoreDirector.afterProblemPropertyChanged(v1);
+        assertEquals(SimpleScore.valueOf(-5), scoreDirector.calculateScore());
+
+        changeValue(scoreDirector, e1, v2);
+        scoreDirector.beforeProblemFactRemoved(v1);
+        valueList.remove(v1);
+        scoreDirector.afterProblemFactRemoved(v1);
+        assertEquals(SimpleScore.valueOf(-2), scoreDirector.calculateScore());
+        assertScoreFromScratch(constraintProvider, solution, scoreDirector.calculateScore());
+    }
+
+    @Test
+    public void constraintNotReturnedByConstraintProvider() {
+        TestdataValue v1 = new TestdataValue("v1");
+        TestdataEntity e1 = new TestdataEntity("e1", v1);
+        TestdataSolution solution = buildSolution(Arrays.asList(v1), Arrays.asList(e1));
+        ConstraintStreamScoreDirector<TestdataSolution> scoreDirector = buildScoreDirector(constraintFactory -> {
+            constraintFactory.from(TestdataEntity.class).penalize("Not returned", SimpleScore.valueOf(1));
+            return new Constraint[] {
+                    constraintFactory.from(TestdataEntity.class).penalize("Returned", SimpleScore.valueOf(10))
+            };
+        });
+        scoreDirector.setWorkingSolution(solution);
+        assertEquals(SimpleScore.valueOf(-10), scoreDirector.calculateScore());
+        Collection<ConstraintMatchTotal> constraintMatchTotals = scoreDirector.getConstraintMatchTotals();
+        assertEquals(1, constraintMatchTotals.size());
+        assertEquals("Returned", constraintMatchTotals.iterator().next().getConstraintName());
+    }
+
+    @Test
+    public void noConstraints() {
+        TestdataValue v1 = new TestdataValue("v1");
+        TestdataEntity e1 = new TestdataEntity("e1", v1);
+        TestdataSolution solution = buildSolution(Arrays.asList(v1), Arrays.asList(e1));
+        ConstraintStreamScoreDirector<TestdataSolution> scoreDirector = buildScoreDirector(constraintFactory ->
+                new Constraint[0]);
+        scoreDirector.setWorkingSolution(solution);
+        assertEquals(SimpleScore.valueOf(0), scoreDirector.calculateScore());
+        assertTrue(scoreDirector.getConstraintMatchTotals().isEmpty());
+        assertTrue(scoreDirector.getIndictmentMap().isEmpty());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void constraintMatchTotalsBeforeSetWorkingSolution() {
+        ConstraintStreamScoreDirector<TestdataSolution> scoreDirector = buildScoreDirector(constraintFactory ->
+                new Constraint[0]);
+        scoreDirector.getConstraintMatchTotals();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void constraintMatchTotalsWithConstraintMatchDisabled() {
+        ConstraintStreamScoreDirector<TestdataSolution> scoreDirector = buildScoreDirector(constraintFactory ->
+                new Constraint[0], false);
+        scoreDirector.setWorkingSolution(buildSolution(Arrays.asList(), Arrays.asList()));
+        scoreDirector.getConstraintMatchTotals();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void indictmentMapWithConstraintMatchDisabled() {
+        ConstraintStreamScoreDirector<TestdataSolution> scoreDirector = buildScoreDirector(constraintFactory ->
+                new Constraint[0], false);
+        scoreDirector.setWorkingSolution(buildSolution(Arrays.asList(), Arrays.asList()));
+        scoreDirector.getIndictmentMap();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void nullConstraintArray() {
+        buildScoreDirector(constraintFactory -> null);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void nullConstraint() {
+        buildScoreDirector(constraintFactory -> new Constraint[] {null});
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void constraintFromOtherConstraintFactory() {
+        ConstraintFactory[] otherConstraintFactory = new ConstraintFactory[1];
+        buildScoreDirector(constraintFactory -> {
+            otherConstraintFactory[0] = constraintFactory;
+            return new Constraint[0];
+        });
+        buildScoreDirector(constraintFactory -> new Constraint[] {
+                otherConstraintFactory[0].from(TestdataEntity.class).penalize("Other", SimpleScore.valueOf(1))
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void joinStreamFromOtherConstraintFactory() {
+        ConstraintFactory[] otherConstraintFactory = new ConstraintFactory[1];
+        buildScoreDirector(constraintFactory -> {
+            otherConstraintFactory[0] = constraintFactory;
+            return new Constraint[0];
+        });
+        buildScoreDirector(constraintFactory -> new Constraint[] {
+                constraintFactory.from(TestdataEntity.class)
+                        .join(otherConstraintFactory[0].from(TestdataEntity.class))
+                        .penalize("Other", SimpleScore.valueOf(1))
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void joinerNotFromJoiners() {
+        buildScoreDirector(constraintFactory -> new Constraint[] {
+                constraintFactory.from(TestdataEntity.class)
+                        .join(TestdataEntity.class, new BiJoiner<TestdataEntity, TestdataEntity>() {})
+                        .penalize("Custom joiner", SimpleScore.valueOf(1))
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullFromClass() {
+        buildScoreDirector(constraintFactory -> new Constraint[] {
+                constraintFactory.from(null).penalize("Null fromClass", SimpleScore.valueOf(1))
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullPredicate() {
+        buildScoreDirector(constraintFactory -> new Constraint[] {
+                constraintFactory.from(TestdataEntity.class)
+                        .filter(null)
+                        .penalize("Null predicate", SimpleScore.valueOf(1))
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullGroupKeyMapping() {
+        buildScoreDirector(constraintFactory -> new Constraint[] {
+                constraintFactory.from(TestdataEntity.class)
+                        .groupBy(null, ConstraintCollectors.count())
+                        .penalize("Null groupKeyMapping", SimpleScore.valueOf(1))
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullCollector() {
+        buildScoreDirector(constraintFactory -> new Constraint[] {
+                constraintFactory.from(TestdataEntity.class)
+                        .groupBy(TestdataEntity::getValue, null)
+                        .penalize("Null collector", SimpleScore.valueOf(1))
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullConstraintName() {
+        buildScoreDirector(constraintFactory -> new Constraint[] {
+                constraintFactory.from(TestdataEntity.class).penalize(null, SimpleScore.valueOf(1))
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullConstraintWeight() {
+        buildScoreDirector(constraintFactory -> new Constraint[] {
+                constraintFactory.from(TestdataEntity.class).penalize("Null weight", null)
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void incompatibleConstraintWeight() {
+        buildScoreDirector(constraintFactory -> new Constraint[] {
+                constraintFactory.from(TestdataEntity.class).penalize("Hard soft", HardSoftScore.valueOf(1, 0))
+        });
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void duplicateConstraintId() {
+        buildScoreDirector(constraintFactory -> new Constraint[] {
+                constraintFactory.from(TestdataEntity.class).penalize("Same", SimpleScore.valueOf(1)),
+                constraintFactory.from(TestdataValue.class).penalize("Same", SimpleScore.valueOf(1))
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeConstraintWeight() {
+        buildScoreDirector(constraintFactory -> new Constraint[] {
+                constraintFactory.from(TestdataEntity.class).penalize("Negative", SimpleScore.valueOf(-1))
+        });
+    }
+
+    private static TestdataSolution buildSolution(List<TestdataValue> valueList,
+            List<TestdataEntity> entityList) {
+        TestdataSolution solution = new TestdataSolution("s1");
+        solution.setValueList(valueList);
+        solution.setEntityList(entityList);
+        return solution;
+    }
+
+    private static ConstraintStreamScoreDirector<TestdataSolution> buildScoreDirector(
+            ConstraintProvider constraintProvider) {
+        return buildScoreDirector(constraintProvider, true);
+    }
+
+    private static ConstraintStreamScoreDirector<TestdataSolution> buildScoreDirector(
+            ConstraintProvider constraintProvider, boolean constraintMatchEnabledPreference) {
+        ConstraintStreamScoreDirectorFactory<TestdataSolution> scoreDirectorFactory
+                = new ConstraintStreamScoreDirectorFactory<>(constraintProvider);
+        scoreDirectorFactory.setSolutionDescriptor(TestdataSolution.buildSolutionDescriptor());
+        return scoreDirectorFactory.buildScoreDirector(false, constraintMatchEnabledPreference);
+    }
+
+    private static void changeValue(ConstraintStreamScoreDirector<TestdataSolution> scoreDirector,
+            TestdataEntity entity, TestdataValue value) {
+        scoreDirector.beforeVariableChanged(entity, "value");
+        entity.setValue(value);
+        scoreDirector.afterVariableChanged(entity, "value");
+    }
+
+    private static void assertScoreFromScratch(ConstraintProvider constraintProvider, TestdataSolution solution,
+            Score expectedScore) {
+        ConstraintStreamScoreDirector<TestdataSolution> scratchScoreDirector = buildScoreDirector(constraintProvider);
+        scratchScoreDirector.setWorkingSolution(solution);
+        assertEquals(expectedScore, scratchScoreDirector.calculateScore());
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.stream.common;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class JoinerTypeTest {
+
+    @Test
+    public void equal() {
+        assertTrue(JoinerType.EQUAL.matches(1, 1));
+        assertFalse(JoinerType.EQUAL.matches(1, 2));
+        assertTrue(JoinerType.EQUAL.matches(null, null));
+        assertFalse(JoinerType.EQUAL.matches(1, null));
+        assertFalse(JoinerType.EQUAL.matches(null, 1));
+    }
+
+    @Test
+    public void lessThan() {
+        assertTrue(JoinerType.LESS_THAN.matches(1, 2));
+        assertFalse(JoinerType.LESS_THAN.matches(1, 1));
+        assertFalse(JoinerType.LESS_THAN.matches(2, 1));
+    }
+
+    @Test
+    public void lessThanOrEqual() {
+        assertTrue(JoinerType.LESS_THAN_OR_EQUAL.matches(1, 2));
+        assertTrue(JoinerType.LESS_THAN_OR_EQUAL.matches(1, 1));
+        assertFalse(JoinerType.LESS_THAN_OR_EQUAL.matches(2, 1));
+    }
+
+    @Test
+    public void greaterThan() {
+        assertFalse(JoinerType.GREATER_THAN.matches(1, 2));
+        assertFalse(JoinerType.GREATER_THAN.matches(1, 1));
+        assertTrue(JoinerType.GREATER_THAN.matches(2, 1));
+    }
+
+    @Test
+    public void greaterThanOrEqual() {
+        assertFalse(JoinerType.GREATER_THAN_OR_EQUAL.matches(1, 2));
+        assertTrue(JoinerType.GREATER_THAN_OR_EQUAL.matches(1, 1));
+        assertTrue(JoinerType.GREATER_THAN_OR_EQUAL.matches(2, 1));
+    }
+
+    @Test
+    public void comparisonWithNull() {
+        for (JoinerType joinerType : new JoinerType[] {JoinerType.LESS_THAN, JoinerType.LESS_THAN_OR_EQUAL,
+                JoinerType.GREATER_THAN, JoinerType.GREATER_THAN_OR_EQUAL}) {
+            assertFalse(joinerType.matches(1, null));
+            assertFalse(joinerType.matches(null, 1));
+            assertFalse(joinerType.matches(null, null));
+        }
+    }
+
+}
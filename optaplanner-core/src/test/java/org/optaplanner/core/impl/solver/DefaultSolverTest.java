@@ -18,6 +18,7 @@ package org.optaplanner.core.impl.solver;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 import org.optaplanner.core.api.solver.Solver;
@@ -27,6 +28,8 @@ import org.optaplanner.core.config.phase.custom.CustomPhaseConfig;
 import org.optaplanner.core.config.score.definition.ScoreDefinitionType;
 import org.optaplanner.core.config.solver.termination.TerminationConfig;
 import org.optaplanner.core.impl.phase.custom.NoChangeCustomPhaseCommand;
+import org.optaplanner.core.impl.phase.event.PhaseLifecycleListenerAdapter;
+import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
 import org.optaplanner.core.impl.testdata.domain.TestdataEntity;
 import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
 import org.optaplanner.core.impl.testdata.domain.TestdataValue;
@@ -53,6 +56,89 @@ public class DefaultSolverTest {
         assertSame(solution, solver.getBestSolution());
     }
 
+    @Test(timeout = 600000)
+    public void solveWithMoveThreads() {
+        SolverFactory<TestdataSolution> solverFactory = PlannerTestUtils.buildSolverFactory(
+                TestdataSolution.class, TestdataEntity.class);
+        solverFactory.getSolverConfig().setMoveThreadCount("2");
+        Solver<TestdataSolution> solver = solverFactory.buildSolver();
+
+        TestdataSolution solution = new TestdataSolution("s1");
+        solution.setValueList(Arrays.asList(new TestdataValue("v1"), new TestdataValue("v2")));
+        solution.setEntityList(Arrays.asList(new TestdataEntity("e1"), new TestdataEntity("e2"),
+                new TestdataEntity("e3"), new TestdataEntity("e4")));
+
+        solution = solver.solve(solution);
+        assertNotNull(solution);
+        assertEquals(true, solution.getScore().isSolutionInitialized());
+        assertSame(solution, solver.getBestSolution());
+    }
+
+    @Test(timeout = 600000)
+    public void restartWithMoveThreadsAfterProblemFactChange() {
+        SolverFactory<TestdataSolution> solverFactory = PlannerTestUtils.buildSolverFactory(
+                TestdataSolution.class, TestdataEntity.class);
+        solverFactory.getSolverConfig().setMoveThreadCount("2");
+        DefaultSolver<TestdataSolution> solver = (DefaultSolver<TestdataSolution>) solverFactory.buildSolver();
+        AtomicInteger solvingStartedCount = new AtomicInteger(0);
+        solver.addPhaseLifecycleListener(new PhaseLifecycleListenerAdapter<TestdataSolution>() {
+            @Override
+            public void solvingStarted(DefaultSolverScope<TestdataSolution> solverScope) {
+                solvingStartedCount.incrementAndGet();
+                // The move threads' score calculations of the previous run must not be counted again
+                assertEquals(solverScope.getScoreDirector().getCalculationCount(),
+                        solverScope.getScoreCalculationCount());
+            }
+
+            @Override
+            public void solvingEnded(DefaultSolverScope<TestdataSolution> solverScope) {
+                if (solvingStartedCount.get() == 1) {
+                    assertTrue(solverScope.getScoreCalculationCount()
+                            > solverScope.getScoreDirector().getCalculationCount());
+                    solver.addProblemFactChange(scoreDirector -> {});
+                }
+            }
+        });
+
+        TestdataSolution solution = new TestdataSolution("s1");
+        solution.setValueList(Arrays.asList(new TestdataValue("v1"), new TestdataValue("v2")));
+        solution.setEntityList(Arrays.asList(new TestdataEntity("e1"), new TestdataEntity("e2"),
+                new TestdataEntity("e3"), new TestdataEntity("e4")));
+
+        solution = solver.solve(solution);
+        assertEquals(2, solvingStartedCount.get());
+        assertNotNull(solution);
+        assertEquals(true, solution.getScore().isSolutionInitialized());
+    }
+
+    @Test
+    public void solveWithLazyBestSolutionCloning() {
+        SolverFactory<TestdataSolution> solverFactory = PlannerTestUtils.buildSolverFactory(
+                TestdataSolution.class, TestdataEntity.class);
+        solverFactory.getSolverConfig().setLazyBestSolutionCloning(true);
+        Solver<TestdataSolution> solver = solverFactory.buildSolver();
+        AtomicInteger eventCount = new AtomicInteger(0);
+        solver.addEventListener(event -> {
+            eventCount.incrementAndGet();
+            // Don't retrieve the new best solution, so it's not materialized yet
+            TestdataSolution bestSolution = solver.getBestSolution();
+            assertEquals(bestSolution.getScore(), solver.getBestScore());
+            assertNotEquals(event.getNewBestScore(), solver.getBestScore());
+        });
+
+        TestdataSolution solution = new TestdataSolution("s1");
+        solution.setValueList(Arrays.asList(new TestdataValue("v1"), new TestdataValue("v2")));
+        solution.setEntityList(Arrays.asList(new TestdataEntity("e1"), new TestdataEntity("e2"),
+                new TestdataEntity("e3")));
+
+        solution = solver.solve(solution);
+        assertTrue(eventCount.get() > 0);
+        assertNotNull(solution);
+        assertEquals(true, solution.getScore().isSolutionInitialized());
+        assertSame(solution, solver.getBestSolution());
+        assertEquals(solution.getScore(), solver.getBestScore());
+    }
+
     @Test
     public void solveLegacy() {
         SolverFactory<TestdataLegacySolution> solverFactory = PlannerTestUtils.buildSolverFactory(
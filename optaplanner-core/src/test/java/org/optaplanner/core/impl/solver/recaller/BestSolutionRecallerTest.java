@@ -24,6 +24,7 @@ import org.optaplanner.core.impl.constructionheuristic.scope.ConstructionHeurist
 import org.optaplanner.core.impl.domain.solution.AbstractSolution;
 import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
 import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.score.director.WorkingSolutionSnapshot;
 import org.optaplanner.core.impl.solver.event.SolverEventSupport;
 import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
 
@@ -164,4 +165,30 @@ public class BestSolutionRecallerTest {
         }
     }
 
+    @Test
+    public void improvedProcessWorkingSolutionDuringMoveWithLazyBestSolutionCloning() {
+        DefaultSolverScope<AbstractSolution> solverScope = createSolverScope();
+        AbstractSolution originalBestSolution = mock(AbstractSolution.class);
+        solverScope.setBestSolution(originalBestSolution);
+        solverScope.setBestScore(SimpleScore.valueOf(-2));
+
+        ConstructionHeuristicStepScope<AbstractSolution> stepScope = setupConstrunctionHeuristics(solverScope);
+
+        Score moveScore = SimpleScore.valueOf(-1);
+        AbstractSolution moveSolution = mock(AbstractSolution.class);
+        WorkingSolutionSnapshot<AbstractSolution> snapshot = mock(WorkingSolutionSnapshot.class);
+        when(snapshot.getSolution()).thenReturn(moveSolution);
+        when(solverScope.getScoreDirector().takeWorkingSolutionSnapshot(moveScore)).thenReturn(snapshot);
+
+        BestSolutionRecaller<AbstractSolution> recaller = createBestSolutionRecaller();
+        recaller.setLazyBestSolutionCloning(true);
+        recaller.processWorkingSolutionDuringMove(moveScore, stepScope);
+        verify(solverScope.getScoreDirector(), never()).cloneWorkingSolution();
+        verify(snapshot, never()).getSolution();
+        assertEquals(moveScore, solverScope.getBestScore());
+        assertSame(originalBestSolution, solverScope.getMaterializedBestSolution());
+        assertSame(moveSolution, solverScope.getBestSolution());
+        verify(snapshot, times(1)).getSolution();
+    }
+
 }
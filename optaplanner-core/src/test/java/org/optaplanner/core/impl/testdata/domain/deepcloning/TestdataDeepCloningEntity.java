@@ -16,6 +16,7 @@
 
 package org.optaplanner.core.impl.testdata.domain.deepcloning;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -47,6 +48,8 @@ public class TestdataDeepCloningEntity extends TestdataObject {
     private Map<String, String> shadowVariableMap;
 
     public TestdataDeepCloningEntity() {
+        // A planning clone of an entity without a shadowVariableMap must not keep this default
+        shadowVariableMap = new HashMap<>();
     }
 
     public TestdataDeepCloningEntity(String code) {
@@ -98,6 +98,25 @@ public class PlannerTestUtils {
         return mock(InnerScoreDirector.class, AdditionalAnswers.delegatesTo(scoreDirectorFactory.buildScoreDirector(false, false)));
     }
 
+    public static <Solution_> InnerScoreDirector<Solution_> mockRebasingScoreDirector(
+            SolutionDescriptor<Solution_> solutionDescriptor, Object[][] lookUpMappings) {
+        InnerScoreDirector<Solution_> scoreDirector = mock(InnerScoreDirector.class);
+        when(scoreDirector.getSolutionDescriptor()).thenReturn(solutionDescriptor);
+        when(scoreDirector.lookUpWorkingObject(any())).thenAnswer((invocation) -> {
+            Object externalObject = invocation.getArguments()[0];
+            if (externalObject == null) {
+                return null;
+            }
+            for (Object[] lookUpMapping : lookUpMappings) {
+                if (externalObject == lookUpMapping[0]) {
+                    return lookUpMapping[1];
+                }
+            }
+            throw new IllegalStateException("No method mocked for parameter (" + externalObject + ").");
+        });
+        return scoreDirector;
+    }
+
     // ************************************************************************
     // Serialization methods
     // ************************************************************************
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.examples.common.score;
+
+import java.io.File;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.RuleContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.buildin.hardsoft.HardSoftScore;
+import org.optaplanner.core.api.score.buildin.hardsoft.HardSoftScoreHolder;
+import org.optaplanner.core.api.solver.SolverFactory;
+import org.optaplanner.core.impl.score.director.InnerScoreDirectorFactory;
+import org.optaplanner.core.impl.score.director.drools.DroolsScoreDirector;
+import org.optaplanner.examples.cloudbalancing.app.CloudBalancingApp;
+import org.optaplanner.examples.cloudbalancing.domain.CloudBalance;
+import org.optaplanner.examples.cloudbalancing.domain.CloudComputer;
+import org.optaplanner.examples.cloudbalancing.domain.CloudProcess;
+import org.optaplanner.examples.cloudbalancing.persistence.CloudBalancingGenerator;
+import org.optaplanner.examples.common.app.CommonApp;
+import org.optaplanner.examples.nurserostering.app.NurseRosteringApp;
+import org.optaplanner.examples.nurserostering.domain.Employee;
+import org.optaplanner.examples.nurserostering.domain.NurseRoster;
+import org.optaplanner.examples.nurserostering.domain.ShiftAssignment;
+
+/**
+ * Compares registering a constraint match with an undo lambda and a score supplier
+ * (which {@link HardSoftScoreHolder} used to do)
+ * with the reusable undo listener of {@link HardSoftScoreHolder}, on the DRL of 2 examples.
+ * <p>
+ * Each operation changes the planning variable of a random entity, fires the rules and undoes the change.
+ * Run it with {@link #main(String[])} or with {@code org.openjdk.jmh.Main} on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DroolsConstraintMatchRegistrationBenchmark {
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(DroolsConstraintMatchRegistrationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    @Param({"cloudbalancing", "nurserostering"})
+    public String example;
+
+    @Param({"LAMBDA", "REUSABLE_LISTENER"})
+    public String registration;
+
+    @Param({"false", "true"})
+    public boolean constraintMatchEnabled;
+
+    private Random workingRandom;
+    private DroolsScoreDirector<?> scoreDirector;
+    private HardSoftScoreHolder scoreHolder;
+    private ExampleVariable<?, ?> exampleVariable;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workingRandom = new Random(37);
+        switch (example) {
+            case "cloudbalancing":
+                CloudBalance cloudBalance = new CloudBalancingGenerator(true).createCloudBalance(400, 1200);
+                exampleVariable = new ExampleVariable<>(
+                        cloudBalance.getProcessList(), cloudBalance.getComputerList(),
+                        CloudProcess::getComputer, CloudProcess::setComputer, "computer");
+                scoreDirector = buildScoreDirector(CloudBalancingApp.SOLVER_CONFIG, cloudBalance);
+                break;
+            case "nurserostering":
+                File inputFile = new File(CommonApp.determineDataDir(NurseRosteringApp.DATA_DIR_NAME),
+                        "unsolved/medium01.xml");
+                NurseRoster nurseRoster = new NurseRosteringApp().createSolutionFileIO().read(inputFile);
+                exampleVariable = new ExampleVariable<>(
+                        nurseRoster.getShiftAssignmentList(), nurseRoster.getEmployeeList(),
+                        ShiftAssignment::getEmployee, ShiftAssignment::setEmployee, "employee");
+                scoreDirector = buildScoreDirector(NurseRosteringApp.SOLVER_CONFIG, nurseRoster);
+                break;
+            default:
+                throw new IllegalStateException("The example (" + example + ") is not implemented.");
+        }
+        switch (registration) {
+            case "LAMBDA":
+                scoreHolder = new LambdaRegistrationHardSoftScoreHolder(constraintMatchEnabled);
+                break;
+            case "REUSABLE_LISTENER":
+                scoreHolder = new HardSoftScoreHolder(constraintMatchEnabled);
+                break;
+            default:
+                throw new IllegalStateException("The registration (" + registration + ") is not implemented.");
+        }
+        KieSession kieSession = scoreDirector.getKieSession();
+        // Replace the score holder before the rules fire for the first time
+        kieSession.setGlobal(DroolsScoreDirector.GLOBAL_SCORE_HOLDER_KEY, scoreHolder);
+        kieSession.fireAllRules();
+    }
+
+    private <Solution_> DroolsScoreDirector<Solution_> buildScoreDirector(String solverConfig, Solution_ solution) {
+        SolverFactory<Solution_> solverFactory = SolverFactory.createFromXmlResource(solverConfig);
+        InnerScoreDirectorFactory<Solution_> scoreDirectorFactory = (InnerScoreDirectorFactory<Solution_>)
+                solverFactory.buildSolver().getScoreDirectorFactory();
+        // Initialize the solution randomly, the rules don't expect uninitialized entities
+        exampleVariable.initializeRandomly(workingRandom);
+        DroolsScoreDirector<Solution_> scoreDirector = (DroolsScoreDirector<Solution_>)
+                scoreDirectorFactory.buildScoreDirector(false, constraintMatchEnabled);
+        scoreDirector.setWorkingSolution(solution);
+        return scoreDirector;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        scoreDirector.close();
+    }
+
+    @Benchmark
+    public Score doAndUndoChange() {
+        return exampleVariable.doAndUndoChange(workingRandom, scoreDirector, scoreHolder);
+    }
+
+    private static class ExampleVariable<Entity_, Value_> {
+
+        private final List<Entity_> entityList;
+        private final List<Value_> valueList;
+        private final Function<Entity_, Value_> getter;
+        private final BiConsumer<Entity_, Value_> setter;
+        private final String variableName;
+
+        public ExampleVariable(List<Entity_> entityList, List<Value_> valueList,
+                Function<Entity_, Value_> getter, BiConsumer<Entity_, Value_> setter, String variableName) {
+            this.entityList = entityList;
+            this.valueList = valueList;
+            this.getter = getter;
+            this.setter = setter;
+            this.variableName = variableName;
+        }
+
+        public void initializeRandomly(Random workingRandom) {
+            for (Entity_ entity : entityList) {
+                setter.accept(entity, valueList.get(workingRandom.nextInt(valueList.size())));
+            }
+        }
+
+        public Score doAndUndoChange(Random workingRandom, DroolsScoreDirector<?> scoreDirector,
+                HardSoftScoreHolder scoreHolder) {
+            Entity_ entity = entityList.get(workingRandom.nextInt(entityList.size()));
+            Value_ oldValue = getter.apply(entity);
+            Value_ newValue = valueList.get(workingRandom.nextInt(valueList.size()));
+            changeVariable(scoreDirector, entity, newValue);
+            scoreDirector.getKieSession().fireAllRules();
+            Score score = scoreHolder.extractScore(0);
+            changeVariable(scoreDirector, entity, oldValue);
+            scoreDirector.getKieSession().fireAllRules();
+            return score;
+        }
+
+        private void changeVariable(DroolsScoreDirector<?> scoreDirector, Entity_ entity, Value_ value) {
+            scoreDirector.beforeVariableChanged(entity, variableName);
+            setter.accept(entity, value);
+            scoreDirector.afterVariableChanged(entity, variableName);
+        }
+
+    }
+
+    /**
+     * Registers its constraint matches like {@link HardSoftScoreHolder} did before it had a reusable undo listener.
+     */
+    private static class LambdaRegistrationHardSoftScoreHolder extends HardSoftScoreHolder {
+
+        public LambdaRegistrationHardSoftScoreHolder(boolean constraintMatchEnabled) {
+            super(constraintMatchEnabled);
+        }
+
+        @Override
+        public void addHardConstraintMatch(RuleContext kcontext, int hardWeight) {
+            hardScore += hardWeight;
+            registerConstraintMatch(kcontext,
+                    () -> hardScore -= hardWeight,
+                    () -> HardSoftScore.valueOf(hardWeight, 0));
+        }
+
+        @Override
+        public void addSoftConstraintMatch(RuleContext kcontext, int softWeight) {
+            softScore += softWeight;
+            registerConstraintMatch(kcontext,
+                    () -> softScore -= softWeight,
+                    () -> HardSoftScore.valueOf(0, softWeight));
+        }
+
+        @Override
+        public void addMultiConstraintMatch(RuleContext kcontext, int hardWeight, int softWeight) {
+            hardScore += hardWeight;
+            softScore += softWeight;
+            registerConstraintMatch(kcontext,
+                    () -> {
+                        hardScore -= hardWeight;
+                        softScore -= softWeight;
+                    },
+                    () -> HardSoftScore.valueOf(hardWeight, softWeight));
+        }
+
+    }
+
+}
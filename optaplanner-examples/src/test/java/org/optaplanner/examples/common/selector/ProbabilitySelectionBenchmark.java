@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.examples.common.selector;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.optaplanner.core.impl.heuristic.selector.common.decorator.ProbabilityAliasTable;
+import org.optaplanner.core.impl.solver.random.RandomUtils;
+
+/**
+ * Compares the cumulative {@link TreeMap} cache (which the probability selectors used to have)
+ * with the {@link ProbabilityAliasTable}, both to build the cache and to select from it.
+ * <p>
+ * Run it with {@link #main(String[])} or with {@code org.openjdk.jmh.Main} on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class ProbabilitySelectionBenchmark {
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ProbabilitySelectionBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    @Param({"1000", "2000000"})
+    public int selectionSize;
+
+    private Object[] selections;
+    private double[] probabilityWeights;
+
+    private Random workingRandom;
+    private NavigableMap<Double, Object> cachedSelectionMap;
+    private double probabilityWeightTotal;
+    private ProbabilityAliasTable<Object> cachedSelectionTable;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random setUpRandom = new Random(37);
+        selections = new Object[selectionSize];
+        probabilityWeights = new double[selectionSize];
+        for (int i = 0; i < selectionSize; i++) {
+            selections[i] = new Object();
+            // Skewed, like most custom probabilityWeightFactory classes
+            probabilityWeights[i] = 1.0 + 100.0 * setUpRandom.nextDouble() * setUpRandom.nextDouble();
+        }
+        workingRandom = new Random(37);
+        cachedSelectionMap = buildTreeMap();
+        cachedSelectionTable = buildAliasTable();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    public NavigableMap<Double, Object> buildTreeMap() {
+        NavigableMap<Double, Object> selectionMap = new TreeMap<>();
+        double probabilityWeightOffset = 0.0;
+        for (int i = 0; i < selectionSize; i++) {
+            selectionMap.put(probabilityWeightOffset, selections[i]);
+            probabilityWeightOffset += probabilityWeights[i];
+        }
+        probabilityWeightTotal = probabilityWeightOffset;
+        return selectionMap;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    public ProbabilityAliasTable<Object> buildAliasTable() {
+        ProbabilityAliasTable<Object> selectionTable = new ProbabilityAliasTable<>();
+        for (int i = 0; i < selectionSize; i++) {
+            selectionTable.addSelection(selections[i], probabilityWeights[i]);
+        }
+        selectionTable.build();
+        return selectionTable;
+    }
+
+    @Benchmark
+    public Object sampleTreeMap() {
+        double randomOffset = RandomUtils.nextDouble(workingRandom, probabilityWeightTotal);
+        Map.Entry<Double, Object> entry = cachedSelectionMap.floorEntry(randomOffset);
+        return entry.getValue();
+    }
+
+    @Benchmark
+    public Object sampleAliasTable() {
+        return cachedSelectionTable.sample(workingRandom);
+    }
+
+}